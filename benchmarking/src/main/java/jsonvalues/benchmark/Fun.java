@@ -15,6 +15,7 @@ import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.util.function.IntPredicate;
 import java.util.function.Predicate;
+import jsonvalues.spec.ArraySchema;
 import jsonvalues.spec.JsObjSpec;
 
 public class Fun {
@@ -46,11 +47,11 @@ public class Fun {
                                                )
                                       ),
                                "fruits",
-                               arrayOfStr(1,
-                                          100),
+                               arrayOfStr(ArraySchema.sizeBetween(1,
+                                                                  100)),
                                "numbers",
-                               arrayOfInt(1,
-                                          100),
+                               arrayOfInt(ArraySchema.sizeBetween(1,
+                                                                  100)),
                                "vegetables",
                                arrayOfSpec(JsObjSpec.of("veggieName",
                                                         str(length(1,
@@ -0,0 +1,88 @@
+package jsonvalues.benchmark;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsArray;
+import jsonvalues.JsArray.TYPE;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares an array of records, with a quarter of them repeated, against a shuffled copy of it as a set and as a
+ * multiset, like a reconciliation job comparing two exports of the same table. The {@code obj_*} benchmarks compare
+ * two objects whose only field is that array.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JsArraySetEquality {
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  private JsArray array;
+  private JsArray shuffled;
+  private JsObj obj;
+  private JsObj shuffledObj;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    List<JsValue> values = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      int id = i % 4 == 0 ? random.nextInt(i + 1) : i;
+      values.add(JsObj.of("id",
+                          JsInt.of(id),
+                          "name",
+                          JsStr.of("record-" + id)));
+    }
+    array = JsArray.ofIterable(values);
+    Collections.shuffle(values,
+                        random);
+    shuffled = JsArray.ofIterable(values);
+    obj = JsObj.of("records",
+                   array);
+    shuffledObj = JsObj.of("records",
+                           shuffled);
+    // hash codes are cached, computing them is not part of the comparison
+    array.hashCode();
+    shuffled.hashCode();
+  }
+
+  @Benchmark
+  public boolean set() {
+    return array.equals(shuffled,
+                        TYPE.SET);
+  }
+
+  @Benchmark
+  public boolean multiset() {
+    return array.equals(shuffled,
+                        TYPE.MULTISET);
+  }
+
+  @Benchmark
+  public boolean obj_set() {
+    return obj.equals(shuffledObj,
+                      TYPE.SET);
+  }
+
+  @Benchmark
+  public boolean obj_multiset() {
+    return obj.equals(shuffledObj,
+                      TYPE.MULTISET);
+  }
+}
@@ -0,0 +1,67 @@
+package jsonvalues.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsArray;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsSpecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parses an array of 10,000 doubles, like the readings of a sensor payload. The short ones have two decimals and the
+ * full ones have the 16 or 17 significant digits printed by {@link Double#toString(double)}, which need the exact
+ * conversion.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JsDoubleParsing {
+
+  private static final JsArraySpecParser PARSER = JsArraySpecParser.of(JsSpecs.arrayOfDouble());
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Param({"short", "full"})
+  public String digits;
+
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 10_000; i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      double value = random.nextDouble() * 1000;
+      json.append(digits.equals("short") ? String.format(Locale.ROOT,
+                                                          "%.2f",
+                                                          value) : Double.toString(value));
+    }
+    bytes = json.append(']')
+                .toString()
+                .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public JsArray json_values() {
+    return PARSER.parse(bytes);
+  }
+
+  @Benchmark
+  public double[] jackson() throws IOException {
+    return objectMapper.readValue(bytes,
+                                  double[].class);
+  }
+}
@@ -0,0 +1,111 @@
+package jsonvalues.benchmark;
+
+import static jsonvalues.benchmark.Fun.PERSON_JSON;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsObj;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parses and serializes the same JSON from many tasks, running on either a fixed pool of platform threads or on virtual
+ * threads, for every pool strategy of JsIO. The pool strategy is read once, when JsIO is initialized, so every
+ * benchmark runs in its own fork with a different value of the system property jsonvalues.io.pool.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JsIOPools {
+
+  private static final byte[] PERSON_BYTES = PERSON_JSON.getBytes(StandardCharsets.UTF_8);
+
+  @Param({"1000"})
+  public int tasks;
+
+  private ExecutorService platform;
+  private ExecutorService virtual;
+
+  @Setup
+  public void setup() {
+    platform = Executors.newFixedThreadPool(Runtime.getRuntime()
+                                                   .availableProcessors());
+    virtual = Executors.newVirtualThreadPerTaskExecutor();
+  }
+
+  @TearDown
+  public void tearDown() {
+    platform.shutdown();
+    virtual.shutdown();
+  }
+
+  private void run(ExecutorService executor,
+                   Blackhole bh) throws ExecutionException, InterruptedException {
+    List<Future<byte[]>> futures = new ArrayList<>(tasks);
+    for (int i = 0; i < tasks; i++) {
+      futures.add(executor.submit(() -> JsObj.parse(PERSON_BYTES)
+                                             .serialize()));
+    }
+    for (Future<byte[]> future : futures) {
+      bh.consume(future.get());
+    }
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Djsonvalues.io.pool=THREAD_LOCAL")
+  public void thread_local_platform_threads(Blackhole bh) throws ExecutionException, InterruptedException {
+    run(platform,
+        bh);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Djsonvalues.io.pool=THREAD_LOCAL")
+  public void thread_local_virtual_threads(Blackhole bh) throws ExecutionException, InterruptedException {
+    run(virtual,
+        bh);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Djsonvalues.io.pool=BOUNDED")
+  public void bounded_platform_threads(Blackhole bh) throws ExecutionException, InterruptedException {
+    run(platform,
+        bh);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Djsonvalues.io.pool=BOUNDED")
+  public void bounded_virtual_threads(Blackhole bh) throws ExecutionException, InterruptedException {
+    run(virtual,
+        bh);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Djsonvalues.io.pool=STRIPED")
+  public void striped_platform_threads(Blackhole bh) throws ExecutionException, InterruptedException {
+    run(platform,
+        bh);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Djsonvalues.io.pool=STRIPED")
+  public void striped_virtual_threads(Blackhole bh) throws ExecutionException, InterruptedException {
+    run(virtual,
+        bh);
+  }
+
+}
@@ -0,0 +1,88 @@
+package jsonvalues.benchmark;
+
+import static java.time.format.DateTimeFormatter.ISO_INSTANT;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsArray;
+import jsonvalues.JsInstant;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsSpecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Parses and serializes an array of 10,000 instants of the last ten years, like the timestamps of a batch of events,
+ * without fraction of second or with millis. The {@code jdk_*} benchmarks do per instant what the reader and the writer
+ * did before, that is {@code Instant.from(ISO_INSTANT.parse(string))} after decoding the string and
+ * {@code Instant.toString()} before writing it.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JsInstantParsing {
+
+  private static final JsArraySpecParser PARSER = JsArraySpecParser.of(JsSpecs.arrayOfSpec(JsSpecs.instant()));
+
+  @Param({"seconds", "millis"})
+  public String precision;
+
+  private byte[] bytes;
+  private String[] strings;
+  private Instant[] instants;
+  private JsArray array;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(0);
+    long now = Instant.parse("2024-01-01T00:00:00Z")
+                      .getEpochSecond();
+    instants = new Instant[10_000];
+    strings = new String[instants.length];
+    array = JsArray.empty();
+    for (int i = 0; i < instants.length; i++) {
+      Instant instant = Instant.ofEpochSecond(now - random.nextInt(10 * 365 * 86400));
+      if (precision.equals("millis")) {
+        instant = instant.plusMillis(random.nextInt(1000));
+      }
+      instants[i] = instant;
+      strings[i] = instant.toString();
+      array = array.append(JsInstant.of(instant));
+    }
+    bytes = array.toString()
+                 .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public JsArray json_values_parse() {
+    return PARSER.parse(bytes);
+  }
+
+  @Benchmark
+  public void jdk_parse(Blackhole bh) {
+    for (String string : strings) {
+      bh.consume(Instant.from(ISO_INSTANT.parse(string)));
+    }
+  }
+
+  @Benchmark
+  public byte[] json_values_write() {
+    return array.serialize();
+  }
+
+  @Benchmark
+  public void jdk_write(Blackhole bh) {
+    for (Instant instant : instants) {
+      bh.consume(instant.toString());
+    }
+  }
+}
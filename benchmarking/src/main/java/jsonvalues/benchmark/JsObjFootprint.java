@@ -0,0 +1,35 @@
+package jsonvalues.benchmark;
+
+import static jsonvalues.benchmark.Fun.PERSON_JSON;
+
+import jsonvalues.JsObj;
+import org.openjdk.jol.info.GraphLayout;
+
+/**
+ * Prints the retained size of objects of different sizes, computed with JOL. The numbers include the keys and values,
+ * which are shared by all the representations, so the difference between two runs is what the map takes. Run it with
+ * {@code -Djdk.attach.allowAttachSelf=true} for precise numbers.
+ */
+public class JsObjFootprint {
+
+  public static void main(String[] args) {
+    System.out.printf("%-8s %12s %14s%n",
+                      "keys",
+                      "bytes",
+                      "bytes per key");
+    for (int size : new int[]{1, 2, 4, 8, 9, 12, 16, 32, 64}) {
+      JsObj obj = JsObjSmallMaps.objOf(size);
+      long bytes = GraphLayout.parseInstance(obj)
+                              .totalSize();
+      System.out.printf("%-8d %12d %14d%n",
+                        size,
+                        bytes,
+                        bytes / size);
+    }
+    JsObj person = JsObj.parse(PERSON_JSON);
+    System.out.printf("%nperson.json: %d bytes%n",
+                      GraphLayout.parseInstance(person)
+                                 .totalSize());
+  }
+
+}
@@ -0,0 +1,95 @@
+package jsonvalues.benchmark;
+
+import static jsonvalues.benchmark.Fun.PERSON_JSON;
+import static jsonvalues.benchmark.Fun.PERSON_SPEC;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsObj;
+import jsonvalues.spec.JsObjLinesParser;
+import jsonvalues.spec.JsObjSpecParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Parses and validates an NDJSON file of persons with a fork-join pool of 1 to 32 threads, to see how parsing scales
+ * with the number of cores. The sequential stream is the baseline. Results are in files per second; multiply by the
+ * number of lines to get objects per second.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JsObjLinesParallel {
+
+  private static final JsObjLinesParser PARSER = JsObjLinesParser.of(JsObjSpecParser.of(PERSON_SPEC));
+
+  @Param({"100000"})
+  public int lines;
+
+  @Param({"1", "2", "4", "8", "16", "32"})
+  public int threads;
+
+  private Path file;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setup() throws IOException {
+    String person = JsObj.parse(PERSON_JSON)
+                         .toString();
+    file = Files.createTempFile("persons",
+                                ".ndjson");
+    try (Writer writer = Files.newBufferedWriter(file,
+                                                 StandardCharsets.UTF_8)) {
+      for (int i = 0; i < lines; i++) {
+        writer.write(person);
+        writer.write('\n');
+      }
+    }
+    pool = new ForkJoinPool(threads);
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    pool.shutdown();
+    Files.delete(file);
+  }
+
+  @Benchmark
+  public long sequential() {
+    try (var objs = PARSER.stream(file)) {
+      return objs.count();
+    }
+  }
+
+  @Benchmark
+  public long parallel_ordered() throws ExecutionException, InterruptedException {
+    return pool.submit(() -> PARSER.parallelStream(file,
+                                                   true)
+                                   .filter(obj -> !obj.isEmpty())
+                                   .count())
+               .get();
+  }
+
+  @Benchmark
+  public long parallel_unordered() throws ExecutionException, InterruptedException {
+    return pool.submit(() -> PARSER.parallelStream(file,
+                                                   false)
+                                   .filter(obj -> !obj.isEmpty())
+                                   .count())
+               .get();
+  }
+
+}
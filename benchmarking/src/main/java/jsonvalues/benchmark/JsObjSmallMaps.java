@@ -0,0 +1,91 @@
+package jsonvalues.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsObjPair;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * get, set and iteration over objects around the size where JsObj switches from the flat array to the trie (8 keys).
+ * Run {@link JsObjFootprint} to get the memory taken by the same objects.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JsObjSmallMaps {
+
+  @Param({"2", "4", "8", "9", "12", "32"})
+  public int size;
+
+  private JsObj obj;
+  private String[] keys;
+
+  static JsObj objOf(int size) {
+    JsObj.Builder builder = JsObj.builder();
+    for (int i = 0; i < size; i++) {
+      builder.set("key" + i,
+                  JsInt.of(i));
+    }
+    return builder.build();
+  }
+
+  @Setup
+  public void setup() {
+    obj = objOf(size);
+    keys = new String[size];
+    for (int i = 0; i < size; i++) {
+      keys[i] = "key" + i;
+    }
+  }
+
+  @Benchmark
+  public void get(Blackhole bh) {
+    for (String key : keys) {
+      bh.consume(obj.get(key));
+    }
+  }
+
+  @Benchmark
+  public void get_missing_key(Blackhole bh) {
+    bh.consume(obj.get("missing"));
+  }
+
+  @Benchmark
+  public void set_existing_key(Blackhole bh) {
+    bh.consume(obj.set(keys[size / 2],
+                       JsInt.of(-1)));
+  }
+
+  @Benchmark
+  public void set_new_key(Blackhole bh) {
+    bh.consume(obj.set("new",
+                       JsInt.of(-1)));
+  }
+
+  @Benchmark
+  public void build(Blackhole bh) {
+    bh.consume(objOf(size));
+  }
+
+  @Benchmark
+  public void iterate(Blackhole bh) {
+    for (JsObjPair pair : obj) {
+      bh.consume(pair.value());
+    }
+  }
+
+  @Benchmark
+  public void serialize(Blackhole bh) {
+    bh.consume(obj.serialize());
+  }
+
+}
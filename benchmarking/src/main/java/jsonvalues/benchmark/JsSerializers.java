@@ -6,7 +6,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import jsonvalues.JsArray;
+import jsonvalues.JsDouble;
 import jsonvalues.JsObj;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
@@ -22,6 +25,8 @@ public class JsSerializers {
   private static final JsObj json;
   private static final JsonNode node;
   private static final Person object;
+  private static final JsArray doubles;
+  private static final double[] doubleArray;
 
   static {
     try {
@@ -29,6 +34,15 @@ public class JsSerializers {
       node = objectMapper.readTree(PERSON_JSON);
       object = objectMapper.readValue(PERSON_JSON,
                                       Person.class);
+      // readings of a sensor: 10,000 doubles with 16 or 17 significant digits
+      Random random = new Random(0);
+      doubleArray = new double[10_000];
+      JsArray.Builder builder = JsArray.builder();
+      for (int i = 0; i < doubleArray.length; i++) {
+        doubleArray[i] = random.nextDouble() * 1000;
+        builder.append(JsDouble.of(doubleArray[i]));
+      }
+      doubles = builder.build();
     } catch (IOException e) {
       throw new RuntimeException(e);
     }
@@ -50,6 +64,16 @@ public class JsSerializers {
     bh.consume(json.serialize());
   }
 
+  @Benchmark
+  public void jackson_doubles(Blackhole bh) throws JsonProcessingException {
+    bh.consume(objectMapper.writeValueAsBytes(doubleArray));
+  }
+
+  @Benchmark
+  public void json_values_doubles(Blackhole bh) {
+    bh.consume(doubles.serialize());
+  }
+
 
 }
 
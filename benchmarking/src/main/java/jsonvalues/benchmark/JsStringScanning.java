@@ -0,0 +1,87 @@
+package jsonvalues.benchmark;
+
+import static jsonvalues.benchmark.Fun.PERSON_JSON;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsArray;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import jsonvalues.Json;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parses the person, a string-heavy object and a big array of short strings, with the bytes scanned by the Vector API
+ * (the JVM is started with the incubator module) and by the scalar loop (the module is missing and the SIMD path is
+ * disabled). All the inputs are pretty-printed, so that the whitespace runs are scanned as well. The vector scanner
+ * is only in json-values when it's built with the {@code simd} profile.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class JsStringScanning {
+
+  @Param({"person", "strings", "array"})
+  public String corpus;
+
+  private byte[] bytes;
+
+  private static JsObj strings() {
+    String ascii = "The quick brown fox jumps over the lazy dog. ".repeat(20);
+    JsObj obj = JsObj.empty();
+    for (int i = 0; i < 100; i++) {
+      String str = switch (i % 4) {
+        case 0 -> ascii + "\"quoted\"\n" + ascii;
+        case 1 -> ascii + "ñandú, café, €" + ascii;
+        default -> ascii;
+      };
+      obj = obj.set("field" + i,
+                    JsStr.of(str));
+    }
+    return obj;
+  }
+
+  private static JsArray array() {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < 100_000; i++) {
+      builder.append(JsStr.of("element-" + i));
+    }
+    return builder.build();
+  }
+
+  @Setup
+  public void setup() {
+    Json<?> json = switch (corpus) {
+      case "person" -> JsObj.parse(PERSON_JSON);
+      case "strings" -> strings();
+      default -> array();
+    };
+    bytes = json.toPrettyString()
+                .getBytes(StandardCharsets.UTF_8);
+  }
+
+  private JsValue parse() {
+    return corpus.equals("array") ? JsArray.parse(bytes) : JsObj.parse(bytes);
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+  public JsValue vector() {
+    return parse();
+  }
+
+  @Benchmark
+  @Fork(jvmArgsAppend = "-Djsonvalues.io.simd=false")
+  public JsValue scalar() {
+    return parse();
+  }
+}
@@ -0,0 +1,111 @@
+package jsonvalues.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsLong;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsSpec;
+import jsonvalues.spec.JsSpecs;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Parses an array of 1,000 values of a wide {@code oneSpecOf}: half of them are events with a different first key per
+ * type, so the first key selects the spec, and the other half are strings and numbers, selected by their first token.
+ * The tagged events are parsed with the discriminated {@code oneSpecOf} too, for comparison.
+ */
+@OutputTimeUnit(TimeUnit.SECONDS)
+@BenchmarkMode(Mode.Throughput)
+@State(Scope.Benchmark)
+public class OneOfWideUnions {
+
+  @Param({"4", "12", "24"})
+  public int width;
+
+  private JsArraySpecParser untagged;
+  private JsArraySpecParser tagged;
+  private byte[] untaggedBytes;
+  private byte[] taggedBytes;
+
+  private static JsObjSpec event(int type) {
+    return JsObjSpec.of("field" + type,
+                        JsSpecs.integer(),
+                        "timestamp",
+                        JsSpecs.longInteger(),
+                        "source",
+                        JsSpecs.str());
+  }
+
+  private static JsObj eventValue(int type,
+                                  Random random) {
+    return JsObj.of("field" + type,
+                    JsInt.of(random.nextInt()),
+                    "timestamp",
+                    JsLong.of(random.nextLong()),
+                    "source",
+                    JsStr.of("sensor-" + random.nextInt(100)));
+  }
+
+  @Setup
+  public void setup() {
+    List<JsSpec> specs = new ArrayList<>();
+    Map<String, JsObjSpec> cases = new LinkedHashMap<>();
+    for (int i = 0; i < width; i++) {
+      specs.add(event(i));
+      cases.put("type" + i,
+                event(i));
+    }
+    specs.add(JsSpecs.str());
+    specs.add(JsSpecs.doubleNumber());
+    untagged = JsArraySpecParser.of(JsSpecs.arrayOfSpec(JsSpecs.oneSpecOf(specs)));
+    tagged = JsArraySpecParser.of(JsSpecs.arrayOfSpec(JsSpecs.oneSpecOf("type",
+                                                                        cases)));
+
+    Random random = new Random(0);
+    List<JsValue> untaggedValues = new ArrayList<>();
+    List<JsValue> taggedValues = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      int type = random.nextInt(width);
+      JsObj event = eventValue(type,
+                               random);
+      untaggedValues.add(i % 4 == 0 ? JsStr.of("message " + i) : i % 4 == 1 ? JsInt.of(i) : event);
+      taggedValues.add(JsObj.of("type",
+                                JsStr.of("type" + type))
+                            .union(event,
+                                   JsArray.TYPE.LIST));
+    }
+    untaggedBytes = JsArray.ofIterable(untaggedValues)
+                           .toString()
+                           .getBytes(StandardCharsets.UTF_8);
+    taggedBytes = JsArray.ofIterable(taggedValues)
+                         .toString()
+                         .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public JsArray one_spec_of() {
+    return untagged.parse(untaggedBytes);
+  }
+
+  @Benchmark
+  public JsArray discriminated_one_spec_of() {
+    return tagged.parse(taggedBytes);
+  }
+}
@@ -32,8 +32,33 @@ interface ArrayType<T> {
     return (ArrayType<T>) ObjectArrayType.INSTANCE;
   }
 
+  /**
+   * Returns the type of the leaves that can store the given element unboxed: {@code int[]} for {@link JsInt},
+   * {@code long[]} for {@link JsLong}, {@code double[]} for {@link JsDouble} and {@code Object[]} for anything else.
+   */
+  @SuppressWarnings("unchecked")
+  static <T> ArrayType<T> of(T element) {
+    if (element instanceof JsInt) {
+      return (ArrayType<T>) IntArrayType.INSTANCE;
+    }
+    if (element instanceof JsLong) {
+      return (ArrayType<T>) LongArrayType.INSTANCE;
+    }
+    if (element instanceof JsDouble) {
+      return (ArrayType<T>) DoubleArrayType.INSTANCE;
+    }
+    return obj();
+  }
+
   int lengthOf(Object array);
 
+  /**
+   * Returns true if the given element can be stored in an array of this type.
+   */
+  default boolean accepts(Object element) {
+    return true;
+  }
+
   T getAt(Object array,
           int index);
 
@@ -220,4 +245,181 @@ interface ArrayType<T> {
              : new Object[arraySize];
     }
   }
-}
\ No newline at end of file
+
+  /**
+   * {@code int[]} leaves of {@link JsInt}. The wrappers are created on every read.
+   */
+  final class IntArrayType implements ArrayType<JsValue> {
+
+    static final IntArrayType INSTANCE = new IntArrayType();
+    static final int[] EMPTY = new int[0];
+
+    private static int[] cast(Object array) {
+      return (int[]) array;
+    }
+
+    @Override
+    public int[] empty() {
+      return EMPTY;
+    }
+
+    @Override
+    public int lengthOf(Object array) {
+      return (array != null) ? cast(array).length : 0;
+    }
+
+    @Override
+    public boolean accepts(Object element) {
+      return element instanceof JsInt;
+    }
+
+    @Override
+    public JsValue getAt(Object array,
+                         int index) {
+      return JsInt.of(cast(array)[index]);
+    }
+
+    @Override
+    public void setAt(Object array,
+                      int index,
+                      JsValue value) throws ClassCastException {
+      cast(array)[index] = ((JsInt) value).value;
+    }
+
+    @Override
+    public Object copy(Object array,
+                       int arraySize,
+                       int sourceFrom,
+                       int destinationFrom,
+                       int size
+                      ) {
+      final int[] result = new int[arraySize];
+      if (size > 0) {
+        System.arraycopy(array,
+                         sourceFrom,
+                         result,
+                         destinationFrom,
+                         size);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * {@code long[]} leaves of {@link JsLong}. The wrappers are created on every read.
+   */
+  final class LongArrayType implements ArrayType<JsValue> {
+
+    static final LongArrayType INSTANCE = new LongArrayType();
+    static final long[] EMPTY = new long[0];
+
+    private static long[] cast(Object array) {
+      return (long[]) array;
+    }
+
+    @Override
+    public long[] empty() {
+      return EMPTY;
+    }
+
+    @Override
+    public int lengthOf(Object array) {
+      return (array != null) ? cast(array).length : 0;
+    }
+
+    @Override
+    public boolean accepts(Object element) {
+      return element instanceof JsLong;
+    }
+
+    @Override
+    public JsValue getAt(Object array,
+                         int index) {
+      return JsLong.of(cast(array)[index]);
+    }
+
+    @Override
+    public void setAt(Object array,
+                      int index,
+                      JsValue value) throws ClassCastException {
+      cast(array)[index] = ((JsLong) value).value;
+    }
+
+    @Override
+    public Object copy(Object array,
+                       int arraySize,
+                       int sourceFrom,
+                       int destinationFrom,
+                       int size
+                      ) {
+      final long[] result = new long[arraySize];
+      if (size > 0) {
+        System.arraycopy(array,
+                         sourceFrom,
+                         result,
+                         destinationFrom,
+                         size);
+      }
+      return result;
+    }
+  }
+
+  /**
+   * {@code double[]} leaves of {@link JsDouble}. The wrappers are created on every read.
+   */
+  final class DoubleArrayType implements ArrayType<JsValue> {
+
+    static final DoubleArrayType INSTANCE = new DoubleArrayType();
+    static final double[] EMPTY = new double[0];
+
+    private static double[] cast(Object array) {
+      return (double[]) array;
+    }
+
+    @Override
+    public double[] empty() {
+      return EMPTY;
+    }
+
+    @Override
+    public int lengthOf(Object array) {
+      return (array != null) ? cast(array).length : 0;
+    }
+
+    @Override
+    public boolean accepts(Object element) {
+      return element instanceof JsDouble;
+    }
+
+    @Override
+    public JsValue getAt(Object array,
+                         int index) {
+      return JsDouble.of(cast(array)[index]);
+    }
+
+    @Override
+    public void setAt(Object array,
+                      int index,
+                      JsValue value) throws ClassCastException {
+      cast(array)[index] = ((JsDouble) value).value;
+    }
+
+    @Override
+    public Object copy(Object array,
+                       int arraySize,
+                       int sourceFrom,
+                       int destinationFrom,
+                       int size
+                      ) {
+      final double[] result = new double[arraySize];
+      if (size > 0) {
+        System.arraycopy(array,
+                         sourceFrom,
+                         result,
+                         destinationFrom,
+                         size);
+      }
+      return result;
+    }
+  }
+}
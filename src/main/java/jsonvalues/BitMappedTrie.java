@@ -23,6 +23,7 @@ import static jsonvalues.ArrayType.obj;
 import static jsonvalues.NodeModifier.COPY_NODE;
 import static jsonvalues.NodeModifier.IDENTITY;
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.function.Function;
@@ -532,4 +533,179 @@ final class BitMappedTrie<T> {
   int length() {
     return length;
   }
+
+  boolean accepts(T element) {
+    return type.accepts(element);
+  }
+
+  /**
+   * Returns a trie with the same elements stored in {@code Object[]} leaves, so that any element can be added to it.
+   */
+  BitMappedTrie<T> boxed() {
+    return type == obj() ? this : map(Function.identity());
+  }
+
+  /**
+   * Copies the elements into a new array of the type of the leaves ({@code int[]} if the leaves are {@code int[]} and
+   * so on), without boxing them.
+   */
+  Object toArray() {
+    final Object results = type.newInstance(length);
+    this.<Object>visit((index, leaf, start, end) -> {
+      System.arraycopy(leaf,
+                       start,
+                       results,
+                       index,
+                       end - start);
+      return index + end - start;
+    });
+    return results;
+  }
+
+  /**
+   * Transient version of the trie that only supports appending. Elements are written in place into a leaf owned by the
+   * builder and, once the leaf is full, it's handed over to the trie and never modified again. The branches are created
+   * once by {@link #build()}, instead of path-copying them on every append. The type of the leaves is picked from the
+   * first element (see {@link ArrayType#of(Object)}), so that a run of ints, longs or doubles is stored unboxed, and
+   * all the leaves are boxed into {@code Object[]} as soon as an element of a different type is appended. Not
+   * thread-safe.
+   */
+  static final class Builder<T> {
+
+    private ArrayType<T> type;
+    private Object[] leaves = new Object[BRANCHING_FACTOR];
+    private int leavesCount;
+    private Object tail;
+    private int tailLength;
+    private int length;
+
+    void append(T element) {
+      if (type == null) {
+        start(ArrayType.of(element));
+      } else if (!type.accepts(element)) {
+        box();
+      }
+      nextSlot();
+      type.setAt(tail,
+                 tailLength++,
+                 element);
+      length++;
+    }
+
+    @SuppressWarnings("unchecked")
+    void appendInt(int value) {
+      if (type == null) {
+        start((ArrayType<T>) ArrayType.IntArrayType.INSTANCE);
+      } else if (type != ArrayType.IntArrayType.INSTANCE) {
+        append((T) JsInt.of(value));
+        return;
+      }
+      nextSlot();
+      ((int[]) tail)[tailLength++] = value;
+      length++;
+    }
+
+    @SuppressWarnings("unchecked")
+    void appendLong(long value) {
+      if (type == null) {
+        start((ArrayType<T>) ArrayType.LongArrayType.INSTANCE);
+      } else if (type != ArrayType.LongArrayType.INSTANCE) {
+        append((T) JsLong.of(value));
+        return;
+      }
+      nextSlot();
+      ((long[]) tail)[tailLength++] = value;
+      length++;
+    }
+
+    @SuppressWarnings("unchecked")
+    void appendDouble(double value) {
+      if (type == null) {
+        start((ArrayType<T>) ArrayType.DoubleArrayType.INSTANCE);
+      } else if (type != ArrayType.DoubleArrayType.INSTANCE) {
+        append((T) JsDouble.of(value));
+        return;
+      }
+      nextSlot();
+      ((double[]) tail)[tailLength++] = JsDouble.requireFinite(value);
+      length++;
+    }
+
+    private void start(ArrayType<T> type) {
+      this.type = type;
+      this.tail = type.newInstance(BRANCHING_FACTOR);
+    }
+
+    private void nextSlot() {
+      if (tailLength == BRANCHING_FACTOR) {
+        if (leavesCount == leaves.length) {
+          leaves = Arrays.copyOf(leaves,
+                                 leavesCount << 1);
+        }
+        leaves[leavesCount++] = tail;
+        tail = type.newInstance(BRANCHING_FACTOR);
+        tailLength = 0;
+      }
+    }
+
+    private void box() {
+      for (int i = 0; i < leavesCount; i++) {
+        leaves[i] = boxed(leaves[i],
+                          BRANCHING_FACTOR);
+      }
+      tail = boxed(tail,
+                   tailLength);
+      type = obj();
+    }
+
+    private Object boxed(Object leaf,
+                         int size) {
+      final Object[] result = new Object[BRANCHING_FACTOR];
+      for (int i = 0; i < size; i++) {
+        result[i] = type.getAt(leaf,
+                               i);
+      }
+      return result;
+    }
+
+    int length() {
+      return length;
+    }
+
+    /**
+     * Returns a trie with the elements appended so far. The last leaf is copied, so the builder can still be used
+     * without modifying the returned trie.
+     */
+    @SuppressWarnings("unchecked")
+    BitMappedTrie<T> build() {
+      if (length == 0) {
+        return empty();
+      }
+      final Object lastLeaf = type.copyRange(tail,
+                                             0,
+                                             tailLength);
+      if (leavesCount == 0) {
+        return new BitMappedTrie<>(type,
+                                   lastLeaf,
+                                   0,
+                                   length,
+                                   0);
+      }
+      Object array = Arrays.copyOf(leaves,
+                                   leavesCount + 1);
+      obj().setAt(array,
+                  leavesCount,
+                  lastLeaf);
+      int shift = BRANCHING_BASE;
+      for (; obj().lengthOf(array) > BRANCHING_FACTOR; shift += BRANCHING_BASE) {
+        array = obj().grouped(array,
+                              BRANCHING_FACTOR);
+      }
+      return new BitMappedTrie<>(type,
+                                 array,
+                                 0,
+                                 length,
+                                 shift);
+    }
+  }
 }
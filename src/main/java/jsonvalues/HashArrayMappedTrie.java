@@ -67,6 +67,20 @@ interface HashArrayMappedTrie extends Iterable<HashArrayMappedTrieModule.LeafNod
   HashArrayMappedTrie put(String key,
                           JsValue value);
 
+  /**
+   * Puts the key-value pair updating in place the nodes that were created by a previous call with the same owner. The
+   * owner must not be shared with anyone else, and once the returned trie is published it has to be replaced with a new
+   * one, otherwise the published trie could be changed by subsequent calls.
+   *
+   * @param owner the token that identifies the nodes that can be updated in place
+   * @param key   the key
+   * @param value the value
+   * @return the updated trie
+   */
+  HashArrayMappedTrie putTransient(Object owner,
+                                   String key,
+                                   JsValue value);
+
   HashArrayMappedTrie remove(String key);
 
   @Override
@@ -191,6 +191,16 @@ interface HashArrayMappedTrieModule {
                                  JsValue value,
                                  Action action);
 
+    /**
+     * Same as a PUT modification, but the nodes created with the given owner are updated in place instead of being
+     * copied.
+     */
+    abstract AbstractNode putTransient(Object owner,
+                                       int shift,
+                                       int keyHash,
+                                       String key,
+                                       JsValue value);
+
     Iterator<LeafNode> nodes() {
       return new LeafNodeIterator(this);
     }
@@ -245,6 +255,17 @@ interface HashArrayMappedTrieModule {
                     PUT);
     }
 
+    @Override
+    public HashArrayMappedTrie putTransient(Object owner,
+                                            String key,
+                                            JsValue value) {
+      return putTransient(Objects.requireNonNull(owner),
+                          0,
+                          Objects.hashCode(key),
+                          key,
+                          value);
+    }
+
     @Override
     public HashArrayMappedTrie remove(String key) {
       return modify(0,
@@ -298,6 +319,17 @@ interface HashArrayMappedTrieModule {
                                                            value);
     }
 
+    @Override
+    AbstractNode putTransient(Object owner,
+                              int shift,
+                              int keyHash,
+                              String key,
+                              JsValue value) {
+      return new LeafSingleton(keyHash,
+                               key,
+                               value);
+    }
+
     @Override
     public boolean isEmpty() {
       return true;
@@ -333,6 +365,16 @@ interface HashArrayMappedTrieModule {
     static AbstractNode mergeLeaves(int shift,
                                     LeafNode leaf1,
                                     LeafSingleton leaf2) {
+      return mergeLeaves(null,
+                         shift,
+                         leaf1,
+                         leaf2);
+    }
+
+    static AbstractNode mergeLeaves(Object owner,
+                                    int shift,
+                                    LeafNode leaf1,
+                                    LeafSingleton leaf2) {
       final int h1 = leaf1.hash();
       final int h2 = leaf2.hash();
       if (h1 == h2) {
@@ -347,14 +389,17 @@ interface HashArrayMappedTrieModule {
                                      h2);
       final int newBitmap = toBitmap(subH1) | toBitmap(subH2);
       if (subH1 == subH2) {
-        final AbstractNode newLeaves = mergeLeaves(shift + SIZE,
+        final AbstractNode newLeaves = mergeLeaves(owner,
+                                                   shift + SIZE,
                                                    leaf1,
                                                    leaf2);
-        return new IndexedNode(newBitmap,
+        return new IndexedNode(owner,
+                               newBitmap,
                                newLeaves.size(),
                                new Object[]{newLeaves});
       } else {
-        return new IndexedNode(newBitmap,
+        return new IndexedNode(owner,
+                               newBitmap,
                                leaf1.size() + leaf2.size(),
                                subH1 < subH2 ? new Object[]{leaf1, leaf2} : new Object[]{leaf2, leaf1}
         );
@@ -434,6 +479,26 @@ interface HashArrayMappedTrieModule {
       }
     }
 
+    @Override
+    AbstractNode putTransient(Object owner,
+                              int shift,
+                              int keyHash,
+                              String key,
+                              JsValue value) {
+      if (keyHash == hash && Objects.equals(key,
+                                            this.key)) {
+        return new LeafSingleton(hash,
+                                 key,
+                                 value);
+      }
+      return mergeLeaves(owner,
+                         shift,
+                         this,
+                         new LeafSingleton(keyHash,
+                                           key,
+                                           value));
+    }
+
     @Override
     public int size() {
       return 1;
@@ -593,6 +658,20 @@ interface HashArrayMappedTrieModule {
       }
     }
 
+    @Override
+    AbstractNode putTransient(Object owner,
+                              int shift,
+                              int keyHash,
+                              String key,
+                              JsValue value) {
+      // collisions are rare, not worth updating the list in place
+      return modify(shift,
+                    keyHash,
+                    key,
+                    value,
+                    PUT);
+    }
+
     private AbstractNode removeElement(String k) {
       if (Objects.equals(k,
                          this.key)) {
@@ -672,13 +751,29 @@ interface HashArrayMappedTrieModule {
   final class IndexedNode extends AbstractNode {
 
 
-    private final int bitmap;
-    private final int size;
-    private final Object[] subNodes;
+    /**
+     * Not null only if the node was created by a transient operation, which can keep updating it in place as long as it
+     * passes the same owner.
+     */
+    private final Object owner;
+    private int bitmap;
+    private int size;
+    private Object[] subNodes;
 
     IndexedNode(int bitmap,
                 int size,
                 Object[] subNodes) {
+      this(null,
+           bitmap,
+           size,
+           subNodes);
+    }
+
+    IndexedNode(Object owner,
+                int bitmap,
+                int size,
+                Object[] subNodes) {
+      this.owner = owner;
       this.bitmap = bitmap;
       this.size = size;
       this.subNodes = subNodes;
@@ -764,7 +859,8 @@ interface HashArrayMappedTrieModule {
         }
       } else if (added) {
         if (subNodes.length >= MAX_INDEX_NODE) {
-          return expand(frag,
+          return expand(null,
+                        frag,
                         child,
                         mask,
                         subNodes);
@@ -788,7 +884,61 @@ interface HashArrayMappedTrieModule {
       }
     }
 
-    private ArrayNode expand(int frag,
+    @Override
+    AbstractNode putTransient(Object owner,
+                              int shift,
+                              int keyHash,
+                              String key,
+                              JsValue value) {
+      final int frag = hashFragment(shift,
+                                    keyHash);
+      final int bit = toBitmap(frag);
+      final int index = fromBitmap(bitmap,
+                                   bit);
+      if ((bitmap & bit) != 0) {
+        final AbstractNode atIndx = (AbstractNode) subNodes[index];
+        final int oldSize = atIndx.size();
+        final AbstractNode child = atIndx.putTransient(owner,
+                                                       shift + SIZE,
+                                                       keyHash,
+                                                       key,
+                                                       value);
+        final IndexedNode node = this.owner == owner ? this : new IndexedNode(owner,
+                                                                              bitmap,
+                                                                              size,
+                                                                              subNodes.clone());
+        node.subNodes[index] = child;
+        node.size += child.size() - oldSize;
+        return node;
+      }
+      final AbstractNode child = new LeafSingleton(keyHash,
+                                                   key,
+                                                   value);
+      if (subNodes.length >= MAX_INDEX_NODE) {
+        return expand(owner,
+                      frag,
+                      child,
+                      bitmap,
+                      subNodes);
+      }
+      if (this.owner != owner) {
+        return new IndexedNode(owner,
+                               bitmap | bit,
+                               size + 1,
+                               insert(subNodes,
+                                      index,
+                                      child));
+      }
+      bitmap |= bit;
+      size += 1;
+      subNodes = insert(subNodes,
+                        index,
+                        child);
+      return this;
+    }
+
+    private ArrayNode expand(Object owner,
+                             int frag,
                              AbstractNode child,
                              int mask,
                              Object[] subNodes) {
@@ -808,7 +958,8 @@ interface HashArrayMappedTrieModule {
         }
         bit = bit >>> 1;
       }
-      return new ArrayNode(count,
+      return new ArrayNode(owner,
+                           count,
                            size + child.size(),
                            arr);
     }
@@ -830,13 +981,29 @@ interface HashArrayMappedTrieModule {
   final class ArrayNode extends AbstractNode {
 
 
+    /**
+     * Not null only if the node was created by a transient operation, which can keep updating it in place as long as it
+     * passes the same owner.
+     */
+    private final Object owner;
     private final Object[] subNodes;
-    private final int count;
-    private final int size;
+    private int count;
+    private int size;
 
     ArrayNode(int count,
               int size,
               Object[] subNodes) {
+      this(null,
+           count,
+           size,
+           subNodes);
+    }
+
+    ArrayNode(Object owner,
+              int count,
+              int size,
+              Object[] subNodes) {
+      this.owner = owner;
       this.subNodes = subNodes;
       this.count = count;
       this.size = size;
@@ -908,6 +1075,34 @@ interface HashArrayMappedTrieModule {
       }
     }
 
+    @Override
+    AbstractNode putTransient(Object owner,
+                              int shift,
+                              int keyHash,
+                              String key,
+                              JsValue value) {
+      final int frag = hashFragment(shift,
+                                    keyHash);
+      final AbstractNode child = (AbstractNode) subNodes[frag];
+      final boolean wasEmpty = child.isEmpty();
+      final int oldSize = child.size();
+      final AbstractNode newChild = child.putTransient(owner,
+                                                       shift + SIZE,
+                                                       keyHash,
+                                                       key,
+                                                       value);
+      final ArrayNode node = this.owner == owner ? this : new ArrayNode(owner,
+                                                                        count,
+                                                                        size,
+                                                                        subNodes.clone());
+      node.subNodes[frag] = newChild;
+      node.size += newChild.size() - oldSize;
+      if (wasEmpty) {
+        node.count++;
+      }
+      return node;
+    }
+
     private IndexedNode pack(int idx,
                              Object[] elements) {
       final Object[] arr = new Object[count - 1];
@@ -19,25 +19,49 @@
 package jsonvalues;
 
 
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import jsonvalues.HashArrayMappedTrieModule.AbstractNode;
 
 
 /**
  * An immutable {@code HashMap} implementation based on a
- * <a href="https://en.wikipedia.org/wiki/Hash_array_mapped_trie">Hash array mapped trie (HAMT)</a>.
+ * <a href="https://en.wikipedia.org/wiki/Hash_array_mapped_trie">Hash array mapped trie (HAMT)</a>. Small maps, with up
+ * to {@link #MAX_ARRAY_MAP_SIZE} entries, are stored instead in a flat array of keys and values, which takes less than
+ * half of the memory of the trie nodes at the cost of a linear scan per lookup. The representation switches to the trie
+ * when the map grows past the threshold, and back to the array when it shrinks to half of it, so that a map that
+ * gains and loses an entry around the threshold doesn't convert on every update. The entries of the array
+ * are kept in the same order the trie would iterate them, so the order of the keys doesn't depend on the
+ * representation.
  */
-final class HashMap implements Iterable<HashArrayMappedTrieModule.LeafNode> {
+final class HashMap implements Iterable<JsObjPair> {
 
-  private static final HashMap EMPTY = new HashMap(HashArrayMappedTrie.empty());
+  /**
+   * Maximum number of entries of a map backed by an array.
+   */
+  static final int MAX_ARRAY_MAP_SIZE = 8;
 
+  private static final HashMap EMPTY = new HashMap(new Object[0]);
+
+  /**
+   * Keys and values interleaved ({@code [k0, v0, k1, v1...]}), or null if the map is backed by the trie.
+   */
+  private final Object[] entries;
   private final HashArrayMappedTrie trie;
 
   private HashMap(HashArrayMappedTrie trie) {
     this.trie = Objects.requireNonNull(trie);
+    this.entries = null;
+  }
+
+  private HashMap(Object[] entries) {
+    this.trie = null;
+    this.entries = entries;
   }
 
   static HashMap empty() {
@@ -45,100 +69,251 @@ final class HashMap implements Iterable<HashArrayMappedTrieModule.LeafNode> {
   }
 
   private static HashMap wrap(HashArrayMappedTrie trie) {
-    return trie.isEmpty() ? empty() : new HashMap(trie);
+    if (trie.isEmpty()) {
+      return empty();
+    }
+    if (trie.size() <= MAX_ARRAY_MAP_SIZE / 2) {
+      final Object[] entries = new Object[trie.size() << 1];
+      int i = 0;
+      for (var leaf : trie) {
+        entries[i++] = leaf.key();
+        entries[i++] = leaf.value();
+      }
+      return new HashMap(entries);
+    }
+    return new HashMap(trie);
+  }
+
+  private static HashArrayMappedTrie toTrie(Object owner,
+                                            Object[] entries,
+                                            int length) {
+    HashArrayMappedTrie trie = HashArrayMappedTrie.empty();
+    for (int i = 0; i < length; i += 2) {
+      trie = trie.putTransient(owner,
+                               (String) entries[i],
+                               (JsValue) entries[i + 1]);
+    }
+    return trie;
+  }
+
+  /**
+   * The trie iterates its entries sorted by the 5-bit fragments of the hash, from the least significant one.
+   */
+  private static long trieOrder(String key) {
+    final int hash = key.hashCode();
+    long order = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += AbstractNode.SIZE) {
+      order = (order << AbstractNode.SIZE) | AbstractNode.hashFragment(shift,
+                                                                       hash);
+    }
+    return order;
+  }
+
+  /**
+   * Index where a new key has to be inserted to keep the trie order. Keys with the same hash go first, like in the
+   * leaves of the trie.
+   */
+  private static int insertionPoint(Object[] entries,
+                                    int length,
+                                    String key) {
+    final long order = trieOrder(key);
+    int i = 0;
+    while (i < length && trieOrder((String) entries[i]) < order) {
+      i += 2;
+    }
+    return i;
+  }
+
+  private static int indexOf(Object[] entries,
+                             int length,
+                             String key) {
+    for (int i = 0; i < length; i += 2) {
+      if (key.equals(entries[i])) {
+        return i;
+      }
+    }
+    return -1;
   }
 
   static HashMap ofEntries(Set<Map.Entry<String, JsValue>> entries) {
     Objects.requireNonNull(entries);
-    HashArrayMappedTrie trie = HashArrayMappedTrie.empty();
+    Builder builder = new Builder(empty());
     for (var entry : entries) {
-      trie = trie.put(entry.getKey(),
-                      entry.getValue());
+      builder.put(entry.getKey(),
+                  entry.getValue());
     }
-    return wrap(trie);
+    return builder.build();
   }
 
   static HashMap ofStrEntries(Set<Map.Entry<String, String>> entries) {
     Objects.requireNonNull(entries);
-    HashArrayMappedTrie trie = HashArrayMappedTrie.empty();
+    Builder builder = new Builder(empty());
     for (var entry : entries) {
-      trie = trie.put(entry.getKey(),
-                      JsStr.of(entry.getValue()));
+      builder.put(entry.getKey(),
+                  JsStr.of(entry.getValue()));
     }
-    return wrap(trie);
+    return builder.build();
   }
 
   static HashMap ofIntEntries(Set<Map.Entry<String, Integer>> entries) {
     Objects.requireNonNull(entries,
                            "entries is null");
-    HashArrayMappedTrie trie = HashArrayMappedTrie.empty();
+    Builder builder = new Builder(empty());
     for (var entry : entries) {
-      trie = trie.put(entry.getKey(),
-                      JsInt.of(entry.getValue()));
+      builder.put(entry.getKey(),
+                  JsInt.of(entry.getValue()));
     }
-    return wrap(trie);
+    return builder.build();
   }
 
   static HashMap ofLongEntries(Set<Map.Entry<String, Long>> entries) {
     Objects.requireNonNull(entries,
                            "entries is null");
-    HashArrayMappedTrie trie = HashArrayMappedTrie.empty();
+    Builder builder = new Builder(empty());
     for (var entry : entries) {
-      trie = trie.put(entry.getKey(),
-                      JsLong.of(entry.getValue()));
+      builder.put(entry.getKey(),
+                  JsLong.of(entry.getValue()));
     }
-    return wrap(trie);
+    return builder.build();
   }
 
   static HashMap ofDoubleEntries(Set<Map.Entry<String, Double>> entries) {
     Objects.requireNonNull(entries,
                            "entries is null");
-    HashArrayMappedTrie trie = HashArrayMappedTrie.empty();
+    Builder builder = new Builder(empty());
     for (var entry : entries) {
-      trie = trie.put(entry.getKey(),
-                      JsDouble.of(entry.getValue()));
+      builder.put(entry.getKey(),
+                  JsDouble.of(entry.getValue()));
     }
-    return wrap(trie);
+    return builder.build();
   }
 
   boolean containsKey(String key) {
-    return trie.containsKey(key);
+    return entries != null ? indexOf(entries,
+                                     entries.length,
+                                     key) >= 0 : trie.containsKey(key);
   }
 
   Optional<JsValue> get(String key) {
+    if (entries != null) {
+      final int i = indexOf(entries,
+                            entries.length,
+                            key);
+      return i >= 0 ? Optional.of((JsValue) entries[i + 1]) : Optional.empty();
+    }
     return trie.get(key);
   }
 
   JsValue getOrElse(String key,
                     JsValue defaultValue) {
+    if (entries != null) {
+      final int i = indexOf(entries,
+                            entries.length,
+                            key);
+      return i >= 0 ? (JsValue) entries[i + 1] : defaultValue;
+    }
     return trie.getOrElse(key,
                           defaultValue);
   }
 
   boolean isEmpty() {
-    return trie.isEmpty();
+    return size() == 0;
   }
 
   HashMap put(String key,
               JsValue value) {
-    return new HashMap(trie.put(key,
-                                value));
+    if (entries == null) {
+      return new HashMap(trie.put(key,
+                                  value));
+    }
+    final int i = indexOf(entries,
+                          entries.length,
+                          key);
+    if (i >= 0) {
+      final Object[] copy = entries.clone();
+      copy[i + 1] = value;
+      return new HashMap(copy);
+    }
+    if (entries.length < MAX_ARRAY_MAP_SIZE << 1) {
+      final int at = insertionPoint(entries,
+                                    entries.length,
+                                    key);
+      final Object[] copy = new Object[entries.length + 2];
+      System.arraycopy(entries,
+                       0,
+                       copy,
+                       0,
+                       at);
+      copy[at] = key;
+      copy[at + 1] = value;
+      System.arraycopy(entries,
+                       at,
+                       copy,
+                       at + 2,
+                       entries.length - at);
+      return new HashMap(copy);
+    }
+    final Object owner = new Object();
+    return new HashMap(toTrie(owner,
+                              entries,
+                              entries.length).putTransient(owner,
+                                                           key,
+                                                           value));
   }
 
   HashMap remove(String key) {
-    final HashArrayMappedTrie result = trie.remove(key);
-    return result.size() == trie.size() ? this : wrap(result);
+    if (entries == null) {
+      final HashArrayMappedTrie result = trie.remove(key);
+      return result.size() == trie.size() ? this : wrap(result);
+    }
+    final int i = indexOf(entries,
+                          entries.length,
+                          key);
+    if (i < 0) {
+      return this;
+    }
+    if (entries.length == 2) {
+      return empty();
+    }
+    final Object[] copy = new Object[entries.length - 2];
+    System.arraycopy(entries,
+                     0,
+                     copy,
+                     0,
+                     i);
+    System.arraycopy(entries,
+                     i + 2,
+                     copy,
+                     i,
+                     entries.length - i - 2);
+    return new HashMap(copy);
   }
 
   int size() {
-    return trie.size();
+    return entries != null ? entries.length >> 1 : trie.size();
   }
 
   Iterator<String> keySet() {
+    if (entries != null) {
+      return new ArrayMapIterator<>() {
+        @Override
+        String get(int i) {
+          return (String) entries[i];
+        }
+      };
+    }
     return trie.keysIterator();
   }
 
   boolean containsValue(JsValue value) {
+    if (entries != null) {
+      for (int i = 1; i < entries.length; i += 2) {
+        if (entries[i].equals(value)) {
+          return true;
+        }
+      }
+      return false;
+    }
     for (Iterator<JsValue> it = trie.valuesIterator(); it.hasNext(); ) {
       JsValue v = it.next();
       if (v.equals(value)) {
@@ -150,7 +325,142 @@ final class HashMap implements Iterable<HashArrayMappedTrieModule.LeafNode> {
   }
 
   @Override
-  public Iterator<HashArrayMappedTrieModule.LeafNode> iterator() {
-    return trie.iterator();
+  public Iterator<JsObjPair> iterator() {
+    if (entries != null) {
+      return new ArrayMapIterator<>() {
+        @Override
+        JsObjPair get(int i) {
+          return new JsObjPair((String) entries[i],
+                               (JsValue) entries[i + 1]);
+        }
+      };
+    }
+    return HashArrayMappedTrie.map(trie.iterator(),
+                                   leaf -> new JsObjPair(leaf.key(),
+                                                         leaf.value()));
+  }
+
+  private abstract class ArrayMapIterator<T> implements Iterator<T> {
+
+    private int i = 0;
+
+    abstract T get(int i);
+
+    @Override
+    public boolean hasNext() {
+      return i < entries.length;
+    }
+
+    @Override
+    public T next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      final T next = get(i);
+      i += 2;
+      return next;
+    }
+  }
+
+  /**
+   * Transient version of a map. Until it grows past {@link #MAX_ARRAY_MAP_SIZE} entries, keys and values are written in
+   * place into an array owned by the builder. After that, the nodes of the trie created by the builder are updated in
+   * place, so that building a map of n entries doesn't create n - 1 intermediate maps to throw away. The nodes that
+   * come from the initial map are never modified. Not thread-safe.
+   */
+  static final class Builder {
+
+    private Object owner = new Object();
+    private Object[] entries;
+    private int length;
+    private HashArrayMappedTrie trie;
+
+    Builder(HashMap map) {
+      if (map.entries != null) {
+        this.entries = Arrays.copyOf(map.entries,
+                                     MAX_ARRAY_MAP_SIZE << 1);
+        this.length = map.entries.length;
+      } else {
+        this.trie = map.trie;
+      }
+    }
+
+    void put(String key,
+             JsValue value) {
+      if (entries == null) {
+        trie = trie.putTransient(owner,
+                                 key,
+                                 value);
+        return;
+      }
+      final int i = indexOf(entries,
+                            length,
+                            key);
+      if (i >= 0) {
+        entries[i + 1] = value;
+      } else if (length < entries.length) {
+        final int at = insertionPoint(entries,
+                                      length,
+                                      key);
+        System.arraycopy(entries,
+                         at,
+                         entries,
+                         at + 2,
+                         length - at);
+        entries[at] = key;
+        entries[at + 1] = value;
+        length += 2;
+      } else {
+        trie = toTrie(owner,
+                      entries,
+                      length).putTransient(owner,
+                                           key,
+                                           value);
+        entries = null;
+        length = 0;
+      }
+    }
+
+    void remove(String key) {
+      if (entries == null) {
+        trie = trie.remove(key);
+        return;
+      }
+      final int i = indexOf(entries,
+                            length,
+                            key);
+      if (i >= 0) {
+        System.arraycopy(entries,
+                         i + 2,
+                         entries,
+                         i,
+                         length - i - 2);
+        entries[--length] = null;
+        entries[--length] = null;
+      }
+    }
+
+    boolean containsKey(String key) {
+      return entries != null ? indexOf(entries,
+                                       length,
+                                       key) >= 0 : trie.containsKey(key);
+    }
+
+    int size() {
+      return entries != null ? length >> 1 : trie.size();
+    }
+
+    /**
+     * Returns the map with the entries put so far. A new owner is taken so the returned map is not changed if the
+     * builder is used again.
+     */
+    HashMap build() {
+      if (entries != null) {
+        return length == 0 ? empty() : new HashMap(Arrays.copyOf(entries,
+                                                                 length));
+      }
+      owner = new Object();
+      return wrap(trie);
+    }
   }
 }
@@ -12,22 +12,31 @@ import static jsonvalues.MatchExp.ifJsonElse;
 import static jsonvalues.MatchExp.ifNothingElse;
 
 import fun.optic.Prism;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.stream.DoubleStream;
 import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import jsonvalues.spec.JsIO;
 import jsonvalues.spec.JsParserException;
@@ -95,6 +104,24 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
     return EMPTY;
   }
 
+  /**
+   * Returns a new builder to create a JSON array appending one element at a time. Unlike
+   * {@link #append(JsValue, JsValue...)}, the builder doesn't create an intermediate array per element, which makes it
+   * the best choice to create big arrays in a loop.
+   *
+   * <pre>{@code
+   * JsArray array = JsArray.builder()
+   *                        .append(JsInt.of(1))
+   *                        .append(JsStr.of("a"))
+   *                        .build();
+   * }</pre>
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
 
   /**
    * Creates a new {@link JsArray} containing the specified elements.
@@ -108,11 +135,11 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
    * @throws NullPointerException if any of the provided elements (including {@code e} and {@code rest}) are null.
    */
   public static JsArray of(final JsValue... values) {
-    JsArray result = JsArray.empty();
+    Builder builder = builder();
     for (JsValue other : requireNonNull(values)) {
-      result = result.append(other);
+      builder.append(other);
     }
-    return result;
+    return builder.build();
 
 
   }
@@ -163,13 +190,11 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
                            int... others
                           ) {
 
-    Vector<JsValue> vector = Vector.<JsValue>empty()
-                                   .append(JsInt.of(number));
+    Builder builder = builder().append(number);
     for (int a : others) {
-      vector = vector.append(JsInt.of(a));
+      builder.append(a);
     }
-    return new JsArray(vector
-    );
+    return builder.build();
   }
 
   /**
@@ -210,14 +235,11 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
                            final long... others
                           ) {
 
-    Vector<JsValue> vector = Vector.<JsValue>empty()
-                                   .append(JsLong.of(number));
+    Builder builder = builder().append(number);
     for (long a : others) {
-      vector = vector.append(JsLong.of(a));
+      builder.append(a);
     }
-    return new JsArray(vector
-
-    );
+    return builder.build();
   }
 
   /**
@@ -258,13 +280,11 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
                            final double... others
                           ) {
 
-    Vector<JsValue> vector = Vector.<JsValue>empty()
-                                   .append(JsDouble.of(number));
+    Builder builder = builder().append(number);
     for (double a : others) {
-      vector = vector.append(JsDouble.of(a));
+      builder.append(a);
     }
-    return new JsArray(vector
-    );
+    return builder.build();
   }
 
   /**
@@ -278,11 +298,8 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
    * @return A new {@link JsArray} containing the elements from the specified {@link Iterable}.
    */
   public static JsArray ofIterable(final Iterable<? extends JsValue> iterable) {
-    Vector<JsValue> vector = Vector.empty();
-    for (JsValue e : requireNonNull(iterable)) {
-      vector = vector.append(e);
-    }
-    return new JsArray(vector);
+    return builder().appendAll(iterable)
+                    .build();
   }
 
   /**
@@ -304,9 +321,11 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
    * @return A new {@link JsArray} {@link Collection}.
    */
   public static JsArray ofInts(final Collection<Integer> list) {
-    return ofIterable(list.stream()
-                          .map(JsInt::of)
-                          .toList());
+    Builder builder = builder();
+    for (int n : list) {
+      builder.append(n);
+    }
+    return builder.build();
   }
 
   /**
@@ -316,9 +335,11 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
    * @return A new {@link JsArray} {@link Collection}.
    */
   public static JsArray ofLongs(final Collection<Long> list) {
-    return ofIterable(list.stream()
-                          .map(JsLong::of)
-                          .toList());
+    Builder builder = builder();
+    for (long n : list) {
+      builder.append(n);
+    }
+    return builder.build();
   }
 
   /**
@@ -340,9 +361,11 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
    * @return A new {@link JsArray} {@link Collection}.
    */
   public static JsArray ofDoubles(final Collection<Double> list) {
-    return ofIterable(list.stream()
-                          .map(JsDouble::of)
-                          .toList());
+    Builder builder = builder();
+    for (double n : list) {
+      builder.append(n);
+    }
+    return builder.build();
   }
 
   /**
@@ -446,6 +469,59 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
 
   }
 
+  /**
+   * Parses the remaining bytes of the given buffer into a {@link JsArray}. Direct buffers are scanned without copying
+   * their content onto the heap, and the position of the buffer is not modified.
+   *
+   * @param buffer The buffer with the JSON array to parse.
+   * @return A new {@link JsArray} containing the parsed JSON values.
+   * @throws JsParserException If the bytes do not represent a valid JSON array.
+   */
+  public static JsArray parse(final ByteBuffer buffer) throws JsParserException {
+    return JsIO.INSTANCE.parseToJsArray(requireNonNull(buffer));
+  }
+
+  /**
+   * Parses the content of the given file into a {@link JsArray}. The file is mapped into memory instead of being read
+   * onto the heap, which makes it a good fit for big files.
+   *
+   * @param path The path of the file with the JSON array to parse.
+   * @return A new {@link JsArray} containing the parsed JSON values.
+   * @throws JsParserException    If the content does not represent a valid JSON array.
+   * @throws UncheckedIOException If the file can't be read.
+   */
+  public static JsArray parse(final Path path) throws JsParserException {
+    return JsIO.INSTANCE.parseToJsArray(requireNonNull(path));
+  }
+
+  /**
+   * Parses the given string into an immutable and persistent JSON array with the readers, caches and limits of the
+   * given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param str the string to be parsed
+   * @param io  the instance created with {@link JsIO#builder()}
+   * @return a JsArray object
+   * @throws JsParserException if the string doesn't represent a json array
+   */
+  public static JsArray parse(final String str,
+                              final JsIO io) throws JsParserException {
+    return requireNonNull(io).parseToJsArray(str.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses the given array of bytes into an immutable and persistent JSON array with the readers, caches and limits of
+   * the given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param bytes the array of bytes
+   * @param io    the instance created with {@link JsIO#builder()}
+   * @return a JsArray object
+   * @throws JsParserException if the bytes don't represent a json array
+   */
+  public static JsArray parse(final byte[] bytes,
+                              final JsIO io) throws JsParserException {
+    return requireNonNull(io).parseToJsArray(bytes);
+  }
+
 
   static Stream<JsPair> streamOfArr(final JsArray array,
                                     final JsPath path
@@ -558,6 +634,9 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
    * {@code ARRAY_AS} is {@link TYPE#MULTISET}, both arrays must contain the same elements (order doesn't matter,
    * duplicates are counted).
    *
+   * <p>Sets and multisets are compared in linear time, putting the elements (and how many times they appear, for
+   * multisets) into hash tables keyed by their hash codes, which JSON arrays and objects compute only once.
+   *
    * @param array    The {@link JsArray} to compare to this array.
    * @param ARRAY_AS The {@link TYPE} specifying the type of array comparison (SET, LIST, or MULTISET).
    * @return {@code true} if the arrays are equal according to the specified type, {@code false} otherwise.
@@ -575,25 +654,42 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
     if (array.isEmpty()) {
       return false;
     }
-    return IntStream.range(0,
-                           size()
-                          )
-                    .mapToObj(i -> get(Index.of(i)))
-                    .allMatch(elem ->
-                              {
-                                if (!array.containsValue(elem)) {
-                                  return false;
-                                }
-                                if (ARRAY_AS == MULTISET) {
-                                  return seq.count(it -> it.equals(elem)) == array.seq.count(it -> it.equals(elem));
-                                }
-                                return true;
-                              })
-           && IntStream.range(0,
-                              array.size()
-                             )
-                       .mapToObj(i -> array.get(Index.of(i)))
-                       .allMatch(this::containsValue);
+    if (ARRAY_AS == MULTISET) {
+      if (size() != array.size()) {
+        return false;
+      }
+      Map<JsValue, Integer> counts = new HashMap<>();
+      for (JsValue elem : seq) {
+        counts.merge(elem,
+                     1,
+                     Integer::sum);
+      }
+      for (JsValue elem : array.seq) {
+        Integer count = counts.get(elem);
+        if (count == null) {
+          return false;
+        }
+        if (count == 1) {
+          counts.remove(elem);
+        } else {
+          counts.put(elem,
+                     count - 1);
+        }
+      }
+      return counts.isEmpty();
+    }
+    Set<JsValue> elems = new HashSet<>();
+    for (JsValue elem : seq) {
+      elems.add(elem);
+    }
+    Set<JsValue> arrayElems = new HashSet<>();
+    for (JsValue elem : array.seq) {
+      if (!elems.contains(elem)) {
+        return false;
+      }
+      arrayElems.add(elem);
+    }
+    return arrayElems.size() == elems.size();
   }
 
   /**
@@ -1403,6 +1499,76 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
     return seq.toJavaStream();
   }
 
+  /**
+   * Returns the elements of the array as an {@link IntStream}. Arrays of integers parsed with a spec or created with
+   * {@link #ofInts(Collection)} or a {@link Builder} store them unboxed, and no {@link JsInt} is created. Otherwise,
+   * every element is converted like in {@link #getInt(int)}.
+   *
+   * @return an IntStream with the elements of the array
+   * @throws UserError if some element is not an integer
+   */
+  public IntStream intStream() {
+    if (seq.isBackedBy(ArrayType.IntArrayType.INSTANCE)) {
+      return IntStream.of((int[]) seq.toArray());
+    }
+    return seq.toJavaStream()
+              .mapToInt(value -> {
+                Integer n = Fun.getInt(value);
+                if (n == null) {
+                  throw UserError.isNotAJsInt(value);
+                }
+                return n;
+              });
+  }
+
+  /**
+   * Returns the elements of the array as a {@link LongStream}. Arrays of longs or integers parsed with a spec or
+   * created with {@link #ofLongs(Collection)} or a {@link Builder} store them unboxed, and no {@link JsLong} is
+   * created. Otherwise, every element is converted like in {@link #getLong(int)}.
+   *
+   * @return a LongStream with the elements of the array
+   * @throws UserError if some element is not an integral number that fits in a long
+   */
+  public LongStream longStream() {
+    if (seq.isBackedBy(ArrayType.LongArrayType.INSTANCE)) {
+      return LongStream.of((long[]) seq.toArray());
+    }
+    if (seq.isBackedBy(ArrayType.IntArrayType.INSTANCE)) {
+      return IntStream.of((int[]) seq.toArray())
+                      .asLongStream();
+    }
+    return seq.toJavaStream()
+              .mapToLong(value -> {
+                Long n = Fun.getLong(value);
+                if (n == null) {
+                  throw UserError.isNotAJsLong(value);
+                }
+                return n;
+              });
+  }
+
+  /**
+   * Returns the elements of the array as a {@link DoubleStream}. Arrays of doubles parsed with a spec or created with
+   * {@link #ofDoubles(Collection)} or a {@link Builder} store them unboxed, and no {@link JsDouble} is created.
+   * Otherwise, every element is converted like in {@link #getDouble(int)}.
+   *
+   * @return a DoubleStream with the elements of the array
+   * @throws UserError if some element is not a decimal number that fits in a double
+   */
+  public DoubleStream doubleStream() {
+    if (seq.isBackedBy(ArrayType.DoubleArrayType.INSTANCE)) {
+      return DoubleStream.of((double[]) seq.toArray());
+    }
+    return seq.toJavaStream()
+              .mapToDouble(value -> {
+                Double n = Fun.getDouble(value);
+                if (n == null) {
+                  throw UserError.isNotAJsDouble(value);
+                }
+                return n;
+              });
+  }
+
 
   private boolean yContainsX(final Vector<JsValue> x,
                              final Vector<JsValue> y
@@ -1767,7 +1933,103 @@ public final class JsArray implements Json<JsArray>, Iterable<JsValue> {
   }
 
 
-}
+  /**
+   * Mutable builder of {@link JsArray}. The elements are written in place into the leaves of a trie, and
+   * {@link #build()} returns an immutable array. Arrays of only ints, only longs or only doubles are stored in
+   * primitive arrays, and the {@link JsValue} wrappers are created when the elements are accessed one by one. Use
+   * {@link JsArray#intStream()}, {@link JsArray#longStream()} or {@link JsArray#doubleStream()} to read them unboxed.
+   * The builder can still be used after calling {@code build}, without affecting the arrays previously built. It's not
+   * thread-safe.
+   *
+   * @see JsArray#builder()
+   */
+  public static final class Builder {
+
+    private final Vector.Builder<JsValue> seq = new Vector.Builder<>();
+
+    private Builder() {
+    }
+
+    /**
+     * Appends the given value to the end of the array. Appending {@link JsNothing#NOTHING} has no effect.
+     *
+     * @param value the value
+     * @return this builder
+     */
+    public Builder append(final JsValue value) {
+      if (!requireNonNull(value).isNothing()) {
+        seq.append(value);
+      }
+      return this;
+    }
 
+    /**
+     * Appends the given integer to the end of the array, without boxing it if all the elements so far are integers.
+     *
+     * @param value the value
+     * @return this builder
+     */
+    public Builder append(final int value) {
+      seq.appendInt(value);
+      return this;
+    }
 
+    /**
+     * Appends the given long to the end of the array, without boxing it if all the elements so far are longs.
+     *
+     * @param value the value
+     * @return this builder
+     */
+    public Builder append(final long value) {
+      seq.appendLong(value);
+      return this;
+    }
 
+    /**
+     * Appends the given double to the end of the array, without boxing it if all the elements so far are doubles.
+     *
+     * @param value the value
+     * @return this builder
+     * @throws IllegalArgumentException if the value is NaN or infinite
+     */
+    public Builder append(final double value) {
+      seq.appendDouble(value);
+      return this;
+    }
+
+    /**
+     * Appends all the values of the given iterable to the end of the array, in the order they are returned by its
+     * iterator.
+     *
+     * @param values the values
+     * @return this builder
+     */
+    public Builder appendAll(final Iterable<? extends JsValue> values) {
+      for (JsValue value : requireNonNull(values)) {
+        append(value);
+      }
+      return this;
+    }
+
+    /**
+     * Returns the number of elements appended so far.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+      return seq.length();
+    }
+
+    /**
+     * Returns a new immutable JSON array with the elements appended so far.
+     *
+     * @return a JsArray
+     */
+    public JsArray build() {
+      Vector<JsValue> result = seq.build();
+      return result.isEmpty() ? EMPTY : new JsArray(result);
+    }
+  }
+
+
+}
@@ -86,8 +86,10 @@ public final class JsBigDec extends JsNumber implements Comparable<JsBigDec> {
     }
 
     Optional<BigInteger> optBigInt = bigIntegerExact();
+    // equal decimals with different scales (1.5 and 1.50) must have the same hash code
     return optBigInt.map(BigInteger::hashCode)
-                    .orElseGet(value::hashCode);
+                    .orElseGet(() -> value.stripTrailingZeros()
+                                          .hashCode());
 
   }
 
@@ -49,13 +49,17 @@ public final class JsDouble extends JsNumber implements Comparable<JsDouble> {
    * @return a new JsDouble
    */
   public static JsDouble of(double n) {
+    return new JsDouble(requireFinite(n));
+  }
+
+  static double requireFinite(double n) {
     if (Double.isNaN(n)) {
       throw new IllegalArgumentException("JsDouble cannot be NaN");
     }
     if (Double.isInfinite(n)) {
       throw new IllegalArgumentException("JsDouble cannot be Infinity");
     }
-    return new JsDouble(n);
+    return n;
   }
 
 
@@ -8,9 +8,12 @@ import static jsonvalues.JsNull.NULL;
 import static jsonvalues.MatchExp.ifNothingElse;
 
 import fun.optic.Prism;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -173,6 +176,35 @@ public final class JsObj implements Json<JsObj>, Iterable<JsObjPair> {
     return EMPTY;
   }
 
+  /**
+   * Returns a new builder to create a JSON object adding one key at a time. Unlike {@link #set(String, JsValue)}, the
+   * builder doesn't create an intermediate object per key, which makes it the best choice to create big objects in a
+   * loop.
+   *
+   * <pre>{@code
+   * JsObj obj = JsObj.builder()
+   *                  .set("name", JsStr.of("Rafa"))
+   *                  .set("age", JsInt.of(40))
+   *                  .build();
+   * }</pre>
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder(HashMap.empty());
+  }
+
+  /**
+   * Returns a new builder initialized with the keys of the given object. The given object is not modified by the
+   * builder.
+   *
+   * @param obj the initial object
+   * @return a new builder
+   */
+  static Builder builder(final JsObj obj) {
+    return new Builder(obj.map);
+  }
+
   /**
    * Static factory method to create one-element JSON object
    *
@@ -3249,6 +3281,59 @@ public final class JsObj implements Json<JsObj>, Iterable<JsObjPair> {
     return JsIO.INSTANCE.parseToJsObj(bytes);
   }
 
+  /**
+   * Parses the remaining bytes of the given buffer into an immutable and persistent JSON object. Direct buffers are
+   * scanned without copying their content onto the heap, and the position of the buffer is not modified.
+   *
+   * @param buffer the buffer
+   * @return a JsObj object
+   * @throws JsParserException if the bytes don't represent a json object
+   */
+  public static JsObj parse(final ByteBuffer buffer) throws JsParserException {
+    return JsIO.INSTANCE.parseToJsObj(requireNonNull(buffer));
+  }
+
+  /**
+   * Parses the content of the given file into an immutable and persistent JSON object. The file is mapped into memory
+   * instead of being read onto the heap, which makes it a good fit for big files.
+   *
+   * @param path the path of the file
+   * @return a JsObj object
+   * @throws JsParserException    if the content doesn't represent a json object
+   * @throws UncheckedIOException if the file can't be read
+   */
+  public static JsObj parse(final Path path) throws JsParserException {
+    return JsIO.INSTANCE.parseToJsObj(requireNonNull(path));
+  }
+
+  /**
+   * Parses the given string into an immutable and persistent JSON object with the readers, caches and limits of the
+   * given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param str the string to be parsed
+   * @param io  the instance created with {@link JsIO#builder()}
+   * @return a JsObj object
+   * @throws JsParserException if the string doesn't represent a json object
+   */
+  public static JsObj parse(final String str,
+                            final JsIO io) throws JsParserException {
+    return requireNonNull(io).parseToJsObj(str.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses the given array of bytes into an immutable and persistent JSON object with the readers, caches and limits of
+   * the given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param bytes the array of bytes
+   * @param io    the instance created with {@link JsIO#builder()}
+   * @return a JsObj object
+   * @throws JsParserException if the bytes don't represent a json object
+   */
+  public static JsObj parse(final byte[] bytes,
+                            final JsIO io) throws JsParserException {
+    return requireNonNull(io).parseToJsObj(bytes);
+  }
+
   static Stream<JsPair> streamOfObj(final JsObj obj,
                                     final JsPath path
                                    ) {
@@ -3814,11 +3899,12 @@ public final class JsObj implements Json<JsObj>, Iterable<JsObjPair> {
   public boolean equals(final JsObj that,
                         final TYPE ARRAY_AS
                        ) {
-    if (isEmpty()) {
-      return that.isEmpty();
+    if (this == that) {
+      return true;
     }
-    if (that.isEmpty()) {
-      return isEmpty();
+    // with the same size, every key of this object being in the other one means both have the same keys
+    if (size() != that.size()) {
+      return false;
     }
     return keySet().stream()
                    .allMatch(field ->
@@ -3836,9 +3922,7 @@ public final class JsObj implements Json<JsObj>, Iterable<JsObjPair> {
                                                    );
                                }
                                return elem.equals(thatElem);
-                             }) && that.keySet()
-                                       .stream()
-                                       .allMatch(this::containsKey);
+                             });
   }
 
   /**
@@ -4257,23 +4341,7 @@ public final class JsObj implements Json<JsObj>, Iterable<JsObjPair> {
 
   @Override
   public Iterator<JsObjPair> iterator() {
-
-    Iterator<HashArrayMappedTrieModule.LeafNode> iterator = map.iterator();
-
-    return new Iterator<>() {
-      @Override
-      public boolean hasNext() {
-        return iterator.hasNext();
-      }
-
-      @Override
-      public JsObjPair next() {
-        var next = iterator.next();
-        return new JsObjPair(next.key(),
-                             next.value());
-      }
-    };
-
+    return map.iterator();
   }
 
 
@@ -4368,5 +4436,81 @@ public final class JsObj implements Json<JsObj>, Iterable<JsObjPair> {
   }
 
 
-}
+  /**
+   * Mutable builder of {@link JsObj}. The entries are put into a trie that is updated in place, and {@link #build()}
+   * returns an immutable object in constant time. The builder can still be used after calling {@code build}, without
+   * affecting the objects previously built. It's not thread-safe.
+   *
+   * @see JsObj#builder()
+   */
+  public static final class Builder {
+
+    private final HashMap.Builder map;
+
+    private Builder(final HashMap map) {
+      this.map = new HashMap.Builder(map);
+    }
+
+    /**
+     * Sets the specified key to the given JSON value, replacing the previous value if the key already exists. Like in
+     * {@link JsObj#set(String, JsValue)}, setting {@link JsNothing#NOTHING} removes the key.
+     *
+     * @param key   the key
+     * @param value the value
+     * @return this builder
+     */
+    public Builder set(final String key,
+                       final JsValue value) {
+      requireNonNull(key);
+      if (requireNonNull(value).isNothing()) {
+        map.remove(key);
+      } else {
+        map.put(key,
+                value);
+      }
+      return this;
+    }
 
+    /**
+     * Removes the specified key. If the key doesn't exist, this method has no effect.
+     *
+     * @param key the key
+     * @return this builder
+     */
+    public Builder delete(final String key) {
+      map.remove(requireNonNull(key));
+      return this;
+    }
+
+    /**
+     * Returns true if a value has been set for the specified key.
+     *
+     * @param key the key
+     * @return true if the key exists
+     */
+    public boolean containsKey(final String key) {
+      return map.containsKey(requireNonNull(key));
+    }
+
+    /**
+     * Returns the number of keys set so far.
+     *
+     * @return the number of keys
+     */
+    public int size() {
+      return map.size();
+    }
+
+    /**
+     * Returns a new immutable JSON object with the keys set so far.
+     *
+     * @return a JsObj
+     */
+    public JsObj build() {
+      HashMap result = map.build();
+      return result.isEmpty() ? EMPTY : new JsObj(result);
+    }
+  }
+
+
+}
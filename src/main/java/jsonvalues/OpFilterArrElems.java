@@ -11,31 +11,27 @@ final class OpFilterArrElems {
   static JsArray filter(JsArray json,
                         Predicate<? super JsPrimitive> predicate
                        ) {
-    for (int i = json.size() - 1; i >= 0; i--) {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < json.size(); i++) {
 
       JsValue value = json.get(i);
 
       if (value.isObj()) {
-        json = json.set(i,
-                        OpFilterObjElems.filter(value.toJsObj(),
-                                                predicate
-                                               )
-                       );
+        builder.append(OpFilterObjElems.filter(value.toJsObj(),
+                                               predicate
+                                              )
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        filter(value.toJsArray(),
-                               predicate
-                              )
-                       );
-      } else if (predicate.negate()
-                          .test(
-                              value.toJsPrimitive()
-                               )) {
-        json = json.delete(i);
+        builder.append(filter(value.toJsArray(),
+                              predicate
+                             )
+                      );
+      } else if (predicate.test(value.toJsPrimitive())) {
+        builder.append(value);
       }
     }
 
-    return json;
+    return builder.build();
   }
 
 
@@ -43,34 +39,32 @@ final class OpFilterArrElems {
                         JsPath startingPath,
                         BiPredicate<? super JsPath, ? super JsPrimitive> predicate
                        ) {
-    for (int i = json.size() - 1; i >= 0; i--) {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < json.size(); i++) {
 
       JsPath headPath = startingPath.index(i);
       JsValue value = json.get(i);
 
       if (value.isObj()) {
-        json = json.set(i,
-                        OpFilterObjElems.filter(value.toJsObj(),
-                                                headPath,
-                                                predicate
-                                               )
-                       );
+        builder.append(OpFilterObjElems.filter(value.toJsObj(),
+                                               headPath,
+                                               predicate
+                                              )
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        filter(value.toJsArray(),
-                               headPath,
-                               predicate
-                              )
-                       );
-      } else if (predicate.negate()
-                          .test(headPath,
+        builder.append(filter(value.toJsArray(),
+                              headPath,
+                              predicate
+                             )
+                      );
+      } else if (predicate.test(headPath,
                                 value.toJsPrimitive()
                                )) {
-        json = json.delete(i);
+        builder.append(value);
       }
     }
 
-    return json;
+    return builder.build();
   }
 
 }
@@ -12,26 +12,27 @@ final class OpFilterArrKeys {
                         JsPath startingPath,
                         BiPredicate<? super JsPath, ? super JsValue> predicate
                        ) {
-    for (int i = json.size() - 1; i >= 0; i--) {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < json.size(); i++) {
       JsValue value = json.get(i);
       JsPath headPath = startingPath.index(i);
       if (value.isObj()) {
-        json = json.set(i,
-                        OpFilterObjKeys.filter(value.toJsObj(),
-                                               headPath,
-                                               predicate
-                                              )
-                       );
+        builder.append(OpFilterObjKeys.filter(value.toJsObj(),
+                                              headPath,
+                                              predicate
+                                             )
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        filter(value.toJsArray(),
-                               headPath,
-                               predicate
-                              )
-                       );
+        builder.append(filter(value.toJsArray(),
+                              headPath,
+                              predicate
+                             )
+                      );
+      } else {
+        builder.append(value);
       }
     }
-    return json;
+    return builder.build();
 
   }
 
@@ -39,26 +40,27 @@ final class OpFilterArrKeys {
   static JsArray filter(JsArray json,
                         Predicate<? super String> predicate
                        ) {
-    for (int i = json.size() - 1; i >= 0; i--) {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < json.size(); i++) {
 
       JsValue value = json.get(i);
 
       if (value.isObj()) {
-        json = json.set(i,
-                        OpFilterObjKeys.filter(value.toJsObj(),
-                                               predicate)
-                       );
+        builder.append(OpFilterObjKeys.filter(value.toJsObj(),
+                                              predicate)
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        filter(value.toJsArray(),
-                               predicate)
-                       );
+        builder.append(filter(value.toJsArray(),
+                              predicate)
+                      );
 
+      } else {
+        builder.append(value);
       }
 
 
     }
-    return json;
+    return builder.build();
   }
 
 
@@ -14,35 +14,33 @@ final class OpFilterArrObjs {
                         BiPredicate<? super JsPath, ? super JsObj> predicate
 
                        ) {
-    for (int i = json.size() - 1; i >= 0; i--) {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < json.size(); i++) {
       JsValue value = json.get(i);
       JsPath path = startingPath.index(i);
       if (value.isObj()) {
-        if (predicate.negate()
-                     .test(path,
+        if (predicate.test(path,
                            value.toJsObj()
                           )) {
-          json = json.delete(i);
-        } else {
-          json = json.set(i,
-                          OpFilterObjObjs.filter(value.toJsObj(),
-                                                 path,
-                                                 predicate
-                                                )
-                         );
+          builder.append(OpFilterObjObjs.filter(value.toJsObj(),
+                                                path,
+                                                predicate
+                                               )
+                        );
         }
       } else if (value.isArray()) {
-        json = json.set(i,
-                        filter(value.toJsArray(),
-                               path,
-                               predicate
-                              )
-                       );
+        builder.append(filter(value.toJsArray(),
+                              path,
+                              predicate
+                             )
+                      );
+      } else {
+        builder.append(value);
       }
 
     }
 
-    return json;
+    return builder.build();
 
 
   }
@@ -50,30 +48,28 @@ final class OpFilterArrObjs {
   static JsArray filter(JsArray json,
                         Predicate<? super JsObj> predicate
                        ) {
-    for (int i = json.size() - 1; i >= 0; i--) {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < json.size(); i++) {
       JsValue value = json.get(i);
       if (value.isObj()) {
-        if (predicate.negate()
-                     .test(value.toJsObj())) {
-          json = json.delete(i);
-        } else {
-          json = json.set(i,
-                          OpFilterObjObjs.filter(value.toJsObj(),
-                                                 predicate
-                                                )
-                         );
+        if (predicate.test(value.toJsObj())) {
+          builder.append(OpFilterObjObjs.filter(value.toJsObj(),
+                                                predicate
+                                               )
+                        );
         }
       } else if (value.isArray()) {
-        json = json.set(i,
-                        filter(value.toJsArray(),
-                               predicate
-                              )
-                       );
+        builder.append(filter(value.toJsArray(),
+                              predicate
+                             )
+                      );
+      } else {
+        builder.append(value);
       }
 
     }
 
-    return json;
+    return builder.build();
   }
 
 
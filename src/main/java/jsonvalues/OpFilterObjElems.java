@@ -13,37 +13,38 @@ final class OpFilterObjElems {
                       JsPath startingPath,
                       BiPredicate<? super JsPath, ? super JsPrimitive> predicate
                      ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
       JsPath headPath = startingPath.key(next.key());
 
       JsValue headElem = next.value();
 
       if (headElem.isObj()) {
-        json = json.set(next.key(),
-                        filter(headElem.toJsObj(),
-                               headPath,
-                               predicate
-                              )
-                       );
+        builder.set(next.key(),
+                    filter(headElem.toJsObj(),
+                           headPath,
+                           predicate
+                          )
+                   );
       } else if (headElem.isArray()) {
-        json = json.set(next.key(),
-                        OpFilterArrElems
-                            .filter(headElem.toJsArray(),
-                                    headPath,
-                                    predicate
-                                   )
-                       );
+        builder.set(next.key(),
+                    OpFilterArrElems
+                        .filter(headElem.toJsArray(),
+                                headPath,
+                                predicate
+                               )
+                   );
       } else if (predicate.negate()
                           .test(headPath,
                                 headElem.toJsPrimitive()
                                )) {
 
-        json = json.delete(next.key());
+        builder.delete(next.key());
       }
 
     }
 
-    return json;
+    return builder.build();
 
   }
 
@@ -51,33 +52,34 @@ final class OpFilterObjElems {
   static JsObj filter(JsObj json,
                       Predicate<? super JsPrimitive> predicate
                      ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
 
       JsValue headElem = next.value();
 
       if (headElem.isObj()) {
-        json = json.set(next.key(),
-                        filter(headElem.toJsObj(),
-                               predicate
-                              )
-                       );
+        builder.set(next.key(),
+                    filter(headElem.toJsObj(),
+                           predicate
+                          )
+                   );
       } else if (headElem.isArray()) {
-        json = json.set(next.key(),
-                        OpFilterArrElems
-                            .filter(headElem.toJsArray(),
-                                    predicate
-                                   )
-                       );
+        builder.set(next.key(),
+                    OpFilterArrElems
+                        .filter(headElem.toJsArray(),
+                                predicate
+                               )
+                   );
       } else if (predicate.negate()
                           .test(headElem.toJsPrimitive()
                                )) {
 
-        json = json.delete(next.key());
+        builder.delete(next.key());
       }
 
     }
 
-    return json;
+    return builder.build();
   }
 
 
@@ -13,6 +13,7 @@ final class OpFilterObjKeys {
                       JsPath startingPath,
                       BiPredicate<? super JsPath, ? super JsValue> predicate
                      ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
       JsPath headPath = startingPath.key(next.key());
 
@@ -20,27 +21,27 @@ final class OpFilterObjKeys {
                    .test(headPath,
                          next.value())) {
 
-        json = json.delete(next.key());
+        builder.delete(next.key());
       } else if (next.value()
                      .isObj()) {
-        json = json.set(next.key(),
-                        filter(next.value()
-                                   .toJsObj(),
-                               headPath,
-                               predicate));
+        builder.set(next.key(),
+                    filter(next.value()
+                               .toJsObj(),
+                           headPath,
+                           predicate));
       } else if (next.value()
                      .isArray()) {
-        json = json.set(next.key(),
-                        OpFilterArrKeys.filter(next.value()
-                                                   .toJsArray(),
-                                               headPath,
-                                               predicate));
+        builder.set(next.key(),
+                    OpFilterArrKeys.filter(next.value()
+                                               .toJsArray(),
+                                           headPath,
+                                           predicate));
       }
 
 
     }
 
-    return json;
+    return builder.build();
 
   }
 
@@ -48,30 +49,31 @@ final class OpFilterObjKeys {
   static JsObj filter(JsObj json,
                       Predicate<? super String> predicate
                      ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
 
       if (predicate.negate()
                    .test(next.key())) {
 
-        json = json.delete(next.key());
+        builder.delete(next.key());
       } else if (next.value()
                      .isObj()) {
-        json = json.set(next.key(),
-                        filter(next.value()
-                                   .toJsObj(),
-                               predicate));
+        builder.set(next.key(),
+                    filter(next.value()
+                               .toJsObj(),
+                           predicate));
       } else if (next.value()
                      .isArray()) {
-        json = json.set(next.key(),
-                        OpFilterArrKeys.filter(next.value()
-                                                   .toJsArray(),
-                                               predicate));
+        builder.set(next.key(),
+                    OpFilterArrKeys.filter(next.value()
+                                               .toJsArray(),
+                                           predicate));
       }
 
 
     }
 
-    return json;
+    return builder.build();
   }
 
 
@@ -14,6 +14,7 @@ final class OpFilterObjObjs {
                       JsPath startingPath,
                       BiPredicate<? super JsPath, ? super JsObj> predicate
                      ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
       if (next.value()
               .isObj()) {
@@ -22,53 +23,54 @@ final class OpFilterObjObjs {
                      .test(path,
                            next.value()
                                .toJsObj())) {
-          json = json.delete(next.key());
+          builder.delete(next.key());
         } else {
-          json = json.set(next.key(),
-                          filter(next.value()
-                                     .toJsObj(),
-                                 path,
-                                 predicate));
+          builder.set(next.key(),
+                      filter(next.value()
+                                 .toJsObj(),
+                             path,
+                             predicate));
         }
       } else if (next.value()
                      .isArray()) {
         JsPath path = startingPath.key(next.key());
-        json = json.set(next.key(),
-                        OpFilterArrObjs.filter(next.value()
-                                                   .toJsArray(),
-                                               path,
-                                               predicate));
+        builder.set(next.key(),
+                    OpFilterArrObjs.filter(next.value()
+                                               .toJsArray(),
+                                           path,
+                                           predicate));
       }
     }
-    return json;
+    return builder.build();
   }
 
 
   static JsObj filter(JsObj json,
                       Predicate<? super JsObj> predicate
                      ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
       if (next.value()
               .isObj()) {
         if (predicate.negate()
                      .test(next.value()
                                .toJsObj())) {
-          json = json.delete(next.key());
+          builder.delete(next.key());
         } else {
-          json = json.set(next.key(),
-                          filter(next.value()
-                                     .toJsObj(),
-                                 predicate));
+          builder.set(next.key(),
+                      filter(next.value()
+                                 .toJsObj(),
+                             predicate));
         }
       } else if (next.value()
                      .isArray()) {
-        json = json.set(next.key(),
-                        OpFilterArrObjs.filter(next.value()
-                                                   .toJsArray(),
-                                               predicate));
+        builder.set(next.key(),
+                    OpFilterArrObjs.filter(next.value()
+                                               .toJsArray(),
+                                           predicate));
       }
     }
-    return json;
+    return builder.build();
   }
 
 
@@ -13,70 +13,63 @@ final class OpMapArrElems {
                      final BiFunction<? super JsPath, ? super JsPrimitive, ? extends JsValue> fn,
                      final JsPath startingPath
                     ) {
+    JsArray.Builder builder = JsArray.builder();
     JsPath headPath = startingPath;
     for (int i = 0; i < json.size(); i++) {
       headPath = headPath.inc();
       JsValue value = json.get(i);
       if (value.isObj()) {
-        json = json.set(i,
-                        OpMapObjElems.map(value.toJsObj(),
-                                          fn,
-                                          headPath
-                                         )
-                       );
+        builder.append(OpMapObjElems.map(value.toJsObj(),
+                                         fn,
+                                         headPath
+                                        )
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        map(value.toJsArray(),
-                            fn,
-                            headPath.index(-1)
-                           )
-                       );
+        builder.append(map(value.toJsArray(),
+                           fn,
+                           headPath.index(-1)
+                          )
+                      );
       } else {
 
         JsValue headMapped = fn.apply(headPath,
                                       value.toJsPrimitive()
                                      );
-        json = json.set(i,
-                        headMapped
-                       );
+        builder.append(headMapped);
       }
 
     }
 
-    return json;
+    return builder.build();
 
   }
 
   static JsArray map(JsArray json,
                      final Function<? super JsPrimitive, ? extends JsValue> fn
                     ) {
+    JsArray.Builder builder = JsArray.builder();
     for (int i = 0; i < json.size(); i++) {
       JsValue value = json.get(i);
       if (value.isObj()) {
-        json = json.set(i,
-                        OpMapObjElems.map(value.toJsObj(),
-                                          fn
-                                         )
-                       );
+        builder.append(OpMapObjElems.map(value.toJsObj(),
+                                         fn
+                                        )
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        OpMapArrElems.map(value.toJsArray(),
-                                          fn
-                                         )
-                       );
+        builder.append(OpMapArrElems.map(value.toJsArray(),
+                                         fn
+                                        )
+                      );
       } else {
 
         JsValue headMapped = fn.apply(value.toJsPrimitive());
-        json = json.set(i,
-                        headMapped
-                       );
+        builder.append(headMapped);
       }
 
     }
 
-    return json;
+    return builder.build();
   }
 
 
 }
-
@@ -13,53 +13,55 @@ final class OpMapArrKeys {
                      final BiFunction<? super JsPath, ? super JsValue, String> fn,
                      final JsPath startingPath
                     ) {
+    JsArray.Builder builder = JsArray.builder();
     JsPath headPath = startingPath;
     for (int i = 0; i < json.size(); i++) {
       headPath = headPath.inc();
       JsValue value = json.get(i);
       if (value.isObj()) {
-        json = json.set(i,
-                        OpMapObjKeys.map(value.toJsObj(),
-                                         fn,
-                                         headPath
-                                        )
-                       );
+        builder.append(OpMapObjKeys.map(value.toJsObj(),
+                                        fn,
+                                        headPath
+                                       )
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        map(value.toJsArray(),
-                            fn,
-                            headPath.index(-1)
-                           )
-                       );
+        builder.append(map(value.toJsArray(),
+                           fn,
+                           headPath.index(-1)
+                          )
+                      );
+      } else {
+        builder.append(value);
       }
 
 
     }
-    return json;
+    return builder.build();
 
   }
 
   static JsArray map(JsArray json,
                      final Function<? super String, String> fn
                     ) {
+    JsArray.Builder builder = JsArray.builder();
     for (int i = 0; i < json.size(); i++) {
       JsValue value = json.get(i);
       if (value.isObj()) {
-        json = json.set(i,
-                        OpMapObjKeys.map(value.toJsObj(),
-                                         fn
-                                        )
-                       );
+        builder.append(OpMapObjKeys.map(value.toJsObj(),
+                                        fn
+                                       )
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        map(value.toJsArray(),
-                            fn
-                           )
-                       );
+        builder.append(map(value.toJsArray(),
+                           fn
+                          )
+                      );
+      } else {
+        builder.append(value);
       }
 
 
     }
-    return json;
+    return builder.build();
   }
 }
@@ -13,6 +13,7 @@ final class OpMapArrObjs {
                      BiFunction<? super JsPath, ? super JsObj, ? extends JsValue> fn,
                      JsPath startingPath
                     ) {
+    JsArray.Builder builder = JsArray.builder();
     JsPath headPath = startingPath;
 
     for (int i = 0; i < json.size(); i++) {
@@ -24,24 +25,24 @@ final class OpMapArrObjs {
         JsValue mapped = fn.apply(headPath,
                                   value.toJsObj()
                                  );
-        json = json.set(i,
-                        mapped.isObj() ?
-                        OpMapObjObjs.map(mapped.toJsObj(),
-                                         fn,
-                                         headPath
-                                        ) :
-                        value
-                       );
+        builder.append(mapped.isObj() ?
+                       OpMapObjObjs.map(mapped.toJsObj(),
+                                        fn,
+                                        headPath
+                                       ) :
+                       value
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        map(value.toJsArray(),
-                            fn,
-                            headPath.index(-1)
-                           )
-                       );
+        builder.append(map(value.toJsArray(),
+                           fn,
+                           headPath.index(-1)
+                          )
+                      );
+      } else {
+        builder.append(value);
       }
     }
-    return json;
+    return builder.build();
 
   }
 
@@ -49,7 +50,8 @@ final class OpMapArrObjs {
   static JsArray map(JsArray json,
                      Function<? super JsObj, ? extends JsValue> fn
                     ) {
-    for (int i = json.size() - 1; i >= 0; i--) {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < json.size(); i++) {
 
       JsValue value = json.get(i);
       if (value.isObj()) {
@@ -57,21 +59,21 @@ final class OpMapArrObjs {
         JsValue mapped = fn.apply(
             value.toJsObj()
                                  );
-        json = json.set(i,
-                        mapped.isObj() ?
-                        OpMapObjObjs.map(mapped.toJsObj(),
-                                         fn
-                                        ) :
-                        value
-                       );
+        builder.append(mapped.isObj() ?
+                       OpMapObjObjs.map(mapped.toJsObj(),
+                                        fn
+                                       ) :
+                       value
+                      );
       } else if (value.isArray()) {
-        json = json.set(i,
-                        map(value.toJsArray(),
-                            fn
-                           )
-                       );
+        builder.append(map(value.toJsArray(),
+                           fn
+                          )
+                      );
+      } else {
+        builder.append(value);
       }
     }
-    return json;
+    return builder.build();
   }
 }
@@ -14,25 +14,26 @@ final class OpMapObjElems {
                    BiFunction<? super JsPath, ? super JsPrimitive, ? extends JsValue> fn,
                    JsPath startingPath
                   ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var tuple : json) {
       if (tuple.value()
                .isObj()) {
-        json = json.set(tuple.key(),
-                        map(tuple.value()
-                                 .toJsObj(),
-                            fn,
-                            startingPath.key(tuple.key())
-                           )
-                       );
+        builder.set(tuple.key(),
+                    map(tuple.value()
+                             .toJsObj(),
+                        fn,
+                        startingPath.key(tuple.key())
+                       )
+                   );
       } else if (tuple.value()
                       .isArray()) {
-        json = json.set(tuple.key(),
-                        OpMapArrElems.map(tuple.value()
-                                               .toJsArray(),
-                                          fn,
-                                          startingPath.index(-1)
-                                         )
-                       );
+        builder.set(tuple.key(),
+                    OpMapArrElems.map(tuple.value()
+                                           .toJsArray(),
+                                      fn,
+                                      startingPath.index(-1)
+                                     )
+                   );
       } else {
         JsPath headPath = startingPath.key(tuple.key());
 
@@ -40,13 +41,13 @@ final class OpMapObjElems {
                                       tuple.value()
                                            .toJsPrimitive()
                                      );
-        json = json.set(tuple.key(),
-                        headMapped
-                       );
+        builder.set(tuple.key(),
+                    headMapped
+                   );
       }
     }
 
-    return json;
+    return builder.build();
 
   }
 
@@ -56,33 +57,34 @@ final class OpMapObjElems {
     if (json.isEmpty()) {
       return json;
     }
+    JsObj.Builder builder = JsObj.builder(json);
     for (var tuple : json) {
       if (tuple.value()
                .isObj()) {
-        json = json.set(tuple.key(),
-                        map(tuple.value()
-                                 .toJsObj(),
-                            fn
-                           )
-                       );
+        builder.set(tuple.key(),
+                    map(tuple.value()
+                             .toJsObj(),
+                        fn
+                       )
+                   );
       } else if (tuple.value()
                       .isArray()) {
-        json = json.set(tuple.key(),
-                        OpMapArrElems.map(tuple.value()
-                                               .toJsArray(),
-                                          fn
-                                         )
-                       );
+        builder.set(tuple.key(),
+                    OpMapArrElems.map(tuple.value()
+                                           .toJsArray(),
+                                      fn
+                                     )
+                   );
       } else {
 
         JsValue headMapped = fn.apply(tuple.value()
                                            .toJsPrimitive());
-        json = json.set(tuple.key(),
-                        headMapped
-                       );
+        builder.set(tuple.key(),
+                    headMapped
+                   );
       }
     }
 
-    return json;
+    return builder.build();
   }
 }
@@ -14,7 +14,7 @@ final class OpMapObjKeys {
                    BiFunction<? super JsPath, ? super JsValue, String> fn,
                    JsPath startingPath
                   ) {
-    JsObj result = JsObj.empty();
+    JsObj.Builder result = JsObj.builder();
 
     for (var next : json) {
       JsPath headPath = startingPath.key(next.key());
@@ -23,65 +23,65 @@ final class OpMapObjKeys {
                                  );
       if (next.value()
               .isObj()) {
-        result = result.set(keyMapped,
-                            map(next.value()
-                                    .toJsObj(),
-                                fn,
-                                headPath
-                               )
-                           );
+        result.set(keyMapped,
+                   map(next.value()
+                           .toJsObj(),
+                       fn,
+                       headPath
+                      )
+                  );
       } else if (next.value()
                      .isArray()) {
-        result = result.set(keyMapped,
-                            OpMapArrKeys.map(next.value()
-                                                 .toJsArray(),
-                                             fn,
-                                             headPath.index(-1)
-                                            )
-                           );
+        result.set(keyMapped,
+                   OpMapArrKeys.map(next.value()
+                                        .toJsArray(),
+                                    fn,
+                                    headPath.index(-1)
+                                   )
+                  );
       } else {
-        result = result.set(keyMapped,
-                            next.value()
-                           );
+        result.set(keyMapped,
+                   next.value()
+                  );
       }
 
 
     }
-    return result;
+    return result.build();
 
   }
 
   static JsObj map(JsObj json,
                    Function<? super String, String> fn
                   ) {
-    JsObj result = JsObj.empty();
+    JsObj.Builder result = JsObj.builder();
 
     for (var next : json) {
       String keyMapped = fn.apply(next.key());
       if (next.value()
               .isObj()) {
-        result = result.set(keyMapped,
-                            map(next.value()
-                                    .toJsObj(),
-                                fn
-                               )
-                           );
+        result.set(keyMapped,
+                   map(next.value()
+                           .toJsObj(),
+                       fn
+                      )
+                  );
       } else if (next.value()
                      .isArray()) {
-        result = result.set(keyMapped,
-                            OpMapArrKeys.map(next.value()
-                                                 .toJsArray(),
-                                             fn
-                                            )
-                           );
+        result.set(keyMapped,
+                   OpMapArrKeys.map(next.value()
+                                        .toJsArray(),
+                                    fn
+                                   )
+                  );
       } else {
-        result = result.set(keyMapped,
-                            next.value()
-                           );
+        result.set(keyMapped,
+                   next.value()
+                  );
       }
 
 
     }
-    return result;
+    return result.build();
   }
 }
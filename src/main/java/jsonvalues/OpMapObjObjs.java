@@ -13,6 +13,7 @@ final class OpMapObjObjs {
                    BiFunction<? super JsPath, ? super JsObj, ? extends JsValue> fn,
                    JsPath startingPath
                   ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
       JsPath headPath = startingPath.key(next.key());
 
@@ -22,28 +23,28 @@ final class OpMapObjObjs {
                                   next.value()
                                       .toJsObj()
                                  );
-        json = json.set(next.key(),
-                        mapped.isObj() ?
-                        map(mapped.toJsObj(),
-                            fn,
-                            headPath
-                           )
-                                       :
-                        mapped
-                       );
+        builder.set(next.key(),
+                    mapped.isObj() ?
+                    map(mapped.toJsObj(),
+                        fn,
+                        headPath
+                       )
+                                   :
+                    mapped
+                   );
       } else if (next.value()
                      .isArray()) {
-        json = json.set(next.key(),
-                        OpMapArrObjs.map(next.value()
-                                             .toJsArray(),
-                                         fn,
-                                         headPath.index(-1)
-                                        )
-                       );
+        builder.set(next.key(),
+                    OpMapArrObjs.map(next.value()
+                                         .toJsArray(),
+                                     fn,
+                                     headPath.index(-1)
+                                    )
+                   );
       }
 
     }
-    return json;
+    return builder.build();
 
   }
 
@@ -51,6 +52,7 @@ final class OpMapObjObjs {
   static JsObj map(JsObj json,
                    final Function<? super JsObj, ? extends JsValue> fn
                   ) {
+    JsObj.Builder builder = JsObj.builder(json);
     for (var next : json) {
 
       if (next.value()
@@ -59,26 +61,26 @@ final class OpMapObjObjs {
             next.value()
                 .toJsObj()
                                  );
-        json = json.set(next.key(),
-                        mapped.isObj() ?
-                        map(mapped.toJsObj(),
-                            fn
-                           )
-                                       :
-                        mapped
-                       );
+        builder.set(next.key(),
+                    mapped.isObj() ?
+                    map(mapped.toJsObj(),
+                        fn
+                       )
+                                   :
+                    mapped
+                   );
       } else if (next.value()
                      .isArray()) {
-        json = json.set(next.key(),
-                        OpMapArrObjs.map(next.value()
-                                             .toJsArray(),
-                                         fn
-                                        )
-                       );
+        builder.set(next.key(),
+                    OpMapArrObjs.map(next.value()
+                                         .toJsArray(),
+                                     fn
+                                    )
+                   );
       }
 
     }
-    return json;
+    return builder.build();
 
   }
 }
@@ -85,11 +85,44 @@ final class Vector<T> implements Iterable<T> {
   }
 
   public Vector<T> append(T element) {
-    return new Vector<>(trie.appendAll(Vector.of(element)));
+    return new Vector<>(accepting(element).appendAll(Vector.of(element)));
   }
 
   public Vector<T> appendAll(Vector<T> vector) {
-    return new Vector<>(trie.appendAll(vector));
+    return new Vector<>(acceptingAll(vector).appendAll(vector));
+  }
+
+  /* the trie itself, or a boxed copy if the element can't be stored in its leaves */
+  private BitMappedTrie<T> accepting(T element) {
+    return trie.accepts(element) ? trie : trie.boxed();
+  }
+
+  private BitMappedTrie<T> acceptingAll(Vector<T> vector) {
+    if (vector.trie.type == trie.type || trie.type == ArrayType.obj()) {
+      return trie;
+    }
+    for (T element : vector) {
+      if (!trie.accepts(element)) {
+        return trie.boxed();
+      }
+    }
+    return trie;
+  }
+
+  /**
+   * Returns true if the elements are stored unboxed in leaves of the given type.
+   */
+  boolean isBackedBy(ArrayType<?> type) {
+    return trie.type == type;
+  }
+
+  /**
+   * Copies the elements into a new array of the type of the leaves.
+   *
+   * @see #isBackedBy(ArrayType)
+   */
+  Object toArray() {
+    return trie.toArray();
   }
 
   public Vector<T> drop(int n) {
@@ -149,7 +182,7 @@ final class Vector<T> implements Iterable<T> {
     if (iterable.isEmpty()) {
       return this;
     }
-    return new Vector<>(trie.prependAll(iterable));
+    return new Vector<>(acceptingAll(iterable).prependAll(iterable));
   }
 
   Vector<T> reverse() {
@@ -196,8 +229,8 @@ final class Vector<T> implements Iterable<T> {
 
   public Vector<T> update(int index,
                           T element) {
-    return wrap(trie.update(index,
-                            element));
+    return wrap(accepting(element).update(index,
+                                          element));
   }
 
 
@@ -280,6 +313,45 @@ final class Vector<T> implements Iterable<T> {
     return new Vector<>(trie.map(map));
   }
 
+  /**
+   * Builds a vector appending elements in place.
+   *
+   * @param <T> Component type of the Vector.
+   * @see BitMappedTrie.Builder
+   */
+  static final class Builder<T> {
+
+    private final BitMappedTrie.Builder<T> trie = new BitMappedTrie.Builder<>();
+
+    Builder<T> append(T element) {
+      trie.append(element);
+      return this;
+    }
+
+    Builder<T> appendInt(int value) {
+      trie.appendInt(value);
+      return this;
+    }
+
+    Builder<T> appendLong(long value) {
+      trie.appendLong(value);
+      return this;
+    }
+
+    Builder<T> appendDouble(double value) {
+      trie.appendDouble(value);
+      return this;
+    }
+
+    int length() {
+      return trie.length();
+    }
+
+    Vector<T> build() {
+      return ofAll(trie.build());
+    }
+  }
+
 
 }
 
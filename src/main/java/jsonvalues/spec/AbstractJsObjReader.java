@@ -7,7 +7,8 @@ abstract class AbstractJsObjReader extends AbstractReader {
 
     byte last = reader.last();
     if (last != '{') {
-      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_OBJ_START.formatted(((char) last)),
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_OBJ_START,
+                                       (char) last,
                                        reader.getPositionInStream()
                                       );
     }
@@ -0,0 +1,161 @@
+package jsonvalues.spec;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Pool of reusable readers and writers used by {@link JsIO}. Every instance handed out by {@link #acquire()} must be
+ * given back with {@link #release(Object)} once the caller is done with it. Implementations never block: if there is
+ * nothing to reuse a new instance is created, and if there is no room to keep a released instance it is discarded.
+ *
+ * @param <T> type of the pooled instances
+ */
+interface BufferPool<T> {
+
+  static <T> BufferPool<T> of(final JsIO.PoolStrategy strategy,
+                              final int capacity,
+                              final Supplier<T> factory
+                             ) {
+    Objects.requireNonNull(factory);
+    return switch (Objects.requireNonNull(strategy)) {
+      case THREAD_LOCAL -> new ThreadLocalPool<>(factory);
+      case BOUNDED -> new BoundedPool<>(capacity,
+                                        factory);
+      case STRIPED -> new StripedPool<>(capacity,
+                                        factory);
+    };
+  }
+
+  T acquire();
+
+  void release(T instance);
+
+  /**
+   * One instance per thread, created the first time the thread needs it. It's the cheapest option for a small and
+   * stable set of platform threads, but every new thread (for example, every virtual thread) pays for a new instance.
+   * The instance is not reentrant: acquiring twice from the same thread returns the same object.
+   */
+  final class ThreadLocalPool<T> implements BufferPool<T> {
+
+    private final ThreadLocal<T> local;
+
+    ThreadLocalPool(final Supplier<T> factory) {
+      this.local = ThreadLocal.withInitial(factory);
+    }
+
+    @Override
+    public T acquire() {
+      return local.get();
+    }
+
+    @Override
+    public void release(final T instance) {
+    }
+  }
+
+  /**
+   * Fixed number of slots shared by all the threads. Acquiring takes the first non-empty slot and releasing puts the
+   * instance back into the first empty slot, both with a single compare-and-set, so recently used (and likely warm)
+   * instances are reused first. It doesn't depend on the identity of the thread, which makes it a good fit for virtual
+   * threads.
+   */
+  final class BoundedPool<T> implements BufferPool<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final Supplier<T> factory;
+
+    BoundedPool(final int capacity,
+                final Supplier<T> factory) {
+      if (capacity < 1) {
+        throw new IllegalArgumentException("capacity must be greater than zero");
+      }
+      this.slots = new AtomicReferenceArray<>(capacity);
+      this.factory = factory;
+    }
+
+    @Override
+    public T acquire() {
+      for (int i = 0, n = slots.length(); i < n; i++) {
+        T instance = slots.get(i);
+        if (instance != null && slots.compareAndSet(i,
+                                                    instance,
+                                                    null)) {
+          return instance;
+        }
+      }
+      return factory.get();
+    }
+
+    @Override
+    public void release(final T instance) {
+      for (int i = 0, n = slots.length(); i < n; i++) {
+        if (slots.get(i) == null && slots.compareAndSet(i,
+                                                        null,
+                                                        instance)) {
+          return;
+        }
+      }
+    }
+  }
+
+  /**
+   * Slots split into stripes, and each thread is assigned a stripe by hashing its id, so that threads running at the
+   * same time rarely compete for the same slot. Only the assigned stripe and the next one are probed, which keeps both
+   * operations constant time regardless of the capacity. The carrier of a virtual thread can't be observed through the
+   * public API, so the virtual thread id is used instead; since virtual threads are short-lived, ids are spread evenly
+   * across stripes.
+   */
+  final class StripedPool<T> implements BufferPool<T> {
+
+    private final AtomicReferenceArray<T> stripes;
+    private final int mask;
+    private final Supplier<T> factory;
+
+    StripedPool(final int capacity,
+                final Supplier<T> factory) {
+      if (capacity < 1) {
+        throw new IllegalArgumentException("capacity must be greater than zero");
+      }
+      int size = Integer.highestOneBit(capacity);
+      if (size < capacity) {
+        size <<= 1;
+      }
+      this.stripes = new AtomicReferenceArray<>(size);
+      this.mask = size - 1;
+      this.factory = factory;
+    }
+
+    private static int stripe(final long threadId) {
+      long h = threadId * 0x9E3779B97F4A7C15L;
+      return (int) (h ^ (h >>> 32));
+    }
+
+    @Override
+    public T acquire() {
+      int i = stripe(Thread.currentThread()
+                           .threadId()) & mask;
+      T instance = stripes.getAndSet(i,
+                                     null);
+      if (instance != null) {
+        return instance;
+      }
+      instance = stripes.getAndSet((i + 1) & mask,
+                                   null);
+      return instance != null ? instance : factory.get();
+    }
+
+    @Override
+    public void release(final T instance) {
+      int i = stripe(Thread.currentThread()
+                           .threadId()) & mask;
+      if (!stripes.compareAndSet(i,
+                                 null,
+                                 instance)) {
+        stripes.compareAndSet((i + 1) & mask,
+                              null,
+                              instance);
+      }
+    }
+  }
+}
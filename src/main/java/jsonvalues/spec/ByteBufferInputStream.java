@@ -0,0 +1,103 @@
+package jsonvalues.spec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Objects;
+
+/**
+ * Input stream over the remaining bytes of a {@link ByteBuffer}, or over a file mapped into memory region by region.
+ * {@link DslJsReader} pulls the bytes in chunks of the size of its own buffer, so direct and mapped buffers are scanned
+ * without copying the whole input onto the heap. The position of the given buffer is not modified.
+ */
+final class ByteBufferInputStream extends InputStream {
+
+  /**
+   * Size of the regions a file is mapped into. A single mapping can't be bigger than {@link Integer#MAX_VALUE}.
+   */
+  static final long REGION_SIZE = 1L << 30;
+
+  private final FileChannel channel;
+  private final long size;
+  private long mapped;
+  private ByteBuffer current;
+
+  private ByteBufferInputStream(final FileChannel channel,
+                                final long size,
+                                final ByteBuffer current
+                               ) {
+    this.channel = channel;
+    this.size = size;
+    this.current = current;
+    this.mapped = current.remaining();
+  }
+
+  ByteBufferInputStream(final ByteBuffer buffer) {
+    this(null,
+         Objects.requireNonNull(buffer)
+                .remaining(),
+         buffer.duplicate());
+  }
+
+  /**
+   * Maps the file read-only, {@link #REGION_SIZE} bytes at a time. The mappings stay valid after the channel is closed,
+   * but the channel has to remain open until the stream has been read to the end.
+   */
+  static ByteBufferInputStream ofFile(final FileChannel channel) throws IOException {
+    long size = channel.size();
+    return new ByteBufferInputStream(channel,
+                                     size,
+                                     channel.map(FileChannel.MapMode.READ_ONLY,
+                                                 0,
+                                                 Math.min(size,
+                                                          REGION_SIZE)));
+  }
+
+  private boolean nextRegion() throws IOException {
+    if (channel == null || mapped >= size) {
+      return false;
+    }
+    long regionSize = Math.min(size - mapped,
+                               REGION_SIZE);
+    current = channel.map(FileChannel.MapMode.READ_ONLY,
+                          mapped,
+                          regionSize);
+    mapped += regionSize;
+    return true;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!current.hasRemaining() && !nextRegion()) {
+      return -1;
+    }
+    return current.get() & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] bytes,
+                  final int off,
+                  final int len) throws IOException {
+    Objects.checkFromIndexSize(off,
+                               len,
+                               bytes.length);
+    if (len == 0) {
+      return 0;
+    }
+    if (!current.hasRemaining() && !nextRegion()) {
+      return -1;
+    }
+    int n = Math.min(len,
+                     current.remaining());
+    current.get(bytes,
+                off,
+                n);
+    return n;
+  }
+
+  @Override
+  public int available() {
+    return current.remaining();
+  }
+}
@@ -0,0 +1,115 @@
+package jsonvalues.spec;
+
+/**
+ * Finds the end of runs of bytes of JSON input that the reader would otherwise inspect one at a time: whitespace,
+ * the plain ASCII content of a string and the content of a string that is skipped. The instance used by the readers is
+ * {@link #INSTANCE}, which classifies many bytes at once with the Vector API ({@code VectorByteScanner}, compiled only
+ * with the {@code simd} build profile) when the incubator module {@code jdk.incubator.vector} is added to the JVM
+ * ({@code --add-modules jdk.incubator.vector}), and is a plain loop otherwise. Set the system property
+ * {@value #SIMD_PROPERTY} to {@code false} to use the loop anyway.
+ * <p>
+ * All the methods return the index of the first byte in {@code [from, to)} that ends the run, or {@code to} if there
+ * is none ({@code from} if the range is empty).
+ */
+interface ByteScanner {
+
+  String SIMD_PROPERTY = "jsonvalues.io.simd";
+
+  ByteScanner INSTANCE = load();
+
+  private static ByteScanner load() {
+    if (!Boolean.parseBoolean(System.getProperty(SIMD_PROPERTY,
+                                                 "true"))
+        || ModuleLayer.boot()
+                      .findModule("jdk.incubator.vector")
+                      .isEmpty()) {
+      return ScalarScanner.INSTANCE;
+    }
+    try {
+      // loaded by name so that the class, which links against the incubator module, is never resolved without it
+      return (ByteScanner) Class.forName("jsonvalues.spec.VectorByteScanner")
+                                .getDeclaredConstructor()
+                                .newInstance();
+    } catch (ReflectiveOperationException | LinkageError e) {
+      return ScalarScanner.INSTANCE;
+    }
+  }
+
+  /**
+   * Returns the index of the first byte that is not a space, a tab, a line feed or a carriage return.
+   */
+  int skipWhitespace(byte[] bytes,
+                     int from,
+                     int to);
+
+  /**
+   * Returns the index of the first quote, backslash or non-ASCII byte, that is, the end of the run of string content
+   * that can be copied as it is.
+   */
+  int asciiRun(byte[] bytes,
+               int from,
+               int to);
+
+  /**
+   * Returns the index of the first quote or backslash.
+   */
+  int findQuoteOrBackslash(byte[] bytes,
+                           int from,
+                           int to);
+
+  /**
+   * Byte-at-a-time implementation, also used by the vector one for the bytes that don't fill a vector.
+   */
+  final class ScalarScanner implements ByteScanner {
+
+    static final ScalarScanner INSTANCE = new ScalarScanner();
+
+    private ScalarScanner() {
+    }
+
+    @Override
+    public int skipWhitespace(final byte[] bytes,
+                              final int from,
+                              final int to) {
+      int i = from;
+      while (i < to) {
+        byte b = bytes[i];
+        if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+          return i;
+        }
+        i++;
+      }
+      return i;
+    }
+
+    @Override
+    public int asciiRun(final byte[] bytes,
+                        final int from,
+                        final int to) {
+      int i = from;
+      while (i < to) {
+        byte b = bytes[i];
+        if (b == '"' || (b ^ '\\') < 1) {
+          return i;
+        }
+        i++;
+      }
+      return i;
+    }
+
+    @Override
+    public int findQuoteOrBackslash(final byte[] bytes,
+                                    final int from,
+                                    final int to) {
+      int i = from;
+      while (i < to) {
+        byte b = bytes[i];
+        if (b == '"' || b == '\\') {
+          return i;
+        }
+        i++;
+      }
+      return i;
+    }
+  }
+}
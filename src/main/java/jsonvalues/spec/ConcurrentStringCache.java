@@ -0,0 +1,132 @@
+package jsonvalues.spec;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * String cache that can be shared by the readers of all the threads. It caches strings based on the FNV hash of their
+ * bytes, in slots that are atomic references, so a reader never sees a slot half written by another one, and it can be
+ * 2-way associative: every hash has a set of two slots, the newest string in the first one and the previous one in the
+ * second one, so that two frequent keys with the same hash don't keep evicting each other.
+ * <p>
+ * It can count the hits, misses and evictions (strings removed from the cache to make room for a new one), that tell
+ * whether the capacity fits the number of distinct keys. Counting is disabled by default: the counters are striped
+ * {@link LongAdder}s, but every lookup still writes one of them, and hits are the only lookups that otherwise write
+ * nothing. With the counters disabled, frequent keys don't cause any contention between threads.
+ */
+final class ConcurrentStringCache implements StringCache {
+
+  private final AtomicReferenceArray<String> slots;
+  private final int ways;
+  private final int mask;
+  private final boolean recordStats;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * @param capacity    number of strings, a power of two greater than one
+   * @param twoWay      whether every hash has a set of two slots instead of one
+   * @param recordStats whether the hits, misses and evictions are counted
+   */
+  ConcurrentStringCache(final int capacity,
+                        final boolean twoWay,
+                        final boolean recordStats) {
+    if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity must be a power of two greater than 1");
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.ways = twoWay ? 2 : 1;
+    this.mask = capacity / ways - 1;
+    this.recordStats = recordStats;
+  }
+
+  private static boolean matches(final String value,
+                                 final char[] chars,
+                                 final int len) {
+    if (value == null || value.length() != len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (value.charAt(i) != chars[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String get(final char[] chars,
+                    final int len) {
+    long hash = 0x811c9dc5L;
+    for (int i = 0; i < len; i++) {
+      hash ^= (byte) chars[i];
+      hash *= 0x1000193;
+    }
+    final int first = ((int) (hash ^ (hash >>> 32)) & mask) * ways;
+    final String value = slots.getAcquire(first);
+    if (matches(value,
+                chars,
+                len)) {
+      if (recordStats) {
+        hits.increment();
+      }
+      return value;
+    }
+    if (ways == 2) {
+      final String previous = slots.getAcquire(first + 1);
+      if (matches(previous,
+                  chars,
+                  len)) {
+        if (recordStats) {
+          hits.increment();
+        }
+        return previous;
+      }
+    }
+    if (recordStats) {
+      misses.increment();
+    }
+    final String created = new String(chars,
+                                      0,
+                                      len);
+    String evicted = slots.getAndSet(first,
+                                     created);
+    if (ways == 2 && evicted != null) {
+      evicted = slots.getAndSet(first + 1,
+                                evicted);
+    }
+    if (recordStats && evicted != null) {
+      evictions.increment();
+    }
+    return created;
+  }
+
+  /**
+   * Returns a new empty cache with the same capacity, associativity and counters as this one.
+   */
+  ConcurrentStringCache emptyCopy() {
+    return new ConcurrentStringCache(capacity(),
+                                     isTwoWay(),
+                                     recordStats);
+  }
+
+  int capacity() {
+    return slots.length();
+  }
+
+  boolean isTwoWay() {
+    return ways == 2;
+  }
+
+  boolean recordsStats() {
+    return recordStats;
+  }
+
+  JsIO.CacheStats stats() {
+    return new JsIO.CacheStats(capacity(),
+                               hits.sum(),
+                               misses.sum(),
+                               evictions.sum());
+  }
+}
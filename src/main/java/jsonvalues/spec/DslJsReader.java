@@ -4,9 +4,7 @@ import static jsonvalues.spec.ParserErrors.UNEXPECTED_END_OF_JSON;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayDeque;
 import java.util.Arrays;
-import java.util.Deque;
 
 /**
  * Object for processing JSON from byte[] and InputStream. The only public methods are {@link #readNextToken()} and
@@ -52,10 +50,19 @@ final class DslJsReader {
   private final byte[] originalBuffer;
   private final int originalBufferLenWithExtraSpace;
   private final int maxStringBuffer;
-  private final Deque<Integer> markPositions = new ArrayDeque<>();
+  private final int maxMarkedBytes;
+  /**
+   * stack of the indexes set by {@link #setMark()}, the earliest one first
+   */
+  private int[] marks = new int[8];
+  private int markCount;
+  /**
+   * bitset of the containers opened by {@link #skipValue()}, one bit per nesting level set if it's an array
+   */
+  private long[] skippedArrays = new long[1];
   byte[] buffer;
   char[] chars;
-  DoublePrecision doublePrecision;
+  JsIO.DoublePrecision doublePrecision;
   int doubleLengthLimit;
   int maxNumberDigits;
   private int currentIndex = 0;
@@ -73,9 +80,10 @@ final class DslJsReader {
                       int length,
                       StringCache keyCache,
                       StringCache valuesCache,
-                      DoublePrecision doublePrecision,
+                      JsIO.DoublePrecision doublePrecision,
                       int maxNumberDigits,
-                      int maxStringBuffer
+                      int maxStringBuffer,
+                      int maxMarkedBytes
                      ) {
     this.buffer = buffer;
     this.length = length;
@@ -86,6 +94,7 @@ final class DslJsReader {
     this.doublePrecision = doublePrecision;
     this.maxNumberDigits = maxNumberDigits;
     this.maxStringBuffer = maxStringBuffer;
+    this.maxMarkedBytes = maxMarkedBytes;
     this.doubleLengthLimit = 15 + doublePrecision.level;
     this.originalBuffer = buffer;
     this.originalBufferLenWithExtraSpace = bufferLenWithExtraSpace;
@@ -96,9 +105,10 @@ final class DslJsReader {
               char[] tmp,
               StringCache keyCache,
               StringCache valuesCache,
-              DoublePrecision doublePrecision,
+              JsIO.DoublePrecision doublePrecision,
               int maxNumberDigits,
-              int maxStringBuffer
+              int maxStringBuffer,
+              int maxMarkedBytes
              ) {
     this(tmp,
          buffer,
@@ -107,7 +117,8 @@ final class DslJsReader {
          valuesCache,
          doublePrecision,
          maxNumberDigits,
-         maxStringBuffer);
+         maxStringBuffer,
+         maxMarkedBytes);
     if (length > buffer.length) {
       throw new IllegalArgumentException("length can't be longer than buffer.length");
     } else if (length < buffer.length) {
@@ -139,6 +150,7 @@ final class DslJsReader {
     this.length = 0;
     this.readLimit = 0;
     this.stream = null;
+    this.markCount = 0;
   }
 
   /**
@@ -152,6 +164,7 @@ final class DslJsReader {
   DslJsReader process(InputStream stream) throws JsParserException {
     this.currentPosition = 0;
     this.currentIndex = 0;
+    this.markCount = 0;
     this.stream = stream;
     this.readLimit = Math.min(this.length,
                               bufferLenWithExtraSpace);
@@ -188,12 +201,67 @@ final class DslJsReader {
       throw new IllegalArgumentException("length can't be longer than buffer.length");
     }
     currentIndex = 0;
+    currentPosition = 0;
+    markCount = 0;
     this.length = newLength;
     this.stream = null;
     this.readLimit = newLength;
     return this;
   }
 
+  /**
+   * Bind the bytes between the given indexes of the byte[] buffer for processing. Positions in errors are relative to
+   * {@code from}.
+   *
+   * @param newBuffer new buffer to use for processing
+   * @param from      index of the first byte to process
+   * @param to        index after the last byte to process
+   * @return itself
+   */
+  DslJsReader process(byte[] newBuffer,
+                      int from,
+                      int to) {
+    process(newBuffer,
+            to);
+    currentIndex = from;
+    currentPosition = -from;
+    return this;
+  }
+
+  /**
+   * Bind the whole byte[] buffer for processing, starting at the given index. Positions in errors are indexes of the
+   * buffer.
+   *
+   * @param newBuffer new buffer to use for processing
+   * @param from      index of the first byte to process
+   * @return itself
+   */
+  DslJsReader processFrom(byte[] newBuffer,
+                          int from) {
+    process(newBuffer,
+            newBuffer.length);
+    currentIndex = from;
+    return this;
+  }
+
+  /**
+   * Bind byte[] buffer for processing. Positions in errors are the given position in the stream plus the index in the
+   * buffer, so that errors in a fragment of a larger input point to the right byte.
+   *
+   * @param newBuffer        new buffer to use for processing
+   * @param newLength        length of buffer which can be used
+   * @param positionInStream position in the input of the first byte of the buffer
+   * @return itself
+   */
+  DslJsReader processAt(byte[] newBuffer,
+                        int newLength,
+                        long positionInStream) {
+    process(newBuffer,
+            newLength);
+    currentPosition = positionInStream;
+    return this;
+  }
+
   /**
    * Valid length of the input buffer.
    *
@@ -220,13 +288,37 @@ final class DslJsReader {
     return last = buffer[currentIndex++];
   }
 
+  /**
+   * Moves the bytes that are not read yet to the start of the buffer and fills the rest of it from the stream. The
+   * bytes after the earliest mark are kept too, so the reader can roll back to it, and the buffer grows when they take
+   * more than half of it, up to the maximum number of marked bytes. Returns the number of bytes that are not read yet.
+   */
   private int prepareNextBlock() throws JsParserException {
-    int len = length - currentIndex;
-    System.arraycopy(buffer,
-                     currentIndex,
-                     buffer,
-                     0,
-                     len);
+    // the byte before the earliest mark is kept too, since it's the last byte read after rolling back to it
+    int keep = markCount > 0 ? Math.max(marks[0] - 1,
+                                        0) : currentIndex;
+    int len = length - keep;
+    if (markCount > 0 && len > bufferLenWithExtraSpace / 2) {
+      if (len > maxMarkedBytes) {
+        throw JsParserException.ofMarkLimit(maxMarkedBytes,
+                                            getPositionInStream());
+      }
+      byte[] grown = new byte[Math.max(buffer.length * 2,
+                                       len * 2)];
+      System.arraycopy(buffer,
+                       keep,
+                       grown,
+                       0,
+                       len);
+      buffer = grown;
+      bufferLenWithExtraSpace = buffer.length - 38; //currently maximum padding is for uuid
+    } else {
+      System.arraycopy(buffer,
+                       keep,
+                       buffer,
+                       0,
+                       len);
+    }
     int available;
     try {
       available = readFully(buffer,
@@ -235,17 +327,20 @@ final class DslJsReader {
     } catch (IOException e) {
       throw newParseError(e.getMessage());
     }
-    currentPosition += currentIndex;
+    currentPosition += keep;
     if (available == len) {
-      readLimit = length - currentIndex;
+      readLimit = len;
       length = readLimit;
     } else {
       readLimit = Math.min(available,
                            bufferLenWithExtraSpace);
       this.length = available;
     }
-    currentIndex = 0;
-    return available;
+    currentIndex -= keep;
+    for (int i = 0; i < markCount; i++) {
+      marks[i] -= keep;
+    }
+    return available - currentIndex;
   }
 
   boolean isEndOfStream() throws JsParserException {
@@ -287,6 +382,14 @@ final class DslJsReader {
                                       getPositionInStream(offset));
   }
 
+  JsParserException newParseError(String reason,
+                                  Object argument,
+                                  int offset) {
+    return JsParserException.reasonAt(reason,
+                                      argument,
+                                      getPositionInStream(offset));
+  }
+
   int getCurrentIndex() {
     return currentIndex;
   }
@@ -311,7 +414,8 @@ final class DslJsReader {
   char[] prepareBuffer(int start,
                        int len) throws JsParserException {
     if (len > maxNumberDigits) {
-      throw newParseError(ParserErrors.TOO_MANY_DIGITS.formatted(len),
+      throw newParseError(ParserErrors.TOO_MANY_DIGITS,
+                          len,
                           len);
     }
     while (chars.length < len) {
@@ -361,32 +465,34 @@ final class DslJsReader {
       throw newParseError(ParserErrors.PREMATURE_END_OF_JSONSTRING);
     }
 
-    byte bb;
     int ci = currentIndex;
     char[] _tmp = chars;
     int remaining = length - currentIndex;
     int _tmpLen = Math.min(_tmp.length,
                            remaining);
     int i = 0;
-    while (i < _tmpLen) {
-      bb = buffer[ci++];
-      if (bb == '"') {
+    // If we encounter a backslash, which is a beginning of an escape sequence
+    // or a high bit was set - indicating a UTF-8 encoded multibyte character,
+    // there is no chance that we can decode the string without instantiating
+    // a temporary buffer, so the run of plain ASCII bytes is copied as it is
+    int end = ByteScanner.INSTANCE.asciiRun(buffer,
+                                            ci,
+                                            ci + _tmpLen);
+    while (ci < end) {
+      _tmp[i++] = (char) buffer[ci++];
+    }
+    if (i < _tmpLen) {
+      if (buffer[ci++] == '"') {
         currentIndex = ci;
         return i;
       }
-      // If we encounter a backslash, which is a beginning of an escape sequence
-      // or a high bit was set - indicating a UTF-8 encoded multibyte character,
-      // there is no chance that we can decode the string without instantiating
-      // a temporary buffer, so quit this loop
-      if ((bb ^ '\\') < 1) {
-        break;
-      }
-      _tmp[i++] = (char) bb;
     }
     if (i == _tmp.length) {
       int newSize = chars.length * 2;
       if (newSize > maxStringBuffer) {
-        throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED.formatted(maxStringBuffer));
+        throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED,
+                            maxStringBuffer,
+                            0);
       }
       _tmp = chars = Arrays.copyOf(chars,
                                    newSize);
@@ -405,7 +511,9 @@ final class DslJsReader {
         if (soFar >= _tmpLen - 6) {
           int newSize = chars.length * 2;
           if (newSize > maxStringBuffer) {
-            throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED.formatted(maxStringBuffer));
+            throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED,
+                                maxStringBuffer,
+                                0);
           }
           _tmp = chars = Arrays.copyOf(chars,
                                        newSize);
@@ -441,13 +549,17 @@ final class DslJsReader {
             break;
 
           default:
-            throw newParseError(ParserErrors.INVALID_ESCAPE_CHARACTER.formatted(bc));
+            throw newParseError(ParserErrors.INVALID_ESCAPE_CHARACTER,
+                                bc,
+                                0);
         }
       } else if ((bc & 0x80) != 0) {
         if (soFar >= _tmpLen - 4) {
           int newSize = chars.length * 2;
           if (newSize > maxStringBuffer) {
-            throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED.formatted(maxStringBuffer));
+            throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED,
+                                maxStringBuffer,
+                                0);
           }
           _tmp = chars = Arrays.copyOf(chars,
                                        newSize);
@@ -486,7 +598,9 @@ final class DslJsReader {
       } else if (soFar >= _tmpLen) {
         int newSize = chars.length * 2;
         if (newSize > maxStringBuffer) {
-          throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED.formatted(maxStringBuffer));
+          throw newParseError(ParserErrors.MAXIMUM_STRING_BUFFER_REACHED,
+                              maxStringBuffer,
+                              0);
         }
         _tmp = chars = Arrays.copyOf(chars,
                                      newSize);
@@ -586,6 +700,9 @@ final class DslJsReader {
     read();
     if (WHITESPACE[last + 128]) {
       while (wasWhiteSpace()) {
+        currentIndex = ByteScanner.INSTANCE.skipWhitespace(buffer,
+                                                           currentIndex,
+                                                           scanLimit());
         read();
       }
     }
@@ -598,11 +715,7 @@ final class DslJsReader {
    * @return parsed key value
    */
   String readKey() {
-    int len = parseString();
-    String key = keyCache != null ? keyCache.get(chars,
-                                                 len) : new String(chars,
-                                                                   0,
-                                                                   len);
+    String key = readKeyString();
     if (readNextToken() != ':') {
       throw newParseError(ParserErrors.EXPECTING_COLON);
     }
@@ -610,6 +723,196 @@ final class DslJsReader {
     return key;
   }
 
+  /**
+   * Read a string of JSON input that is the name of a key, without the colon that follows it. If key cache is used, it
+   * will be looked up from there.
+   *
+   * @return parsed key name
+   */
+  String readKeyString() {
+    int len = parseString();
+    return keyCache != null ? keyCache.get(chars,
+                                           len) : new String(chars,
+                                                             0,
+                                                             len);
+  }
+
+  /**
+   * Read a key of JSON input and the colon that follows it, without creating a string or looking it up in the key
+   * cache, and returns its index in the given array of names.
+   *
+   * @param names names of the keys to look for
+   * @return index of the key in names, or -1 if it's not there
+   */
+  int readKeyIndex(String[] names) {
+    int len = parseString();
+    int index = -1;
+    for (int i = 0; i < names.length && index < 0; i++) {
+      if (equalsChars(names[i],
+                      len)) {
+        index = i;
+      }
+    }
+    if (readNextToken() != ':') {
+      throw newParseError(ParserErrors.EXPECTING_COLON);
+    }
+    readNextToken();
+    return index;
+  }
+
+  /**
+   * Reads the key that starts at the last read quote, and the colon after it, if the key is one of the names of the
+   * matcher, comparing the bytes in the buffer without decoding them. Otherwise, that is if the key is unknown, has
+   * escape sequences or doesn't end in the buffer, nothing is consumed and the key has to be read with
+   * {@link #readKey()}.
+   *
+   * @return the index of the key in the matcher or -1
+   */
+  int matchKey(KeyMatcher matcher) {
+    if (last != '"') {
+      return -1;
+    }
+    int end = ByteScanner.INSTANCE.findQuoteOrBackslash(buffer,
+                                                        currentIndex,
+                                                        length);
+    if (end == length || buffer[end] != '"') {
+      return -1;
+    }
+    int index = matcher.indexOf(buffer,
+                                currentIndex,
+                                end);
+    if (index < 0) {
+      return -1;
+    }
+    currentIndex = end + 1;
+    if (readNextToken() != ':') {
+      throw newParseError(ParserErrors.EXPECTING_COLON);
+    }
+    readNextToken();
+    return index;
+  }
+
+  private boolean equalsChars(String name,
+                              int len) {
+    if (name.length() != len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (name.charAt(i) != chars[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Skips the value that starts at the last read byte without decoding it: strings are not unescaped, numbers are not
+   * converted and keys are not looked up in the cache. Only the nesting of the skipped objects and arrays is checked,
+   * not their content.
+   *
+   * @throws JsParserException if the value is not complete or an object or array is closed with the wrong bracket
+   */
+  void skipValue() throws JsParserException {
+    switch (last) {
+      case '"' -> skipString();
+      case '{', '[' -> {
+        int depth = 0;
+        pushSkipped(depth++,
+                    last == '[');
+        while (depth > 0) {
+          switch (read()) {
+            case '"' -> skipString();
+            case '{' -> pushSkipped(depth++,
+                                    false);
+            case '[' -> pushSkipped(depth++,
+                                    true);
+            case '}' -> {
+              if (isSkippedArray(--depth)) {
+                throw newParseError(ParserErrors.EXPECTING_END_OF_ARRAY);
+              }
+            }
+            case ']' -> {
+              if (!isSkippedArray(--depth)) {
+                throw newParseError(ParserErrors.EXPECTING_FOR_MAP_END,
+                                    ']',
+                                    0);
+              }
+            }
+            default -> {
+            }
+          }
+        }
+      }
+      case 't' -> wasTrue();
+      case 'f' -> wasFalse();
+      case 'n' -> wasNull();
+      default -> skipNumber();
+    }
+  }
+
+  private void pushSkipped(int depth,
+                           boolean array) {
+    int word = depth >>> 6;
+    if (word == skippedArrays.length) {
+      skippedArrays = Arrays.copyOf(skippedArrays,
+                                    word * 2);
+    }
+    if (array) {
+      skippedArrays[word] |= 1L << depth;
+    } else {
+      skippedArrays[word] &= ~(1L << depth);
+    }
+  }
+
+  private boolean isSkippedArray(int depth) {
+    return (skippedArrays[depth >>> 6] & (1L << depth)) != 0;
+  }
+
+  private void skipString() {
+    byte b;
+    do {
+      currentIndex = ByteScanner.INSTANCE.findQuoteOrBackslash(buffer,
+                                                               currentIndex,
+                                                               scanLimit());
+      if ((b = read()) == '\\') {
+        read();
+      }
+    } while (b != '"');
+  }
+
+  /**
+   * Returns the index up to which the buffer can be scanned without reading the next block of the stream
+   */
+  private int scanLimit() {
+    return stream == null ? length : Math.min(readLimit,
+                                              length);
+  }
+
+  /**
+   * Skips the number that starts at the last read byte, without converting it. Only the bytes that can be part of a
+   * number are checked, not its format.
+   */
+  void skipNumber() {
+    if (last != '-' && (last < '0' || last > '9')) {
+      throw newParseError(ParserErrors.EXPECTING_VALUE);
+    }
+    while (true) {
+      if (stream != null && currentIndex > readLimit) {
+        prepareNextBlock();
+      }
+      if (currentIndex >= length) {
+        return;
+      }
+      byte b = buffer[currentIndex];
+      if ((b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '-' || b == '+') {
+        last = b;
+        currentIndex++;
+      } else {
+        return;
+      }
+    }
+  }
+
   /**
    * Checks if 'null' value is at current position. This means last read byte was 'n' and 'ull' are next three bytes. If
    * last byte was n but next three are not 'ull' it will throw since that is not a valid JSON construct.
@@ -683,12 +986,47 @@ final class DslJsReader {
     }
   }
 
+  /**
+   * Check that there is nothing but whitespace between the current position and the end of the input
+   */
+  void checkEndOfInput() {
+    for (int i = currentIndex; i < length; i++) {
+      switch (buffer[i]) {
+        case ' ', '\t', '\r', '\n':
+          break;
+        default:
+          throw newParseError(ParserErrors.EXPECTING_END_OF_INPUT,
+                              currentIndex - i);
+      }
+    }
+  }
+
+  /**
+   * Check that there is nothing but whitespace between the current position and the end of the input, reading the rest
+   * of the stream if the input is a stream
+   */
+  void checkEndOfStream() {
+    while (!isEndOfStream()) {
+      switch (read()) {
+        case ' ', '\t', '\r', '\n':
+          break;
+        default:
+          throw newParseError(ParserErrors.EXPECTING_END_OF_INPUT,
+                              1);
+      }
+    }
+  }
+
   /**
    * Sets a mark at the current parsing position. This allows you to later roll back to this marked position using
    * {@link #rollbackToMark()}.
    */
   void setMark() {
-    markPositions.push(currentIndex);
+    if (markCount == marks.length) {
+      marks = Arrays.copyOf(marks,
+                            markCount * 2);
+    }
+    marks[markCount++] = currentIndex;
   }
 
   /**
@@ -698,8 +1036,8 @@ final class DslJsReader {
    * @throws IllegalArgumentException if the stack of marks is empty and no mark is available to roll back to.
    */
   void rollbackToMark() {
-    if (!markPositions.isEmpty()) {
-      currentIndex = markPositions.pop();
+    if (markCount > 0) {
+      currentIndex = marks[--markCount];
       last = (currentIndex > 0) ? buffer[currentIndex - 1] : (byte) ' ';
 
     } else {
@@ -707,17 +1045,17 @@ final class DslJsReader {
     }
   }
 
-  enum DoublePrecision {
-    EXACT(0),
-    HIGH(1),
-    DEFAULT(3),
-    LOW(4);
-
-    final int level;
-
-    DoublePrecision(int level) {
-      this.level = level;
+  /**
+   * Removes the last marked position set using {@link #setMark()} without rolling back to it, once the value read
+   * after it doesn't need to be read again.
+   *
+   * @throws IllegalArgumentException if the stack of marks is empty.
+   */
+  void releaseMark() {
+    if (markCount == 0) {
+      throw new IllegalArgumentException("Stack of marks is empty. No mark available to release.");
     }
+    markCount--;
   }
 
 
@@ -0,0 +1,221 @@
+package jsonvalues.spec;
+
+import java.math.BigInteger;
+
+/**
+ * Exact conversion of decimal numbers to doubles with the Eisel-Lemire algorithm (Daniel Lemire, "Number Parsing at a
+ * Gigabyte per Second", 2021). The significand is read as an unsigned 64-bit integer w (up to 19 digits) and the
+ * number w * 10^q is rounded to the nearest double multiplying w by a 128-bit approximation of 5^q, which is always
+ * enough to get the correctly rounded result (Mushtak and Lemire, "Fast Number Parsing Without Fallback", 2023).
+ * <p>
+ * Numbers with more than 19 significant digits are truncated, and the result is only used if w and w + 1 round to the
+ * same double. Otherwise, as well as for anything that is not a well-formed JSON number, {@link #parse} returns NaN
+ * and the caller falls back to the slow path, which reports the errors.
+ */
+final class EiselLemire {
+
+  private static final int MIN_POW_10 = -342;
+  private static final int MAX_POW_10 = 308;
+  private static final int MANTISSA_BITS = 52;
+  private static final int MIN_EXPONENT = -1023;
+  private static final int INFINITE_POWER = 0x7FF;
+  private static final int MAX_DIGITS = 19;
+  private static final long MAX_EXACT_LONG = 1L << 53;
+
+  @SuppressWarnings("FloatingPointLiteralPrecision")
+  private static final double[] POW_10 = {
+      1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+      1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+
+  /**
+   * The 128 most significant bits of 5^q for q in [-342, 308], two longs per power: truncated for q >= 0 and rounded
+   * up for q < 0, as in the tables of the fast_float library.
+   */
+  private static final long[] POW_5_128 = new long[2 * (MAX_POW_10 - MIN_POW_10 + 1)];
+
+  static {
+    BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+    BigInteger mask64 = BigInteger.ONE.shiftLeft(64)
+                                      .subtract(BigInteger.ONE);
+    for (int q = MIN_POW_10; q <= MAX_POW_10; q++) {
+      BigInteger power;
+      if (q < 0) {
+        BigInteger power5 = BigInteger.valueOf(5)
+                                      .pow(-q);
+        int z = power5.bitLength();
+        int b = q >= -27 ? z + 127 : 2 * z + 128;
+        power = BigInteger.ONE.shiftLeft(b)
+                              .divide(power5)
+                              .add(BigInteger.ONE);
+        while (power.compareTo(two128) >= 0) {
+          power = power.shiftRight(1);
+        }
+      } else {
+        power = BigInteger.valueOf(5)
+                          .pow(q);
+        int bits = power.bitLength();
+        power = bits < 128 ? power.shiftLeft(128 - bits) : power.shiftRight(bits - 128);
+      }
+      int index = 2 * (q - MIN_POW_10);
+      POW_5_128[index] = power.shiftRight(64)
+                              .longValue();
+      POW_5_128[index + 1] = power.and(mask64)
+                                  .longValue();
+    }
+  }
+
+  private EiselLemire() {
+  }
+
+  /**
+   * Parses the unsigned JSON number in {@code [start, end)}, which may be followed by whitespace.
+   *
+   * @return the double or NaN if the number has to be parsed with the slow path
+   */
+  static double parse(final byte[] buf,
+                      final int start,
+                      final int end,
+                      final DslJsReader reader) {
+    int i = start;
+    long w = 0;
+    int digits = 0;
+    int exp10 = 0;
+    boolean truncated = false;
+    while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+      int digit = buf[i++] - '0';
+      if (digits < MAX_DIGITS) {
+        w = 10 * w + digit;
+        if (w != 0) {
+          digits++;
+        }
+      } else {
+        exp10++;
+        truncated |= digit != 0;
+      }
+    }
+    int intDigits = i - start;
+    if (intDigits == 0 || (intDigits > 1 && buf[start] == '0')) {
+      return Double.NaN;
+    }
+    if (i < end && buf[i] == '.') {
+      int fracStart = ++i;
+      while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+        int digit = buf[i++] - '0';
+        if (digits < MAX_DIGITS) {
+          w = 10 * w + digit;
+          exp10--;
+          if (w != 0) {
+            digits++;
+          }
+        } else {
+          truncated |= digit != 0;
+        }
+      }
+      if (i == fracStart) {
+        return Double.NaN;
+      }
+    }
+    if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+      i++;
+      boolean negativeExp = false;
+      if (i < end && (buf[i] == '-' || buf[i] == '+')) {
+        negativeExp = buf[i++] == '-';
+      }
+      int expStart = i;
+      int exp = 0;
+      while (i < end && buf[i] >= '0' && buf[i] <= '9') {
+        if (exp < 100_000) {
+          exp = 10 * exp + buf[i] - '0';
+        }
+        i++;
+      }
+      if (i == expStart) {
+        return Double.NaN;
+      }
+      exp10 += negativeExp ? -exp : exp;
+    }
+    if (i < end && !reader.allWhitespace(i,
+                                         end)) {
+      return Double.NaN;
+    }
+    double value = toDouble(w,
+                            exp10);
+    if (truncated && value != toDouble(w + 1,
+                                       exp10)) {
+      return Double.NaN;
+    }
+    return value;
+  }
+
+  /**
+   * Returns the double nearest to w * 10^q, w being an unsigned long
+   */
+  static double toDouble(final long w,
+                         final int q) {
+    if (w == 0 || q < MIN_POW_10) {
+      return 0d;
+    }
+    if (q > MAX_POW_10) {
+      return Double.POSITIVE_INFINITY;
+    }
+    if (q >= -22 && q <= 22 && Long.compareUnsigned(w,
+                                                    MAX_EXACT_LONG) <= 0) {
+      // both w and 10^|q| are exact doubles, so a single rounding gives the right result (Clinger's fast path)
+      return q < 0 ? w / POW_10[-q] : w * POW_10[q];
+    }
+    int lz = Long.numberOfLeadingZeros(w);
+    long shifted = w << lz;
+    int index = 2 * (q - MIN_POW_10);
+    long high = Math.unsignedMultiplyHigh(shifted,
+                                          POW_5_128[index]);
+    long low = shifted * POW_5_128[index];
+    if ((high & 0x1FF) == 0x1FF) {
+      long secondHigh = Math.unsignedMultiplyHigh(shifted,
+                                                  POW_5_128[index + 1]);
+      low += secondHigh;
+      if (Long.compareUnsigned(secondHigh,
+                               low) > 0) {
+        high++;
+      }
+    }
+    int upperBit = (int) (high >>> 63);
+    int shift = upperBit + 64 - MANTISSA_BITS - 3;
+    long mantissa = high >>> shift;
+    int power2 = (int) ((((152170L + 65536L) * q) >> 16) + 63) + upperBit - lz - MIN_EXPONENT;
+    if (power2 <= 0) {
+      // subnormal
+      if (-power2 + 1 >= 64) {
+        return 0d;
+      }
+      mantissa >>>= -power2 + 1;
+      mantissa += mantissa & 1;
+      mantissa >>>= 1;
+      power2 = mantissa < (1L << MANTISSA_BITS) ? 0 : 1;
+      return bits(mantissa,
+                  power2);
+    }
+    if (Long.compareUnsigned(low,
+                             1) <= 0 && q >= -4 && q <= 23 && (mantissa & 3) == 1
+        && (mantissa << shift) == high) {
+      // exactly halfway between two doubles: round to even
+      mantissa &= ~1L;
+    }
+    mantissa += mantissa & 1;
+    mantissa >>>= 1;
+    if (mantissa >= (2L << MANTISSA_BITS)) {
+      mantissa = 1L << MANTISSA_BITS;
+      power2++;
+    }
+    if (power2 >= INFINITE_POWER) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return bits(mantissa,
+                power2);
+  }
+
+  private static double bits(final long mantissa,
+                             final int power2) {
+    return Double.longBitsToDouble(((long) power2 << MANTISSA_BITS) | (mantissa & ((1L << MANTISSA_BITS) - 1)));
+  }
+}
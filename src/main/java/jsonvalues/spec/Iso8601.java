@@ -0,0 +1,229 @@
+package jsonvalues.spec;
+
+import java.time.Instant;
+
+/**
+ * Reads and writes instants in the UTC format of {@link java.time.format.DateTimeFormatter#ISO_INSTANT}
+ * ({@code 2024-03-01T10:15:30Z}, {@code 2024-03-01T10:15:30.120Z}), which is the one of {@link Instant#toString()},
+ * computing the epoch seconds and the calendar fields with integer arithmetic instead of going through the parser
+ * state and the {@link java.time.temporal.TemporalAccessor} of the formatter. Years out of 0000-9999, offsets other
+ * than {@code Z}, lower-case letters and invalid dates are left to the formatter, which resolves or rejects them.
+ */
+final class Iso8601 {
+
+  /**
+   * Maximum number of bytes written for an instant, without quotes
+   */
+  static final int MAX_LENGTH = 30;
+
+  /**
+   * first second of 0000-01-01 and last second of 9999-12-31, the range of years with four digits and no sign
+   */
+  static final long MIN_SECOND = -62167219200L;
+  static final long MAX_SECOND = 253402300799L;
+
+  private static final int SECONDS_PER_DAY = 86400;
+  private static final long DAYS_0000_TO_1970 = 719528L;
+  private static final int DAYS_PER_CYCLE = 146097;
+  private static final int[] POW10 = {1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000, 1000000000};
+
+  private Iso8601() {
+  }
+
+  /**
+   * Returns the instant of the first {@code len} characters of the array, or null if they are not a valid instant of
+   * the format {@code yyyy-MM-ddTHH:mm:ss[.S{1,9}]Z}.
+   */
+  static Instant parse(final char[] chars,
+                       final int len) {
+    if (len < 20 || len > MAX_LENGTH
+        || chars[4] != '-' || chars[7] != '-' || chars[10] != 'T'
+        || chars[13] != ':' || chars[16] != ':' || chars[len - 1] != 'Z') {
+      return null;
+    }
+    int year = digits(chars,
+                      0,
+                      4);
+    int month = digits(chars,
+                       5,
+                       2);
+    int day = digits(chars,
+                     8,
+                     2);
+    int hour = digits(chars,
+                      11,
+                      2);
+    int minute = digits(chars,
+                        14,
+                        2);
+    int second = digits(chars,
+                        17,
+                        2);
+    if (year < 0 || month < 1 || month > 12 || day < 1
+        || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+      return null;
+    }
+    if (day > lengthOfMonth(year,
+                            month)) {
+      return null;
+    }
+    int nanos = 0;
+    if (len > 20) {
+      int fraction = len - 21;
+      if (chars[19] != '.' || fraction == 0) {
+        return null;
+      }
+      nanos = digits(chars,
+                     20,
+                     fraction);
+      if (nanos < 0) {
+        return null;
+      }
+      nanos *= POW10[9 - fraction];
+    }
+    return Instant.ofEpochSecond(epochDay(year,
+                                          month,
+                                          day) * SECONDS_PER_DAY + hour * 3600 + minute * 60 + second,
+                                 nanos);
+  }
+
+  /**
+   * Writes the given instant at the given position, as {@link Instant#toString()} does, and returns the position after
+   * the last byte written. The epoch second must be between {@link #MIN_SECOND} and {@link #MAX_SECOND}.
+   */
+  static int write(final byte[] buf,
+                   final int position,
+                   final long epochSecond,
+                   final int nanos) {
+    long epochDay = Math.floorDiv(epochSecond,
+                                  SECONDS_PER_DAY);
+    int secondOfDay = Math.floorMod(epochSecond,
+                                    SECONDS_PER_DAY);
+    // days since 0000-03-01, so that the leap day is the last one of the year, as LocalDate.ofEpochDay does
+    long zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+    long adjust = 0;
+    if (zeroDay < 0) {
+      long adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+      adjust = adjustCycles * 400;
+      zeroDay -= adjustCycles * DAYS_PER_CYCLE;
+    }
+    long year = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+    long dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+    if (dayOfYear < 0) {
+      year--;
+      dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+    }
+    int marchMonth = ((int) dayOfYear * 5 + 2) / 153;
+    int month = (marchMonth + 2) % 12 + 1;
+    int day = (int) dayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+    year += adjust + marchMonth / 10;
+
+    int pos = digits(buf,
+                     position,
+                     (int) year,
+                     4);
+    buf[pos++] = '-';
+    pos = digits(buf,
+                 pos,
+                 month,
+                 2);
+    buf[pos++] = '-';
+    pos = digits(buf,
+                 pos,
+                 day,
+                 2);
+    buf[pos++] = 'T';
+    pos = digits(buf,
+                 pos,
+                 secondOfDay / 3600,
+                 2);
+    buf[pos++] = ':';
+    pos = digits(buf,
+                 pos,
+                 secondOfDay / 60 % 60,
+                 2);
+    buf[pos++] = ':';
+    pos = digits(buf,
+                 pos,
+                 secondOfDay % 60,
+                 2);
+    if (nanos > 0) {
+      buf[pos++] = '.';
+      // as many digits as needed, in groups of three
+      if (nanos % 1_000_000 == 0) {
+        pos = digits(buf,
+                     pos,
+                     nanos / 1_000_000,
+                     3);
+      } else if (nanos % 1000 == 0) {
+        pos = digits(buf,
+                     pos,
+                     nanos / 1000,
+                     6);
+      } else {
+        pos = digits(buf,
+                     pos,
+                     nanos,
+                     9);
+      }
+    }
+    buf[pos++] = 'Z';
+    return pos;
+  }
+
+  private static int digits(final char[] chars,
+                            final int from,
+                            final int count) {
+    int value = 0;
+    for (int i = from; i < from + count; i++) {
+      int digit = chars[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static int digits(final byte[] buf,
+                            final int position,
+                            int value,
+                            final int count) {
+    for (int i = position + count - 1; i >= position; i--) {
+      buf[i] = (byte) ('0' + value % 10);
+      value /= 10;
+    }
+    return position + count;
+  }
+
+  private static int lengthOfMonth(final int year,
+                                   final int month) {
+    return switch (month) {
+      case 2 -> isLeap(year) ? 29 : 28;
+      case 4, 6, 9, 11 -> 30;
+      default -> 31;
+    };
+  }
+
+  private static boolean isLeap(final int year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  /**
+   * Same computation as {@link java.time.LocalDate#toEpochDay()} for years from 0 on
+   */
+  private static long epochDay(final int year,
+                               final int month,
+                               final int day) {
+    long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    total += (367 * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeap(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+}
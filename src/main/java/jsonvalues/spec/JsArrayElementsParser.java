@@ -0,0 +1,230 @@
+package jsonvalues.spec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import jsonvalues.JsValue;
+
+/**
+ * Parser that returns the elements of a JSON array one at a time, as they are read from the input, instead of
+ * building the whole array first. Only the element being parsed and a fixed-size buffer, which is refilled from the
+ * input as needed, are kept in memory, so arrays of any size can be processed. The elements can be validated against a
+ * spec, for example the spec of the elements of an {@link JsSpecs#arrayOfSpec(JsSpec)}.
+ *
+ * <pre>{@code
+ * JsArrayElementsParser parser = JsArrayElementsParser.of(personSpec);
+ * try (InputStream input = ...) {
+ *   Iterator<JsValue> persons = parser.iterator(input);
+ *   while (persons.hasNext()) {
+ *     process(persons.next().toJsObj());
+ *   }
+ * }
+ * }</pre>
+ * <p>
+ * The elements are parsed with the caches and limits of the {@link JsIO} singleton instance, or of the one passed to
+ * {@link #of(JsSpec, JsIO)}. Instances are immutable and thread-safe, but the iterators and streams they return are
+ * not.
+ */
+public final class JsArrayElementsParser {
+
+  static final int BUFFER_SIZE = 1 << 16;
+
+  private final JsParser parser;
+  private final JsIO io;
+
+  private JsArrayElementsParser(final JsParser parser,
+                                final JsIO io) {
+    this.parser = parser;
+    this.io = io;
+  }
+
+  /**
+   * Creates a parser of arrays with elements of any type.
+   *
+   * @return an elements parser
+   */
+  public static JsArrayElementsParser of() {
+    return of(JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a parser of arrays with elements of any type, that parses with the caches and limits of the given
+   * {@link JsIO} instance instead of the singleton one.
+   *
+   * @param io the instance created with {@link JsIO#builder()}
+   * @return an elements parser
+   */
+  public static JsArrayElementsParser of(final JsIO io) {
+    return new JsArrayElementsParser(JsReaders.READERS.valueReader::value,
+                                     requireNonNull(io));
+  }
+
+  /**
+   * Creates a parser of arrays whose elements must conform to the given spec.
+   *
+   * @param elementSpec the spec of every element
+   * @return an elements parser
+   */
+  public static JsArrayElementsParser of(final JsSpec elementSpec) {
+    return of(elementSpec,
+              JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a parser of arrays whose elements must conform to the given spec, that parses with the caches and limits
+   * of the given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param elementSpec the spec of every element
+   * @param io          the instance created with {@link JsIO#builder()}
+   * @return an elements parser
+   */
+  public static JsArrayElementsParser of(final JsSpec elementSpec,
+                                         final JsIO io) {
+    return new JsArrayElementsParser(requireNonNull(elementSpec).parser(),
+                                     requireNonNull(io));
+  }
+
+  /**
+   * Returns an iterator that parses the elements of the array read from the given input stream as they are requested.
+   * The methods of the iterator throw a {@link JsParserException} if the input is not a well-formed JSON array, if
+   * there is anything but whitespace after it, or if an element doesn't conform to the spec. Once an exception is
+   * thrown, the iterator doesn't read the input anymore and every call throws it again. The input stream is not
+   * closed.
+   *
+   * @param input the input stream
+   * @return an iterator of the elements of the array
+   */
+  public Iterator<JsValue> iterator(final InputStream input) {
+    return new ElementsIterator(requireNonNull(input));
+  }
+
+  /**
+   * Returns a sequential stream that parses the elements of the array read from the given input stream as they are
+   * consumed. The input stream is not closed.
+   *
+   * @param input the input stream
+   * @return a stream of the elements of the array
+   * @see #iterator(InputStream)
+   */
+  public Stream<JsValue> stream(final InputStream input) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(input),
+                                                                    Spliterator.ORDERED | Spliterator.NONNULL),
+                                false);
+  }
+
+  /**
+   * Returns a sequential stream that parses the elements of the array stored in the given file as they are consumed.
+   * The file is mapped into memory and remains open until the stream is closed.
+   *
+   * @param path the path of the file
+   * @return a stream of the elements of the array
+   * @throws UncheckedIOException if the file can't be opened
+   */
+  public Stream<JsValue> stream(final Path path) {
+    try {
+      FileChannel channel = FileChannel.open(requireNonNull(path),
+                                             StandardOpenOption.READ);
+      try {
+        return stream(ByteBufferInputStream.ofFile(channel)).onClose(() -> {
+          try {
+            channel.close();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Every iterator has its own reader, not taken from the pool of {@link JsIO}, because it's used across many calls,
+   * possibly from different threads, and other parses may happen in between.
+   */
+  private final class ElementsIterator implements Iterator<JsValue> {
+
+    private final InputStream input;
+    private DslJsReader reader;
+    private boolean done;
+    private JsValue next;
+    private RuntimeException failure;
+
+    ElementsIterator(final InputStream input) {
+      this.input = input;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (failure != null) {
+        throw failure;
+      }
+      if (next == null && !done) {
+        try {
+          next = computeNext();
+        } catch (RuntimeException e) {
+          // the position of the reader is unknown after an error, so it's not used anymore
+          failure = e;
+          reader = null;
+          throw e;
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public JsValue next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      JsValue value = next;
+      next = null;
+      return value;
+    }
+
+    private JsValue computeNext() {
+      if (reader == null) {
+        reader = io.newReader(input,
+                              new byte[BUFFER_SIZE]);
+        if (reader.readNextToken() != '[') {
+          throw reader.newParseError(ParserErrors.EXPECTING_FOR_ARRAY_START);
+        }
+        if (reader.readNextToken() == ']') {
+          return end();
+        }
+      } else {
+        switch (reader.readNextToken()) {
+          case ',':
+            reader.readNextToken();
+            break;
+          case ']':
+            return end();
+          default:
+            throw reader.newParseError(ParserErrors.EXPECTING_END_OF_ARRAY);
+        }
+      }
+      return parser.parse(reader);
+    }
+
+    private JsValue end() {
+      reader.checkEndOfStream();
+      done = true;
+      reader = null;
+      return null;
+    }
+  }
+}
@@ -14,14 +14,21 @@ final class JsArrayOfDoubleReader extends JsArrayReader {
     this.parser = parser;
   }
 
+  @Override
+  void appendValue(final DslJsReader reader,
+                   final JsArray.Builder array
+                  ) throws JsParserException {
+    array.append(NumberConverter.deserializeDouble(reader));
+  }
+
   JsValue nullOrArrayEachSuchThat(final DslJsReader reader,
                                   final DoubleFunction<JsError> fn,
                                   ArraySchemaConstraints arrayConstraints
                                  ) throws JsParserException {
-    return nullOrArrayEachSuchThat(reader,
-                                   () -> parser.valueSuchThat(reader,
-                                                              fn),
-                                   arrayConstraints);
+    return nullOrArrayEachAppending(reader,
+                                    array -> array.append(parser.doubleSuchThat(reader,
+                                                                                fn)),
+                                    arrayConstraints);
   }
 
 
@@ -29,10 +36,10 @@ final class JsArrayOfDoubleReader extends JsArrayReader {
                             final DoubleFunction<JsError> fn,
                             ArraySchemaConstraints arrayConstraints
                            ) throws JsParserException {
-    return arrayEachSuchThat(reader,
-                             () -> parser.valueSuchThat(reader,
-                                                        fn),
-                             arrayConstraints);
+    return arrayEachAppending(reader,
+                              array -> array.append(parser.doubleSuchThat(reader,
+                                                                          fn)),
+                              arrayConstraints);
   }
 
 
@@ -14,24 +14,31 @@ final class JsArrayOfIntReader extends JsArrayReader {
     this.parser = parser;
   }
 
+  @Override
+  void appendValue(final DslJsReader reader,
+                   final JsArray.Builder array
+                  ) throws JsParserException {
+    array.append(NumberConverter.deserializeInt(reader));
+  }
+
   JsValue nullOrArrayEachSuchThat(DslJsReader reader,
                                   IntFunction<JsError> fn,
                                   ArraySchemaConstraints arrayConstraints
                                  ) throws JsParserException {
-    return nullOrArrayEachSuchThat(reader,
-                                   () -> parser.valueSuchThat(reader,
-                                                              fn),
-                                   arrayConstraints);
+    return nullOrArrayEachAppending(reader,
+                                    array -> array.append(parser.intSuchThat(reader,
+                                                                             fn)),
+                                    arrayConstraints);
   }
 
   JsArray arrayEachSuchThat(DslJsReader reader,
                             IntFunction<JsError> fn,
                             ArraySchemaConstraints arrayConstraints
                            ) throws JsParserException {
-    return arrayEachSuchThat(reader,
-                             () -> parser.valueSuchThat(reader,
-                                                        fn),
-                             arrayConstraints);
+    return arrayEachAppending(reader,
+                              array -> array.append(parser.intSuchThat(reader,
+                                                                       fn)),
+                              arrayConstraints);
   }
 
 }
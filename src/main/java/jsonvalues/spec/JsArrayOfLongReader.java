@@ -14,14 +14,21 @@ final class JsArrayOfLongReader extends JsArrayReader {
     this.parser = parser;
   }
 
+  @Override
+  void appendValue(final DslJsReader reader,
+                   final JsArray.Builder array
+                  ) throws JsParserException {
+    array.append(NumberConverter.deserializeLong(reader));
+  }
+
   JsValue nullOrArrayEachSuchThat(final DslJsReader reader,
                                   final LongFunction<JsError> fn,
                                   final ArraySchemaConstraints arrayConstraints
                                  ) throws JsParserException {
-    return nullOrArrayEachSuchThat(reader,
-                                   () -> parser.valueSuchThat(reader,
-                                                              fn),
-                                   arrayConstraints);
+    return nullOrArrayEachAppending(reader,
+                                    array -> array.append(parser.longSuchThat(reader,
+                                                                              fn)),
+                                    arrayConstraints);
   }
 
 
@@ -29,10 +36,10 @@ final class JsArrayOfLongReader extends JsArrayReader {
                             final LongFunction<JsError> fn,
                             final ArraySchemaConstraints arrayConstraints
                            ) throws JsParserException {
-    return arrayEachSuchThat(reader,
-                             () -> parser.valueSuchThat(reader,
-                                                        fn),
-                             arrayConstraints);
+    return arrayEachAppending(reader,
+                              array -> array.append(parser.longSuchThat(reader,
+                                                                        fn)),
+                              arrayConstraints);
   }
 
 
@@ -1,5 +1,8 @@
 package jsonvalues.spec;
 
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import jsonvalues.JsArray;
@@ -36,17 +39,16 @@ abstract class JsArrayReader extends AbstractReader {
     ) {
       return EMPTY;
     }
-    var array = EMPTY.append(elementReader.value(reader));
+    Set<JsValue> items = arrayConstraints != null && arrayConstraints.uniqueItems() ? new HashSet<>() : null;
+    var array = JsArray.builder();
+    appendUnique(reader,
+                 array,
+                 items);
     while (reader.readNextToken() == ',') {
       reader.readNextToken();
-      JsValue value = elementReader.value(reader);
-      if (arrayConstraints != null && arrayConstraints.uniqueItems() && array.containsValue(value)) {
-        throw JsParserException.reasonAt(ParserErrors.DUPLICATED_ARRAY_ITEM,
-                                         reader.getPositionInStream()
-                                        );
-
-      }
-      array = array.append(value);
+      appendUnique(reader,
+                   array,
+                   items);
       if (arrayConstraints != null) {
         checkSize(array.size() > arrayConstraints.maxItems(),
                   ParserErrors.TOO_LONG_ARRAY.apply(arrayConstraints.maxItems()),
@@ -63,7 +65,7 @@ abstract class JsArrayReader extends AbstractReader {
     }
 
     reader.checkArrayEnd();
-    return array;
+    return array.build();
   }
 
   private boolean checkIfEmpty(boolean isEmpty,
@@ -87,16 +89,47 @@ abstract class JsArrayReader extends AbstractReader {
     if (isEmptyArray(reader)) {
       return EMPTY;
     }
-    var array = EMPTY.append(elementReader.value(reader));
+    var array = JsArray.builder();
+    appendValue(reader,
+                array);
     while (reader.readNextToken() == ',') {
       reader.readNextToken();
-      array = array.append(elementReader.value(reader));
+      appendValue(reader,
+                  array);
     }
     reader.checkArrayEnd();
-    return array;
+    return array.build();
 
   }
 
+  /**
+   * Reads the next element and appends it to the array. Readers of numbers override it to append the primitive value
+   * and keep the array unboxed.
+   */
+  void appendValue(final DslJsReader reader,
+                   final JsArray.Builder array
+                  ) throws JsParserException {
+    array.append(elementReader.value(reader));
+  }
+
+  private void appendUnique(final DslJsReader reader,
+                            final JsArray.Builder array,
+                            final Set<JsValue> items
+                           ) throws JsParserException {
+    if (items == null) {
+      appendValue(reader,
+                  array);
+      return;
+    }
+    JsValue value = elementReader.value(reader);
+    if (!items.add(value)) {
+      throw JsParserException.reasonAt(ParserErrors.DUPLICATED_ARRAY_ITEM,
+                                       reader.getPositionInStream()
+                                      );
+    }
+    array.append(value);
+  }
+
 
   private boolean isEmptyArray(final DslJsReader reader) throws JsParserException {
     checkSize(reader.last() != '[',
@@ -129,15 +162,28 @@ abstract class JsArrayReader extends AbstractReader {
     if (result == null) {
       return array;
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
   JsArray arrayEachSuchThat(final DslJsReader reader,
                             final Supplier<JsValue> f,
                             final ArraySchemaConstraints arrayConstraints
                            ) throws JsParserException {
+    return arrayEachAppending(reader,
+                              array -> array.append(f.get()),
+                              arrayConstraints);
+  }
+
+  /**
+   * Like {@link #arrayEachSuchThat(DslJsReader, Supplier, ArraySchemaConstraints)} but the function reads and appends
+   * every element itself, which allows to append primitive values.
+   */
+  JsArray arrayEachAppending(final DslJsReader reader,
+                             final Consumer<JsArray.Builder> appender,
+                             final ArraySchemaConstraints arrayConstraints
+                            ) throws JsParserException {
 
     if (checkIfEmpty(isEmptyArray(reader),
                      arrayConstraints,
@@ -145,10 +191,11 @@ abstract class JsArrayReader extends AbstractReader {
                     )) {
       return EMPTY;
     }
-    JsArray array = EMPTY.append(f.get());
+    JsArray.Builder array = JsArray.builder();
+    appender.accept(array);
     while (reader.readNextToken() == ',') {
       reader.readNextToken();
-      array = array.append(f.get());
+      appender.accept(array);
       if (arrayConstraints != null) {
         checkSize(array.size() > arrayConstraints.maxItems(),
                   ParserErrors.TOO_LONG_ARRAY.apply(arrayConstraints.maxItems()),
@@ -164,7 +211,7 @@ abstract class JsArrayReader extends AbstractReader {
     }
 
     reader.checkArrayEnd();
-    return array;
+    return array.build();
 
   }
 
@@ -192,5 +239,18 @@ abstract class JsArrayReader extends AbstractReader {
                             );
   }
 
+  JsValue nullOrArrayEachAppending(final DslJsReader reader,
+                                   final Consumer<JsArray.Builder> appender,
+                                   final ArraySchemaConstraints arrayConstraints
+                                  ) throws JsParserException {
+
+    return reader.wasNull() ?
+           JsNull.NULL :
+           arrayEachAppending(reader,
+                              appender,
+                              arrayConstraints
+                             );
+  }
+
 
 }
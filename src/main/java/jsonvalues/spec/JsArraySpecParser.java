@@ -3,7 +3,10 @@ package jsonvalues.spec;
 import static java.util.Objects.requireNonNull;
 
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import jsonvalues.JsArray;
 
 /**
@@ -36,8 +39,11 @@ public final class JsArraySpecParser {
 
   private final JsSpec spec;
 
+  private final JsIO io;
 
-  private JsArraySpecParser(final JsSpec spec) {
+
+  private JsArraySpecParser(final JsSpec spec,
+                            final JsIO io) {
     if (!isValid(requireNonNull(spec))) {
       throw new IllegalArgumentException("`%s` constructor requires a `%s` or `OneSpecOf(%s)`".formatted(JsArraySpecParser.class.getName(),
                                                                                                          JsArraySpec.class.getName(),
@@ -45,6 +51,7 @@ public final class JsArraySpecParser {
                                                                                                         ));
     }
     this.spec = spec;
+    this.io = requireNonNull(io);
     parser = spec.parser();
 
   }
@@ -57,7 +64,22 @@ public final class JsArraySpecParser {
    * @return a Json array parser
    */
   public static JsArraySpecParser of(final JsSpec spec) {
-    return new JsArraySpecParser(spec);
+    return new JsArraySpecParser(spec,
+                                 JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a JSON array parser based on the provided JSON array specification (spec) that parses with the readers,
+   * caches and limits of the given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param spec The JSON array specification that defines the expected schema for each element in the array.
+   * @param io   The instance created with {@link JsIO#builder()} to parse the JSON arrays.
+   * @return a Json array parser
+   */
+  public static JsArraySpecParser of(final JsSpec spec,
+                                     final JsIO io) {
+    return new JsArraySpecParser(spec,
+                                 io);
   }
 
   private boolean isValid(JsSpec spec) {
@@ -88,9 +110,9 @@ public final class JsArraySpecParser {
    */
   public JsArray parse(final byte[] bytes) {
 
-    JsArray arr = JsIO.INSTANCE.parseToJsArray(requireNonNull(bytes),
-                                               parser
-                                              );
+    JsArray arr = io.parseToJsArray(requireNonNull(bytes),
+                                    parser
+                                   );
 
     assert spec.test(arr)
                .isEmpty();
@@ -109,7 +131,7 @@ public final class JsArraySpecParser {
    * @throws JsParserException If parsing fails due to JSON syntax errors or specification violations.
    */
   public JsArray parse(String str) {
-    JsArray arr = JsIO.INSTANCE
+    JsArray arr = io
         .parseToJsArray(requireNonNull(str).getBytes(StandardCharsets.UTF_8),
                         parser
                        );
@@ -132,9 +154,9 @@ public final class JsArraySpecParser {
    * @throws JsParserException If parsing fails due to JSON syntax errors, specification violations, or I/O exceptions.
    */
   public JsArray parse(InputStream inputstream) {
-    JsArray arr = JsIO.INSTANCE.parseToJsArray(requireNonNull(inputstream),
-                                               parser
-                                              );
+    JsArray arr = io.parseToJsArray(requireNonNull(inputstream),
+                                    parser
+                                   );
 
     assert spec.test(arr)
                .isEmpty();
@@ -143,6 +165,72 @@ public final class JsArraySpecParser {
 
   }
 
+  /**
+   * Parses the remaining bytes of the given buffer into a JSON array that must conform to the spec of the parser.
+   * Direct buffers are scanned without copying their content onto the heap, and the position of the buffer is not
+   * modified.
+   *
+   * @param buffer A buffer with a JSON array.
+   * @return The parsed JSON array.
+   * @throws NullPointerException if the provided buffer is null.
+   * @throws JsParserException    If parsing fails due to JSON syntax errors or specification violations.
+   */
+  public JsArray parse(final ByteBuffer buffer) {
+    JsArray arr = io.parseToJsArray(requireNonNull(buffer),
+                                    parser
+                                   );
+    assert spec.test(arr)
+               .isEmpty();
+
+    return arr;
+  }
 
-}
+  /**
+   * Parses the content of the given file into a JSON array that must conform to the spec of the parser. The file is
+   * mapped into memory instead of being read onto the heap, which makes it a good fit for big files.
+   *
+   * @param path The path of a file with a JSON array.
+   * @return The parsed JSON array.
+   * @throws NullPointerException if the provided path is null.
+   * @throws JsParserException    If parsing fails due to JSON syntax errors or specification violations.
+   * @throws UncheckedIOException If the file can't be read.
+   */
+  public JsArray parse(final Path path) {
+    JsArray arr = io.parseToJsArray(requireNonNull(path),
+                                    parser
+                                   );
+    assert spec.test(arr)
+               .isEmpty();
+
+    return arr;
+  }
+
+  /**
+   * Parses an array of bytes into a JSON array that must conform to the spec of the parser, without throwing an
+   * exception if the bytes don't represent a well-formed JSON or the JSON doesn't conform to the spec. It's meant for
+   * untrusted inputs that are often rejected: the error of the result has no stack trace.
+   *
+   * @param bytes A JSON array serialized as an array of bytes.
+   * @return The parsed JSON array or the reason why the bytes were rejected.
+   * @throws NullPointerException if the provided byte array is null.
+   */
+  public ParseResult<JsArray> tryParse(final byte[] bytes) {
+    requireNonNull(bytes);
+    return ParseResult.of(this::parse,
+                          bytes);
+  }
 
+  /**
+   * Parses a string into a JSON array that must conform to the spec of the parser, without throwing an exception if
+   * the string doesn't represent a well-formed JSON or the JSON doesn't conform to the spec. It's meant for untrusted
+   * inputs that are often rejected: the error of the result has no stack trace.
+   *
+   * @param str A JSON array serialized as a string.
+   * @return The parsed JSON array or the reason why the string was rejected.
+   * @throws NullPointerException if the provided string is null.
+   */
+  public ParseResult<JsArray> tryParse(final String str) {
+    return tryParse(requireNonNull(str).getBytes(StandardCharsets.UTF_8));
+  }
+
+}
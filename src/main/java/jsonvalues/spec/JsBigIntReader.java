@@ -33,9 +33,9 @@ final class JsBigIntReader extends AbstractReader {
         return JsBigInt.of(value);
       }
 
-      throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                       reader.getPositionInStream()
-                                      );
+      throw JsParserException.ofError(result,
+                                      reader.getPositionInStream()
+                                     );
     } catch (ArithmeticException e) {
       throw JsParserException.reasonAt(ParserErrors.BIG_INTEGER_WITH_FRACTIONAL_PART,
                                        reader.getPositionInStream()
@@ -0,0 +1,443 @@
+package jsonvalues.spec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Cursor that reads a JSON document token by token, without building any {@link jsonvalues.JsValue}. Every call to
+ * {@link #next()} moves the cursor to the next token and returns its {@link Event event}, and the accessors return
+ * the content of the current token: {@link #key()} for keys, {@link #string()} for strings, {@link #longValue()},
+ * {@link #doubleValue()} and {@link #decimalValue()} for numbers. It's the way to go to aggregate or filter documents
+ * that are too big to be parsed into a tree.
+ *
+ * <pre>{@code
+ * JsCursor cursor = JsCursor.of(input);
+ * long total = 0;
+ * JsCursor.Event event;
+ * while ((event = cursor.next()) != JsCursor.Event.END_OF_INPUT) {
+ *   if (event == JsCursor.Event.KEY && cursor.key().equals("amount")
+ *       && cursor.next() == JsCursor.Event.NUMBER) {
+ *     total += cursor.longValue();
+ *   }
+ * }
+ * }</pre>
+ * <p>
+ * Strings and numbers are read only when their accessors are called: if the cursor moves past them they are skipped
+ * without creating any object. Keys and strings are looked up in the same caches used by the parsers, and numbers are
+ * read with the same converters. Entire objects and arrays can be skipped with {@link #skipChildren()}.
+ * <p>
+ * The cursor checks that the document is well-formed and that there is nothing but whitespace after it, throwing a
+ * {@link JsParserException} otherwise. It is not thread-safe.
+ */
+public final class JsCursor {
+
+  static final int BUFFER_SIZE = 1 << 16;
+
+  private static final byte NONE = 0;
+  private static final byte PENDING_STRING = 1;
+  private static final byte PENDING_NUMBER = 2;
+  private static final byte READ_STRING = 3;
+  private static final byte READ_LONG = 4;
+  private static final byte READ_DOUBLE = 5;
+  private static final byte READ_DECIMAL = 6;
+
+  private final DslJsReader reader;
+
+  private byte[] containers = new byte[16];
+  private int depth;
+  private boolean started;
+  private boolean afterKey;
+
+  private Event event;
+  private byte content = NONE;
+  private String key;
+  private String string;
+  private long longValue;
+  private double doubleValue;
+  private BigDecimal decimalValue;
+
+  private JsCursor(final DslJsReader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Creates a cursor over the given array of bytes.
+   *
+   * @param bytes the JSON document
+   * @return a cursor positioned before the first token
+   */
+  public static JsCursor of(final byte[] bytes) {
+    return of(bytes,
+              JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a cursor over the given array of bytes, that reads with the caches and limits of the given {@link JsIO}
+   * instance instead of the singleton one.
+   *
+   * @param bytes the JSON document
+   * @param io    the instance created with {@link JsIO#builder()}
+   * @return a cursor positioned before the first token
+   */
+  public static JsCursor of(final byte[] bytes,
+                            final JsIO io) {
+    return new JsCursor(requireNonNull(io).newReader(requireNonNull(bytes)));
+  }
+
+  /**
+   * Creates a cursor over the given input stream, which is read in chunks as the cursor moves forward. The input
+   * stream is not closed.
+   *
+   * @param input the JSON document
+   * @return a cursor positioned before the first token
+   * @throws JsParserException if the input stream can't be read
+   */
+  public static JsCursor of(final InputStream input) {
+    return of(input,
+              JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a cursor over the given input stream, that reads with the caches and limits of the given {@link JsIO}
+   * instance instead of the singleton one. The input stream is not closed.
+   *
+   * @param input the JSON document
+   * @param io    the instance created with {@link JsIO#builder()}
+   * @return a cursor positioned before the first token
+   * @throws JsParserException if the input stream can't be read
+   */
+  public static JsCursor of(final InputStream input,
+                            final JsIO io) {
+    return new JsCursor(requireNonNull(io).newReader(requireNonNull(input),
+                                                     new byte[BUFFER_SIZE]));
+  }
+
+  /**
+   * Moves the cursor to the next token.
+   *
+   * @return the event of the token, or {@link Event#END_OF_INPUT} once the document has been read
+   * @throws JsParserException if the document is not well-formed
+   */
+  public Event next() {
+    skipContent();
+    key = null;
+    if (event == Event.END_OF_INPUT) {
+      return event;
+    }
+    if (!started) {
+      started = true;
+      return event = value(reader.readNextToken());
+    }
+    if (afterKey) {
+      afterKey = false;
+      return event = value(reader.last());
+    }
+    if (depth == 0) {
+      reader.checkEndOfStream();
+      return event = Event.END_OF_INPUT;
+    }
+    byte container = containers[depth - 1];
+    byte token = reader.readNextToken();
+    if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+      if (token == '}' && container == '{') {
+        return event = end();
+      }
+      if (token == ']' && container == '[') {
+        return event = end();
+      }
+      return event = container == '{' ? key(token) : value(token);
+    }
+    if (token == ',') {
+      return event = container == '{' ? key(reader.readNextToken()) : value(reader.readNextToken());
+    }
+    if (container == '{' && token != '}') {
+      throw reader.newParseError(ParserErrors.EXPECTING_FOR_MAP_END,
+                                 (char) token,
+                                 0);
+    }
+    if (container == '[' && token != ']') {
+      throw reader.newParseError(ParserErrors.EXPECTING_END_OF_ARRAY);
+    }
+    return event = end();
+  }
+
+  /**
+   * Skips the content of the object or array the cursor is at the start of, leaving the cursor at its end. Does nothing
+   * if the current token is not {@link Event#START_OBJECT} or {@link Event#START_ARRAY}.
+   *
+   * @throws JsParserException if the document is not well-formed
+   */
+  public void skipChildren() {
+    if (event == Event.START_OBJECT || event == Event.START_ARRAY) {
+      int target = depth - 1;
+      while (depth > target) {
+        next();
+      }
+    }
+  }
+
+  /**
+   * Returns the event of the current token, or null if {@link #next()} hasn't been called yet.
+   *
+   * @return the current event
+   */
+  public Event event() {
+    return event;
+  }
+
+  /**
+   * Returns the number of objects and arrays that contain the current token. Start and end tokens are counted as part
+   * of the object or array they open or close.
+   *
+   * @return the depth of the current token
+   */
+  public int depth() {
+    return event == Event.START_OBJECT || event == Event.START_ARRAY ? depth - 1 : depth;
+  }
+
+  /**
+   * Returns the name of the current key.
+   *
+   * @return the key
+   * @throws IllegalStateException if the current token is not a {@link Event#KEY}
+   */
+  public String key() {
+    check(Event.KEY);
+    return key;
+  }
+
+  /**
+   * Returns the current string.
+   *
+   * @return the string
+   * @throws IllegalStateException if the current token is not a {@link Event#STRING}
+   * @throws JsParserException     if the string is not well-formed
+   */
+  public String string() {
+    check(Event.STRING);
+    if (content == PENDING_STRING) {
+      string = reader.readString();
+      content = READ_STRING;
+    }
+    return string;
+  }
+
+  /**
+   * Returns the current number as an integer.
+   *
+   * @return the number
+   * @throws IllegalStateException if the current token is not a {@link Event#NUMBER}, or it was read with another
+   *                               accessor
+   * @throws JsParserException     if the number has decimals or doesn't fit in an int
+   */
+  public int intValue() {
+    long value = longValue();
+    if (value != (int) value) {
+      throw reader.newParseError(ParserErrors.INTEGER_OVERFLOW);
+    }
+    return (int) value;
+  }
+
+  /**
+   * Returns the current number as a long.
+   *
+   * @return the number
+   * @throws IllegalStateException if the current token is not a {@link Event#NUMBER}, or it was read with another
+   *                               accessor
+   * @throws JsParserException     if the number has decimals or doesn't fit in a long
+   */
+  public long longValue() {
+    if (readNumber(READ_LONG)) {
+      longValue = NumberConverter.deserializeLong(reader);
+    }
+    return longValue;
+  }
+
+  /**
+   * Returns the current number as a double.
+   *
+   * @return the number
+   * @throws IllegalStateException if the current token is not a {@link Event#NUMBER}, or it was read with another
+   *                               accessor
+   * @throws JsParserException     if the number is not well-formed
+   */
+  public double doubleValue() {
+    if (readNumber(READ_DOUBLE)) {
+      doubleValue = NumberConverter.deserializeDouble(reader);
+    }
+    return doubleValue;
+  }
+
+  /**
+   * Returns the current number as a big decimal.
+   *
+   * @return the number
+   * @throws IllegalStateException if the current token is not a {@link Event#NUMBER}, or it was read with another
+   *                               accessor
+   * @throws JsParserException     if the number is not well-formed
+   */
+  public BigDecimal decimalValue() {
+    if (readNumber(READ_DECIMAL)) {
+      decimalValue = NumberConverter.deserializeDecimal(reader);
+    }
+    return decimalValue;
+  }
+
+  /**
+   * Returns the current boolean.
+   *
+   * @return true if the current token is {@link Event#TRUE}, false if it is {@link Event#FALSE}
+   * @throws IllegalStateException if the current token is not a boolean
+   */
+  public boolean bool() {
+    if (event != Event.TRUE && event != Event.FALSE) {
+      throw new IllegalStateException("The current token is %s, not a boolean".formatted(event));
+    }
+    return event == Event.TRUE;
+  }
+
+  private void check(final Event expected) {
+    if (event != expected) {
+      throw new IllegalStateException("The current token is %s, not %s".formatted(event,
+                                                                                   expected));
+    }
+  }
+
+  /**
+   * Returns true if the number has to be read, which happens the first time it's requested
+   */
+  private boolean readNumber(final byte as) {
+    check(Event.NUMBER);
+    if (content == PENDING_NUMBER) {
+      content = as;
+      return true;
+    }
+    if (content != as) {
+      throw new IllegalStateException("The number was already read with another accessor");
+    }
+    return false;
+  }
+
+  /**
+   * Consumes the string or number the cursor is at, if it wasn't read
+   */
+  private void skipContent() {
+    if (content == PENDING_STRING) {
+      reader.parseString();
+    } else if (content == PENDING_NUMBER) {
+      reader.skipNumber();
+    }
+    content = NONE;
+    string = null;
+    decimalValue = null;
+  }
+
+  private Event key(final byte token) {
+    if (token != '"') {
+      throw reader.newParseError(ParserErrors.EXPECTING_STRING_START);
+    }
+    key = reader.readKey();
+    afterKey = true;
+    return Event.KEY;
+  }
+
+  private Event value(final byte token) {
+    return switch (token) {
+      case '{' -> start(token,
+                        Event.START_OBJECT);
+      case '[' -> start(token,
+                        Event.START_ARRAY);
+      case '"' -> {
+        content = PENDING_STRING;
+        yield Event.STRING;
+      }
+      case 't' -> {
+        reader.wasTrue();
+        yield Event.TRUE;
+      }
+      case 'f' -> {
+        reader.wasFalse();
+        yield Event.FALSE;
+      }
+      case 'n' -> {
+        reader.wasNull();
+        yield Event.NULL;
+      }
+      default -> {
+        if (token != '-' && (token < '0' || token > '9')) {
+          throw reader.newParseError(ParserErrors.EXPECTING_VALUE);
+        }
+        content = PENDING_NUMBER;
+        yield Event.NUMBER;
+      }
+    };
+  }
+
+  private Event start(final byte token,
+                      final Event start) {
+    if (depth == containers.length) {
+      containers = Arrays.copyOf(containers,
+                                 depth * 2);
+    }
+    containers[depth++] = token;
+    return start;
+  }
+
+  private Event end() {
+    return containers[--depth] == '{' ? Event.END_OBJECT : Event.END_ARRAY;
+  }
+
+  /**
+   * Events of the tokens of a JSON document.
+   */
+  public enum Event {
+    /**
+     * '{'
+     */
+    START_OBJECT,
+    /**
+     * '}'
+     */
+    END_OBJECT,
+    /**
+     * '['
+     */
+    START_ARRAY,
+    /**
+     * ']'
+     */
+    END_ARRAY,
+    /**
+     * The name of a key. The next token is its value.
+     */
+    KEY,
+    /**
+     * A string, read with {@link JsCursor#string()}
+     */
+    STRING,
+    /**
+     * A number, read with {@link JsCursor#intValue()}, {@link JsCursor#longValue()}, {@link JsCursor#doubleValue()}
+     * or {@link JsCursor#decimalValue()}
+     */
+    NUMBER,
+    /**
+     * true
+     */
+    TRUE,
+    /**
+     * false
+     */
+    FALSE,
+    /**
+     * null
+     */
+    NULL,
+    /**
+     * The document has been read
+     */
+    END_OF_INPUT
+  }
+}
@@ -20,9 +20,9 @@ final class JsDecimalReader extends AbstractReader {
     if (result == null) {
       return JsBigDec.of(value);
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
 
@@ -13,14 +13,21 @@ final class JsDoubleReader extends AbstractReader {
   JsDouble valueSuchThat(final DslJsReader reader,
                          final DoubleFunction<JsError> fn
                         ) throws JsParserException {
+    return JsDouble.of(doubleSuchThat(reader,
+                                      fn));
+  }
+
+  double doubleSuchThat(final DslJsReader reader,
+                        final DoubleFunction<JsError> fn
+                       ) throws JsParserException {
     double value = NumberConverter.deserializeDouble(reader);
     JsError result = fn.apply(value);
     if (result == null) {
-      return JsDouble.of(value);
+      return value;
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
 }
@@ -3,7 +3,6 @@ package jsonvalues.spec;
 import java.util.List;
 import java.util.Objects;
 import jsonvalues.JsArray;
-import jsonvalues.JsStr;
 import jsonvalues.JsValue;
 
 
@@ -13,6 +12,8 @@ final class JsEnum extends AbstractNullable implements JsOneErrorSpec, AvroSpec
 
   final EnumMetaData metaData;
 
+  private final JsStrInterner interner;
+
   private JsEnum(List<String> symbols) {
     this(false,
          JsArray.ofStrs(Objects.requireNonNull(symbols)),
@@ -25,6 +26,9 @@ final class JsEnum extends AbstractNullable implements JsOneErrorSpec, AvroSpec
     super(nullable);
     this.symbols = symbols;
     this.metaData = metaData;
+    this.interner = JsStrInterner.ofSymbols(symbols.streamOfValues()
+                                                   .map(it -> it.toJsStr().value)
+                                                   .toList());
   }
 
   static JsEnum of(List<String> symbols) {
@@ -39,17 +43,13 @@ final class JsEnum extends AbstractNullable implements JsOneErrorSpec, AvroSpec
                       metaData);
   }
 
+  /**
+   * The parser returns the same {@code JsStr} instance of every symbol, no matter how many times it's parsed.
+   */
   @Override
   public JsParser parser() {
-    return JsParsers.INSTANCE.ofStrSuchThat(value -> {
-                                              JsStr str = JsStr.of(value);
-                                              boolean valid = symbols.containsValue(str);
-                                              return valid ?
-                                                     null :
-                                                     new JsError(str,
-                                                                 ERROR_CODE.ENUM_SYMBOL_EXPECTED);
-                                            },
-                                            nullable);
+    return JsParsers.INSTANCE.ofEnum(interner,
+                                     nullable);
   }
 
 
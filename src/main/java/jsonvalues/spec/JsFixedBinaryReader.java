@@ -18,8 +18,8 @@ final class JsFixedBinaryReader extends AbstractReader {
       byte[] bytes = Base64.getDecoder()
                            .decode(reader.readString());
       if (bytes.length != size) {
-        throw JsParserException.reasonAt(ParserErrors.INVALID_FIXED_BINARY_SIZE.formatted(size,
-                                                                                          bytes.length),
+        throw JsParserException.reasonAt(ParserErrors.INVALID_FIXED_BINARY_SIZE,
+                                         new Object[]{size, bytes.length},
                                          reader.getPositionInStream());
       }
       return JsBinary.of(bytes);
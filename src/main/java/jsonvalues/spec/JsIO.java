@@ -5,7 +5,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
 import java.util.Objects;
 import jsonvalues.JsArray;
 import jsonvalues.JsNull;
@@ -17,6 +22,9 @@ import jsonvalues.Json;
  * Singleton instance to create JSON readers and writers to parse bytes into JSON and serialize JSON into bytes. Only a
  * few a methods are exposed since this class is vastly used internally. You may be interested in creating JsReaders
  * only to parse bytes or strings token by token.
+ * <p>
+ * Besides the singleton instance, independent instances with their own buffers, caches and limits can be created
+ * with {@link #builder()}.
  *
  * @see DslJsReader
  * @see JsSpec#parse(String)
@@ -36,42 +44,157 @@ public final class JsIO {
     valueSerializer.setObjectSerializer(objSerializer);
   }
 
-  final StringCache keyCache;
-  final StringCache valuesCache;
-  final ThreadLocal<JsWriter> localWriter;
-  final ThreadLocal<DslJsReader> localReader;
-  private final DslJsReader.DoublePrecision doublePrecision;
+  /**
+   * System property to choose the {@link PoolStrategy} of the {@link #INSTANCE singleton instance}, for example
+   * {@code -Djsonvalues.io.pool=BOUNDED}. Default value is {@code THREAD_LOCAL}.
+   */
+  public static final String POOL_STRATEGY_PROPERTY = "jsonvalues.io.pool";
+
+  /**
+   * System property to set the maximum number of readers and writers kept by the pool of the
+   * {@link #INSTANCE singleton instance}. Default value is twice the number of available processors.
+   */
+  public static final String POOL_CAPACITY_PROPERTY = "jsonvalues.io.pool.capacity";
+
+  /**
+   * System property to set the number of keys kept by the key cache of the {@link #INSTANCE singleton instance}, a
+   * power of two. Default value is 1024.
+   */
+  public static final String KEY_CACHE_CAPACITY_PROPERTY = "jsonvalues.io.keycache.capacity";
+
+  /**
+   * System property to set whether the key cache of the {@link #INSTANCE singleton instance} is 2-way associative
+   * ({@code true}) or direct-mapped ({@code false}). Default value is {@code true}.
+   */
+  public static final String KEY_CACHE_TWO_WAY_PROPERTY = "jsonvalues.io.keycache.twoway";
+
+  /**
+   * System property to set whether the key cache of the {@link #INSTANCE singleton instance} counts its hits, misses
+   * and evictions, returned by {@link #keyCacheStats()}. Counting costs a write per lookup, so default value is
+   * {@code false}.
+   */
+  public static final String KEY_CACHE_STATS_PROPERTY = "jsonvalues.io.keycache.stats";
+
+  final ConcurrentStringCache keyCache;
+  final ConcurrentStringCache valuesCache;
+  final BufferPool<JsWriter> writers;
+  final BufferPool<DslJsReader> readers;
+  private final JsIO.DoublePrecision doublePrecision;
   private final int maxNumberDigits;
   private final int maxStringSize;
+  private final int maxMarkedBytes;
+  final int maxRetainedBytes;
 
 
   JsIO(Settings settings) {
-    final JsIO self = this;
-    this.localWriter = ThreadLocal.withInitial(() -> newWriter(512));
-    this.localReader = new ThreadLocal<>() {
-      @Override
-      protected DslJsReader initialValue() {
-        return new DslJsReader(new byte[4096],
-                               4096,
-                               new char[64],
-                               self.keyCache,
-                               self.valuesCache,
-                               self.doublePrecision,
-                               self.maxNumberDigits,
-                               self.maxStringSize
-        );
-      }
-    };
     this.keyCache = settings.keyCache;
     this.valuesCache = settings.valuesCache;
     this.doublePrecision = settings.doublePrecision;
     this.maxNumberDigits = settings.maxNumberDigits;
     this.maxStringSize = settings.maxStringBuffer;
+    this.maxMarkedBytes = settings.maxMarkedBytes;
+    this.maxRetainedBytes = settings.maxRetainedBytes;
+    final int readBufferSize = settings.readBufferSize;
+    final int writeBufferSize = settings.writeBufferSize;
+    this.writers = BufferPool.of(settings.poolStrategy,
+                                 settings.poolCapacity,
+                                 () -> newWriter(writeBufferSize));
+    this.readers = BufferPool.of(settings.poolStrategy,
+                                 settings.poolCapacity,
+                                 () -> new DslJsReader(new byte[readBufferSize],
+                                                       readBufferSize,
+                                                       new char[64],
+                                                       keyCache,
+                                                       valuesCache,
+                                                       doublePrecision,
+                                                       maxNumberDigits,
+                                                       maxStringSize,
+                                                       maxMarkedBytes
+                                 ));
   }
 
   JsIO() {
-    this(new Settings()
-             .doublePrecision(DslJsReader.DoublePrecision.HIGH));
+    this(keyCacheSettingsFromSystemProperties(
+        poolSettingsFromSystemProperties(new Settings().doublePrecision(JsIO.DoublePrecision.HIGH))));
+  }
+
+  private static Settings keyCacheSettingsFromSystemProperties(final Settings settings) {
+    String capacity = System.getProperty(KEY_CACHE_CAPACITY_PROPERTY);
+    String twoWay = System.getProperty(KEY_CACHE_TWO_WAY_PROPERTY);
+    String stats = System.getProperty(KEY_CACHE_STATS_PROPERTY);
+    if (capacity == null && twoWay == null && stats == null) {
+      return settings;
+    }
+    return settings.keyCache(capacity != null ?
+                             Integer.parseInt(capacity.trim()) :
+                             settings.keyCache.capacity(),
+                             twoWay != null ?
+                             Boolean.parseBoolean(twoWay.trim()) :
+                             settings.keyCache.isTwoWay(),
+                             stats != null ?
+                             Boolean.parseBoolean(stats.trim()) :
+                             settings.keyCache.recordsStats());
+  }
+
+  /**
+   * Returns the hit, miss and eviction counters of the cache of object keys shared by all the readers of this
+   * instance, since it was created. Many evictions compared to the hits mean that the capacity is too small for the
+   * number of distinct keys, see {@link #KEY_CACHE_CAPACITY_PROPERTY}. The counters are zero unless the cache counts
+   * them, see {@link #KEY_CACHE_STATS_PROPERTY} and {@link Builder#keyCache(int, boolean, boolean)}.
+   *
+   * @return the statistics of the key cache
+   */
+  public CacheStats keyCacheStats() {
+    return keyCache.stats();
+  }
+
+  /**
+   * Returns the hit, miss and eviction counters of the cache of string values shared by all the readers of this
+   * instance, since it was created. The values cache is disabled by default (see {@link Builder#valuesCache}), in which
+   * case all the counters and the capacity are zero. The counters are also zero unless the cache counts them.
+   *
+   * @return the statistics of the values cache
+   */
+  public CacheStats valuesCacheStats() {
+    return valuesCache != null ? valuesCache.stats() : new CacheStats(0,
+                                                                      0,
+                                                                      0,
+                                                                      0);
+  }
+
+  /**
+   * Returns a builder to create a {@code JsIO} instance with its own readers, writers and caches, tuned for the size of
+   * the inputs and the number of distinct keys and values of a service, instead of using the
+   * {@link #INSTANCE singleton instance}. The parsers of specs use it with {@link JsObjSpecParser#of(JsSpec, JsIO)}
+   * and {@link JsArraySpecParser#of(JsSpec, JsIO)}.
+   * <pre>{@code
+   * JsIO io = JsIO.builder()
+   *               .bufferSizes(64 * 1024, 8 * 1024)
+   *               .keyCache(4096, true)
+   *               .doublePrecision(JsIO.DoublePrecision.EXACT)
+   *               .build();
+   * }</pre>
+   * The defaults are the ones of the singleton instance, without the system properties.
+   *
+   * @return a new builder
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  private static Settings poolSettingsFromSystemProperties(final Settings settings) {
+    String strategy = System.getProperty(POOL_STRATEGY_PROPERTY);
+    String capacity = System.getProperty(POOL_CAPACITY_PROPERTY);
+    if (strategy == null && capacity == null) {
+      return settings;
+    }
+    return settings.bufferPool(strategy != null ?
+                               PoolStrategy.valueOf(strategy.trim()
+                                                            .toUpperCase(Locale.ROOT)) :
+                               settings.poolStrategy,
+                               capacity != null ?
+                               Integer.parseInt(capacity.trim()) :
+                               settings.poolCapacity);
   }
 
   /**
@@ -82,12 +205,14 @@ public final class JsIO {
    * @throws JsParserException if the string doesn't represent a json object
    */
   public JsObj parseToJsObj(final byte[] bytes) {
-    DslJsReader reader = createReader(bytes);
+    DslJsReader reader = readers.acquire();
     try {
+      reader.process(Objects.requireNonNull(bytes),
+                     bytes.length);
       reader.readNextToken();
       return JsReaders.READERS.objReader.value(reader);
     } finally {
-      reader.reset();
+      release(reader);
     }
   }
 
@@ -99,20 +224,129 @@ public final class JsIO {
    * @throws JsParserException if the string doesn't represent a json object
    */
   public JsArray parseToJsArray(final byte[] bytes) {
-    DslJsReader reader = createReader(bytes);
+    DslJsReader reader = readers.acquire();
     try {
+      reader.process(Objects.requireNonNull(bytes),
+                     bytes.length);
       reader.readNextToken();
       return JsReaders.READERS.arrayOfValueReader.value(reader);
     } finally {
-      reader.reset();
+      release(reader);
+    }
+  }
+
+  /**
+   * Parses the remaining bytes of the given buffer into an immutable and persistent JSON object. Direct and mapped
+   * buffers are scanned in chunks, without copying the whole content onto the heap. The position of the buffer is not
+   * modified.
+   *
+   * @param buffer the buffer
+   * @return a JsObj object
+   * @throws JsParserException if the bytes don't represent a json object
+   */
+  public JsObj parseToJsObj(final ByteBuffer buffer) {
+    return parseToJsObj(buffer,
+                        JsReaders.READERS.objReader::value);
+  }
+
+  /**
+   * Parses the remaining bytes of the given buffer into an immutable and persistent JSON array. Direct and mapped
+   * buffers are scanned in chunks, without copying the whole content onto the heap. The position of the buffer is not
+   * modified.
+   *
+   * @param buffer the buffer
+   * @return a JsArray object
+   * @throws JsParserException if the bytes don't represent a json array
+   */
+  public JsArray parseToJsArray(final ByteBuffer buffer) {
+    return parseToJsArray(buffer,
+                          JsReaders.READERS.arrayOfValueReader::value);
+  }
+
+  /**
+   * Parses the content of the given file into an immutable and persistent JSON object. The file is mapped into memory
+   * instead of being read onto the heap.
+   *
+   * @param path the path of the file
+   * @return a JsObj object
+   * @throws JsParserException    if the content doesn't represent a json object
+   * @throws UncheckedIOException if the file can't be read
+   */
+  public JsObj parseToJsObj(final Path path) {
+    return parseToJsObj(path,
+                        JsReaders.READERS.objReader::value);
+  }
+
+  /**
+   * Parses the content of the given file into an immutable and persistent JSON array. The file is mapped into memory
+   * instead of being read onto the heap.
+   *
+   * @param path the path of the file
+   * @return a JsArray object
+   * @throws JsParserException    if the content doesn't represent a json array
+   * @throws UncheckedIOException if the file can't be read
+   */
+  public JsArray parseToJsArray(final Path path) {
+    return parseToJsArray(path,
+                          JsReaders.READERS.arrayOfValueReader::value);
+  }
+
+  JsObj parseToJsObj(final ByteBuffer buffer,
+                     final JsParser parser
+                    ) {
+    return buffer.hasArray() && isWholeArray(buffer) ?
+           parseToJsObj(buffer.array(),
+                        parser) :
+           parseToJsObj(new ByteBufferInputStream(buffer),
+                        parser);
+  }
+
+  JsArray parseToJsArray(final ByteBuffer buffer,
+                         final JsParser parser
+                        ) {
+    return buffer.hasArray() && isWholeArray(buffer) ?
+           parseToJsArray(buffer.array(),
+                          parser) :
+           parseToJsArray(new ByteBufferInputStream(buffer),
+                          parser);
+  }
+
+  /* the backing array can be parsed in place only if it holds exactly the remaining bytes */
+  private static boolean isWholeArray(final ByteBuffer buffer) {
+    return buffer.arrayOffset() + buffer.position() == 0 && buffer.limit() == buffer.array().length;
+  }
+
+  JsObj parseToJsObj(final Path path,
+                     final JsParser parser
+                    ) {
+    try (FileChannel channel = FileChannel.open(Objects.requireNonNull(path),
+                                                StandardOpenOption.READ)) {
+      return parseToJsObj(ByteBufferInputStream.ofFile(channel),
+                          parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  JsArray parseToJsArray(final Path path,
+                         final JsParser parser
+                        ) {
+    try (FileChannel channel = FileChannel.open(Objects.requireNonNull(path),
+                                                StandardOpenOption.READ)) {
+      return parseToJsArray(ByteBufferInputStream.ofFile(channel),
+                            parser);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
   }
 
   JsObj parseToJsObj(final byte[] bytes,
                      final JsParser parser
                     ) {
-    DslJsReader reader = createReader(bytes);
+    DslJsReader reader = readers.acquire();
     try {
+      reader.process(Objects.requireNonNull(bytes),
+                     bytes.length);
       reader.readNextToken();
       JsValue parsed = parser.parse(reader);
       if (parsed == JsNull.NULL) {
@@ -120,43 +354,82 @@ public final class JsIO {
       }
       return parsed.toJsObj();
     } finally {
-      reader.reset();
+      release(reader);
     }
   }
 
   /**
-   * Creates a JSON reader from an array of bytes.
+   * Parses the given array of bytes into a JSON value using the given parser.
    *
-   * @param bytes the array of bytes
-   * @return a JSON reader
+   * @param bytes  the array of bytes
+   * @param parser the parser
+   * @return a JsValue
    */
-  DslJsReader createReader(final byte[] bytes) {
-    return localReader.get()
-                      .process(Objects.requireNonNull(bytes),
-                               bytes.length
-                              );
-
-
+  JsValue parseToJsValue(final byte[] bytes,
+                         final JsParser parser
+                        ) {
+    DslJsReader reader = readers.acquire();
+    try {
+      reader.process(Objects.requireNonNull(bytes),
+                     bytes.length);
+      reader.readNextToken();
+      return parser.parse(reader);
+    } finally {
+      release(reader);
+    }
   }
 
   /**
-   * Creates a JSON reader from an input stream.
-   *
-   * @param is the input stream
-   * @return a JSON reader
+   * Parses the bytes between the given indexes, which must hold a JSON object and nothing else but whitespace.
    */
-  DslJsReader createReader(final InputStream is) throws JsParserException {
-
-    return localReader.get()
-                      .process(Objects.requireNonNull(is));
+  JsObj parseLineToJsObj(final byte[] bytes,
+                         final int from,
+                         final int to,
+                         final JsParser parser
+                        ) {
+    DslJsReader reader = readers.acquire();
+    try {
+      reader.process(bytes,
+                     from,
+                     to);
+      reader.readNextToken();
+      JsValue parsed = parser.parse(reader);
+      if (parsed == JsNull.NULL) {
+        throw reader.newParseError(ParserErrors.EXPECTING_FOR_OBJ_START);
+      }
+      reader.checkEndOfInput();
+      return parsed.toJsObj();
+    } finally {
+      release(reader);
+    }
+  }
 
+  /**
+   * Parses the value that starts at the given index, ignoring the bytes after it. Positions in errors are indexes of
+   * the array.
+   */
+  JsValue parseValueAt(final byte[] bytes,
+                       final int from,
+                       final JsParser parser
+                      ) {
+    DslJsReader reader = readers.acquire();
+    try {
+      reader.processFrom(bytes,
+                         from);
+      reader.readNextToken();
+      return parser.parse(reader);
+    } finally {
+      release(reader);
+    }
   }
 
   JsArray parseToJsArray(final byte[] bytes,
                          final JsParser parser
                         ) {
-    DslJsReader reader = createReader(bytes);
+    DslJsReader reader = readers.acquire();
     try {
+      reader.process(Objects.requireNonNull(bytes),
+                     bytes.length);
       reader.readNextToken();
       JsValue parsed = parser.parse(reader);
       if (parsed == JsNull.NULL) {
@@ -164,16 +437,16 @@ public final class JsIO {
       }
       return parsed.toJsArray();
     } finally {
-      reader.reset();
+      release(reader);
     }
   }
 
   JsObj parseToJsObj(final InputStream is,
                      final JsParser parser
                     ) {
-    DslJsReader reader = null;
+    DslJsReader reader = readers.acquire();
     try {
-      reader = createReader(is);
+      reader.process(Objects.requireNonNull(is));
       reader.readNextToken();
       JsValue parsed = parser.parse(reader);
       if (parsed == JsNull.NULL) {
@@ -181,9 +454,7 @@ public final class JsIO {
       }
       return parsed.toJsObj();
     } finally {
-      if (reader != null) {
-        reader.reset();
-      }
+      release(reader);
     }
   }
 
@@ -191,9 +462,9 @@ public final class JsIO {
   JsArray parseToJsArray(final InputStream is,
                          final JsParser parser
                         ) {
-    DslJsReader reader = null;
+    DslJsReader reader = readers.acquire();
     try {
-      reader = createReader(is);
+      reader.process(Objects.requireNonNull(is));
       reader.readNextToken();
       JsValue parsed = parser.parse(reader);
       if (parsed == JsNull.NULL) {
@@ -202,9 +473,7 @@ public final class JsIO {
       return parsed
           .toJsArray();
     } finally {
-      if (reader != null) {
-        reader.reset();
-      }
+      release(reader);
     }
   }
 
@@ -217,9 +486,9 @@ public final class JsIO {
   public byte[] serialize(final Json<?> json) throws JsSerializerException {
     ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
     try {
-      INSTANCE.serialize(json,
-                         outputStream
-                        );
+      serialize(json,
+                outputStream
+               );
       outputStream.flush();
       return outputStream.toByteArray();
     } catch (IOException e) {
@@ -236,7 +505,7 @@ public final class JsIO {
   public void serialize(final Json<?> json,
                         final OutputStream stream
                        ) throws JsSerializerException {
-    final JsWriter jw = localWriter.get();
+    final JsWriter jw = writers.acquire();
     try {
       jw.reset(stream);
       if (Objects.requireNonNull(json) instanceof JsObj obj) {
@@ -247,8 +516,12 @@ public final class JsIO {
                               arr);
       }
     } finally {
-      jw.flush();
-      jw.reset();
+      try {
+        jw.flush();
+      } finally {
+        jw.reset();
+        writers.release(jw);
+      }
     }
 
   }
@@ -267,15 +540,20 @@ public final class JsIO {
 
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
-    INSTANCE.serialize(json,
-                       new MyPrettifyOutputStream(baos,
-                                                  MyPrettifyOutputStream.IndentType.SPACES,
-                                                  indentLength
-                       )
-                      );
+    serialize(json,
+              new MyPrettifyOutputStream(baos,
+                                         MyPrettifyOutputStream.IndentType.SPACES,
+                                         indentLength
+              )
+             );
     return baos.toString(StandardCharsets.UTF_8);
   }
 
+  private void release(final DslJsReader reader) {
+    reader.reset();
+    readers.release(reader);
+  }
+
   /**
    * Creates a writer. Ideally it should be reused. Bound writer can use lookups to find custom writers. This can be
    * used to serialize unknown types such as Object class
@@ -302,7 +580,8 @@ public final class JsIO {
                            valuesCache,
                            doublePrecision,
                            maxNumberDigits,
-                           maxStringSize
+                           maxStringSize,
+                           maxMarkedBytes
     );
   }
 
@@ -324,4 +603,277 @@ public final class JsIO {
   }
 
 
+  /**
+   * Builder of {@link JsIO} instances. It's not thread-safe, but the instances it builds are.
+   *
+   * @see JsIO#builder()
+   */
+  public static final class Builder {
+
+    private final Settings settings = new Settings().doublePrecision(DoublePrecision.HIGH);
+
+    private Builder() {
+    }
+
+    /**
+     * Sets the initial size of the buffers of the readers and writers. Readers of input streams, buffers and files read
+     * the input in chunks of the size of their buffer, and writers flush their buffer into the output stream when it's
+     * full. Default sizes are 4096 bytes for readers and 512 bytes for writers.
+     *
+     * @param readSize  size of the buffer of the readers in bytes, at least 256
+     * @param writeSize size of the buffer of the writers in bytes, at least 64
+     * @return this builder
+     * @throws IllegalArgumentException if a size is smaller than its minimum
+     */
+    public Builder bufferSizes(final int readSize,
+                               final int writeSize) {
+      settings.bufferSizes(readSize,
+                           writeSize);
+      return this;
+    }
+
+    /**
+     * Sets the size of the cache of object keys shared by the readers. By default, it keeps 1024 keys and is 2-way
+     * associative. The cache doesn't count its hits, misses and evictions.
+     *
+     * @param capacity number of keys, a power of two greater than one
+     * @param twoWay   whether every hash has two slots, so that two keys with the same hash don't evict each other
+     * @return this builder
+     * @throws IllegalArgumentException if the capacity is not a power of two greater than one
+     */
+    public Builder keyCache(final int capacity,
+                            final boolean twoWay) {
+      return keyCache(capacity,
+                      twoWay,
+                      false);
+    }
+
+    /**
+     * Sets the size of the cache of object keys shared by the readers, and whether it counts its hits, misses and
+     * evictions. Counting is meant to size the cache: it writes a striped counter per lookup, which costs a little in
+     * the hottest path of the parser.
+     *
+     * @param capacity    number of keys, a power of two greater than one
+     * @param twoWay      whether every hash has two slots, so that two keys with the same hash don't evict each other
+     * @param recordStats whether the hits, misses and evictions are counted
+     * @return this builder
+     * @throws IllegalArgumentException if the capacity is not a power of two greater than one
+     * @see JsIO#keyCacheStats()
+     */
+    public Builder keyCache(final int capacity,
+                            final boolean twoWay,
+                            final boolean recordStats) {
+      settings.keyCache(capacity,
+                        twoWay,
+                        recordStats);
+      return this;
+    }
+
+    /**
+     * Enables the cache of string values shared by the readers, disabled by default. It saves memory when the same
+     * values are parsed again and again, like the names of countries or statuses, at the cost of a lookup per string.
+     *
+     * @param capacity number of strings, a power of two greater than one
+     * @param twoWay   whether every hash has two slots, so that two values with the same hash don't evict each other
+     * @return this builder
+     * @throws IllegalArgumentException if the capacity is not a power of two greater than one
+     */
+    public Builder valuesCache(final int capacity,
+                               final boolean twoWay) {
+      return valuesCache(capacity,
+                         twoWay,
+                         false);
+    }
+
+    /**
+     * Enables the cache of string values shared by the readers, and sets whether it counts its hits, misses and
+     * evictions, which costs a write of a striped counter per lookup.
+     *
+     * @param capacity    number of strings, a power of two greater than one
+     * @param twoWay      whether every hash has two slots, so that two values with the same hash don't evict each other
+     * @param recordStats whether the hits, misses and evictions are counted
+     * @return this builder
+     * @throws IllegalArgumentException if the capacity is not a power of two greater than one
+     * @see JsIO#valuesCacheStats()
+     */
+    public Builder valuesCache(final int capacity,
+                               final boolean twoWay,
+                               final boolean recordStats) {
+      settings.valuesCache(capacity,
+                           twoWay,
+                           recordStats);
+      return this;
+    }
+
+    /**
+     * Sets the precision of the parsed doubles. Default is {@link DoublePrecision#HIGH}.
+     *
+     * @param precision the precision
+     * @return this builder
+     */
+    public Builder doublePrecision(final DoublePrecision precision) {
+      settings.doublePrecision(precision);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of digits of a parsed number. Default is 512.
+     *
+     * @param size maximum number of digits
+     * @return this builder
+     * @throws IllegalArgumentException if the size is smaller than one
+     */
+    public Builder maxNumberDigits(final int size) {
+      settings.limitDigitsBuffer(size);
+      return this;
+    }
+
+    /**
+     * Sets the maximum size of the buffer where the parsed strings are decoded, which protects against malicious inputs
+     * with huge strings. Default is 128M characters.
+     *
+     * @param size maximum size of the buffer in characters
+     * @return this builder
+     * @throws IllegalArgumentException if the size is smaller than one
+     */
+    public Builder maxStringSize(final int size) {
+      settings.limitStringBuffer(size);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of an input stream that a reader keeps to go back to the start of a value that
+     * is parsed with the alternatives of a {@link JsSpecs#oneSpecOf(JsSpec, JsSpec...) oneSpecOf}. The buffer of the
+     * reader grows to keep them while it reads the next blocks of the stream. Default is 16MB.
+     *
+     * @param size maximum number of bytes
+     * @return this builder
+     * @throws IllegalArgumentException if the size is smaller than one
+     */
+    public Builder maxMarkedBytes(final int size) {
+      settings.limitMarkedBytes(size);
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of bytes of a value that a {@link JsPushParser} created with a spec keeps until the value
+     * is complete, since the parser of the spec reads from a contiguous buffer. It protects against huge or endless
+     * inputs fed to the parser. Default is 128MB.
+     *
+     * @param size maximum number of bytes
+     * @return this builder
+     * @throws IllegalArgumentException if the size is smaller than one
+     */
+    public Builder maxRetainedBytes(final int size) {
+      settings.limitRetainedBytes(size);
+      return this;
+    }
+
+    /**
+     * Sets the strategy to reuse the readers and writers. Default is {@link PoolStrategy#THREAD_LOCAL}.
+     *
+     * @param strategy the pool strategy
+     * @param capacity maximum number of readers and writers kept by the pool (ignored by the ThreadLocal strategy)
+     * @return this builder
+     * @throws IllegalArgumentException if the capacity is smaller than one
+     */
+    public Builder bufferPool(final PoolStrategy strategy,
+                              final int capacity) {
+      settings.bufferPool(strategy,
+                          capacity);
+      return this;
+    }
+
+    /**
+     * Creates a new {@code JsIO} instance with the settings of this builder. Every instance has its own caches, and
+     * changing the builder afterward doesn't change the instances already built.
+     *
+     * @return a new instance
+     */
+    public JsIO build() {
+      return new JsIO(settings.copy());
+    }
+  }
+
+  /**
+   * Precision of the parsed doubles. The more precise, the slower are some rare inputs parsed.
+   */
+  public enum DoublePrecision {
+    /**
+     * Doubles are always the closest ones to the parsed numbers, as the ones returned by
+     * {@link Double#parseDouble(String)}.
+     */
+    EXACT(0),
+    /**
+     * Doubles are the closest ones to the parsed numbers but in some very rare edge cases. It's the precision of the
+     * {@link #INSTANCE singleton instance}.
+     */
+    HIGH(1),
+    /**
+     * Faster than {@link #HIGH}, but doubles with many digits or big exponents might differ from the closest ones in
+     * the last bits.
+     */
+    DEFAULT(3),
+    /**
+     * The fastest and least precise.
+     */
+    LOW(4);
+
+    final int level;
+
+    DoublePrecision(int level) {
+      this.level = level;
+    }
+  }
+
+  /**
+   * Statistics of a cache of strings.
+   *
+   * @param capacity  number of strings the cache can keep
+   * @param hits      number of lookups that found the string in the cache
+   * @param misses    number of lookups that didn't find the string, which was created and put in the cache
+   * @param evictions number of strings removed from the cache to make room for a new one
+   */
+  public record CacheStats(int capacity,
+                           long hits,
+                           long misses,
+                           long evictions) {
+
+    /**
+     * Returns the ratio of lookups that found the string in the cache, or zero if there were no lookups.
+     *
+     * @return a number between zero and one
+     */
+    public double hitRatio() {
+      long lookups = hits + misses;
+      return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+  }
+
+  /**
+   * Strategies to reuse the readers and writers (and their internal buffers) across parsing and serialization calls.
+   * The strategy of the {@link #INSTANCE singleton instance} can be set with the system property
+   * {@value #POOL_STRATEGY_PROPERTY}.
+   */
+  public enum PoolStrategy {
+    /**
+     * Every thread keeps its own reader and writer. It's the best choice when parsing is done by a small and stable
+     * set of platform threads, but short-lived threads, like virtual threads, allocate and throw away a reader and a
+     * writer each.
+     */
+    THREAD_LOCAL,
+    /**
+     * Bounded lock-free pool shared by all the threads. Readers and writers are reused regardless of the thread that
+     * released them, which makes it the recommended choice for virtual threads.
+     */
+    BOUNDED,
+    /**
+     * Bounded lock-free pool split into stripes that are assigned to threads by hashing the thread id. It reduces
+     * contention compared to {@link #BOUNDED} when many threads parse at the same time, at the cost of a slightly lower
+     * reuse rate.
+     */
+    STRIPED
+  }
+
+
 }
@@ -10,8 +10,16 @@ final class JsInstantReader extends AbstractReader {
 
   @Override
   JsInstant value(final DslJsReader reader) throws JsParserException {
+    int len = reader.parseString();
+    Instant instant = Iso8601.parse(reader.chars,
+                                    len);
+    if (instant != null) {
+      return JsInstant.of(instant);
+    }
     try {
-      return JsInstant.of(Instant.from(ISO_INSTANT.parse(reader.readString())));
+      return JsInstant.of(Instant.from(ISO_INSTANT.parse(new String(reader.chars,
+                                                                    0,
+                                                                    len))));
     } catch (DateTimeParseException e) {
       throw JsParserException.reasonAt(e.getMessage(),
                                        reader.getPositionInStream()
@@ -13,14 +13,21 @@ final class JsIntReader extends AbstractReader {
   JsInt valueSuchThat(final DslJsReader reader,
                       final IntFunction<JsError> fn
                      ) throws JsParserException {
+    return JsInt.of(intSuchThat(reader,
+                                fn));
+  }
+
+  int intSuchThat(final DslJsReader reader,
+                  final IntFunction<JsError> fn
+                 ) throws JsParserException {
     int value = NumberConverter.deserializeInt(reader);
     JsError result = fn.apply(value);
     if (result == null) {
-      return JsInt.of(value);
+      return value;
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
 
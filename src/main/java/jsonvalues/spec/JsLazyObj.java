@@ -0,0 +1,555 @@
+package jsonvalues.spec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import jsonvalues.JsNothing;
+import jsonvalues.JsObj;
+import jsonvalues.JsPath;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import jsonvalues.Position;
+
+/**
+ * Read-only view of a JSON object that decodes its values only when they are accessed. Creating the view takes a
+ * single pass over the bytes that records where every key and value starts and ends (a structural index, or tape),
+ * without decoding strings, converting numbers or creating any object but the index. Then:
+ * <ul>
+ *   <li>{@link #get(String)} and {@link #get(JsPath)} walk the index and decode only the requested value, which is
+ *   remembered for later calls.</li>
+ *   <li>{@link #serialize()}, {@link #serialize(OutputStream)} and {@link #toString()} copy the original bytes as
+ *   they are, formatting included.</li>
+ *   <li>{@link #toJsObj()} parses the whole object into a {@link JsObj}, and the methods that modify the object
+ *   ({@link #set(JsPath, JsValue)}, {@link #delete(JsPath)}...) return a modified copy of it.</li>
+ * </ul>
+ * It's the way to go for read-mostly workloads that access a few values of every document, or pass documents through
+ * untouched.
+ * <p>
+ * The structure of the object is checked when the view is created, but strings and numbers are checked when they are
+ * decoded, so malformed ones make the methods that access them throw a {@link JsParserException}. When a key is
+ * repeated, the last value wins, as in the object returned by {@link #toJsObj()}. The array of bytes is not copied and
+ * must not be modified. The values are decoded with the caches and limits of the {@link JsIO} singleton instance, or of
+ * the one passed to {@link #of(byte[], JsIO)}. Views are immutable and thread-safe.
+ */
+public final class JsLazyObj {
+
+  private static final byte OBJ = 0;
+  private static final byte ARR = 1;
+  private static final byte STR = 2;
+  private static final byte ESCAPED_STR = 3;
+  private static final byte NUMBER = 4;
+  private static final byte TRUE = 5;
+  private static final byte FALSE = 6;
+  private static final byte NULL = 7;
+
+  private final byte[] bytes;
+  private final JsIO io;
+  private final Tape tape;
+  private final JsValue[] decoded;
+  private volatile JsObj obj;
+  private volatile int size = -1;
+
+  private JsLazyObj(final byte[] bytes,
+                    final JsIO io,
+                    final Tape tape) {
+    this.bytes = bytes;
+    this.io = io;
+    this.tape = tape;
+    this.decoded = new JsValue[tape.size];
+  }
+
+  /**
+   * Creates a view of the JSON object in the given array of bytes.
+   *
+   * @param bytes the JSON object
+   * @return a lazy object
+   * @throws JsParserException if the bytes are not a well-formed JSON object
+   */
+  public static JsLazyObj of(final byte[] bytes) {
+    return of(bytes,
+              JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a view of the JSON object in the given array of bytes, whose values are decoded with the caches and limits
+   * of the given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param bytes the JSON object
+   * @param io    the instance created with {@link JsIO#builder()}
+   * @return a lazy object
+   * @throws JsParserException if the bytes are not a well-formed JSON object
+   */
+  public static JsLazyObj of(final byte[] bytes,
+                             final JsIO io) {
+    Tape tape = new Tape(requireNonNull(bytes),
+                         requireNonNull(io));
+    if (tape.kinds[0] != OBJ) {
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_OBJ_START,
+                                       (char) bytes[tape.starts[0]],
+                                       tape.starts[0]);
+    }
+    return new JsLazyObj(bytes,
+                         io,
+                         tape);
+  }
+
+  /**
+   * Creates a view of the JSON object in the given string.
+   *
+   * @param str the JSON object
+   * @return a lazy object
+   * @throws JsParserException if the string is not a well-formed JSON object
+   */
+  public static JsLazyObj of(final String str) {
+    return of(requireNonNull(str).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Returns the value at the given key, or {@link JsNothing#NOTHING} if the key doesn't exist.
+   *
+   * @param key the key
+   * @return the value at the key
+   */
+  public JsValue get(final String key) {
+    int node = tape.find(0,
+                         requireNonNull(key));
+    return node < 0 ? JsNothing.NOTHING : decode(node);
+  }
+
+  /**
+   * Returns the value at the given path, or {@link JsNothing#NOTHING} if the path doesn't exist. Only the objects and
+   * arrays in the path are walked, and only the value at the end of it is decoded.
+   *
+   * @param path the path
+   * @return the value at the path
+   */
+  public JsValue get(final JsPath path) {
+    int node = 0;
+    for (JsPath tail = requireNonNull(path); !tail.isEmpty() && node >= 0; tail = tail.tail()) {
+      Position head = tail.head();
+      node = head.isKey() ?
+             tape.find(node,
+                       head.asKey().name) :
+             tape.find(node,
+                       head.asIndex().n);
+    }
+    return node < 0 ? JsNothing.NOTHING : node == 0 ? toJsObj() : decode(node);
+  }
+
+  /**
+   * Returns true if the object has the given key. No value is decoded.
+   *
+   * @param key the key
+   * @return true if the key exists
+   */
+  public boolean containsKey(final String key) {
+    return tape.find(0,
+                     requireNonNull(key)) >= 0;
+  }
+
+  /**
+   * Returns the number of different keys of the object.
+   *
+   * @return the number of keys
+   */
+  public int size() {
+    int result = size;
+    if (result < 0) {
+      size = result = tape.keys(0);
+    }
+    return result;
+  }
+
+  /**
+   * Parses the whole object. The result is remembered, so the bytes are parsed at most once.
+   *
+   * @return the parsed object
+   */
+  public JsObj toJsObj() {
+    JsObj result = obj;
+    if (result == null) {
+      obj = result = io.parseToJsObj(bytes);
+    }
+    return result;
+  }
+
+  /**
+   * Parses the whole object and sets the given value at the given path.
+   *
+   * @param path  the path
+   * @param value the value
+   * @return a new object
+   * @see JsObj#set(JsPath, JsValue)
+   */
+  public JsObj set(final JsPath path,
+                   final JsValue value) {
+    return toJsObj().set(path,
+                         value);
+  }
+
+  /**
+   * Parses the whole object and sets the given value at the given key.
+   *
+   * @param key   the key
+   * @param value the value
+   * @return a new object
+   * @see JsObj#set(String, JsValue)
+   */
+  public JsObj set(final String key,
+                   final JsValue value) {
+    return toJsObj().set(key,
+                         value);
+  }
+
+  /**
+   * Parses the whole object and removes the value at the given path.
+   *
+   * @param path the path
+   * @return a new object
+   * @see JsObj#delete(JsPath)
+   */
+  public JsObj delete(final JsPath path) {
+    return toJsObj().delete(path);
+  }
+
+  /**
+   * Parses the whole object and removes the given key.
+   *
+   * @param key the key
+   * @return a new object
+   * @see JsObj#delete(String)
+   */
+  public JsObj delete(final String key) {
+    return toJsObj().delete(key);
+  }
+
+  /**
+   * Returns a copy of the original bytes of the object.
+   *
+   * @return the JSON object as bytes
+   */
+  public byte[] serialize() {
+    return Arrays.copyOfRange(bytes,
+                              tape.starts[0],
+                              tape.ends[0]);
+  }
+
+  /**
+   * Writes the original bytes of the object into the given output stream, which is not closed.
+   *
+   * @param output the output stream
+   * @throws UncheckedIOException if the output stream can't be written
+   */
+  public void serialize(final OutputStream output) {
+    try {
+      requireNonNull(output).write(bytes,
+                                   tape.starts[0],
+                                   tape.ends[0] - tape.starts[0]);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the original JSON object as a string.
+   *
+   * @return the JSON object
+   */
+  @Override
+  public String toString() {
+    return new String(bytes,
+                      tape.starts[0],
+                      tape.ends[0] - tape.starts[0],
+                      StandardCharsets.UTF_8);
+  }
+
+  private JsValue decode(final int node) {
+    JsValue value = decoded[node];
+    if (value == null) {
+      value = io.parseValueAt(bytes,
+                              tape.starts[node],
+                              JsReaders.READERS.valueReader::value);
+      decoded[node] = value;
+    }
+    return value;
+  }
+
+  /**
+   * Structural index of a JSON document. Every value is a node, numbered in document order, with its kind, the
+   * indexes of its first and after its last byte, and the number of the node after it and its descendants, which
+   * allows jumping over objects and arrays. The children of an object are the key and the value of every entry, one
+   * after the other.
+   */
+  private static final class Tape {
+
+    final byte[] bytes;
+    final JsIO io;
+    byte[] kinds = new byte[64];
+    int[] starts = new int[64];
+    int[] ends = new int[64];
+    int[] nexts = new int[64];
+    int size;
+
+    Tape(final byte[] bytes,
+         final JsIO io) {
+      this.bytes = bytes;
+      this.io = io;
+      int end = ByteScanner.INSTANCE.skipWhitespace(bytes,
+                                                    value(whitespace(0)),
+                                                    bytes.length);
+      if (end < bytes.length) {
+        throw JsParserException.reasonAt(ParserErrors.EXPECTING_END_OF_INPUT,
+                                         end);
+      }
+    }
+
+    /**
+     * Returns the number of different keys of the given object node
+     */
+    int keys(final int node) {
+      Set<String> keys = new HashSet<>();
+      for (int child = node + 1; child < nexts[node]; child = nexts[child + 1]) {
+        keys.add(kinds[child] == ESCAPED_STR ?
+                 unescape(child) :
+                 new String(bytes,
+                            starts[child] + 1,
+                            ends[child] - starts[child] - 2,
+                            StandardCharsets.UTF_8));
+      }
+      return keys.size();
+    }
+
+    /**
+     * Returns the value node of the last entry with the given key of the given object node, or -1
+     */
+    int find(final int node,
+             final String key) {
+      if (kinds[node] != OBJ) {
+        return -1;
+      }
+      int found = -1;
+      byte[] keyBytes = null;
+      for (int child = node + 1; child < nexts[node]; child = nexts[child + 1]) {
+        if (kinds[child] == ESCAPED_STR) {
+          if (unescape(child).equals(key)) {
+            found = child + 1;
+          }
+        } else {
+          if (keyBytes == null) {
+            keyBytes = key.getBytes(StandardCharsets.UTF_8);
+          }
+          if (Arrays.equals(bytes,
+                            starts[child] + 1,
+                            ends[child] - 1,
+                            keyBytes,
+                            0,
+                            keyBytes.length)) {
+            found = child + 1;
+          }
+        }
+      }
+      return found;
+    }
+
+    private String unescape(final int node) {
+      return ((JsStr) io.parseValueAt(bytes,
+                                      starts[node],
+                                      JsReaders.READERS.strReader::value)).value;
+    }
+
+    /**
+     * Returns the node of the element at the given index of the given array node, or -1
+     */
+    int find(final int node,
+             final int index) {
+      if (kinds[node] != ARR) {
+        return -1;
+      }
+      int i = 0;
+      for (int child = node + 1; child < nexts[node]; child = nexts[child]) {
+        if (i++ == index) {
+          return child;
+        }
+      }
+      return -1;
+    }
+
+    private int add(final byte kind,
+                    final int start) {
+      if (size == kinds.length) {
+        int capacity = size * 2;
+        kinds = Arrays.copyOf(kinds,
+                              capacity);
+        starts = Arrays.copyOf(starts,
+                               capacity);
+        ends = Arrays.copyOf(ends,
+                             capacity);
+        nexts = Arrays.copyOf(nexts,
+                              capacity);
+      }
+      kinds[size] = kind;
+      starts[size] = start;
+      return size++;
+    }
+
+    private int whitespace(int from) {
+      int i = ByteScanner.INSTANCE.skipWhitespace(bytes,
+                                                  from,
+                                                  bytes.length);
+      if (i == bytes.length) {
+        throw JsParserException.reasonAt(ParserErrors.UNEXPECTED_END_OF_JSON,
+                                         i);
+      }
+      return i;
+    }
+
+    /**
+     * Indexes the value that starts at the given index and returns the index after it
+     */
+    private int value(final int start) {
+      return switch (bytes[start]) {
+        case '{' -> obj(start);
+        case '[' -> arr(start);
+        case '"' -> string(start);
+        case 't' -> literal(start,
+                            "true",
+                            TRUE);
+        case 'f' -> literal(start,
+                            "false",
+                            FALSE);
+        case 'n' -> literal(start,
+                            "null",
+                            NULL);
+        default -> number(start);
+      };
+    }
+
+    private int obj(final int start) {
+      int node = add(OBJ,
+                     start);
+      int i = whitespace(start + 1);
+      if (bytes[i] != '}') {
+        while (true) {
+          if (bytes[i] != '"') {
+            throw JsParserException.reasonAt(ParserErrors.EXPECTING_STRING_START,
+                                             i);
+          }
+          i = whitespace(string(i));
+          if (bytes[i] != ':') {
+            throw JsParserException.reasonAt(ParserErrors.EXPECTING_COLON,
+                                             i);
+          }
+          i = whitespace(value(whitespace(i + 1)));
+          if (bytes[i] == ',') {
+            i = whitespace(i + 1);
+          } else if (bytes[i] == '}') {
+            break;
+          } else {
+            throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END,
+                                             (char) bytes[i],
+                                             i);
+          }
+        }
+      }
+      return close(node,
+                   i + 1);
+    }
+
+    private int arr(final int start) {
+      int node = add(ARR,
+                     start);
+      int i = whitespace(start + 1);
+      if (bytes[i] != ']') {
+        while (true) {
+          i = whitespace(value(i));
+          if (bytes[i] == ',') {
+            i = whitespace(i + 1);
+          } else if (bytes[i] == ']') {
+            break;
+          } else {
+            throw JsParserException.reasonAt(ParserErrors.EXPECTING_END_OF_ARRAY,
+                                             i);
+          }
+        }
+      }
+      return close(node,
+                   i + 1);
+    }
+
+    private int string(final int start) {
+      byte kind = STR;
+      int i = ByteScanner.INSTANCE.findQuoteOrBackslash(bytes,
+                                                         start + 1,
+                                                         bytes.length);
+      while (i < bytes.length && bytes[i] != '"') {
+        kind = ESCAPED_STR;
+        i = ByteScanner.INSTANCE.findQuoteOrBackslash(bytes,
+                                                      Math.min(i + 2,
+                                                               bytes.length),
+                                                      bytes.length);
+      }
+      if (i >= bytes.length) {
+        throw JsParserException.reasonAt(ParserErrors.STRING_NOT_CLOSED,
+                                         start);
+      }
+      return close(add(kind,
+                       start),
+                   i + 1);
+    }
+
+    private int literal(final int start,
+                        final String literal,
+                        final byte kind) {
+      int end = start + literal.length();
+      if (end > bytes.length || !Arrays.equals(bytes,
+                                               start,
+                                               end,
+                                               literal.getBytes(StandardCharsets.US_ASCII),
+                                               0,
+                                               literal.length())) {
+        String error = switch (kind) {
+          case TRUE -> ParserErrors.INVALID_TRUE_CONSTANT;
+          case FALSE -> ParserErrors.INVALID_FALSE_CONSTANT;
+          default -> ParserErrors.INVALID_NULL;
+        };
+        throw JsParserException.reasonAt(error,
+                                         start);
+      }
+      return close(add(kind,
+                       start),
+                   end);
+    }
+
+    private int number(final int start) {
+      byte first = bytes[start];
+      if (first != '-' && (first < '0' || first > '9')) {
+        throw JsParserException.reasonAt(ParserErrors.EXPECTING_VALUE,
+                                         start);
+      }
+      int i = start + 1;
+      while (i < bytes.length && isNumberChar(bytes[i])) {
+        i++;
+      }
+      return close(add(NUMBER,
+                       start),
+                   i);
+    }
+
+    private static boolean isNumberChar(final byte b) {
+      return (b >= '0' && b <= '9') || b == '.' || b == 'e' || b == 'E' || b == '-' || b == '+';
+    }
+
+    private int close(final int node,
+                      final int end) {
+      ends[node] = end;
+      nexts[node] = size;
+      return end;
+    }
+  }
+}
@@ -13,14 +13,21 @@ final class JsLongReader extends AbstractReader {
   JsLong valueSuchThat(final DslJsReader reader,
                        final LongFunction<JsError> fn
                       ) throws JsParserException {
+    return JsLong.of(longSuchThat(reader,
+                                  fn));
+  }
+
+  long longSuchThat(final DslJsReader reader,
+                    final LongFunction<JsError> fn
+                   ) throws JsParserException {
     long value = NumberConverter.deserializeLong(reader);
     JsError result = fn.apply(value);
     if (result == null) {
-      return JsLong.of(value);
+      return value;
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
 }
@@ -19,26 +19,28 @@ class JsMapOfSpecReader extends AbstractJsObjReader {
     }
     String key = reader.readKey();
 
-    JsObj obj = EMPTY_OBJ.set(key,
-                              parser.parse(reader)
-                             );
+    JsObj.Builder obj = JsObj.builder()
+                             .set(key,
+                                  parser.parse(reader)
+                                 );
     byte nextToken;
     while ((nextToken = reader.readNextToken()) == ',') {
       reader.readNextToken();
       key = reader.readKey();
 
-      obj = obj.set(key,
-                    parser.parse(reader)
-                   );
+      obj.set(key,
+              parser.parse(reader)
+             );
 
     }
     if (nextToken != '}') {
-      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END.formatted(((char) reader.last())),
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END,
+                                       (char) reader.last(),
                                        reader.getPositionInStream()
                                       );
     }
 
-    return obj;
+    return obj.build();
 
   }
 
@@ -20,9 +20,9 @@ final class JsNumberReader extends AbstractReader {
     if (result == null) {
       return value;
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
   @Override
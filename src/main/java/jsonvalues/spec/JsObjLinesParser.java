@@ -0,0 +1,531 @@
+package jsonvalues.spec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import jsonvalues.JsObj;
+
+/**
+ * Parser of newline-delimited JSON (also known as NDJSON or JSON Lines): one JSON object per line. The input is read
+ * lazily in chunks into a single buffer that is reused for all the lines, and every line is parsed straight from that
+ * buffer, without creating a string per line. Blank lines are ignored.
+ * <p>
+ * The objects can be validated against a spec creating the parser with {@link #of(JsObjSpecParser)}. By default, the
+ * first line that is not a valid JSON object, or that doesn't conform to the spec, stops the iteration with a
+ * {@link JsParserException} that carries the number of the line (see {@link JsParserException#line()}). Call
+ * {@link #skipErrors(Consumer)} to skip those lines instead. The lines are parsed with the readers, caches and limits of
+ * the {@link JsIO} instance of the spec parser, or of the one passed to {@link #of(JsIO)}.
+ *
+ * <pre>{@code
+ * JsObjLinesParser parser = JsObjLinesParser.of(JsObjSpecParser.of(spec))
+ *                                           .skipErrors(e -> logger.warn(e.getMessage()));
+ * try (Stream<JsObj> objs = parser.stream(Path.of("events.ndjson"))) {
+ *   objs.forEach(process);
+ * }
+ * }</pre>
+ * <p>
+ * Big files can be parsed by several threads with {@link #parallelStream(Path, boolean)}.
+ * <p>
+ * Instances are immutable and thread-safe, but the iterators they return are not.
+ */
+public final class JsObjLinesParser {
+
+  static final int BUFFER_SIZE = 1 << 16;
+
+  private final JsParser parser;
+  private final JsIO io;
+  private final Consumer<JsParserException> onError;
+
+  private JsObjLinesParser(final JsParser parser,
+                           final JsIO io,
+                           final Consumer<JsParserException> onError
+                          ) {
+    this.parser = parser;
+    this.io = io;
+    this.onError = onError;
+  }
+
+  /**
+   * Creates a parser of lines that hold any JSON object.
+   *
+   * @return a lines parser
+   */
+  public static JsObjLinesParser of() {
+    return of(JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a parser of lines that hold any JSON object, that parses with the readers, caches and limits of the given
+   * {@link JsIO} instance instead of the singleton one.
+   *
+   * @param io the instance created with {@link JsIO#builder()}
+   * @return a lines parser
+   */
+  public static JsObjLinesParser of(final JsIO io) {
+    return new JsObjLinesParser(JsReaders.READERS.objReader::value,
+                                requireNonNull(io),
+                                null);
+  }
+
+  /**
+   * Creates a parser of lines that hold a JSON object that conforms to the spec of the given parser. The lines are
+   * parsed with the {@link JsIO} instance of the given parser.
+   *
+   * @param parser the parser every line is parsed with
+   * @return a lines parser
+   * @see JsObjSpecParser#of(JsSpec, JsIO)
+   */
+  public static JsObjLinesParser of(final JsObjSpecParser parser) {
+    return new JsObjLinesParser(requireNonNull(parser).parser,
+                                parser.io,
+                                null);
+  }
+
+  /**
+   * Returns a parser that skips the lines that can't be parsed, passing the error to the given consumer, instead of
+   * throwing it.
+   *
+   * @param onError consumer of the errors, with the number of the line
+   * @return a new lines parser
+   */
+  public JsObjLinesParser skipErrors(final Consumer<JsParserException> onError) {
+    return new JsObjLinesParser(parser,
+                                io,
+                                requireNonNull(onError));
+  }
+
+  /**
+   * Returns an iterator that parses the lines of the given input stream as they are requested. The input stream is not
+   * closed.
+   *
+   * @param input the input stream
+   * @return an iterator of JSON objects
+   * @throws UncheckedIOException if the input stream can't be read (thrown by the methods of the iterator)
+   */
+  public Iterator<JsObj> iterator(final InputStream input) {
+    return new LinesIterator(requireNonNull(input),
+                             () -> 0);
+  }
+
+  /**
+   * Returns a sequential stream that parses the lines of the given input stream as they are consumed. The input stream
+   * is not closed.
+   *
+   * @param input the input stream
+   * @return a stream of JSON objects
+   */
+  public Stream<JsObj> stream(final InputStream input) {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(input),
+                                                                    Spliterator.ORDERED | Spliterator.NONNULL),
+                                false);
+  }
+
+  /**
+   * Returns a sequential stream that parses the lines of the given file as they are consumed. The file is mapped into
+   * memory and remains open until the stream is closed.
+   *
+   * @param path the path of the file
+   * @return a stream of JSON objects
+   * @throws UncheckedIOException if the file can't be opened
+   */
+  public Stream<JsObj> stream(final Path path) {
+    try {
+      FileChannel channel = FileChannel.open(requireNonNull(path),
+                                             StandardOpenOption.READ);
+      try {
+        return stream(ByteBufferInputStream.ofFile(channel)).onClose(() -> {
+          try {
+            channel.close();
+          } catch (IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        });
+      } catch (IOException | RuntimeException e) {
+        channel.close();
+        throw e;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns a parallel stream that parses the lines of the given file. The file is mapped into memory and split into
+   * chunks that end at a line break, which are parsed by the threads of the fork-join pool the stream is run in
+   * (the common pool unless the terminal operation is called from another pool). Unordered streams are faster when the
+   * order of the objects doesn't matter, since the chunks don't have to wait for the previous ones. If errors are
+   * skipped, the consumer passed to {@link #skipErrors(Consumer)} is called concurrently and must be thread-safe.
+   *
+   * @param path    the path of the file
+   * @param ordered whether the stream keeps the order of the lines
+   * @return a parallel stream of JSON objects
+   * @throws UncheckedIOException if the file can't be mapped
+   */
+  public Stream<JsObj> parallelStream(final Path path,
+                                      final boolean ordered) {
+    try (FileChannel channel = FileChannel.open(requireNonNull(path),
+                                                StandardOpenOption.READ)) {
+      return parallelStream(mapRegions(channel),
+                            ordered);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns a parallel stream that parses the lines between the position and the limit of the given buffer, which is
+   * split into chunks that end at a line break. The position of the buffer is not modified.
+   *
+   * @param buffer  the buffer, usually a direct or mapped one
+   * @param ordered whether the stream keeps the order of the lines
+   * @return a parallel stream of JSON objects
+   * @see #parallelStream(Path, boolean)
+   */
+  public Stream<JsObj> parallelStream(final ByteBuffer buffer,
+                                      final boolean ordered) {
+    return parallelStream(new ByteBuffer[]{requireNonNull(buffer).slice()},
+                          ordered);
+  }
+
+  private Stream<JsObj> parallelStream(final ByteBuffer[] regions,
+                                       final boolean ordered) {
+    return StreamSupport.stream(new ChunkSpliterator(regions,
+                                                     0,
+                                                     regions.length,
+                                                     0,
+                                                     regions[regions.length - 1].limit(),
+                                                     ordered),
+                                true);
+  }
+
+  /* a single mapping can't be bigger than 2GB, so big files are mapped in regions that end at a line break */
+  private static ByteBuffer[] mapRegions(final FileChannel channel) throws IOException {
+    long size = channel.size();
+    List<ByteBuffer> regions = new ArrayList<>();
+    long start = 0;
+    do {
+      long regionSize = Math.min(size - start,
+                                 ByteBufferInputStream.REGION_SIZE);
+      ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY,
+                                      start,
+                                      regionSize);
+      if (start + regionSize < size) {
+        int lineEnd = lastNewLine(region);
+        if (lineEnd < 0) {
+          String message = "Line longer than %d bytes found at position %d";
+          throw new IllegalArgumentException(message.formatted(ByteBufferInputStream.REGION_SIZE,
+                                                               start));
+        }
+        region = region.slice(0,
+                              lineEnd + 1);
+      }
+      regions.add(region);
+      start += region.limit();
+    } while (start < size);
+    return regions.toArray(ByteBuffer[]::new);
+  }
+
+  private static int lastNewLine(final ByteBuffer buffer) {
+    for (int i = buffer.limit() - 1; i >= 0; i--) {
+      if (buffer.get(i) == '\n') {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static long countNewLines(final ByteBuffer buffer,
+                                    final int from,
+                                    final int to) {
+    long lines = 0;
+    for (int i = from; i < to; i++) {
+      if (buffer.get(i) == '\n') {
+        lines++;
+      }
+    }
+    return lines;
+  }
+
+  /**
+   * Chunk of the input that goes from the index {@code from} of the region {@code lo} to the index {@code to} of the
+   * region {@code hi - 1}, where the regions are newline-aligned slices of the input. A chunk is split by regions while
+   * it spans several of them, and then at the first line break after the middle of the region. Once it's not split any
+   * more, its lines are parsed with a {@link LinesIterator}. The number of lines before the chunk is only needed to
+   * report errors, so it's counted the first time an error is found.
+   */
+  private final class ChunkSpliterator implements Spliterator<JsObj> {
+
+    private final ByteBuffer[] regions;
+    private final boolean ordered;
+    private int lo;
+    private int hi;
+    private int from;
+    private int to;
+    private Iterator<JsObj> lines;
+    private long linesBefore = -1;
+
+    ChunkSpliterator(final ByteBuffer[] regions,
+                     final int lo,
+                     final int hi,
+                     final int from,
+                     final int to,
+                     final boolean ordered) {
+      this.regions = regions;
+      this.lo = lo;
+      this.hi = hi;
+      this.from = from;
+      this.to = to;
+      this.ordered = ordered;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super JsObj> action) {
+      if (lines == null) {
+        lines = new LinesIterator(input(),
+                                  this::linesBefore);
+      }
+      if (lines.hasNext()) {
+        action.accept(lines.next());
+        return true;
+      }
+      return false;
+    }
+
+    private InputStream input() {
+      if (hi - lo == 1) {
+        return new ByteBufferInputStream(regions[lo].slice(from,
+                                                           to - from));
+      }
+      List<InputStream> inputs = new ArrayList<>();
+      for (int i = lo; i < hi; i++) {
+        int start = i == lo ? from : 0;
+        int end = i == hi - 1 ? to : regions[i].limit();
+        inputs.add(new ByteBufferInputStream(regions[i].slice(start,
+                                                              end - start)));
+      }
+      return new SequenceInputStream(Collections.enumeration(inputs));
+    }
+
+    private long linesBefore() {
+      if (linesBefore < 0) {
+        long lines = 0;
+        for (int i = 0; i < lo; i++) {
+          lines += countNewLines(regions[i],
+                                 0,
+                                 regions[i].limit());
+        }
+        linesBefore = lines + countNewLines(regions[lo],
+                                            0,
+                                            from);
+      }
+      return linesBefore;
+    }
+
+    @Override
+    public Spliterator<JsObj> trySplit() {
+      if (lines != null) {
+        return null;
+      }
+      if (hi - lo > 1) {
+        int mid = (lo + hi) >>> 1;
+        ChunkSpliterator prefix = new ChunkSpliterator(regions,
+                                                       lo,
+                                                       mid,
+                                                       from,
+                                                       regions[mid - 1].limit(),
+                                                       ordered);
+        lo = mid;
+        from = 0;
+        return prefix;
+      }
+      if (to - from < 2 * BUFFER_SIZE) {
+        return null;
+      }
+      ByteBuffer region = regions[lo];
+      for (int i = (from + to) >>> 1; i < to - 1; i++) {
+        if (region.get(i) == '\n') {
+          ChunkSpliterator prefix = new ChunkSpliterator(regions,
+                                                         lo,
+                                                         hi,
+                                                         from,
+                                                         i + 1,
+                                                         ordered);
+          from = i + 1;
+          return prefix;
+        }
+      }
+      return null;
+    }
+
+    /* the number of bytes, which is proportional to the number of lines and good enough to balance the splits */
+    @Override
+    public long estimateSize() {
+      if (hi - lo == 1) {
+        return to - from;
+      }
+      long size = (long) regions[lo].limit() - from + to;
+      for (int i = lo + 1; i < hi - 1; i++) {
+        size += regions[i].limit();
+      }
+      return size;
+    }
+
+    @Override
+    public int characteristics() {
+      return ordered ?
+             Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE :
+             Spliterator.NONNULL | Spliterator.IMMUTABLE;
+    }
+  }
+
+  /**
+   * Finds the lines in a buffer that is filled from the input stream. A line is parsed in place if it's complete;
+   * otherwise, the incomplete line is moved to the beginning of the buffer, which grows if the line doesn't fit, and
+   * the rest of the buffer is filled again.
+   */
+  private final class LinesIterator implements Iterator<JsObj> {
+
+    private final InputStream input;
+    private byte[] buffer = new byte[BUFFER_SIZE];
+    private int start;
+    private int end;
+    private int scanned;
+    private boolean eof;
+    private final LongSupplier linesBefore;
+    private long line;
+    private JsObj next;
+
+    LinesIterator(final InputStream input,
+                  final LongSupplier linesBefore) {
+      this.input = input;
+      this.linesBefore = linesBefore;
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (next == null) {
+        next = computeNext();
+      }
+      return next != null;
+    }
+
+    @Override
+    public JsObj next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      JsObj obj = next;
+      next = null;
+      return obj;
+    }
+
+    private JsObj computeNext() {
+      while (true) {
+        int lineEnd = nextNewLine();
+        if (lineEnd < 0) {
+          return null;
+        }
+        line++;
+        int from = start;
+        start = scanned = Math.min(lineEnd + 1,
+                                   end);
+        if (isBlank(from,
+                    lineEnd)) {
+          continue;
+        }
+        buffer[lineEnd] = '\0';
+        try {
+          return io.parseLineToJsObj(buffer,
+                                     from,
+                                     lineEnd,
+                                     parser);
+        } catch (JsParserException e) {
+          JsParserException error = JsParserException.atLine(e,
+                                                             linesBefore.getAsLong() + line);
+          if (onError == null) {
+            throw error;
+          }
+          onError.accept(error);
+        }
+      }
+    }
+
+    /* index of the next '\n' (or of the end of the input for the last line), or -1 if there are no more lines */
+    private int nextNewLine() {
+      while (true) {
+        for (int i = scanned; i < end; i++) {
+          if (buffer[i] == '\n') {
+            return i;
+          }
+        }
+        scanned = end;
+        if (eof) {
+          return start < end ? end : -1;
+        }
+        fill();
+      }
+    }
+
+    private void fill() {
+      if (start > 0) {
+        System.arraycopy(buffer,
+                         start,
+                         buffer,
+                         0,
+                         end - start);
+        end -= start;
+        scanned -= start;
+        start = 0;
+      }
+      // one byte is always left free at the end, so that a line can be terminated in place
+      if (end >= buffer.length - 1) {
+        buffer = Arrays.copyOf(buffer,
+                               buffer.length << 1);
+      }
+      try {
+        int read = input.read(buffer,
+                              end,
+                              buffer.length - 1 - end);
+        if (read == -1) {
+          eof = true;
+        } else {
+          end += read;
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private boolean isBlank(final int from,
+                            final int to) {
+      for (int i = from; i < to; i++) {
+        switch (buffer[i]) {
+          case ' ', '\t', '\r':
+            break;
+          default:
+            return false;
+        }
+      }
+      return true;
+    }
+  }
+}
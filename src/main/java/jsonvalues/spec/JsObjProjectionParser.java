@@ -0,0 +1,446 @@
+package jsonvalues.spec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import jsonvalues.JsObj;
+import jsonvalues.JsPath;
+import jsonvalues.JsValue;
+import jsonvalues.Position;
+
+/**
+ * Parser of JSON objects that only reads the values at the given paths (a projection) and skips the rest. The skipped
+ * values are scanned byte by byte, just to find where they end: strings are not unescaped, numbers are not converted,
+ * keys are not looked up in the key cache and no object is created, which makes parsing a few fields out of big
+ * documents much faster.
+ * <p>
+ * The result is the object that has the parsed values at their paths, as if they were set one by one with
+ * {@link JsObj#set(JsPath, JsValue)}. Paths that are not in the JSON are missing from the result, and a path that
+ * starts with another one is ignored, since the value of the shorter one is parsed entirely.
+ *
+ * <pre>{@code
+ * JsObjProjectionParser parser = JsObjProjectionParser.of(Set.of(JsPath.path("/id"),
+ *                                                               JsPath.path("/address/city")));
+ * JsObj obj = parser.parse(bytes); // {"id": 1, "address": {"city": "Madrid"}}
+ * }</pre>
+ * <p>
+ * Created with {@link #of(JsObjSpecParser, Set)}, the projected values are parsed with the specs of their paths, and
+ * the required keys of the paths must be present. The values that are not projected are not validated. The input is
+ * parsed with the {@link JsIO} instance of that parser, or of the one passed to {@link #of(Set, JsIO)}.
+ */
+public final class JsObjProjectionParser {
+
+  private final Node root;
+  private final JsIO io;
+  private final JsParser parser;
+
+  private JsObjProjectionParser(final Node root,
+                                final JsIO io) {
+    this.root = root;
+    this.io = io;
+    this.parser = this::parseObj;
+  }
+
+  /**
+   * Creates a parser that reads the values at the given paths.
+   *
+   * @param paths the paths of the values to parse
+   * @return a projection parser
+   */
+  public static JsObjProjectionParser of(final Set<JsPath> paths) {
+    return of(paths,
+              JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a parser that reads the values at the given paths with the readers, caches and limits of the given
+   * {@link JsIO} instance instead of the singleton one.
+   *
+   * @param paths the paths of the values to parse
+   * @param io    the instance created with {@link JsIO#builder()}
+   * @return a projection parser
+   */
+  public static JsObjProjectionParser of(final Set<JsPath> paths,
+                                         final JsIO io) {
+    return new JsObjProjectionParser(compile(requireNonNull(paths),
+                                             null),
+                                     requireNonNull(io));
+  }
+
+  /**
+   * Creates a parser that reads the values at the given paths and validates them against their specs in the spec of
+   * the given parser, with the {@link JsIO} instance of the given parser.
+   *
+   * @param parser the parser of the whole object
+   * @param paths  the paths of the values to parse
+   * @return a projection parser
+   * @throws IllegalArgumentException if the spec is not a {@link JsObjSpec}, or if a path goes through a strict object
+   *                                  spec that doesn't have the key
+   */
+  public static JsObjProjectionParser of(final JsObjSpecParser parser,
+                                         final Set<JsPath> paths) {
+    JsObjSpec spec = objSpec(requireNonNull(parser).spec);
+    if (spec == null) {
+      throw new IllegalArgumentException("A projection can only be validated with a JsObjSpec");
+    }
+    return new JsObjProjectionParser(compile(requireNonNull(paths),
+                                             spec),
+                                     parser.io);
+  }
+
+  /**
+   * Parses the given array of bytes.
+   *
+   * @param bytes the JSON object
+   * @return the projected JSON object
+   * @throws JsParserException if the bytes are not a JSON object or a projected value doesn't conform to its spec
+   */
+  public JsObj parse(final byte[] bytes) {
+    return io.parseToJsObj(requireNonNull(bytes),
+                           parser);
+  }
+
+  /**
+   * Parses the given string.
+   *
+   * @param str the JSON object
+   * @return the projected JSON object
+   * @throws JsParserException if the string is not a JSON object or a projected value doesn't conform to its spec
+   */
+  public JsObj parse(final String str) {
+    return parse(requireNonNull(str).getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Parses the given input stream, which is not closed.
+   *
+   * @param input the JSON object
+   * @return the projected JSON object
+   * @throws JsParserException if the input is not a JSON object or a projected value doesn't conform to its spec
+   */
+  public JsObj parse(final InputStream input) {
+    return io.parseToJsObj(requireNonNull(input),
+                           parser);
+  }
+
+  /**
+   * Parses the remaining bytes of the given buffer, whose position is not modified.
+   *
+   * @param buffer the JSON object
+   * @return the projected JSON object
+   * @throws JsParserException if the buffer is not a JSON object or a projected value doesn't conform to its spec
+   */
+  public JsObj parse(final ByteBuffer buffer) {
+    return io.parseToJsObj(requireNonNull(buffer),
+                           parser);
+  }
+
+  /**
+   * Parses the given file.
+   *
+   * @param path the path of the file
+   * @return the projected JSON object
+   * @throws JsParserException if the file is not a JSON object or a projected value doesn't conform to its spec
+   */
+  public JsObj parse(final Path path) {
+    return io.parseToJsObj(requireNonNull(path),
+                           parser);
+  }
+
+  private JsValue parseObj(final DslJsReader reader) {
+    if (reader.last() != '{') {
+      throw reader.newParseError(ParserErrors.EXPECTING_FOR_OBJ_START,
+                                 (char) reader.last(),
+                                 0);
+    }
+    List<Projected> values = new ArrayList<>();
+    obj(reader,
+        root,
+        JsPath.empty(),
+        values);
+    JsObj result = JsObj.empty();
+    for (Projected projected : values) {
+      result = result.set(projected.path,
+                          projected.value);
+    }
+    return result;
+  }
+
+  private static void value(final DslJsReader reader,
+                            final Node node,
+                            final JsPath path,
+                            final List<Projected> values
+                           ) {
+    if (node.isLeaf()) {
+      values.add(new Projected(path,
+                               node.parser.parse(reader)));
+    } else if (reader.last() == '{' && node.keys.length > 0) {
+      obj(reader,
+          node,
+          path,
+          values);
+    } else if (reader.last() == '[' && node.indexes.length > 0) {
+      arr(reader,
+          node,
+          path,
+          values);
+    } else {
+      reader.skipValue();
+    }
+  }
+
+  private static void obj(final DslJsReader reader,
+                          final Node node,
+                          final JsPath path,
+                          final List<Projected> values
+                         ) {
+    boolean[] found = node.required == null ? null : new boolean[node.keys.length];
+    byte token = reader.readNextToken();
+    if (token != '}') {
+      while (true) {
+        if (token != '"') {
+          throw reader.newParseError(ParserErrors.EXPECTING_STRING_START);
+        }
+        int n = reader.readKeyIndex(node.names);
+        int i = n < 0 ? -1 : node.nameKeys[n];
+        if (i < 0) {
+          reader.skipValue();
+        } else {
+          value(reader,
+                node.keyNodes[i],
+                path.key(node.keys[i]),
+                values);
+          if (found != null) {
+            found[i] = true;
+          }
+        }
+        token = reader.readNextToken();
+        if (token == ',') {
+          token = reader.readNextToken();
+        } else if (token == '}') {
+          break;
+        } else {
+          throw reader.newParseError(ParserErrors.EXPECTING_FOR_MAP_END,
+                                     (char) token,
+                                     0);
+        }
+      }
+    }
+    if (found != null) {
+      for (int i = 0; i < found.length; i++) {
+        if (node.required[i] && !found[i]) {
+          throw reader.newParseError(ParserErrors.REQUIRED_KEY_NOT_FOUND,
+                                     node.keys[i],
+                                     0);
+        }
+      }
+    }
+  }
+
+  private static void arr(final DslJsReader reader,
+                          final Node node,
+                          final JsPath path,
+                          final List<Projected> values
+                         ) {
+    if (reader.readNextToken() == ']') {
+      return;
+    }
+    int index = 0;
+    while (true) {
+      int i = indexOf(node.indexes,
+                      index);
+      if (i < 0) {
+        reader.skipValue();
+      } else {
+        value(reader,
+              node.indexNodes[i],
+              path.index(index),
+              values);
+      }
+      byte token = reader.readNextToken();
+      if (token == ',') {
+        reader.readNextToken();
+        index++;
+      } else if (token == ']') {
+        return;
+      } else {
+        throw reader.newParseError(ParserErrors.EXPECTING_END_OF_ARRAY);
+      }
+    }
+  }
+
+  private static int indexOf(final int[] indexes,
+                             final int index) {
+    for (int i = 0; i < indexes.length; i++) {
+      if (indexes[i] == index) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static Node compile(final Set<JsPath> paths,
+                              final JsObjSpec spec) {
+    Node root = new Node(spec);
+    for (JsPath path : paths) {
+      if (requireNonNull(path).isEmpty()) {
+        throw new IllegalArgumentException("The empty path can't be projected");
+      }
+      Node node = root;
+      for (JsPath tail = path; !tail.isEmpty() && !node.isLeaf(); tail = tail.tail()) {
+        node = node.child(tail.head(),
+                          tail.tail()
+                              .isEmpty(),
+                          path);
+      }
+    }
+    return root;
+  }
+
+  private static JsObjSpec objSpec(final JsSpec spec) {
+    if (spec instanceof JsObjSpec objSpec) {
+      return objSpec;
+    }
+    if (spec instanceof NamedSpec namedSpec) {
+      return objSpec(JsSpecCache.get(namedSpec.name));
+    }
+    return null;
+  }
+
+  private static JsSpec elemSpec(final JsSpec spec,
+                                 final int index) {
+    if (spec instanceof NamedSpec namedSpec) {
+      return elemSpec(JsSpecCache.get(namedSpec.name),
+                      index);
+    }
+    if (spec instanceof JsArrayOfSpec arrayOfSpec) {
+      return arrayOfSpec.getElemSpec();
+    }
+    if (spec instanceof JsTuple tuple) {
+      if (index >= tuple.specs.size()) {
+        throw new IllegalArgumentException("The tuple spec has no element at the index %d".formatted(index));
+      }
+      return tuple.specs.get(index);
+    }
+    return null;
+  }
+
+  private record Projected(JsPath path,
+                           JsValue value) {
+
+  }
+
+  /**
+   * Node of the tree of projected paths. Leaves are parsed entirely with the parser of their spec, or with the parser
+   * of any value if the spec is unknown. Inner nodes have the keys or indexes to go down, and which keys are required.
+   * The names looked for in the JSON are the keys and their aliases in the metadata of the spec, each one with the
+   * index of its key.
+   */
+  private static final class Node {
+
+    private final JsSpec spec;
+    private JsParser parser;
+    private String[] keys = new String[0];
+    private Node[] keyNodes = new Node[0];
+    private String[] names = new String[0];
+    private int[] nameKeys = new int[0];
+    private boolean[] required;
+    private int[] indexes = new int[0];
+    private Node[] indexNodes = new Node[0];
+
+    Node(final JsSpec spec) {
+      this.spec = spec;
+    }
+
+    boolean isLeaf() {
+      return parser != null;
+    }
+
+    Node child(final Position position,
+               final boolean leaf,
+               final JsPath path) {
+      Node child;
+      if (position.isKey()) {
+        String key = position.asKey().name;
+        int i = Arrays.asList(keys)
+                      .indexOf(key);
+        if (i >= 0) {
+          child = keyNodes[i];
+        } else {
+          JsObjSpec objSpec = objSpec(spec);
+          JsSpec keySpec = objSpec == null ? null : objSpec.bindings.get(key);
+          if (objSpec != null && keySpec == null && objSpec.strict) {
+            throw new IllegalArgumentException("The path %s has no spec for the key '%s'".formatted(path,
+                                                                                                  key));
+          }
+          child = new Node(keySpec);
+          keys = Arrays.copyOf(keys,
+                               keys.length + 1);
+          keys[keys.length - 1] = key;
+          keyNodes = Arrays.copyOf(keyNodes,
+                                   keyNodes.length + 1);
+          keyNodes[keyNodes.length - 1] = child;
+          addName(key);
+          if (objSpec != null && objSpec.metaData != null && objSpec.metaData.fieldsAliases() != null) {
+            for (String alias : objSpec.metaData.fieldsAliases()
+                                                .getOrDefault(key,
+                                                              List.of())) {
+              // keys take precedence over aliases, as when the object is parsed with its spec
+              if (!objSpec.bindings.containsKey(alias) && key.equals(objSpec.metaData.getAliasField(alias))) {
+                addName(alias);
+              }
+            }
+          }
+          if (objSpec != null) {
+            required = required == null ? new boolean[keys.length] : Arrays.copyOf(required,
+                                                                                  keys.length);
+            required[keys.length - 1] = objSpec.requiredFields.contains(key);
+          }
+        }
+      } else {
+        int index = position.asIndex().n;
+        int i = indexOf(indexes,
+                        index);
+        if (i >= 0) {
+          child = indexNodes[i];
+        } else {
+          child = new Node(elemSpec(spec,
+                                    index));
+          indexes = Arrays.copyOf(indexes,
+                                  indexes.length + 1);
+          indexes[indexes.length - 1] = index;
+          indexNodes = Arrays.copyOf(indexNodes,
+                                     indexNodes.length + 1);
+          indexNodes[indexNodes.length - 1] = child;
+        }
+      }
+      if (leaf) {
+        child.parser = child.spec == null ? JsReaders.READERS.valueReader::value : child.spec.parser();
+        child.keys = new String[0];
+        child.keyNodes = new Node[0];
+        child.names = new String[0];
+        child.nameKeys = new int[0];
+        child.required = null;
+        child.indexes = new int[0];
+        child.indexNodes = new Node[0];
+      }
+      return child;
+    }
+
+    private void addName(final String name) {
+      names = Arrays.copyOf(names,
+                            names.length + 1);
+      names[names.length - 1] = name;
+      nameKeys = Arrays.copyOf(nameKeys,
+                               nameKeys.length + 1);
+      nameKeys[nameKeys.length - 1] = keys.length - 1;
+    }
+  }
+}
@@ -22,9 +22,9 @@ final class JsObjReader extends AbstractJsObjReader {
     if (result == null) {
       return value;
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
   @Override
@@ -34,23 +34,25 @@ final class JsObjReader extends AbstractJsObjReader {
     }
 
     String key = reader.readKey();
-    JsObj map = EMPTY_OBJ.set(key,
-                              valueDeserializer.value(reader)
-                             );
+    JsObj.Builder map = JsObj.builder()
+                             .set(key,
+                                  valueDeserializer.value(reader)
+                                 );
     byte nextToken;
     while ((nextToken = reader.readNextToken()) == ',') {
       reader.readNextToken();
       key = reader.readKey();
-      map = map.set(key,
-                    valueDeserializer.value(reader)
-                   );
+      map.set(key,
+              valueDeserializer.value(reader)
+             );
     }
     if (nextToken != '}') {
-      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END.formatted(((char) nextToken)),
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END,
+                                       (char) nextToken,
                                        reader.getPositionInStream()
                                       );
     }
-    return map;
+    return map.build();
   }
 
   JsValue eachEntrySuchThat(final DslJsReader reader,
@@ -74,25 +76,27 @@ final class JsObjReader extends AbstractJsObjReader {
     var key = reader.readKey();
     var value = valueDeserializer.value(reader);
     validateEach.accept(value);
-    var map = EMPTY_OBJ.set(key,
-                            value
-                           );
+    var map = JsObj.builder()
+                   .set(key,
+                        value
+                       );
     byte nextToken;
     while ((nextToken = reader.readNextToken()) == ',') {
       reader.readNextToken();
       key = reader.readKey();
       value = valueDeserializer.value(reader);
       validateEach.accept(value);
-      map = map.set(key,
-                    value
-                   );
+      map.set(key,
+              value
+             );
     }
     if (nextToken != '}') {
-      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END.formatted(((char) nextToken)),
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END,
+                                       (char) nextToken,
                                        reader.getPositionInStream()
                                       );
     }
-    return map;
+    return map.build();
   }
 
 
@@ -21,6 +21,7 @@ import java.util.stream.Collectors;
 import jsonvalues.JsNothing;
 import jsonvalues.JsObj;
 import jsonvalues.JsPath;
+import jsonvalues.JsStr;
 import jsonvalues.JsValue;
 
 /**
@@ -59,6 +60,7 @@ public final class JsObjSpec extends AbstractNullable implements JsSpec, AvroSpe
 
   final boolean strict;
   final Map<String, JsParser> parsers;
+  final KeyMatcher keyMatcher;
   final Map<String, JsSpec> bindings;
   final MetaData metaData;
   final List<String> requiredFields;
@@ -101,6 +103,8 @@ public final class JsObjSpec extends AbstractNullable implements JsSpec, AvroSpe
                        .parser()
                  );
     }
+    this.keyMatcher = KeyMatcher.of(parsers,
+                                    metaData);
   }
 
   public static JsObjSpec of(final String key,
@@ -5666,6 +5670,7 @@ public final class JsObjSpec extends AbstractNullable implements JsSpec, AvroSpe
   public JsParser parser() {
     return JsParsers.INSTANCE.ofObjSpec(requiredFields,
                                         parsers,
+                                        keyMatcher,
                                         predicate,
                                         nullable,
                                         strict,
@@ -5825,6 +5830,29 @@ public final class JsObjSpec extends AbstractNullable implements JsSpec, AvroSpe
 
   }
 
+  /**
+   * Returns this spec with the given key required, first and bound to the given constant, the tag of the case of a
+   * discriminated union that this spec represents.
+   */
+  JsObjSpec withTag(final String key,
+                    final String tag) {
+    LinkedHashMap<String, JsSpec> newBindings = new LinkedHashMap<>();
+    newBindings.put(key,
+                    JsSpecs.cons(JsStr.of(tag)));
+    bindings.forEach(newBindings::putIfAbsent);
+    List<String> newRequired = new ArrayList<>();
+    newRequired.add(key);
+    requiredFields.stream()
+                  .filter(it -> !it.equals(key))
+                  .forEach(newRequired::add);
+    return new JsObjSpec(newBindings,
+                         nullable,
+                         strict,
+                         predicate,
+                         newRequired,
+                         metaData);
+  }
+
   /**
    * Concatenates the current JSON object specification with another JSON object specification. The concatenation
    * includes combining bindings, required fields, predicates, and metadata.
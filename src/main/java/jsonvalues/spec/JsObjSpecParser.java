@@ -3,7 +3,10 @@ package jsonvalues.spec;
 import static java.util.Objects.requireNonNull;
 
 import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import jsonvalues.JsObj;
 
 /**
@@ -34,12 +37,15 @@ import jsonvalues.JsObj;
 
 public final class JsObjSpecParser {
 
-  private final JsParser parser;
+  final JsParser parser;
 
-  private final JsSpec spec;
+  final JsSpec spec;
 
+  final JsIO io;
 
-  private JsObjSpecParser(final JsSpec spec) {
+
+  private JsObjSpecParser(final JsSpec spec,
+                          final JsIO io) {
     if (!isValid(requireNonNull(spec))) {
       throw new IllegalArgumentException("`%s` constructor requires a `%s` or `OneSpecOf(%s)`".formatted(JsObjSpecParser.class.getName(),
                                                                                                          JsObjSpec.class.getName(),
@@ -47,6 +53,7 @@ public final class JsObjSpecParser {
                                                                                                         ));
     }
     this.spec = spec;
+    this.io = requireNonNull(io);
     parser = spec.parser();
   }
 
@@ -58,7 +65,22 @@ public final class JsObjSpecParser {
    * @return a Json object parser
    */
   public static JsObjSpecParser of(final JsSpec spec) {
-    return new JsObjSpecParser(spec);
+    return new JsObjSpecParser(spec,
+                               JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a JSON object parser based on the provided JSON object specification (spec) that parses with the readers,
+   * caches and limits of the given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param spec The JSON object specification that defines the expected schema for each field-value in the object.
+   * @param io   The instance created with {@link JsIO#builder()} to parse the JSON objects.
+   * @return a Json object parser
+   */
+  public static JsObjSpecParser of(final JsSpec spec,
+                                   final JsIO io) {
+    return new JsObjSpecParser(spec,
+                               io);
   }
 
   private boolean isValid(JsSpec spec) {
@@ -89,9 +111,9 @@ public final class JsObjSpecParser {
    * @throws JsParserException    If parsing fails due to JSON syntax errors or specification violations.
    */
   public JsObj parse(final byte[] bytes) {
-    JsObj obj = JsIO.INSTANCE.parseToJsObj(requireNonNull(bytes),
-                                           parser
-                                          );
+    JsObj obj = io.parseToJsObj(requireNonNull(bytes),
+                                parser
+                               );
 
     assert spec.test(obj)
                .isEmpty();
@@ -113,9 +135,9 @@ public final class JsObjSpecParser {
    */
   public JsObj parse(final String str) {
 
-    JsObj obj = JsIO.INSTANCE.parseToJsObj(requireNonNull(str).getBytes(StandardCharsets.UTF_8),
-                                           parser
-                                          );
+    JsObj obj = io.parseToJsObj(requireNonNull(str).getBytes(StandardCharsets.UTF_8),
+                                parser
+                               );
 
     assert spec.test(obj)
                .isEmpty();
@@ -134,16 +156,81 @@ public final class JsObjSpecParser {
    * @throws JsParserException    If parsing fails due to JSON syntax errors or specification violations.
    */
   public JsObj parse(final InputStream inputstream) {
-    JsObj obj = JsIO.INSTANCE.parseToJsObj(requireNonNull(inputstream),
-                                           parser
-                                          );
+    JsObj obj = io.parseToJsObj(requireNonNull(inputstream),
+                                parser
+                               );
     assert spec.test(obj)
                .isEmpty();
 
     return obj;
   }
 
+  /**
+   * Parses the remaining bytes of the given buffer into a JSON object that must conform to the spec of the parser.
+   * Direct buffers are scanned without copying their content onto the heap, and the position of the buffer is not
+   * modified.
+   *
+   * @param buffer A buffer with a JSON object.
+   * @return The parsed JSON object.
+   * @throws NullPointerException if the provided buffer is null.
+   * @throws JsParserException    If parsing fails due to JSON syntax errors or specification violations.
+   */
+  public JsObj parse(final ByteBuffer buffer) {
+    JsObj obj = io.parseToJsObj(requireNonNull(buffer),
+                                parser
+                               );
+    assert spec.test(obj)
+               .isEmpty();
 
-}
+    return obj;
+  }
 
+  /**
+   * Parses the content of the given file into a JSON object that must conform to the spec of the parser. The file is
+   * mapped into memory instead of being read onto the heap, which makes it a good fit for big files.
+   *
+   * @param path The path of a file with a JSON object.
+   * @return The parsed JSON object.
+   * @throws NullPointerException if the provided path is null.
+   * @throws JsParserException    If parsing fails due to JSON syntax errors or specification violations.
+   * @throws UncheckedIOException If the file can't be read.
+   */
+  public JsObj parse(final Path path) {
+    JsObj obj = io.parseToJsObj(requireNonNull(path),
+                                parser
+                               );
+    assert spec.test(obj)
+               .isEmpty();
+
+    return obj;
+  }
+
+  /**
+   * Parses an array of bytes into a JSON object that must conform to the spec of the parser, without throwing an
+   * exception if the bytes don't represent a well-formed JSON or the JSON doesn't conform to the spec. It's meant for
+   * untrusted inputs that are often rejected: the error of the result has no stack trace.
+   *
+   * @param bytes A JSON object serialized as an array of bytes.
+   * @return The parsed JSON object or the reason why the bytes were rejected.
+   * @throws NullPointerException if the provided byte array is null.
+   */
+  public ParseResult<JsObj> tryParse(final byte[] bytes) {
+    requireNonNull(bytes);
+    return ParseResult.of(this::parse,
+                          bytes);
+  }
+
+  /**
+   * Parses a string into a JSON object that must conform to the spec of the parser, without throwing an exception if
+   * the string doesn't represent a well-formed JSON or the JSON doesn't conform to the spec. It's meant for untrusted
+   * inputs that are often rejected: the error of the result has no stack trace.
+   *
+   * @param str A JSON object serialized as a string.
+   * @return The parsed JSON object or the reason why the string was rejected.
+   * @throws NullPointerException if the provided string is null.
+   */
+  public ParseResult<JsObj> tryParse(final String str) {
+    return tryParse(requireNonNull(str).getBytes(StandardCharsets.UTF_8));
+  }
 
+}
@@ -11,15 +11,20 @@ class JsObjSpecReader extends AbstractJsObjReader {
   protected final Predicate<JsObj> predicate;
   final boolean strict;
   private final Map<String, JsParser> parsers;
+  private final KeyMatcher matcher;
   private final MetaData metadata;
+  // field of the last key read by readKeyParser
+  private String key;
 
   JsObjSpecReader(boolean strict,
                   Map<String, JsParser> parsers,
+                  KeyMatcher matcher,
                   Predicate<JsObj> predicate,
                   MetaData metadata
                  ) {
     this.strict = strict;
     this.parsers = parsers;
+    this.matcher = matcher;
     this.predicate = predicate;
     this.metadata = metadata;
   }
@@ -30,21 +35,9 @@ class JsObjSpecReader extends AbstractJsObjReader {
     if (isEmptyObj(reader)) {
       return addDefaultFieldsIfSpecified(EMPTY_OBJ);
     }
-    var key = reader.readKey();
-    var parser = parsers.get(key);
-    if (parser == null) {
-      var aliasField = metadata != null ? metadata.getAliasField(key) : null;
-      if (aliasField != null) {
-        parser = parsers.get(aliasField);
-        key = aliasField;
-      }
-    }
-    throwErrorIfStrictAndKeyMissing(reader,
-                                    parser,
-                                    key
-                                   );
-    parser = parser != null ? parser : defaultParser;
-    var obj = EMPTY_OBJ.set(key,
+    JsParser parser = readKeyParser(reader);
+    var builder = JsObj.builder()
+                       .set(key,
                             parser
                                 .parse(reader)
                            );
@@ -52,23 +45,10 @@ class JsObjSpecReader extends AbstractJsObjReader {
     int size = 1;//we already parsed one field
     while ((nextToken = reader.readNextToken()) == ',') {
       reader.readNextToken();
-      key = reader.readKey();
-      parser = parsers.get(key);
-      if (parser == null) {
-        var aliasField = metadata != null ? metadata.getAliasField(key) : null;
-        if (aliasField != null) {
-          parser = parsers.get(aliasField);
-          key = aliasField;
-        }
-      }
-      throwErrorIfStrictAndKeyMissing(reader,
-                                      parser,
-                                      key
-                                     );
-      parser = parser != null ? parser : defaultParser;
-      obj = obj.set(key,
-                    parser.parse(reader)
-                   );
+      parser = readKeyParser(reader);
+      builder.set(key,
+                  parser.parse(reader)
+                 );
       size += 1;
       if (metadata != null && size > metadata.maxProperties()) {
         throw JsParserException.reasonAt(ParserErrors.OBJ_MAX_SIZE_EXCEEDED,
@@ -78,7 +58,8 @@ class JsObjSpecReader extends AbstractJsObjReader {
 
     }
     if (nextToken != '}') {
-      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END.formatted(((char) nextToken)),
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END,
+                                       (char) nextToken,
                                        reader.getPositionInStream()
                                       );
     }
@@ -87,7 +68,7 @@ class JsObjSpecReader extends AbstractJsObjReader {
                                        reader.getPositionInStream()
                                       );
     }
-    obj = addDefaultFieldsIfSpecified(obj);
+    var obj = addDefaultFieldsIfSpecified(builder.build());
 
     if (predicate != null && !predicate.test(obj)) {
       throw JsParserException.reasonAt(ParserErrors.OBJ_CONDITION,
@@ -99,6 +80,33 @@ class JsObjSpecReader extends AbstractJsObjReader {
 
   }
 
+  /**
+   * Reads the next key, resolving aliases to their field, and returns the parser of its value. The key matcher is tried
+   * first; unknown keys, keys with escape sequences and keys not yet in the buffer are read into a string and looked up
+   * in the map of parsers and the aliases of the metadata.
+   */
+  private JsParser readKeyParser(final DslJsReader reader) {
+    int index = matcher != null ? reader.matchKey(matcher) : -1;
+    if (index >= 0) {
+      key = matcher.keys[index];
+      return matcher.parsers[index];
+    }
+    key = reader.readKey();
+    JsParser parser = parsers.get(key);
+    if (parser == null) {
+      var aliasField = metadata != null ? metadata.getAliasField(key) : null;
+      if (aliasField != null) {
+        parser = parsers.get(aliasField);
+        key = aliasField;
+      }
+    }
+    throwErrorIfStrictAndKeyMissing(reader,
+                                    parser,
+                                    key
+                                   );
+    return parser != null ? parser : defaultParser;
+  }
+
   private JsObj addDefaultFieldsIfSpecified(JsObj obj) {
     if (metadata != null && metadata.fieldsDefault() != null) {
       for (String defaultKey : metadata.fieldsDefault()
@@ -119,7 +127,8 @@ class JsObjSpecReader extends AbstractJsObjReader {
                                                final String key
                                               ) {
     if (strict && keyParser == null) {
-      throw JsParserException.reasonAt(ParserErrors.SPEC_NOT_FOUND.apply(key),
+      throw JsParserException.reasonAt(ParserErrors.SPEC_NOT_FOUND,
+                                       key,
                                        reader.getPositionInStream()
                                       );
     }
@@ -12,12 +12,14 @@ final class JsObjSpecWithRequiredKeysReader extends JsObjSpecReader {
 
   JsObjSpecWithRequiredKeysReader(List<String> required,
                                   Map<String, JsParser> parsers,
+                                  KeyMatcher matcher,
                                   boolean strict,
                                   Predicate<JsObj> predicate,
                                   MetaData metaData
                                  ) {
     super(strict,
           parsers,
+          matcher,
           predicate,
           metaData
          );
@@ -30,7 +32,8 @@ final class JsObjSpecWithRequiredKeysReader extends JsObjSpecReader {
     JsObj obj = super.value(reader);
     for (String key : required) {
       if (!obj.containsKey(key)) {
-        throw JsParserException.reasonAt(ParserErrors.REQUIRED_KEY_NOT_FOUND.apply(key),
+        throw JsParserException.reasonAt(ParserErrors.REQUIRED_KEY_NOT_FOUND,
+                                         key,
                                          reader.getPositionInStream()
                                         );
       }
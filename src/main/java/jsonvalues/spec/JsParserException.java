@@ -3,18 +3,180 @@ package jsonvalues.spec;
 
 /**
  * Represent an exception that is thrown while parsing an array of bytes or string into a JSON.
+ * <p>
+ * The reason, the position and the error code are kept as fields, and the message is built the first time it's
+ * requested, so rejecting an input costs little more than creating the exception. The stack trace, which points to the
+ * internals of the parser and is the most expensive part, is not filled in when the system property
+ * {@value #STACK_TRACE_PROPERTY} is {@code false}, nor for the errors that the parser handles itself, like the ones of
+ * the alternatives of a {@link JsSpecs#oneSpecOf(JsSpec, JsSpec...) oneSpecOf} that don't match, or the ones returned
+ * by {@link JsObjSpecParser#tryParse(byte[])} and {@link JsArraySpecParser#tryParse(byte[])}.
  */
 @SuppressWarnings("serial")
 public class JsParserException extends RuntimeException {
 
-  private JsParserException(String reason) {
-    super(reason);
+  /**
+   * System property to disable the stack traces of parser exceptions, for example
+   * {@code -Djsonvalues.parser.stacktrace=false}, when many inputs are rejected and the stack traces are not needed.
+   * Default value is {@code true}.
+   */
+  public static final String STACK_TRACE_PROPERTY = "jsonvalues.parser.stacktrace";
+
+  private static final boolean STACK_TRACE = !"false".equalsIgnoreCase(System.getProperty(STACK_TRACE_PROPERTY,
+                                                                                          "true")
+                                                                             .trim());
+
+  /**
+   * number of nested calls of the current thread whose errors are handled by the parser
+   */
+  private static final ThreadLocal<int[]> HANDLED = ThreadLocal.withInitial(() -> new int[1]);
+
+  private final String reason;
+  private final Object argument;
+  private final long position;
+  private final long line;
+  private String message;
+
+  private JsParserException(String reason,
+                            Object argument,
+                            long position,
+                            long line,
+                            JsParserException cause) {
+    super(null,
+          cause,
+          true,
+          STACK_TRACE && HANDLED.get()[0] == 0);
+    this.reason = reason;
+    this.argument = argument;
+    this.position = position;
+    this.line = line;
   }
 
   static JsParserException reasonAt(String reason,
                                     long index) {
-    return new JsParserException(reason + ". Current parser position is " + index);
+    return new JsParserException(reason,
+                                 null,
+                                 index,
+                                 -1,
+                                 null);
+
+  }
+
+  /**
+   * Returns the error of the given reason, a format string whose argument, or arguments if it's an array, are only
+   * formatted when the message is requested.
+   */
+  static JsParserException reasonAt(String reason,
+                                    Object argument,
+                                    long index) {
+    return new JsParserException(reason,
+                                 argument,
+                                 index,
+                                 -1,
+                                 null);
+  }
+
+  static JsParserException ofError(JsError error,
+                                   long index) {
+    return new JsParserException(ParserErrors.JS_ERROR,
+                                 error.code(),
+                                 index,
+                                 -1,
+                                 null);
+  }
+
+  static JsParserException ofMarkLimit(int limit,
+                                       long index) {
+    return new JsParserException(ParserErrors.MARK_LIMIT_EXCEEDED,
+                                 limit,
+                                 index,
+                                 -1,
+                                 null);
+  }
+
+  static JsParserException ofOneOfExhausted(JsParserException lastError,
+                                            long index) {
+    return new JsParserException(ParserErrors.ONE_OF_EXHAUSTED,
+                                 null,
+                                 index,
+                                 -1,
+                                 lastError);
+  }
+
+  static JsParserException atLine(JsParserException e,
+                                  long line) {
+    return new JsParserException(e.reason,
+                                 e.argument,
+                                 e.position,
+                                 line,
+                                 e);
+  }
+
+  /**
+   * Marks the start of a call whose errors are handled by the parser, so the exceptions thrown by the current thread
+   * don't fill in their stack trace until {@link #endHandled()} is called. Calls can be nested.
+   */
+  static void startHandled() {
+    if (STACK_TRACE) {
+      HANDLED.get()[0]++;
+    }
+  }
+
+  static void endHandled() {
+    if (STACK_TRACE) {
+      HANDLED.get()[0]--;
+    }
+  }
+
+  /**
+   * Returns true if the reader couldn't keep the bytes to go back to a mark, so trying another alternative of a
+   * {@code OneOf} is not possible and the error doesn't mean that the value doesn't conform to the alternative.
+   */
+  boolean exceedsMarkLimit() {
+    return reason == ParserErrors.MARK_LIMIT_EXCEEDED;
+  }
+
+  @Override
+  public String getMessage() {
+    String result = message;
+    if (result == null) {
+      String text = argument == null ? reason :
+                    argument instanceof Object[] arguments ? reason.formatted(arguments) :
+                    reason.formatted(argument);
+      message = result = line < 0 ?
+                         text + ". Current parser position is " + position :
+                         "Line " + line + ": " + getCause().getMessage();
+    }
+    return result;
+  }
+
+  /**
+   * Returns the position in the input (starting at 0) where the error happened.
+   *
+   * @return the position
+   */
+  public long position() {
+    return position;
+  }
+
+  /**
+   * Returns the error code when the input is a well-formed JSON that doesn't conform to a spec, for example a number
+   * out of the range of the spec or a string that is not a symbol of an enum, or null otherwise.
+   *
+   * @return the error code or null
+   */
+  public ERROR_CODE code() {
+    return argument instanceof ERROR_CODE code ? code : null;
+  }
 
+  /**
+   * Returns the number (starting at 1) of the line where the error happened when parsing newline-delimited JSON, or
+   * -1 otherwise.
+   *
+   * @return the number of the line or -1
+   * @see JsObjLinesParser
+   */
+  public long line() {
+    return line;
   }
 
 
@@ -5,6 +5,7 @@ import static jsonvalues.spec.JsReaders.READERS;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
@@ -38,9 +39,9 @@ final class JsParsers {
 
   private JsParsers() {
     newParseException = (reader, error) ->
-        JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(error),
-                                   reader.getPositionInStream()
-                                  );
+        JsParserException.ofError(error,
+                                  reader.getPositionInStream()
+                                 );
   }
 
   JsParser ofArrayOfObjSuchThat(Function<JsArray, JsError> p,
@@ -174,6 +175,7 @@ final class JsParsers {
 
   JsParser ofObjSpec(List<String> required,
                      Map<String, JsParser> keyDeserializers,
+                     KeyMatcher matcher,
                      Predicate<JsObj> predicate,
                      boolean nullable,
                      boolean strict,
@@ -185,6 +187,7 @@ final class JsParsers {
         JsObjSpecReader objSpecReader =
             new JsObjSpecReader(strict,
                                 keyDeserializers,
+                                matcher,
                                 predicate,
                                 metaData
             );
@@ -195,6 +198,7 @@ final class JsParsers {
       JsObjSpecWithRequiredKeysReader parser =
           new JsObjSpecWithRequiredKeysReader(required,
                                               keyDeserializers,
+                                              matcher,
                                               strict,
                                               predicate,
                                               metaData
@@ -409,8 +413,57 @@ final class JsParsers {
 
   }
 
+  /**
+   * Parser of strings that returns the canonical instances of the given interner.
+   */
+  JsParser ofInternedStr(final JsStrInterner interner,
+                         final boolean nullable,
+                         final StrConstraints constraints) {
+    return reader -> {
+      if (nullable && reader.wasNull()) {
+        return JsNull.NULL;
+      }
+      int len = reader.parseString();
+      // validated before being interned, so that the strings that don't conform don't evict the ones that do
+      if (constraints != null) {
+        validateStr(constraints,
+                    CharBuffer.wrap(reader.chars,
+                                    0,
+                                    len),
+                    reader
+                   );
+      }
+      return interner.intern(reader.chars,
+                             len);
+    };
+  }
+
+  /**
+   * Parser of the symbols of an enum, that returns their canonical instances. Any other string is an error.
+   */
+  JsParser ofEnum(final JsStrInterner symbols,
+                  final boolean nullable) {
+    return reader -> {
+      if (nullable && reader.wasNull()) {
+        return JsNull.NULL;
+      }
+      int len = reader.parseString();
+      JsStr symbol = symbols.intern(reader.chars,
+                                    len);
+      if (symbol == null) {
+        throw newParseException.apply(reader,
+                                      new JsError(JsStr.of(new String(reader.chars,
+                                                                      0,
+                                                                      len)),
+                                                  ERROR_CODE.ENUM_SYMBOL_EXPECTED)
+                                     );
+      }
+      return symbol;
+    };
+  }
+
   private void validateStr(final StrConstraints constraints,
-                           final String str,
+                           final CharSequence str,
                            final DslJsReader reader) {
     if (constraints.minLength > 0
         && str.length() < constraints.minLength) {
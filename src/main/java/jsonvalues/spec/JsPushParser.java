@@ -0,0 +1,528 @@
+package jsonvalues.spec;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import jsonvalues.JsArray;
+import jsonvalues.JsObj;
+import jsonvalues.JsValue;
+
+/**
+ * Non-blocking parser that is fed the bytes of a JSON value in chunks, as they arrive (for example from an asynchronous
+ * channel or HTTP client), instead of pulling them from a blocking {@link java.io.InputStream}. The parser never
+ * blocks and never waits for more input: every call to {@link #feed(ByteBuffer)} consumes the whole chunk and returns
+ * immediately, saving the state where the chunk ended so that the next chunk picks up from there, even in the middle of
+ * a string or a number.
+ * <p>
+ * Created with {@link #of()}, the objects and arrays are built as the chunks arrive, so the body is never held in
+ * memory: only the string or number being read when a chunk ends is kept. Created with {@link #of(JsSpec)}, the value
+ * is parsed with the parser of the spec, which reads from a contiguous buffer, so the bytes of the value are kept, and
+ * checked to be well-formed, until it is complete. The parser fails if the value is longer than the limit set with
+ * {@link JsIO.Builder#maxRetainedBytes(int)}, 128MB for the singleton instance.
+ *
+ * <pre>{@code
+ * JsPushParser parser = JsPushParser.of(personSpec);
+ * // for every chunk received
+ * parser.feed(chunk);
+ * // once the body has been received
+ * JsObj person = parser.endOfInput().toJsObj();
+ * }</pre>
+ * <p>
+ * A parser parses one JSON value and is not thread-safe: create a new one per input.
+ */
+public final class JsPushParser {
+
+  private static final int VALUE = 0;
+  private static final int FIRST_ELEM = 1;
+  private static final int FIRST_KEY = 2;
+  private static final int KEY = 3;
+  private static final int COLON = 4;
+  private static final int AFTER_VALUE = 5;
+  private static final int STRING = 6;
+  private static final int KEY_STRING = 7;
+  private static final int BARE_TOKEN = 8;
+  private static final int DONE = 9;
+  private static final int FAILED = 10;
+  private static final int CLOSED = 11;
+
+  /**
+   * Bytes the buffers given to the reader must have after the last byte of input
+   */
+  private static final int PADDING = 64;
+  private static final int CHUNK_SIZE = 1 << 13;
+
+  private final JsParser parser;
+  private final DslJsReader reader;
+  private final int maxRetained;
+
+  private int state = VALUE;
+  private long position;
+
+  private byte[] containers = new byte[16];
+  private Object[] builders;
+  private String[] keys;
+  private int depth;
+
+  private boolean escaped;
+  private byte[] token = new byte[PADDING];
+  private int tokenLength;
+  private long tokenPosition;
+
+  private byte[] retained;
+  private int retainedLength;
+
+  private byte[] chunk;
+  private JsValue value;
+
+  private JsPushParser(final JsParser parser,
+                       final JsIO io) {
+    this.parser = parser;
+    this.reader = io.newReader(token);
+    this.maxRetained = io.maxRetainedBytes;
+    if (parser == null) {
+      this.builders = new Object[containers.length];
+      this.keys = new String[containers.length];
+    } else {
+      this.retained = new byte[1 << 10];
+    }
+  }
+
+  /**
+   * Creates a parser of any JSON value.
+   *
+   * @return a new push parser
+   */
+  public static JsPushParser of() {
+    return of(JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a parser of any JSON value, that reads with the caches and limits of the given {@link JsIO} instance
+   * instead of the singleton one.
+   *
+   * @param io the instance created with {@link JsIO#builder()}
+   * @return a new push parser
+   */
+  public static JsPushParser of(final JsIO io) {
+    return new JsPushParser(null,
+                            requireNonNull(io));
+  }
+
+  /**
+   * Creates a parser of a JSON value that conforms to the given spec.
+   *
+   * @param spec the spec of the value
+   * @return a new push parser
+   */
+  public static JsPushParser of(final JsSpec spec) {
+    return of(spec,
+              JsIO.INSTANCE);
+  }
+
+  /**
+   * Creates a parser of a JSON value that conforms to the given spec, that reads with the caches and limits of the
+   * given {@link JsIO} instance instead of the singleton one.
+   *
+   * @param spec the spec of the value
+   * @param io   the instance created with {@link JsIO#builder()}
+   * @return a new push parser
+   */
+  public static JsPushParser of(final JsSpec spec,
+                                final JsIO io) {
+    return new JsPushParser(requireNonNull(spec).parser(),
+                            requireNonNull(io));
+  }
+
+  /**
+   * Consumes all the remaining bytes of the given chunk, leaving its position at its limit. Only whitespace is allowed
+   * after the JSON value.
+   *
+   * @param chunk the next bytes of the input
+   * @return true if the JSON value is complete, which doesn't happen until the end of the input when it's a number
+   * @throws JsParserException     if the input is not well-formed or doesn't conform to the spec
+   * @throws IllegalStateException if the parser failed or {@link #endOfInput()} was called before
+   */
+  public boolean feed(final ByteBuffer chunk) {
+    requireNonNull(chunk);
+    checkNotFinished();
+    try {
+      if (chunk.hasArray()) {
+        int from = chunk.arrayOffset() + chunk.position();
+        int to = chunk.arrayOffset() + chunk.limit();
+        chunk.position(chunk.limit());
+        feed(chunk.array(),
+             from,
+             to);
+      } else {
+        if (this.chunk == null) {
+          this.chunk = new byte[CHUNK_SIZE];
+        }
+        while (chunk.hasRemaining()) {
+          int len = Math.min(chunk.remaining(),
+                             CHUNK_SIZE);
+          chunk.get(this.chunk,
+                    0,
+                    len);
+          feed(this.chunk,
+               0,
+               len);
+        }
+      }
+      return isComplete();
+    } catch (JsParserException e) {
+      state = FAILED;
+      throw e;
+    }
+  }
+
+  /**
+   * Signals that there are no more bytes and returns the parsed value.
+   *
+   * @return the JSON value
+   * @throws JsParserException     if the input ended before the JSON value was complete
+   * @throws IllegalStateException if the parser failed or this method was called before
+   */
+  public JsValue endOfInput() {
+    checkNotFinished();
+    try {
+      if (state == BARE_TOKEN && depth == 0) {
+        completeScalar();
+      }
+      if (state != DONE) {
+        throw JsParserException.reasonAt(ParserErrors.UNEXPECTED_END_OF_JSON,
+                                         position);
+      }
+      complete();
+      state = CLOSED;
+      return value;
+    } catch (JsParserException e) {
+      state = FAILED;
+      throw e;
+    }
+  }
+
+  /**
+   * Returns true if the JSON value has been read completely. Top-level numbers are not complete until
+   * {@link #endOfInput()} is called, since more digits could follow.
+   *
+   * @return true if the JSON value is complete
+   */
+  public boolean isComplete() {
+    return state == DONE || state == CLOSED;
+  }
+
+  private void checkNotFinished() {
+    if (state == FAILED) {
+      throw new IllegalStateException("The parser failed");
+    }
+    if (state == CLOSED) {
+      throw new IllegalStateException("endOfInput() was already called");
+    }
+  }
+
+  private void feed(final byte[] bytes,
+                    final int from,
+                    final int to
+                   ) {
+    if (parser != null && state != DONE) {
+      retain(bytes,
+             from,
+             to);
+    }
+    int i = from;
+    while (i < to) {
+      switch (state) {
+        case STRING, KEY_STRING -> i = scanString(bytes,
+                                                  i,
+                                                  to);
+        case BARE_TOKEN -> i = scanBareToken(bytes,
+                                             i,
+                                             to);
+        default -> {
+          byte b = bytes[i];
+          if (b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+            structural(b,
+                       position + i - from);
+          }
+          i++;
+        }
+      }
+    }
+    position += to - from;
+    if (state == DONE) {
+      complete();
+    }
+  }
+
+  private int scanString(final byte[] bytes,
+                         final int start,
+                         final int to
+                        ) {
+    int i = start;
+    while (i < to) {
+      byte b = bytes[i];
+      if (escaped) {
+        escaped = false;
+      } else if (b == '\\') {
+        escaped = true;
+      } else if (b == '"') {
+        break;
+      }
+      i++;
+    }
+    if (i == to) {
+      appendToken(bytes,
+                  start,
+                  to);
+      return to;
+    }
+    appendToken(bytes,
+                start,
+                i + 1);
+    if (state == KEY_STRING) {
+      if (parser == null) {
+        reader.processAt(token(),
+                         tokenLength,
+                         tokenPosition);
+        reader.readNextToken();
+        keys[depth - 1] = reader.readKeyString();
+      }
+      state = COLON;
+    } else {
+      completeScalar();
+    }
+    return i + 1;
+  }
+
+  private int scanBareToken(final byte[] bytes,
+                            final int start,
+                            final int to
+                           ) {
+    int i = start;
+    while (i < to && isBare(bytes[i])) {
+      i++;
+    }
+    appendToken(bytes,
+                start,
+                i);
+    if (i < to) {
+      completeScalar();
+    }
+    return i;
+  }
+
+  private static boolean isBare(final byte b) {
+    return (b >= '0' && b <= '9') || (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z')
+           || b == '-' || b == '+' || b == '.';
+  }
+
+  private void structural(final byte b,
+                          final long bytePosition
+                         ) {
+    switch (state) {
+      case VALUE, FIRST_ELEM -> {
+        if (b == ']' && state == FIRST_ELEM) {
+          close(b,
+                bytePosition);
+        } else {
+          startValue(b,
+                     bytePosition);
+        }
+      }
+      case FIRST_KEY, KEY -> {
+        if (b == '}' && state == FIRST_KEY) {
+          close(b,
+                bytePosition);
+        } else if (b == '"') {
+          startToken(b,
+                     bytePosition);
+          state = KEY_STRING;
+        } else {
+          throw JsParserException.reasonAt(ParserErrors.EXPECTING_STRING_START,
+                                           bytePosition);
+        }
+      }
+      case COLON -> {
+        if (b != ':') {
+          throw JsParserException.reasonAt(ParserErrors.EXPECTING_COLON,
+                                           bytePosition);
+        }
+        state = VALUE;
+      }
+      case AFTER_VALUE -> {
+        if (b == ',') {
+          state = containers[depth - 1] == '{' ? KEY : VALUE;
+        } else {
+          close(b,
+                bytePosition);
+        }
+      }
+      default -> throw JsParserException.reasonAt(ParserErrors.EXPECTING_END_OF_INPUT,
+                                                  bytePosition);
+    }
+  }
+
+  private void startValue(final byte b,
+                          final long bytePosition
+                         ) {
+    if (b == '{' || b == '[') {
+      if (depth == containers.length) {
+        containers = Arrays.copyOf(containers,
+                                   depth * 2);
+        if (parser == null) {
+          builders = Arrays.copyOf(builders,
+                                   depth * 2);
+          keys = Arrays.copyOf(keys,
+                               depth * 2);
+        }
+      }
+      containers[depth] = b;
+      if (parser == null) {
+        builders[depth] = b == '{' ? JsObj.builder() : JsArray.builder();
+      }
+      depth++;
+      state = b == '{' ? FIRST_KEY : FIRST_ELEM;
+    } else if (b == '"') {
+      startToken(b,
+                 bytePosition);
+      state = STRING;
+    } else if (isBare(b)) {
+      startToken(b,
+                 bytePosition);
+      state = BARE_TOKEN;
+    } else {
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_VALUE,
+                                       bytePosition);
+    }
+  }
+
+  private void close(final byte b,
+                     final long bytePosition
+                    ) {
+    byte container = containers[depth - 1];
+    if (container == '{' && b != '}') {
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_FOR_MAP_END,
+                                       (char) b,
+                                       bytePosition);
+    }
+    if (container == '[' && b != ']') {
+      throw JsParserException.reasonAt(ParserErrors.EXPECTING_END_OF_ARRAY,
+                                       bytePosition);
+    }
+    depth--;
+    if (parser == null) {
+      Object builder = builders[depth];
+      builders[depth] = null;
+      keys[depth] = null;
+      completeValue(builder instanceof JsObj.Builder obj ? obj.build() : ((JsArray.Builder) builder).build());
+    } else {
+      state = depth == 0 ? DONE : AFTER_VALUE;
+    }
+  }
+
+  private void startToken(final byte b,
+                          final long bytePosition
+                         ) {
+    token[0] = b;
+    tokenLength = 1;
+    tokenPosition = bytePosition;
+    escaped = false;
+  }
+
+  private void appendToken(final byte[] bytes,
+                           final int from,
+                           final int to
+                          ) {
+    if (parser != null) {
+      return;
+    }
+    int len = to - from;
+    if (tokenLength + len + PADDING > token.length) {
+      token = Arrays.copyOf(token,
+                            Math.max(token.length * 2,
+                                     tokenLength + len + PADDING));
+    }
+    System.arraycopy(bytes,
+                     from,
+                     token,
+                     tokenLength,
+                     len);
+    tokenLength += len;
+  }
+
+  private byte[] token() {
+    token[tokenLength] = '\0';
+    return token;
+  }
+
+  private void completeScalar() {
+    if (parser == null) {
+      reader.processAt(token(),
+                       tokenLength,
+                       tokenPosition);
+      reader.readNextToken();
+      JsValue scalar = JsReaders.READERS.valueReader.value(reader);
+      reader.checkEndOfInput();
+      completeValue(scalar);
+    } else {
+      state = depth == 0 ? DONE : AFTER_VALUE;
+    }
+  }
+
+  private void completeValue(final JsValue completed) {
+    if (depth == 0) {
+      value = completed;
+      state = DONE;
+    } else {
+      Object builder = builders[depth - 1];
+      if (builder instanceof JsObj.Builder obj) {
+        obj.set(keys[depth - 1],
+                completed);
+      } else {
+        ((JsArray.Builder) builder).append(completed);
+      }
+      state = AFTER_VALUE;
+    }
+  }
+
+  private void retain(final byte[] bytes,
+                      final int from,
+                      final int to
+                     ) {
+    int len = to - from;
+    if (len > maxRetained - retainedLength) {
+      throw JsParserException.reasonAt(ParserErrors.RETAINED_LIMIT_EXCEEDED,
+                                       maxRetained,
+                                       position + maxRetained - retainedLength);
+    }
+    if (retainedLength + len + PADDING > retained.length) {
+      retained = Arrays.copyOf(retained,
+                               (int) Math.min(Math.max(retained.length * 2L,
+                                                       retainedLength + len + PADDING),
+                                              (long) maxRetained + PADDING));
+    }
+    System.arraycopy(bytes,
+                     from,
+                     retained,
+                     retainedLength,
+                     len);
+    retainedLength += len;
+  }
+
+  /**
+   * Parses the retained bytes with the parser of the spec once the value is complete
+   */
+  private void complete() {
+    if (parser != null && value == null) {
+      retained[retainedLength] = '\0';
+      reader.processAt(retained,
+                       retainedLength,
+                       0);
+      reader.readNextToken();
+      value = parser.parse(reader);
+      reader.checkEndOfInput();
+      retained = null;
+    }
+  }
+}
@@ -61,10 +61,9 @@ public sealed interface JsSpec permits JsArraySpec, JsMapOfBigInt, JsMapOfBinary
    * @throws JsParserException If the parsed value does not conform to this spec.
    */
   default JsValue parse(final String json) throws JsParserException {
-    var reader = JsIO.INSTANCE.createReader(Objects.requireNonNull(json)
-                                                   .getBytes(StandardCharsets.UTF_8));
-    reader.readNextToken();
-    return parser().parse(reader);
+    return JsIO.INSTANCE.parseToJsValue(Objects.requireNonNull(json)
+                                               .getBytes(StandardCharsets.UTF_8),
+                                        parser());
   }
 
   /**
@@ -19,7 +19,9 @@ import java.math.BigInteger;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.function.DoublePredicate;
 import java.util.function.IntPredicate;
@@ -364,6 +366,34 @@ public final class JsSpecs {
                          schema.build());
   }
 
+  /**
+   * non-nullable string with a few distinct values, like country codes, statuses or currencies. The parser keeps the
+   * last 256 distinct values it parsed, and returns the same {@link JsStr} instance every time one of them is parsed
+   * again, so the parsed documents share them instead of holding a copy each.
+   *
+   * @return a spec
+   * @see #lowCardinalityStr(int)
+   */
+  public static JsSpec lowCardinalityStr() {
+    return lowCardinalityStr(256);
+  }
+
+  /**
+   * non-nullable string with a few distinct values, like country codes, statuses or currencies. The parser keeps up
+   * to the given number of distinct values, and returns the same {@link JsStr} instance every time one of them is
+   * parsed again, so the parsed documents share them instead of holding a copy each. Two values with the same hash
+   * can be kept, and a third one evicts the oldest.
+   *
+   * @param capacity maximum number of distinct values kept by the parser, a power of two greater than one
+   * @return a spec
+   * @throws IllegalArgumentException if the capacity is not a power of two greater than one
+   */
+  public static JsSpec lowCardinalityStr(final int capacity) {
+    return new JsStrSpec(false,
+                         null,
+                         JsStrInterner.bounded(capacity));
+  }
+
 
   /**
    * non-nullable array of integer numbers. The array must satisfy the given schema (min and max item, unique elements
@@ -1320,6 +1350,34 @@ public final class JsSpecs {
                      requireNonNull(specs));
   }
 
+  /**
+   * Returns a specification of a discriminated union: JSON objects whose string value of the given key tells which of
+   * the given specifications they conform to. Every specification gets the key as a required field bound to its tag,
+   * so the generated values and the JSON Schema include it. Unlike {@link #oneSpecOf(List)}, that tries the
+   * specifications in order until one of them matches, the parser reads the value of the key and parses the object
+   * only once, with the specification of that value. The fields before the key are skipped and read again, so placing
+   * the key first is the fastest.
+   *
+   * @param discriminatorKey the key whose value is the tag of the specification
+   * @param specs            the specification of every tag
+   * @return A specification that checks if a JSON object conforms to the specification of its tag.
+   * @throws IllegalArgumentException if there are no specifications
+   */
+  public static JsSpec oneSpecOf(final String discriminatorKey,
+                                 final Map<String, JsObjSpec> specs) {
+    requireNonNull(discriminatorKey);
+    if (requireNonNull(specs).isEmpty()) {
+      throw new IllegalArgumentException("specs is empty");
+    }
+    Map<String, JsObjSpec> cases = new LinkedHashMap<>();
+    specs.forEach((tag, spec) -> cases.put(requireNonNull(tag),
+                                           requireNonNull(spec).withTag(discriminatorKey,
+                                                                        tag)));
+    return new OneOf(false,
+                     discriminatorKey,
+                     cases);
+  }
+
 
   /**
    * Returns a specification that validates if a JSON value is one of the given possible specifications.
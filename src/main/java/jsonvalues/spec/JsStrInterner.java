@@ -0,0 +1,145 @@
+package jsonvalues.spec;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import jsonvalues.JsStr;
+
+/**
+ * Canonical {@link JsStr} instances of the values of a spec, looked up right from the characters decoded by the reader.
+ * Parsing a value that is already there creates neither a string nor a {@code JsStr}, and all the parsed documents
+ * share the same instance, which cuts the heap used by big collections of documents with repeated values (country
+ * codes, statuses, currencies...).
+ */
+interface JsStrInterner {
+
+  /**
+   * Returns the interner of the given symbols, that never changes.
+   */
+  static JsStrInterner ofSymbols(final List<String> symbols) {
+    return new Symbols(symbols);
+  }
+
+  /**
+   * Returns an interner that keeps up to the given number of values, a power of two greater than one.
+   */
+  static JsStrInterner bounded(final int capacity) {
+    return new Bounded(capacity);
+  }
+
+  private static int hash(final char[] chars,
+                          final int len) {
+    int hash = 0x811c9dc5;
+    for (int i = 0; i < len; i++) {
+      hash = (hash ^ chars[i]) * 0x1000193;
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static boolean matches(final JsStr value,
+                                 final char[] chars,
+                                 final int len) {
+    if (value == null || value.value.length() != len) {
+      return false;
+    }
+    for (int i = 0; i < len; i++) {
+      if (value.value.charAt(i) != chars[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the canonical instance of the first {@code len} characters of the given array, or null if it's not there
+   * and the interner doesn't take new values.
+   */
+  JsStr intern(char[] chars,
+               int len);
+
+  /**
+   * The symbols of an enum, in an open-addressing table at most half full. Values that are not symbols are not added,
+   * so a null result is an invalid symbol.
+   */
+  final class Symbols implements JsStrInterner {
+
+    private final JsStr[] table;
+
+    Symbols(final List<String> symbols) {
+      this.table = new JsStr[Integer.highestOneBit(Math.max(1,
+                                                            2 * symbols.size() - 1)) << 1];
+      for (String symbol : symbols) {
+        char[] chars = symbol.toCharArray();
+        int i = hash(chars,
+                     chars.length) & (table.length - 1);
+        while (table[i] != null && !table[i].value.equals(symbol)) {
+          i = (i + 1) & (table.length - 1);
+        }
+        table[i] = JsStr.of(symbol);
+      }
+    }
+
+    @Override
+    public JsStr intern(final char[] chars,
+                        final int len) {
+      int i = hash(chars,
+                   len) & (table.length - 1);
+      while (table[i] != null) {
+        if (matches(table[i],
+                    chars,
+                    len)) {
+          return table[i];
+        }
+        i = (i + 1) & (table.length - 1);
+      }
+      return null;
+    }
+  }
+
+  /**
+   * Fixed number of values shared by all the threads, in sets of two slots like {@link ConcurrentStringCache}: the
+   * newest value goes into the first slot and the previous one into the second one, evicting the oldest. A value that
+   * is evicted and parsed again gets a new canonical instance, so it's meant for fields with a few distinct values.
+   */
+  final class Bounded implements JsStrInterner {
+
+    private final AtomicReferenceArray<JsStr> slots;
+    private final int mask;
+
+    Bounded(final int capacity) {
+      if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+        throw new IllegalArgumentException("capacity must be a power of two greater than 1");
+      }
+      this.slots = new AtomicReferenceArray<>(capacity);
+      this.mask = capacity / 2 - 1;
+    }
+
+    @Override
+    public JsStr intern(final char[] chars,
+                        final int len) {
+      int first = (hash(chars,
+                        len) & mask) * 2;
+      JsStr value = slots.getAcquire(first);
+      if (matches(value,
+                  chars,
+                  len)) {
+        return value;
+      }
+      JsStr previous = slots.getAcquire(first + 1);
+      if (matches(previous,
+                  chars,
+                  len)) {
+        return previous;
+      }
+      JsStr created = JsStr.of(new String(chars,
+                                          0,
+                                          len));
+      JsStr demoted = slots.getAndSet(first,
+                                      created);
+      if (demoted != null) {
+        slots.setRelease(first + 1,
+                         demoted);
+      }
+      return created;
+    }
+  }
+}
@@ -19,9 +19,9 @@ final class JsStrReader extends AbstractReader {
     if (result == null) {
       return JsStr.of(value);
     }
-    throw JsParserException.reasonAt(ParserErrors.JS_ERROR_2_STR.apply(result),
-                                     reader.getPositionInStream()
-                                    );
+    throw JsParserException.ofError(result,
+                                    reader.getPositionInStream()
+                                   );
   }
 
 }
@@ -8,6 +8,11 @@ final class JsStrSpec extends AbstractNullable implements JsOneErrorSpec, AvroSp
 
   final StrConstraints constraints;
 
+  /**
+   * canonical instances of the parsed values, or null if every value is a new instance
+   */
+  final JsStrInterner interner;
+
   JsStrSpec(final boolean nullable) {
     this(nullable,
          null);
@@ -15,20 +20,34 @@ final class JsStrSpec extends AbstractNullable implements JsOneErrorSpec, AvroSp
 
   JsStrSpec(final boolean nullable,
             final StrConstraints constraints) {
+    this(nullable,
+         constraints,
+         null);
+  }
+
+  JsStrSpec(final boolean nullable,
+            final StrConstraints constraints,
+            final JsStrInterner interner) {
     super(nullable);
     this.constraints = constraints;
+    this.interner = interner;
   }
 
   @Override
   public JsSpec nullable() {
     return new JsStrSpec(true,
-                         constraints);
+                         constraints,
+                         interner);
   }
 
 
   @Override
   public JsParser parser() {
-    return JsParsers.INSTANCE.ofStr(nullable,
+    return interner != null ?
+           JsParsers.INSTANCE.ofInternedStr(interner,
+                                            nullable,
+                                            constraints) :
+           JsParsers.INSTANCE.ofStr(nullable,
                                     constraints);
   }
 
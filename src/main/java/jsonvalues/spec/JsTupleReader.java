@@ -32,19 +32,19 @@ final class JsTupleReader {
     if (reader.last() == ']') {
       return JsArray.empty();
     }
-    JsArray buffer = JsArray.empty();
+    JsArray.Builder buffer = JsArray.builder();
     int i = 0;
-    buffer = buffer.append(parsers.get(i)
-                                  .parse(reader));
+    buffer.append(parsers.get(i)
+                         .parse(reader));
     while (reader.readNextToken() == ',') {
       i = i + 1;
       reader.readNextToken();
-      buffer = buffer.append(parsers.get(i)
-                                    .parse(reader));
+      buffer.append(parsers.get(i)
+                           .parse(reader));
 
     }
     reader.checkArrayEnd();
-    return buffer;
+    return buffer.build();
 
   }
 
@@ -50,7 +50,7 @@ final class JsValueWritter {
                             arr
                            );
     } else if (value instanceof JsDouble d) {
-      NumberConverter.serialize(d.toJsBigDec().value,
+      NumberConverter.serialize(d.value,
                                 writer
                                );
     } else if (value instanceof JsBigDec bd) {
@@ -76,7 +76,7 @@ final class JsValueWritter {
         writer.writeBinary(xs);
       }
     } else if (value instanceof JsInstant instant) {
-      writer.writeString(instant.value.toString());
+      writer.writeInstant(instant.value);
     } else if (value instanceof JsNothing) {
       writer.writeString("");
     }
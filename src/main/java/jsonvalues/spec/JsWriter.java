@@ -4,6 +4,7 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.time.Instant;
 import java.util.Arrays;
 
 /**
@@ -338,6 +339,31 @@ class JsWriter {
     position += len;
   }
 
+  /**
+   * Write an instant as a quoted string, in the format of {@link java.time.Instant#toString()}. Instants of years with
+   * four digits are written without creating any string.
+   *
+   * @param value instant to write
+   */
+  void writeInstant(Instant value) {
+    long seconds = value.getEpochSecond();
+    if (seconds < Iso8601.MIN_SECOND || seconds > Iso8601.MAX_SECOND) {
+      writeString(value.toString());
+      return;
+    }
+    if (position + Iso8601.MAX_LENGTH + 2 >= buffer.length) {
+      enlargeOrFlush(position,
+                     Iso8601.MAX_LENGTH + 2);
+    }
+    byte[] _result = buffer;
+    _result[position] = QUOTE;
+    int cur = Iso8601.write(_result,
+                            position + 1,
+                            seconds,
+                            value.getNano());
+    _result[cur] = QUOTE;
+    position = cur + 1;
+  }
 
   /**
    * Encode bytes as Base 64. Provided value can't be null.
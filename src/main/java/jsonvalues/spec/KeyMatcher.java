@@ -0,0 +1,219 @@
+package jsonvalues.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Perfect hash of the keys of an object spec, and of their aliases, over their UTF-8 bytes. It's built once per spec
+ * and finds the key and its parser right from the bytes in the reader's buffer ({@link DslJsReader#matchKey}), so
+ * known keys are neither decoded nor looked up in the key cache and the parsers map.
+ * <p>
+ * The names are hashed into buckets of a few names, and every bucket has a displacement, found when the matcher
+ * is built, that sends its names to free slots of a table at least twice as big as the number of names (the
+ * hash-and-displace scheme of the CHD algorithm). A lookup is then one pass over the bytes to hash them, and one
+ * comparison with the only name that can be in its slot.
+ */
+final class KeyMatcher {
+
+  private static final int MAX_SEEDS = 100;
+  private static final int MAX_DISPLACEMENT = 10_000;
+
+  /**
+   * the canonical key and the parser of every name
+   */
+  final String[] keys;
+  final JsParser[] parsers;
+  private final byte[][] names;
+  private final int[] table;
+  private final int[] displacements;
+  private final int seed;
+
+  private KeyMatcher(final String[] keys,
+                     final JsParser[] parsers,
+                     final byte[][] names,
+                     final int[] table,
+                     final int[] displacements,
+                     final int seed) {
+    this.keys = keys;
+    this.parsers = parsers;
+    this.names = names;
+    this.table = table;
+    this.displacements = displacements;
+    this.seed = seed;
+  }
+
+  /**
+   * Returns the matcher of the given keys and their aliases, or null if there are no keys or no seed is found to hash
+   * them without collisions (names with the same hash whatever the seed), in which case the keys are read as
+   * strings.
+   */
+  static KeyMatcher of(final Map<String, JsParser> parsers,
+                       final MetaData metadata) {
+    if (parsers.isEmpty()) {
+      return null;
+    }
+    List<String> keys = new ArrayList<>();
+    List<JsParser> keyParsers = new ArrayList<>();
+    List<byte[]> names = new ArrayList<>();
+    Set<String> aliases = new HashSet<>();
+    parsers.forEach((key, parser) -> {
+      keys.add(key);
+      keyParsers.add(parser);
+      names.add(key.getBytes(StandardCharsets.UTF_8));
+    });
+    if (metadata != null && metadata.fieldsAliases() != null) {
+      metadata.fieldsAliases()
+              .forEach((key, fieldAliases) -> {
+                JsParser parser = parsers.get(key);
+                for (String alias : fieldAliases) {
+                  // keys take precedence over aliases, and the first field of an alias over the rest, as when they
+                  // are looked up in the map and the metadata
+                  if (parser != null && !parsers.containsKey(alias) && aliases.add(alias)) {
+                    keys.add(key);
+                    keyParsers.add(parser);
+                    names.add(alias.getBytes(StandardCharsets.UTF_8));
+                  }
+                }
+              });
+    }
+    byte[][] nameBytes = names.toArray(new byte[0][]);
+    int[] table = new int[Integer.highestOneBit(2 * nameBytes.length - 1) << 1];
+    int[] displacements = new int[Math.max(1,
+                                           table.length / 8)];
+    for (int n = 0; n < MAX_SEEDS; n++) {
+      int seed = 0x01000193 + 2 * n;
+      if (fill(table,
+               displacements,
+               nameBytes,
+               seed)) {
+        return new KeyMatcher(keys.toArray(new String[0]),
+                              keyParsers.toArray(new JsParser[0]),
+                              nameBytes,
+                              table,
+                              displacements,
+                              seed);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Finds the displacement of every bucket, from the biggest to the smallest one, so that its names fall in free slots
+   */
+  private static boolean fill(final int[] table,
+                              final int[] displacements,
+                              final byte[][] names,
+                              final int seed) {
+    Arrays.fill(table,
+                -1);
+    int[] hashes = new int[names.length];
+    List<List<Integer>> buckets = new ArrayList<>();
+    for (int i = 0; i < displacements.length; i++) {
+      buckets.add(new ArrayList<>());
+    }
+    for (int i = 0; i < names.length; i++) {
+      hashes[i] = hash(names[i],
+                       0,
+                       names[i].length,
+                       seed);
+      buckets.get(hashes[i] & (displacements.length - 1))
+             .add(i);
+    }
+    List<Integer> order = new ArrayList<>();
+    for (int i = 0; i < displacements.length; i++) {
+      order.add(i);
+    }
+    order.sort((a, b) -> buckets.get(b)
+                                .size() - buckets.get(a)
+                                                 .size());
+    int[] slots = new int[names.length];
+    for (int bucket : order) {
+      List<Integer> members = buckets.get(bucket);
+      displacements[bucket] = -1;
+      for (int d = 0; d < MAX_DISPLACEMENT && displacements[bucket] < 0; d++) {
+        if (place(table,
+                  members,
+                  hashes,
+                  slots,
+                  d)) {
+          displacements[bucket] = d;
+        }
+      }
+      if (displacements[bucket] < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean place(final int[] table,
+                               final List<Integer> members,
+                               final int[] hashes,
+                               final int[] slots,
+                               final int displacement) {
+    for (int m = 0; m < members.size(); m++) {
+      int i = members.get(m);
+      slots[i] = slot(hashes[i],
+                      displacement,
+                      table.length);
+      if (table[slots[i]] >= 0) {
+        for (int j = 0; j < m; j++) {
+          table[slots[members.get(j)]] = -1;
+        }
+        return false;
+      }
+      table[slots[i]] = i;
+    }
+    return true;
+  }
+
+  private static int hash(final byte[] bytes,
+                          final int from,
+                          final int to,
+                          final int seed) {
+    int h = to - from;
+    for (int i = from; i < to; i++) {
+      h = (h ^ bytes[i]) * seed;
+    }
+    return h ^ (h >>> 16);
+  }
+
+  private static int slot(final int hash,
+                          final int displacement,
+                          final int size) {
+    // murmur3 finalizer, so that every displacement moves the names of a bucket to unrelated slots
+    int h = hash ^ (displacement * 0x9E3779B9);
+    h ^= h >>> 16;
+    h *= 0x85EBCA6B;
+    h ^= h >>> 13;
+    h *= 0xC2B2AE35;
+    h ^= h >>> 16;
+    return h & (size - 1);
+  }
+
+  /**
+   * Returns the index of the name whose UTF-8 bytes are the ones in {@code [from, to)}, or -1 if there is none
+   */
+  int indexOf(final byte[] bytes,
+              final int from,
+              final int to) {
+    int h = hash(bytes,
+                 from,
+                 to,
+                 seed);
+    int i = table[slot(h,
+                       displacements[h & (displacements.length - 1)],
+                       table.length)];
+    return i >= 0 && Arrays.equals(names[i],
+                                   0,
+                                   names[i].length,
+                                   bytes,
+                                   from,
+                                   to) ? i : -1;
+  }
+}
@@ -56,7 +56,8 @@ abstract class NumberConverter {
                              ) {
     int len = end - start;
     if (len > reader.maxNumberDigits) {
-      throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS.formatted(len),
+      throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS,
+                                       len,
                                        reader.getCurrentIndex()
                                       );
     }
@@ -75,7 +76,8 @@ abstract class NumberConverter {
       end--;
     }
     if (end > reader.maxNumberDigits) {
-      throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS.formatted(end),
+      throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS,
+                                       end,
                                        reader.getCurrentIndex()
                                       );
     }
@@ -119,7 +121,8 @@ abstract class NumberConverter {
       int oldLen = len;
       len += end;
       if (len > reader.maxNumberDigits) {
-        throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS.formatted(len),
+        throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS,
+                                         len,
                                          reader.getCurrentIndex()
                                         );
       }
@@ -713,6 +716,26 @@ abstract class NumberConverter {
     sw.writeAscii(value.toString());
   }
 
+  /**
+   * Writes the shortest decimal that rounds to the given double, as {@code BigDecimal.valueOf(value).toString()} does
+   * but without creating any object. NaN and infinities are not JSON numbers and throw a NumberFormatException.
+   */
+  public static void serialize(double value,
+                               JsWriter sw
+                              ) {
+    if (!Double.isFinite(value)) {
+      serialize(BigDecimal.valueOf(value),
+                sw);
+      return;
+    }
+    byte[] buf = sw.ensureCapacity(Schubfach.MAX_LENGTH);
+    int position = sw.size();
+    int current = Schubfach.serialize(buf,
+                                      position,
+                                      value);
+    sw.advance(current - position);
+  }
+
   public static BigDecimal deserializeDecimal(DslJsReader reader) throws JsParserException {
     int start = reader.scanNumber();
     int end = reader.getCurrentIndex();
@@ -1450,6 +1473,17 @@ abstract class NumberConverter {
                                     final int start,
                                     final int end,
                                     final int offset) {
+    // exact precisions use Eisel-Lemire unless the number may continue in the next block or is too long
+    if (reader.doublePrecision.level <= JsIO.DoublePrecision.HIGH.level
+        && end != reader.length() && end - start - offset <= reader.maxNumberDigits) {
+      final double value = EiselLemire.parse(buf,
+                                             start + offset,
+                                             end,
+                                             reader);
+      if (!Double.isNaN(value)) {
+        return value;
+      }
+    }
     if (end - start - offset > reader.doubleLengthLimit) {
       if (end == reader.length()) {
         final NumberInfo tmp = readLongNumber(reader,
@@ -1578,7 +1612,7 @@ abstract class NumberConverter {
                               offset,
                               i);
       }
-      if (reader.doublePrecision == DslJsReader.DoublePrecision.HIGH) {
+      if (reader.doublePrecision == JsIO.DoublePrecision.HIGH) {
         return parseDoubleGeneric(reader.prepareBuffer(start + offset,
                                                        end - start - offset),
                                   end - start - offset,
@@ -1663,7 +1697,7 @@ abstract class NumberConverter {
                                        int end,
                                        int offset,
                                        int i) {
-    if (reader.doublePrecision == DslJsReader.DoublePrecision.EXACT) {
+    if (reader.doublePrecision == JsIO.DoublePrecision.EXACT) {
       return parseDoubleGeneric(reader.prepareBuffer(start + offset,
                                                      end - start - offset),
                                 end - start - offset,
@@ -1697,7 +1731,7 @@ abstract class NumberConverter {
         return whole * POW_10[exp - 1];
       } else if (exp < 0 && -exp < POW_10.length) {
         return whole / POW_10[-exp - 1];
-      } else if (reader.doublePrecision != DslJsReader.DoublePrecision.HIGH) {
+      } else if (reader.doublePrecision != JsIO.DoublePrecision.HIGH) {
         if (exp > 0 && exp < 300) {
           return whole * Math.pow(10,
                                   exp);
@@ -1713,7 +1747,7 @@ abstract class NumberConverter {
         return fraction * POW_10[exp - 1] + whole * POW_10[exp - 1];
       } else if (exp < 0 && -exp < POW_10.length) {
         return fraction / POW_10[-exp - 1] + whole / POW_10[-exp - 1];
-      } else if (reader.doublePrecision != DslJsReader.DoublePrecision.HIGH) {
+      } else if (reader.doublePrecision != JsIO.DoublePrecision.HIGH) {
         if (exp > 0 && exp < 300) {
           return whole * Math.pow(10,
                                   exp);
@@ -1737,7 +1771,8 @@ abstract class NumberConverter {
       end--;
     }
     if (end > reader.maxNumberDigits) {
-      throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS.formatted(end),
+      throw JsParserException.reasonAt(ParserErrors.TOO_MANY_DIGITS,
+                                       end,
                                        reader.getCurrentIndex()
                                       );
     }
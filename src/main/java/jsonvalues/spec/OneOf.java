@@ -1,7 +1,9 @@
 package jsonvalues.spec;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import jsonvalues.JsNull;
 import jsonvalues.JsPath;
 import jsonvalues.JsValue;
@@ -10,22 +12,65 @@ final class OneOf extends AbstractNullable implements JsSpec, AvroSpec {
 
   final List<? extends JsSpec> specs;
 
+  /**
+   * key whose value tells the spec of the object, or null if the specs are tried in order
+   */
+  final String discriminator;
+
+  /**
+   * spec of every value of the discriminator, with the discriminator bound to it (null if there is no discriminator)
+   */
+  final Map<String, JsObjSpec> cases;
+
+  /**
+   * candidates of every value, built once from the specs (null if there is a discriminator)
+   */
+  private final OneOfLookahead lookahead;
+
+  /**
+   * parser of every value of the discriminator, built once from the cases (null if there is no discriminator)
+   */
+  private final Map<String, JsParser> caseParsers;
+
   OneOf(boolean nullable,
         List<? extends JsSpec> specs) {
     super(nullable);
     this.specs = specs;
+    this.discriminator = null;
+    this.cases = null;
+    this.lookahead = new OneOfLookahead(specs);
+    this.caseParsers = null;
+  }
+
+  OneOf(boolean nullable,
+        String discriminator,
+        Map<String, JsObjSpec> cases) {
+    super(nullable);
+    this.specs = List.copyOf(cases.values());
+    this.discriminator = discriminator;
+    this.cases = cases;
+    this.lookahead = null;
+    this.caseParsers = new HashMap<>();
+    cases.forEach((tag, spec) -> caseParsers.put(tag,
+                                                 spec.parser()));
   }
 
 
   @Override
   public JsSpec nullable() {
-    return new OneOf(true,
-                     specs);
+    return discriminator == null ?
+           new OneOf(true,
+                     specs) :
+           new OneOf(true,
+                     discriminator,
+                     cases);
   }
 
   @Override
   public JsParser parser() {
-
+    if (discriminator != null) {
+      return discriminatedParser();
+    }
     return reader -> {
       if (reader.wasNull()) {
         if (nullable) {
@@ -35,42 +80,110 @@ final class OneOf extends AbstractNullable implements JsSpec, AvroSpec {
         }
       }
       return parse(reader,
-                   0);
+                   lookahead.candidates(reader));
     };
   }
 
+  /**
+   * Tries the candidates in order. If none of them matches, the error is {@link ParserErrors#ONE_OF_EXHAUSTED}, caused
+   * by the error of the last candidate, or of the last alternative if the lookahead discarded all of them.
+   */
   private JsValue parse(DslJsReader reader,
-                        int i) {
-    if (i >= specs.size()) {
+                        JsParser[] candidates) {
+    if (candidates.length == 0) {
+      candidates = lookahead.lastAlternative();
+    }
+    if (candidates.length == 0) {
       throw JsParserException.reasonAt(ParserErrors.ONE_OF_EXHAUSTED,
                                        reader.getPositionInStream()
                                       );
     }
-    JsSpec spec = specs.get(i);
-    if (i < specs.size() - 1) {
+    int last = candidates.length - 1;
+    for (int i = 0; i < last; i++) {
+      // the errors of every alternative but the last one are discarded, so they don't need a stack trace
       reader.setMark();
+      JsParserException.startHandled();
+      try {
+        JsValue value = candidates[i].parse(reader);
+        reader.releaseMark();
+        return value;
+      } catch (JsParserException e) {
+        reader.rollbackToMark();
+        if (e.exceedsMarkLimit()) {
+          throw e;
+        }
+      } finally {
+        JsParserException.endHandled();
+      }
     }
     try {
-      return spec.parser()
-                 .parse(reader);
+      return candidates[last].parse(reader);
     } catch (JsParserException e) {
-      assert debug(i,
-                   e);
-      if (i < specs.size() - 1) {
-        reader.rollbackToMark();
+      if (e.exceedsMarkLimit()) {
+        throw e;
       }
-      return parse(reader,
-                   i + 1);
+      throw JsParserException.ofOneOfExhausted(e,
+                                               reader.getPositionInStream());
     }
   }
 
-  private boolean debug(int i,
-                        JsParserException e) {
-    System.out.printf("OneOf %d trie: %s. Keep trying with the next one spec%n",
-                      i,
-                      e.getMessage());
-    return i >= 0;
+  /**
+   * Reads the value of the discriminator and parses the object once, with the parser of its spec. The fields before the
+   * discriminator are skipped without being decoded, and read again by that parser.
+   */
+  private JsParser discriminatedParser() {
+    return reader -> {
+      if (reader.wasNull()) {
+        if (nullable) {
+          return JsNull.NULL;
+        } else {
+          throw reader.newParseError(ParserErrors.INVALID_NULL);
+        }
+      }
+      if (reader.last() != '{') {
+        throw reader.newParseError(ParserErrors.EXPECTING_FOR_OBJ_START,
+                                   (char) reader.last(),
+                                   0);
+      }
+      String tag = readTag(reader);
+      if (tag == null) {
+        throw reader.newParseError(ParserErrors.DISCRIMINATOR_NOT_FOUND,
+                                   discriminator,
+                                   0);
+      }
+      JsParser parser = caseParsers.get(tag);
+      if (parser == null) {
+        throw reader.newParseError(ParserErrors.UNKNOWN_DISCRIMINATOR,
+                                   new Object[]{tag, discriminator},
+                                   0);
+      }
+      return parser.parse(reader);
+    };
+  }
 
+  /**
+   * Returns the value of the discriminator of the object whose '{' is the last byte read, or null if it's not there or
+   * it's not a string, and goes back to the start of the object
+   */
+  private String readTag(DslJsReader reader) {
+    reader.setMark();
+    try {
+      byte token = reader.readNextToken();
+      while (token == '"') {
+        String key = reader.readKey();
+        if (key.equals(discriminator)) {
+          return reader.last() == '"' ? reader.readString() : null;
+        }
+        reader.skipValue();
+        if (reader.readNextToken() != ',') {
+          return null;
+        }
+        token = reader.readNextToken();
+      }
+      return null;
+    } finally {
+      reader.rollbackToMark();
+    }
   }
 
   @Override
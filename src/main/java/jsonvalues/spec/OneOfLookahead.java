@@ -0,0 +1,203 @@
+package jsonvalues.spec;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Parsers of the alternatives of a {@link OneOf} that can match a value, computed once from their specs by the first
+ * token of the value and, for objects, by their first key. The parser of a {@code OneOf} only tries those, so the
+ * alternatives that can't match neither set a mark nor throw an exception. Alternatives whose values are not known
+ * in advance, like named specs or specs of any value, are always tried.
+ */
+final class OneOfLookahead {
+
+  static final int OBJ = 1;
+  static final int ARR = 1 << 1;
+  static final int STR = 1 << 2;
+  static final int NUM = 1 << 3;
+  static final int BOOL = 1 << 4;
+  static final int ANY = OBJ | ARR | STR | NUM | BOOL;
+
+  private static final int TOKENS = 5;
+
+  /**
+   * candidates of every kind of token (index of its bit), and all the parsers for the bytes that don't start a value
+   */
+  private final JsParser[][] byToken = new JsParser[TOKENS + 1][];
+
+  /**
+   * candidates of the objects by their first key, or null if the first key doesn't discard any alternative
+   */
+  private final Map<String, JsParser[]> byFirstKey;
+  private final JsParser[] ofUnknownFirstKey;
+  private final JsParser[] ofEmptyObj;
+  private final JsParser[] lastAlternative;
+
+  OneOfLookahead(final List<? extends JsSpec> specs) {
+    JsParser[] parsers = specs.stream()
+                              .map(JsSpec::parser)
+                              .toArray(JsParser[]::new);
+    int[] tokens = specs.stream()
+                        .mapToInt(OneOfLookahead::firstTokens)
+                        .toArray();
+    for (int t = 0; t < TOKENS; t++) {
+      int bit = 1 << t;
+      byToken[t] = select(parsers,
+                          i -> (tokens[i] & bit) != 0);
+    }
+    byToken[TOKENS] = parsers;
+    lastAlternative = parsers.length == 0 ? parsers : new JsParser[]{parsers[parsers.length - 1]};
+
+    IntPredicate isObj = i -> (tokens[i] & OBJ) != 0;
+    Map<String, JsParser[]> keys = new HashMap<>();
+    for (JsSpec spec : specs) {
+      if (spec instanceof JsObjSpec objSpec && objSpec.strict) {
+        for (String key : acceptedKeys(objSpec)) {
+          keys.computeIfAbsent(key,
+                               k -> select(parsers,
+                                           isObj.and(i -> acceptsFirstKey(specs.get(i),
+                                                                          k))));
+        }
+      }
+    }
+    this.ofUnknownFirstKey = select(parsers,
+                                    isObj.and(i -> acceptsFirstKey(specs.get(i),
+                                                                   null)));
+    this.ofEmptyObj = select(parsers,
+                             isObj.and(i -> acceptsEmptyObj(specs.get(i))));
+    boolean discards = ofUnknownFirstKey.length < byToken[0].length
+                       || ofEmptyObj.length < byToken[0].length
+                       || keys.values()
+                              .stream()
+                              .anyMatch(it -> it.length < byToken[0].length);
+    this.byFirstKey = byToken[0].length > 1 && discards ? keys : null;
+  }
+
+  /**
+   * Returns the tokens that can start a value of the given spec, as a combination of the bits of this class. Null is
+   * left out, since it's handled by the nullable flag of the {@code OneOf}.
+   */
+  static int firstTokens(final JsSpec spec) {
+    return switch (spec) {
+      case JsObjSpec ignored -> OBJ;
+      case IsJsObj ignored -> OBJ;
+      case JsObjSuchThat ignored -> OBJ;
+      case AbstractMap ignored -> OBJ;
+      case JsArraySpec ignored -> ARR;
+      case JsStrSpec ignored -> STR;
+      case JsStrSuchThat ignored -> STR;
+      case JsEnum ignored -> STR;
+      case JsInstantSpec ignored -> STR;
+      case JsInstantSuchThat ignored -> STR;
+      case JsBinarySpec ignored -> STR;
+      case JsBinarySuchThat ignored -> STR;
+      case JsFixedBinary ignored -> STR;
+      case JsIntSpec ignored -> NUM;
+      case JsIntSuchThat ignored -> NUM;
+      case JsLongSpec ignored -> NUM;
+      case JsLongSuchThat ignored -> NUM;
+      case JsBigIntSpec ignored -> NUM;
+      case JsBigIntSuchThat ignored -> NUM;
+      case JsDoubleSpec ignored -> NUM;
+      case JsDoubleSuchThat ignored -> NUM;
+      case JsDecimalSpec ignored -> NUM;
+      case JsDecimalSuchThat ignored -> NUM;
+      case JsBooleanSpec ignored -> BOOL;
+      case Cons cons -> cons.value.isStr() ? STR :
+                        cons.value.isNumber() ? NUM :
+                        cons.value.isBool() ? BOOL : ANY;
+      case OneOf oneOf -> oneOf.specs.stream()
+                                     .mapToInt(OneOfLookahead::firstTokens)
+                                     .reduce(0,
+                                             (a, b) -> a | b);
+      default -> ANY;
+    };
+  }
+
+  private static JsParser[] select(final JsParser[] parsers,
+                                   final IntPredicate predicate) {
+    return IntStream.range(0,
+                           parsers.length)
+                    .filter(predicate)
+                    .mapToObj(i -> parsers[i])
+                    .toArray(JsParser[]::new);
+  }
+
+  private static List<String> acceptedKeys(final JsObjSpec spec) {
+    List<String> keys = new ArrayList<>(spec.bindings.keySet());
+    if (spec.metaData != null && spec.metaData.fieldsAliases() != null) {
+      spec.metaData.fieldsAliases()
+                   .values()
+                   .forEach(keys::addAll);
+    }
+    return keys;
+  }
+
+  /**
+   * A strict object spec can't match an object whose first key is not one of its keys or aliases. The null key stands
+   * for any key that no alternative declares.
+   */
+  private static boolean acceptsFirstKey(final JsSpec spec,
+                                         final String key) {
+    return !(spec instanceof JsObjSpec objSpec)
+           || !objSpec.strict
+           || (key != null && objSpec.getSpec(key) != null);
+  }
+
+  /**
+   * An object spec can't match an empty object if it has required keys without a default value.
+   */
+  private static boolean acceptsEmptyObj(final JsSpec spec) {
+    if (!(spec instanceof JsObjSpec objSpec)) {
+      return true;
+    }
+    Map<String, ?> defaults = objSpec.metaData == null ? null : objSpec.metaData.fieldsDefault();
+    return objSpec.requiredFields.stream()
+                                 .allMatch(key -> defaults != null && defaults.containsKey(key));
+  }
+
+  /**
+   * Returns the parsers of the alternatives that can match the value whose first byte is the last one read. If it's an
+   * object and its first key discards alternatives, the key is read and the reader goes back to the start of the
+   * object.
+   */
+  JsParser[] candidates(final DslJsReader reader) {
+    return switch (reader.last()) {
+      case '{' -> byFirstKey == null ? byToken[0] : ofFirstKey(reader);
+      case '[' -> byToken[1];
+      case '"' -> byToken[2];
+      case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> byToken[3];
+      case 't', 'f' -> byToken[4];
+      default -> byToken[TOKENS];
+    };
+  }
+
+  /**
+   * Returns the parser of the last alternative, tried when no alternative can match the value, so that its error tells
+   * why the value was rejected
+   */
+  JsParser[] lastAlternative() {
+    return lastAlternative;
+  }
+
+  private JsParser[] ofFirstKey(final DslJsReader reader) {
+    reader.setMark();
+    try {
+      byte token = reader.readNextToken();
+      if (token == '}') {
+        return ofEmptyObj;
+      }
+      if (token != '"') {
+        return byToken[0];
+      }
+      return byFirstKey.getOrDefault(reader.readKey(),
+                                     ofUnknownFirstKey);
+    } finally {
+      reader.rollbackToMark();
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package jsonvalues.spec;
+
+import java.util.Optional;
+import java.util.function.Function;
+import jsonvalues.Json;
+
+/**
+ * Result of parsing an input without throwing an exception when it's rejected: either the parsed JSON or the
+ * {@link JsParserException error} that explains why the input doesn't represent a JSON that conforms to the spec. The
+ * error doesn't have a stack trace, since it's not thrown by the parser.
+ *
+ * @param value the parsed JSON, or null if the input was rejected
+ * @param error the reason why the input was rejected, or null if it was parsed
+ * @param <T>   type of the parsed JSON
+ * @see JsObjSpecParser#tryParse(byte[])
+ * @see JsArraySpecParser#tryParse(byte[])
+ */
+public record ParseResult<T extends Json<T>>(T value,
+                                             JsParserException error) {
+
+  /**
+   * @param value the parsed JSON, or null if the input was rejected
+   * @param error the reason why the input was rejected, or null if it was parsed
+   * @throws IllegalArgumentException if both or none of the value and the error are null
+   */
+  public ParseResult {
+    if ((value == null) == (error == null)) {
+      throw new IllegalArgumentException("either the value or the error must be null");
+    }
+  }
+
+  static <T extends Json<T>> ParseResult<T> of(final Function<byte[], T> parser,
+                                               final byte[] bytes) {
+    JsParserException.startHandled();
+    try {
+      return new ParseResult<>(parser.apply(bytes),
+                               null);
+    } catch (JsParserException e) {
+      return new ParseResult<>(null,
+                               e);
+    } finally {
+      JsParserException.endHandled();
+    }
+  }
+
+  /**
+   * Returns true if the input was parsed.
+   *
+   * @return true if there is a value
+   */
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  /**
+   * Returns the parsed JSON or throws the error if the input was rejected.
+   *
+   * @return the parsed JSON
+   * @throws JsParserException if the input was rejected
+   */
+  public T orElseThrow() {
+    if (error != null) {
+      throw error;
+    }
+    return value;
+  }
+
+  /**
+   * Returns the parsed JSON, or the given one if the input was rejected.
+   *
+   * @param other the JSON returned if the input was rejected
+   * @return the parsed JSON or the given one
+   */
+  public T orElse(final T other) {
+    return error == null ? value : other;
+  }
+
+  /**
+   * Returns the parsed JSON, or an empty optional if the input was rejected.
+   *
+   * @return an optional with the parsed JSON
+   */
+  public Optional<T> toOptional() {
+    return Optional.ofNullable(value);
+  }
+}
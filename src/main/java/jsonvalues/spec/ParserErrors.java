@@ -1,9 +1,7 @@
 package jsonvalues.spec;
 
 
-import java.util.function.Function;
 import java.util.function.IntFunction;
-import java.util.function.UnaryOperator;
 
 class ParserErrors {
 
@@ -29,8 +27,14 @@ class ParserErrors {
   static final String EXPECTING_FOR_OBJ_START = "Expecting '{' for Json object start but get %s";
   static final String EXPECTING_FOR_MAP_END = "Expecting '}' for Json object end but get %s";
   static final String ONE_OF_EXHAUSTED = "`OneOf` spec exhausted";
+  static final String DISCRIMINATOR_NOT_FOUND = "The discriminator key '%s' doesn't exist or its value is not a string";
+  static final String UNKNOWN_DISCRIMINATOR = "Unknown value '%s' of the discriminator key '%s'";
+  static final String MARK_LIMIT_EXCEEDED = "More than %d bytes of the input stream kept to roll back to a mark";
+  static final String RETAINED_LIMIT_EXCEEDED = "More than %d bytes of the value kept to parse it with its spec";
 
   static final String UNEXPECTED_END_OF_JSON = "Unexpected end of JSON";
+  static final String EXPECTING_END_OF_INPUT = "Expecting the end of the input after the JSON value";
+  static final String EXPECTING_VALUE = "Expecting a JSON value";
 
   static final IntFunction<String> EMPTY_ARRAY = min -> "Empty array. Min size: " + min;
   static final IntFunction<String> TOO_LONG_ARRAY = max -> "Too long array. Max size: " + max;
@@ -39,13 +43,11 @@ class ParserErrors {
   static final String EXPECTING_FOR_ARRAY_START = "Expecting '[' for Json array start";
   static final String BOOL_EXPECTED = "Boolean expected";
   static final String BIG_INTEGER_WITH_FRACTIONAL_PART = "`BigInteger` with fractional part";
-  static final UnaryOperator<String> SPEC_NOT_FOUND =
-      "The key '%s' has no spec associated to it. Strict specs don't allow this. Either declare de spec lenient or add a new spec for the missing key"::formatted;
-  static final UnaryOperator<String> REQUIRED_KEY_NOT_FOUND =
-      "The JSON doesn't conform the spec because the required key '%s' doesn't exist"::formatted;
-  static final Function<JsError, String> JS_ERROR_2_STR =
-      e -> "Error code: %s".formatted(e.code()
-                                       .name());
+  static final String SPEC_NOT_FOUND =
+      "The key '%s' has no spec associated to it. Strict specs don't allow this. Either declare de spec lenient or add a new spec for the missing key";
+  static final String REQUIRED_KEY_NOT_FOUND =
+      "The JSON doesn't conform the spec because the required key '%s' doesn't exist";
+  static final String JS_ERROR = "Error code: %s";
   static final String TOO_MANY_DIGITS = "Too many digits detected in number: %d";
   static final String LEADING_ZERO = "Leading zero is not allowed";
   static final String NOT_VALID_NUMBER = "Invalid representation of a number";
@@ -0,0 +1,350 @@
+package jsonvalues.spec;
+
+import java.math.BigInteger;
+
+/**
+ * Writes doubles with the shortest decimal that rounds to them, computed with the Schubfach algorithm (Raffaello
+ * Giulietti, "The Schubfach way to render doubles", 2020), the one behind {@link Double#toString(double)} since Java
+ * 19. The digits are written straight into the buffer, without creating any string or {@link java.math.BigDecimal}.
+ * <p>
+ * The text is the same that json-values has always written, that is {@code BigDecimal.valueOf(value).toString()}:
+ * plain notation from 10^-3 to 10^7 as {@link Double#toString(double)} does ({@code 100.0}, {@code 0.001}), and
+ * outside that range the one of the {@link java.math.BigDecimal} parsed from it ({@code 1.0E+10},
+ * {@code 0.000010}, {@code 12345678}, {@code 1.5E-7}).
+ */
+final class Schubfach {
+
+  /**
+   * Maximum number of bytes written for a double
+   */
+  static final int MAX_LENGTH = 32;
+
+  private static final int Q_MIN = -1074;
+  private static final int P = 53;
+  private static final long C_MIN = 1L << (P - 1);
+  private static final long C_TINY = 3;
+  private static final int K_MIN = -324;
+  private static final int K_MAX = 292;
+  private static final long MASK_63 = (1L << 63) - 1;
+
+  /**
+   * g = floor(10^-k 2^(125 - floor(log2(10^-k)))) + 1 for k in [-324, 292], split in its 63 low bits and the rest
+   */
+  private static final long[] G = new long[2 * (K_MAX - K_MIN + 1)];
+
+  static {
+    for (int k = K_MIN; k <= K_MAX; k++) {
+      int e = -k;
+      int shift = 125 - flog2pow10(e);
+      BigInteger g;
+      if (e >= 0) {
+        BigInteger pow10 = BigInteger.TEN.pow(e);
+        g = shift >= 0 ? pow10.shiftLeft(shift) : pow10.shiftRight(-shift);
+      } else {
+        g = BigInteger.ONE.shiftLeft(shift)
+                          .divide(BigInteger.TEN.pow(-e));
+      }
+      g = g.add(BigInteger.ONE);
+      int index = 2 * (k - K_MIN);
+      G[index] = g.shiftRight(63)
+                  .longValue();
+      G[index + 1] = g.longValue() & MASK_63;
+    }
+  }
+
+  private Schubfach() {
+  }
+
+  /**
+   * Writes the given finite double at the given position and returns the position after the last byte written.
+   */
+  static int serialize(final byte[] buf,
+                       int pos,
+                       final double value) {
+    long bits = Double.doubleToRawLongBits(value);
+    long t = bits & (C_MIN - 1);
+    int bq = (int) (bits >>> (P - 1)) & 0x7FF;
+    if (bits < 0 && value != 0) {
+      buf[pos++] = '-';
+    }
+    if (bq != 0) {
+      int mq = -Q_MIN + 1 - bq;
+      long c = C_MIN | t;
+      if (0 < mq && mq < P) {
+        long f = c >> mq;
+        if (f << mq == c) {
+          return write(buf,
+                       pos,
+                       f,
+                       0);
+        }
+      }
+      return toDecimal(buf,
+                       pos,
+                       -mq,
+                       c,
+                       0);
+    }
+    if (t != 0) {
+      return t < C_TINY ? toDecimal(buf,
+                                    pos,
+                                    Q_MIN,
+                                    10 * t,
+                                    -1) : toDecimal(buf,
+                                                    pos,
+                                                    Q_MIN,
+                                                    t,
+                                                    0);
+    }
+    buf[pos] = '0';
+    buf[pos + 1] = '.';
+    buf[pos + 2] = '0';
+    return pos + 3;
+  }
+
+  private static int toDecimal(final byte[] buf,
+                               final int pos,
+                               final int q,
+                               final long c,
+                               final int dk) {
+    int out = (int) c & 0x1;
+    long cb = c << 2;
+    long cbr = cb + 2;
+    long cbl;
+    int k;
+    if (c != C_MIN || q == Q_MIN) {
+      // regular spacing
+      cbl = cb - 2;
+      k = flog10pow2(q);
+    } else {
+      // irregular spacing
+      cbl = cb - 1;
+      k = flog10threeQuartersPow2(q);
+    }
+    int h = q + flog2pow10(-k) + 2;
+    int index = 2 * (k - K_MIN);
+    long g1 = G[index];
+    long g0 = G[index + 1];
+
+    long vb = rop(g1,
+                  g0,
+                  cb << h);
+    long vbl = rop(g1,
+                   g0,
+                   cbl << h);
+    long vbr = rop(g1,
+                   g0,
+                   cbr << h);
+
+    long s = vb >> 2;
+    if (s >= 100) {
+      // s' = floor(s / 10), and u' = 10 s' 10^k and w' = u' + 10^(k + 1) are the candidates with one digit less
+      long sp10 = 10 * Math.multiplyHigh(s,
+                                         115_292_150_460_684_698L << 4);
+      long tp10 = sp10 + 10;
+      boolean upin = vbl + out <= sp10 << 2;
+      boolean wpin = (tp10 << 2) + out <= vbr;
+      if (upin != wpin) {
+        return write(buf,
+                     pos,
+                     upin ? sp10 : tp10,
+                     k);
+      }
+    }
+    long t = s + 1;
+    boolean uin = vbl + out <= s << 2;
+    boolean win = (t << 2) + out <= vbr;
+    if (uin != win) {
+      return write(buf,
+                   pos,
+                   uin ? s : t,
+                   k + dk);
+    }
+    // both are in the rounding interval: the closest one, or the even one if it's a tie
+    long cmp = vb - ((s + t) << 1);
+    return write(buf,
+                 pos,
+                 cmp < 0 || (cmp == 0 && (s & 0x1) == 0) ? s : t,
+                 k + dk);
+  }
+
+  /**
+   * Rounds cp g 2^-127 to odd
+   */
+  private static long rop(final long g1,
+                          final long g0,
+                          final long cp) {
+    long x1 = Math.multiplyHigh(g0,
+                                cp);
+    long y0 = g1 * cp;
+    long y1 = Math.multiplyHigh(g1,
+                                cp);
+    long z = (y0 >>> 1) + x1;
+    long vbp = y1 + (z >>> 63);
+    return vbp | ((z & MASK_63) + MASK_63) >>> 63;
+  }
+
+  /**
+   * Writes f 10^e, with f > 0, in the format of {@code BigDecimal.valueOf(double).toString()}
+   */
+  private static int write(final byte[] buf,
+                           int pos,
+                           long f,
+                           int e) {
+    while (f % 10 == 0) {
+      f /= 10;
+      e++;
+    }
+    int n = digits(f);
+    // scientific exponent: f 10^e = d.ddd 10^exp
+    int exp = e + n - 1;
+    if (exp >= -3 && exp < 7) {
+      // plain, as Double.toString does, and BigDecimal keeps
+      if (exp < 0) {
+        return digits(buf,
+                      zeros(buf,
+                            pos,
+                            exp),
+                      f,
+                      n);
+      }
+      if (n <= exp + 1) {
+        pos = digits(buf,
+                     pos,
+                     f,
+                     n);
+        for (int i = n; i <= exp; i++) {
+          buf[pos++] = '0';
+        }
+        buf[pos] = '.';
+        buf[pos + 1] = '0';
+        return pos + 2;
+      }
+      return point(buf,
+                   pos,
+                   f,
+                   n,
+                   exp);
+    }
+    // Double.toString writes d.dddEexp, with at least one decimal, and BigDecimal keeps all those digits
+    if (n == 1) {
+      f *= 10;
+      n = 2;
+    }
+    int scale = n - 1 - exp;
+    if (scale == 0) {
+      return digits(buf,
+                    pos,
+                    f,
+                    n);
+    }
+    if (scale > 0 && exp >= -6) {
+      return exp < 0 ? digits(buf,
+                              zeros(buf,
+                                    pos,
+                                    exp),
+                              f,
+                              n) : point(buf,
+                                         pos,
+                                         f,
+                                         n,
+                                         exp);
+    }
+    pos = point(buf,
+                pos,
+                f,
+                n,
+                0);
+    buf[pos++] = 'E';
+    if (exp > 0) {
+      buf[pos++] = '+';
+    } else {
+      buf[pos++] = '-';
+      exp = -exp;
+    }
+    return digits(buf,
+                  pos,
+                  exp,
+                  digits(exp));
+  }
+
+  /**
+   * Writes "0." followed by the zeros before the first digit of a number whose scientific exponent is exp < 0
+   */
+  private static int zeros(final byte[] buf,
+                           int pos,
+                           final int exp) {
+    buf[pos++] = '0';
+    buf[pos++] = '.';
+    for (int i = -1; i > exp; i--) {
+      buf[pos++] = '0';
+    }
+    return pos;
+  }
+
+  /**
+   * Writes the n digits of f with a point after the digit at position exp (0-based), exp < n - 1
+   */
+  private static int point(final byte[] buf,
+                           final int pos,
+                           final long f,
+                           final int n,
+                           final int exp) {
+    int end = digits(buf,
+                     pos + 1,
+                     f,
+                     n);
+    System.arraycopy(buf,
+                     pos + 1,
+                     buf,
+                     pos,
+                     exp + 1);
+    buf[pos + exp + 1] = '.';
+    return end;
+  }
+
+  /**
+   * Writes the n digits of f and returns the position after them
+   */
+  private static int digits(final byte[] buf,
+                            final int pos,
+                            long f,
+                            final int n) {
+    int end = pos + n;
+    for (int i = end - 1; i >= pos; i--) {
+      long q = f / 10;
+      buf[i] = (byte) ('0' + (f - 10 * q));
+      f = q;
+    }
+    return end;
+  }
+
+  private static int digits(final long f) {
+    int n = 1;
+    for (long p = 10; n < 19 && f >= p; p *= 10) {
+      n++;
+    }
+    return n;
+  }
+
+  /**
+   * floor(log10(2^e))
+   */
+  private static int flog10pow2(final int e) {
+    return (int) (e * 661_971_961_083L >> 41);
+  }
+
+  /**
+   * floor(log10(3/4 2^e))
+   */
+  private static int flog10threeQuartersPow2(final int e) {
+    return (int) ((e * 661_971_961_083L + -274_743_187_321L) >> 41);
+  }
+
+  /**
+   * floor(log2(10^e))
+   */
+  private static int flog2pow10(final int e) {
+    return (int) (e * 913_124_641_741L >> 38);
+  }
+}
@@ -1,16 +1,27 @@
 package jsonvalues.spec;
 
+import java.util.Objects;
+
 /**
  * Configuration for DslJson options. By default, key cache is enabled. Everything else is not configured. To load
  * `META-INF/services` call `includeServiceLoader()`
  */
 class Settings {
 
-  final StringCache keyCache = new SimpleStringCache();
-  StringCache valuesCache;
-  DslJsReader.DoublePrecision doublePrecision = DslJsReader.DoublePrecision.DEFAULT;
+  ConcurrentStringCache keyCache = new ConcurrentStringCache(1024,
+                                                              true,
+                                                              false);
+  ConcurrentStringCache valuesCache;
+  JsIO.DoublePrecision doublePrecision = JsIO.DoublePrecision.DEFAULT;
   int maxNumberDigits = 512;
   int maxStringBuffer = 128 * 1024 * 1024;
+  int maxMarkedBytes = 16 * 1024 * 1024;
+  int maxRetainedBytes = 128 * 1024 * 1024;
+  JsIO.PoolStrategy poolStrategy = JsIO.PoolStrategy.THREAD_LOCAL;
+  int poolCapacity = 2 * Runtime.getRuntime()
+                                .availableProcessors();
+  int readBufferSize = 4096;
+  int writeBufferSize = 512;
 
 
   /**
@@ -24,7 +35,43 @@ class Settings {
    * @return itself
    */
   Settings useStringValuesCache() {
-    this.valuesCache = new SimpleStringCache();
+    return valuesCache(1024,
+                       true,
+                       false);
+  }
+
+  /**
+   * Enables the string values cache with the given size.
+   *
+   * @param capacity    number of strings, a power of two greater than one
+   * @param twoWay      whether every hash has two slots, so that two values with the same hash don't evict each other
+   * @param recordStats whether the hits, misses and evictions are counted
+   * @return itself
+   */
+  Settings valuesCache(int capacity,
+                       boolean twoWay,
+                       boolean recordStats) {
+    this.valuesCache = new ConcurrentStringCache(capacity,
+                                                 twoWay,
+                                                 recordStats);
+    return this;
+  }
+
+  /**
+   * Size of the key cache shared by all the readers. By default, it keeps 1024 keys, is 2-way associative and doesn't
+   * count hits, misses and evictions.
+   *
+   * @param capacity    number of keys, a power of two greater than one
+   * @param twoWay      whether every hash has two slots, so that two keys with the same hash don't evict each other
+   * @param recordStats whether the hits, misses and evictions are counted
+   * @return itself
+   */
+  Settings keyCache(int capacity,
+                    boolean twoWay,
+                    boolean recordStats) {
+    this.keyCache = new ConcurrentStringCache(capacity,
+                                              twoWay,
+                                              recordStats);
     return this;
   }
 
@@ -34,12 +81,52 @@ class Settings {
    * @param precision type of double deserialization
    * @return itself
    */
-  Settings doublePrecision(DslJsReader.DoublePrecision precision) {
-    this.doublePrecision = precision;
+  Settings doublePrecision(JsIO.DoublePrecision precision) {
+    this.doublePrecision = Objects.requireNonNull(precision);
     return this;
   }
 
 
+  /**
+   * Strategy used to reuse readers and writers across parsing and serialization calls. By default, every thread keeps
+   * its own reader and writer in a ThreadLocal.
+   *
+   * @param strategy the pool strategy
+   * @param capacity maximum number of readers and writers kept by the pool (ignored by the ThreadLocal strategy)
+   * @return itself
+   */
+  Settings bufferPool(JsIO.PoolStrategy strategy,
+                      int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity can't be smaller than 1");
+    }
+    this.poolStrategy = Objects.requireNonNull(strategy);
+    this.poolCapacity = capacity;
+    return this;
+  }
+
+  /**
+   * Initial size of the buffers of the readers and writers. Readers of streams read the input in chunks of the size of
+   * their buffer, and writers flush their buffer into the output stream when it's full. Default sizes are 4096 bytes
+   * for readers and 512 bytes for writers.
+   *
+   * @param readSize  size of the buffer of the readers in bytes
+   * @param writeSize size of the buffer of the writers in bytes
+   * @return itself
+   */
+  Settings bufferSizes(int readSize,
+                       int writeSize) {
+    if (readSize < 256) {
+      throw new IllegalArgumentException("read buffer size can't be smaller than 256");
+    }
+    if (writeSize < 64) {
+      throw new IllegalArgumentException("write buffer size can't be smaller than 64");
+    }
+    this.readBufferSize = readSize;
+    this.writeBufferSize = writeSize;
+    return this;
+  }
+
   /**
    * Specify maximum allowed size for digits buffer. Default is 512. Digits buffer is used when processing strange/large
    * input numbers.
@@ -70,5 +157,58 @@ class Settings {
     return this;
   }
 
+  /**
+   * Specify maximum number of bytes of an input stream kept by a reader to roll back to a mark, like the start of a
+   * value that is parsed with the alternatives of a `OneOf` spec. Default is 16MB. Beyond that, the reader fails
+   * instead of growing its buffer.
+   *
+   * @param size maximum number of bytes
+   * @return itself
+   */
+  Settings limitMarkedBytes(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("size can't be smaller than 1");
+    }
+    this.maxMarkedBytes = size;
+    return this;
+  }
+
+  /**
+   * Specify maximum number of bytes of a value kept by a push parser created with a spec until the value is complete
+   * and parsed with the spec. Default is 128MB. Beyond that, the push parser fails instead of growing its buffer.
+   *
+   * @param size maximum number of bytes
+   * @return itself
+   */
+  Settings limitRetainedBytes(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("size can't be smaller than 1");
+    }
+    this.maxRetainedBytes = size;
+    return this;
+  }
+
+  /**
+   * Returns a copy of these settings with new empty caches of the same size, so that the instances created with the
+   * copy don't share their caches with the ones created with these settings.
+   *
+   * @return a copy
+   */
+  Settings copy() {
+    Settings copy = new Settings();
+    copy.keyCache = keyCache.emptyCopy();
+    copy.valuesCache = valuesCache != null ? valuesCache.emptyCopy() : null;
+    copy.doublePrecision = doublePrecision;
+    copy.maxNumberDigits = maxNumberDigits;
+    copy.maxStringBuffer = maxStringBuffer;
+    copy.maxMarkedBytes = maxMarkedBytes;
+    copy.maxRetainedBytes = maxRetainedBytes;
+    copy.poolStrategy = poolStrategy;
+    copy.poolCapacity = poolCapacity;
+    copy.readBufferSize = readBufferSize;
+    copy.writeBufferSize = writeBufferSize;
+    return copy;
+  }
+
 
 }
\ No newline at end of file
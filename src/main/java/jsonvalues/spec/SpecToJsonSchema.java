@@ -42,6 +42,8 @@ public final class SpecToJsonSchema {
   private static final String REF = "$ref";
   private static final String ENUM = "enum";
   private static final String ONE_OF = "oneOf";
+  private static final String DISCRIMINATOR = "discriminator";
+  private static final String PROPERTY_NAME = "propertyName";
   private static final String ARRAY = "array";
   private static final String ITEMS = "items";
   private static final String CONST = "const";
@@ -554,7 +556,12 @@ public final class SpecToJsonSchema {
                     JsArray.ofIterable(oneOf.specs.stream()
                                                   .map(spec -> getSchema(spec,
                                                                          nameSpecsVisited))
-                                                  .toList())
+                                                  .toList()),
+                    DISCRIMINATOR,
+                    oneOf.discriminator == null ?
+                    JsNothing.NOTHING :
+                    JsObj.of(PROPERTY_NAME,
+                             JsStr.of(oneOf.discriminator))
                    );
   }
 
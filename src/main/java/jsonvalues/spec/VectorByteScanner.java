@@ -0,0 +1,89 @@
+package jsonvalues.spec;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ByteScanner} that compares 32 or 64 bytes at once (depending on the widest vector the CPU supports) with the
+ * Vector API, and finishes the bytes that don't fill a vector with the scalar loop. Only loaded by
+ * {@link ByteScanner#INSTANCE} when the module {@code jdk.incubator.vector} is available.
+ */
+final class VectorByteScanner implements ByteScanner {
+
+  private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+  private static final int LENGTH = SPECIES.length();
+
+  @Override
+  public int skipWhitespace(final byte[] bytes,
+                            final int from,
+                            final int to) {
+    int i = from;
+    for (int bound = to - LENGTH; i <= bound; i += LENGTH) {
+      ByteVector vector = ByteVector.fromArray(SPECIES,
+                                               bytes,
+                                               i);
+      VectorMask<Byte> other = vector.compare(VectorOperators.NE,
+                                              (byte) ' ')
+                                     .and(vector.compare(VectorOperators.NE,
+                                                         (byte) '\n'))
+                                     .and(vector.compare(VectorOperators.NE,
+                                                         (byte) '\r'))
+                                     .and(vector.compare(VectorOperators.NE,
+                                                         (byte) '\t'));
+      if (other.anyTrue()) {
+        return i + other.firstTrue();
+      }
+    }
+    return ScalarScanner.INSTANCE.skipWhitespace(bytes,
+                                                 i,
+                                                 to);
+  }
+
+  @Override
+  public int asciiRun(final byte[] bytes,
+                      final int from,
+                      final int to) {
+    int i = from;
+    for (int bound = to - LENGTH; i <= bound; i += LENGTH) {
+      ByteVector vector = ByteVector.fromArray(SPECIES,
+                                               bytes,
+                                               i);
+      VectorMask<Byte> end = vector.compare(VectorOperators.EQ,
+                                            (byte) '"')
+                                   .or(vector.compare(VectorOperators.EQ,
+                                                      (byte) '\\'))
+                                   .or(vector.compare(VectorOperators.LT,
+                                                      (byte) 0));
+      if (end.anyTrue()) {
+        return i + end.firstTrue();
+      }
+    }
+    return ScalarScanner.INSTANCE.asciiRun(bytes,
+                                           i,
+                                           to);
+  }
+
+  @Override
+  public int findQuoteOrBackslash(final byte[] bytes,
+                                  final int from,
+                                  final int to) {
+    int i = from;
+    for (int bound = to - LENGTH; i <= bound; i += LENGTH) {
+      ByteVector vector = ByteVector.fromArray(SPECIES,
+                                               bytes,
+                                               i);
+      VectorMask<Byte> end = vector.compare(VectorOperators.EQ,
+                                            (byte) '"')
+                                   .or(vector.compare(VectorOperators.EQ,
+                                                      (byte) '\\'));
+      if (end.anyTrue()) {
+        return i + end.firstTrue();
+      }
+    }
+    return ScalarScanner.INSTANCE.findQuoteOrBackslash(bytes,
+                                                       i,
+                                                       to);
+  }
+}
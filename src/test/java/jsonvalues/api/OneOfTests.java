@@ -1,6 +1,7 @@
 package jsonvalues.api;
 
 import fun.gen.Combinators;
+import jsonvalues.JsArray;
 import jsonvalues.JsBool;
 import jsonvalues.JsInt;
 import jsonvalues.JsNull;
@@ -12,6 +13,7 @@ import jsonvalues.gen.JsTupleGen;
 import jsonvalues.spec.JsArraySpecParser;
 import jsonvalues.spec.JsObjSpec;
 import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
 import jsonvalues.spec.JsSpecs;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -84,4 +86,52 @@ public class OneOfTests {
                               .isEmpty());
 
   }
+
+  @Test
+  public void alternativesAreTriedByFirstTokenAndKey() {
+
+    var spec = JsSpecs.arrayOfSpec(JsSpecs.oneSpecOf(JsObjSpec.of("x",
+                                                                  JsSpecs.oneSpecOf(JsSpecs.str(),
+                                                                                    JsSpecs.lowCardinalityStr())),
+                                                     JsObjSpec.of("x",
+                                                                  JsSpecs.str(),
+                                                                  "y",
+                                                                  JsSpecs.integer()),
+                                                     JsObjSpec.of("z",
+                                                                  JsSpecs.bool()),
+                                                     JsSpecs.integer(),
+                                                     JsSpecs.str()));
+    var parser = JsArraySpecParser.of(spec);
+
+    // the nested alternative that matches "s" doesn't leave a mark behind when the first object spec fails on "y"
+    var array = JsArray.of(JsObj.of("x",
+                                    JsStr.of("s"),
+                                    "y",
+                                    JsInt.of(1)),
+                           JsObj.of("z",
+                                    JsBool.TRUE),
+                           JsObj.of("x",
+                                    JsStr.of("t")),
+                           JsInt.of(2),
+                           JsStr.of("u"));
+    Assertions.assertEquals(array,
+                            parser.parse(array.toString()));
+    Assertions.assertEquals(array,
+                            parser.parse(array.toPrettyString()));
+
+    // the error of the last alternative tried is the cause, even if the lookahead discards all of them
+    for (String json : new String[]{"[true]", "[{\"x\":1}]"}) {
+      JsParserException error = Assertions.assertThrows(JsParserException.class,
+                                                        () -> parser.parse(json));
+      Assertions.assertTrue(error.getMessage()
+                                 .contains("`OneOf` spec exhausted"),
+                            error.getMessage());
+      Assertions.assertTrue(error.getCause() instanceof JsParserException,
+                            json);
+    }
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("[{\"w\":1}]"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("[{}]"));
+  }
 }
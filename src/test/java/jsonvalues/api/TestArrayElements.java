@@ -0,0 +1,129 @@
+package jsonvalues.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsNull;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import jsonvalues.spec.JsArrayElementsParser;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestArrayElements {
+
+  private static InputStream input(String str) {
+    return new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /* generates the array [{"id":0},{"id":1},...] on the fly, without keeping it in memory */
+  private static InputStream generated(int size) {
+    return new InputStream() {
+      private int next = -1;
+      private byte[] chunk = "[".getBytes(StandardCharsets.UTF_8);
+      private int index;
+
+      @Override
+      public int read() {
+        if (index == chunk.length) {
+          next++;
+          if (next > size) {
+            return -1;
+          }
+          String element = next == size ? "]" : (next == 0 ? "" : ",") + "{\"id\":" + next + "}";
+          chunk = element.getBytes(StandardCharsets.UTF_8);
+          index = 0;
+        }
+        return chunk[index++];
+      }
+    };
+  }
+
+  @Test
+  public void iterate_elements_of_a_generated_array() {
+    int size = 200_000;
+    Iterator<JsValue> iterator = JsArrayElementsParser.of(JsObjSpec.of("id",
+                                                                       JsSpecs.integer()))
+                                                      .iterator(generated(size));
+    int i = 0;
+    while (iterator.hasNext()) {
+      Assertions.assertEquals(JsObj.of("id",
+                                       JsInt.of(i++)),
+                              iterator.next());
+    }
+    Assertions.assertEquals(size,
+                            i);
+  }
+
+  @Test
+  public void elements_of_any_type() {
+    JsArray array = JsArray.of(JsInt.of(1),
+                               JsStr.of("a"),
+                               JsNull.NULL,
+                               JsArray.of(1,
+                                          2),
+                               JsObj.of("a",
+                                        JsArray.empty()));
+    Assertions.assertEquals(array,
+                            JsArray.ofIterable(JsArrayElementsParser.of()
+                                                                    .stream(input(array.toString()))
+                                                                    .toList()));
+    Assertions.assertEquals(List.of(),
+                            JsArrayElementsParser.of()
+                                                 .stream(input(" [ ] "))
+                                                 .toList());
+  }
+
+  @Test
+  public void errors() {
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsArrayElementsParser.of()
+                                                       .iterator(input("{}"))
+                                                       .hasNext());
+
+    Iterator<JsValue> truncated = JsArrayElementsParser.of()
+                                                       .iterator(input("[1,2"));
+    Assertions.assertEquals(JsInt.of(1),
+                            truncated.next());
+    Assertions.assertEquals(JsInt.of(2),
+                            truncated.next());
+    Assertions.assertThrows(JsParserException.class,
+                            truncated::hasNext);
+
+    Iterator<JsValue> invalid = JsArrayElementsParser.of(JsSpecs.integer())
+                                                     .iterator(input("[1,\"a\",3]"));
+    Assertions.assertEquals(JsInt.of(1),
+                            invalid.next());
+    JsParserException error = Assertions.assertThrows(JsParserException.class,
+                                                      invalid::next);
+    // the iterator doesn't go on reading from where the element failed
+    Assertions.assertSame(error,
+                          Assertions.assertThrows(JsParserException.class,
+                                                  invalid::hasNext));
+    Assertions.assertSame(error,
+                          Assertions.assertThrows(JsParserException.class,
+                                                  invalid::next));
+
+    Assertions.assertEquals(List.of(JsInt.of(1),
+                                    JsInt.of(2)),
+                            JsArrayElementsParser.of()
+                                                 .stream(input("[1,2] \n"))
+                                                 .toList());
+    Iterator<JsValue> trailing = JsArrayElementsParser.of()
+                                                      .iterator(input("[1,2] garbage"));
+    Assertions.assertEquals(JsInt.of(1),
+                            trailing.next());
+    Assertions.assertEquals(JsInt.of(2),
+                            trailing.next());
+    Assertions.assertThrows(JsParserException.class,
+                            trailing::hasNext);
+  }
+}
@@ -0,0 +1,184 @@
+package jsonvalues.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsNothing;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestBuilders {
+
+  @Test
+  public void obj_builder_is_equal_to_setting_every_key() {
+    for (int n : new int[]{0, 1, 10, 100, 10_000}) {
+      JsObj.Builder builder = JsObj.builder();
+      JsObj expected = JsObj.empty();
+      for (int i = 0; i < n; i++) {
+        builder.set("key" + i,
+                    JsInt.of(i));
+        expected = expected.set("key" + i,
+                                JsInt.of(i));
+      }
+      JsObj obj = builder.build();
+      Assertions.assertEquals(expected,
+                              obj);
+      Assertions.assertEquals(n,
+                              obj.size());
+      Assertions.assertEquals(n,
+                              builder.size());
+      for (int i = 0; i < n; i++) {
+        Assertions.assertEquals(JsInt.of(i),
+                                obj.get("key" + i));
+      }
+    }
+  }
+
+  @Test
+  public void obj_builder_replaces_and_deletes_keys() {
+    JsObj obj = JsObj.builder()
+                     .set("a",
+                          JsInt.of(1))
+                     .set("b",
+                          JsInt.of(2))
+                     .set("a",
+                          JsStr.of("one"))
+                     .set("c",
+                          JsInt.of(3))
+                     .delete("c")
+                     .set("b",
+                          JsNothing.NOTHING)
+                     .build();
+    Assertions.assertEquals(JsObj.of("a",
+                                     JsStr.of("one")),
+                            obj);
+    Assertions.assertSame(JsObj.empty(),
+                          JsObj.builder()
+                               .build());
+  }
+
+  @Test
+  public void obj_builder_with_colliding_keys() {
+    // "Aa" and "BB" have the same hash code, so do all the strings made of them with the same length
+    String[] keys = {"AaAa", "AaBB", "BBAa", "BBBB", "Aa", "BB", "c"};
+    JsObj.Builder builder = JsObj.builder();
+    JsObj expected = JsObj.empty();
+    for (String key : keys) {
+      builder.set(key,
+                  JsStr.of(key));
+      expected = expected.set(key,
+                              JsStr.of(key));
+    }
+    builder.set("BBAa",
+                JsInt.of(1))
+           .delete("Aa");
+    expected = expected.set("BBAa",
+                            JsInt.of(1))
+                       .delete("Aa");
+    Assertions.assertEquals(expected,
+                            builder.build());
+    Assertions.assertEquals(6,
+                            builder.size());
+  }
+
+  @Test
+  public void built_obj_is_not_modified_by_the_builder() {
+    JsObj.Builder builder = JsObj.builder();
+    for (int i = 0; i < 1000; i++) {
+      builder.set("key" + i,
+                  JsInt.of(i));
+    }
+    JsObj first = builder.build();
+    JsObj copy = JsObj.parse(first.toString());
+    for (int i = 0; i < 2000; i++) {
+      builder.set("key" + i,
+                  JsStr.of("changed"));
+    }
+    builder.delete("key0");
+    JsObj second = builder.build();
+
+    Assertions.assertEquals(copy,
+                            first);
+    Assertions.assertEquals(1000,
+                            first.size());
+    Assertions.assertEquals(1999,
+                            second.size());
+    Assertions.assertEquals("changed",
+                            second.getStr("key1"));
+  }
+
+  @Test
+  public void array_builder_is_equal_to_appending_every_element() {
+    for (int n : new int[]{0, 1, 31, 32, 33, 1024, 1025, 32 * 32 * 32 + 1}) {
+      JsArray.Builder builder = JsArray.builder();
+      JsArray expected = JsArray.empty();
+      for (int i = 0; i < n; i++) {
+        builder.append(JsInt.of(i));
+        expected = expected.append(JsInt.of(i));
+      }
+      JsArray array = builder.build();
+      Assertions.assertEquals(expected,
+                              array);
+      Assertions.assertEquals(n,
+                              array.size());
+      for (int i = 0; i < n; i++) {
+        Assertions.assertEquals(JsInt.of(i),
+                                array.get(i));
+      }
+      if (n > 0) {
+        Assertions.assertEquals(expected.append(JsInt.of(-1))
+                                        .prepend(JsInt.of(-2))
+                                        .set(n / 2,
+                                             JsStr.of("a"))
+                                        .delete(n - 1),
+                                array.append(JsInt.of(-1))
+                                     .prepend(JsInt.of(-2))
+                                     .set(n / 2,
+                                          JsStr.of("a"))
+                                     .delete(n - 1));
+      }
+    }
+  }
+
+  @Test
+  public void built_array_is_not_modified_by_the_builder() {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < 40; i++) {
+      builder.append(JsInt.of(i));
+    }
+    JsArray first = builder.build();
+    List<JsValue> elements = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      elements.add(JsStr.of("x" + i));
+    }
+    JsArray second = builder.appendAll(elements)
+                            .append(JsNothing.NOTHING)
+                            .build();
+    Assertions.assertEquals(40,
+                            first.size());
+    Assertions.assertEquals(JsInt.of(39),
+                            first.get(39));
+    Assertions.assertEquals(140,
+                            second.size());
+    Assertions.assertEquals(JsStr.of("x0"),
+                            second.get(40));
+  }
+
+  @Test
+  public void map_and_filter_arrays_with_builders() {
+    JsArray array = JsArray.parse("[1,2,3,4,{\"a\":5,\"b\":[6,7]},[8,9]]");
+    Assertions.assertEquals(JsArray.parse("[2,4,{\"b\":[6]},[8]]"),
+                            array.filterValues(value -> value.toJsInt().value % 2 == 0));
+    Assertions.assertEquals(JsArray.parse("[2,3,4,5,{\"a\":6,\"b\":[7,8]},[9,10]]"),
+                            array.mapValues(value -> JsInt.of(value.toJsInt().value + 1)));
+    Assertions.assertEquals(JsArray.parse("[1,3,{\"a\":5,\"b\":[7]},[9]]"),
+                            array.mapValues(value -> value.toJsInt().value % 2 == 0 ?
+                                                     JsNothing.NOTHING :
+                                                     value));
+  }
+
+}
@@ -0,0 +1,174 @@
+package jsonvalues.api;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.spec.JsCursor;
+import jsonvalues.spec.JsCursor.Event;
+import jsonvalues.spec.JsParserException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestCursor {
+
+  private static JsCursor cursor(String json) {
+    return JsCursor.of(json.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static List<Event> events(JsCursor cursor) {
+    List<Event> events = new ArrayList<>();
+    Event event;
+    while ((event = cursor.next()) != Event.END_OF_INPUT) {
+      events.add(event);
+    }
+    return events;
+  }
+
+  @Test
+  public void events_and_values() {
+    String json = " {\"a\": [1, -2.5, 1e400, \"x\\\"y\"], \"b\": {}, \"c\": [], "
+                  + "\"d\": true, \"e\": false, \"f\": null} ";
+    JsCursor cursor = cursor(json);
+    Assertions.assertEquals(Event.START_OBJECT,
+                            cursor.next());
+    Assertions.assertEquals(0,
+                            cursor.depth());
+    Assertions.assertEquals(Event.KEY,
+                            cursor.next());
+    Assertions.assertEquals("a",
+                            cursor.key());
+    Assertions.assertEquals(1,
+                            cursor.depth());
+    Assertions.assertEquals(Event.START_ARRAY,
+                            cursor.next());
+    Assertions.assertEquals(Event.NUMBER,
+                            cursor.next());
+    Assertions.assertEquals(1,
+                            cursor.intValue());
+    Assertions.assertEquals(1L,
+                            cursor.longValue());
+    Assertions.assertThrows(IllegalStateException.class,
+                            cursor::doubleValue);
+    Assertions.assertEquals(Event.NUMBER,
+                            cursor.next());
+    Assertions.assertEquals(-2.5,
+                            cursor.doubleValue());
+    Assertions.assertEquals(Event.NUMBER,
+                            cursor.next());
+    Assertions.assertEquals(new BigDecimal("1e400"),
+                            cursor.decimalValue());
+    Assertions.assertEquals(Event.STRING,
+                            cursor.next());
+    Assertions.assertEquals("x\"y",
+                            cursor.string());
+    Assertions.assertThrows(IllegalStateException.class,
+                            cursor::key);
+    Assertions.assertEquals(Event.END_ARRAY,
+                            cursor.next());
+    Assertions.assertEquals(1,
+                            cursor.depth());
+    Assertions.assertEquals(List.of(Event.KEY,
+                                    Event.START_OBJECT,
+                                    Event.END_OBJECT,
+                                    Event.KEY,
+                                    Event.START_ARRAY,
+                                    Event.END_ARRAY,
+                                    Event.KEY,
+                                    Event.TRUE,
+                                    Event.KEY,
+                                    Event.FALSE,
+                                    Event.KEY,
+                                    Event.NULL,
+                                    Event.END_OBJECT),
+                            events(cursor));
+    Assertions.assertEquals(Event.END_OF_INPUT,
+                            cursor.next());
+  }
+
+  @Test
+  public void unread_values_and_children_are_skipped() {
+    JsCursor cursor = cursor("[\"skipped\", 12.5, -1.2345678901234567890123e-10, {\"a\":[1,{\"b\":2}]}, [[]], 3]");
+    Assertions.assertEquals(Event.START_ARRAY,
+                            cursor.next());
+    Assertions.assertEquals(Event.STRING,
+                            cursor.next());
+    Assertions.assertEquals(Event.NUMBER,
+                            cursor.next());
+    Assertions.assertEquals(Event.NUMBER,
+                            cursor.next());
+    Assertions.assertEquals(Event.START_OBJECT,
+                            cursor.next());
+    cursor.skipChildren();
+    Assertions.assertEquals(Event.END_OBJECT,
+                            cursor.event());
+    Assertions.assertEquals(Event.START_ARRAY,
+                            cursor.next());
+    cursor.skipChildren();
+    Assertions.assertEquals(Event.END_ARRAY,
+                            cursor.event());
+    Assertions.assertEquals(Event.NUMBER,
+                            cursor.next());
+    Assertions.assertEquals(3,
+                            cursor.intValue());
+    Assertions.assertEquals(List.of(Event.END_ARRAY),
+                            events(cursor));
+  }
+
+  @Test
+  public void aggregate_a_stream() {
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < 20_000; i++) {
+      builder.append(JsObj.of("id",
+                              JsInt.of(i),
+                              "amount",
+                              JsInt.of(i % 10)));
+    }
+    byte[] bytes = builder.build()
+                          .serialize();
+    JsCursor cursor = JsCursor.of(new ByteArrayInputStream(bytes));
+    long total = 0;
+    Event event;
+    while ((event = cursor.next()) != Event.END_OF_INPUT) {
+      if (event == Event.KEY && cursor.key()
+                                      .equals("amount") && cursor.next() == Event.NUMBER) {
+        total += cursor.longValue();
+      }
+    }
+    Assertions.assertEquals(2_000 * 45,
+                            total);
+  }
+
+  @Test
+  public void top_level_scalars_and_errors() {
+    JsCursor cursor = cursor("\"a\"");
+    Assertions.assertEquals(Event.STRING,
+                            cursor.next());
+    Assertions.assertEquals(Event.END_OF_INPUT,
+                            cursor.next());
+
+    for (String json : new String[]{"{\"a\" 1}", "[1 2]", "{\"a\":1]", "[1,]", "{1:2}", "tru", "[nul]", "{\"a\":1"}) {
+      Assertions.assertThrows(JsParserException.class,
+                              () -> events(cursor(json)),
+                              json);
+    }
+
+    // nothing but whitespace after the document
+    Assertions.assertEquals(List.of(Event.START_OBJECT,
+                                    Event.END_OBJECT),
+                            events(cursor(" {} \n\t")));
+    for (String json : new String[]{"{} x", "[1] [2]", "1 2", "\"a\"}"}) {
+      Assertions.assertThrows(JsParserException.class,
+                              () -> events(cursor(json)),
+                              json);
+      byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+      Assertions.assertThrows(JsParserException.class,
+                              () -> events(JsCursor.of(new ByteArrayInputStream(bytes))),
+                              json);
+    }
+  }
+}
@@ -0,0 +1,153 @@
+package jsonvalues.api;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpec;
+import jsonvalues.spec.JsSpecs;
+import jsonvalues.spec.SpecToGen;
+import jsonvalues.spec.SpecToJsonSchema;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestDiscriminatedOneOf {
+
+  private static final JsSpec EVENT;
+
+  static {
+    Map<String, JsObjSpec> events = new LinkedHashMap<>();
+    events.put("click",
+               JsObjSpec.of("x",
+                            JsSpecs.integer(),
+                            "y",
+                            JsSpecs.integer()));
+    events.put("key",
+               JsObjSpec.of("code",
+                            JsSpecs.str(),
+                            "modifiers",
+                            JsSpecs.arrayOfStr()));
+    events.put("scroll",
+               JsObjSpec.of("delta",
+                            JsSpecs.integer(),
+                            "target",
+                            JsObjSpec.of("id",
+                                         JsSpecs.str())
+                                     .lenient()));
+    EVENT = JsSpecs.oneSpecOf("type",
+                              events);
+  }
+
+  private static final JsObjSpecParser PARSER = JsObjSpecParser.of(EVENT);
+
+  @Test
+  public void the_tag_selects_the_spec_wherever_it_is() {
+    JsObj click = JsObj.of("type",
+                           JsStr.of("click"),
+                           "x",
+                           JsInt.of(1),
+                           "y",
+                           JsInt.of(2));
+    Assertions.assertEquals(click,
+                            PARSER.parse("{\"type\":\"click\",\"x\":1,\"y\":2}"));
+    Assertions.assertEquals(click,
+                            PARSER.parse("{ \"x\" : 1, \"y\" : 2, \"type\" : \"click\" }"));
+
+    Assertions.assertEquals(JsObj.of("delta",
+                                     JsInt.of(-3),
+                                     "target",
+                                     JsObj.of("id",
+                                              JsStr.of("main"),
+                                              "type",
+                                              JsStr.of("panel")),
+                                     "type",
+                                     JsStr.of("scroll")),
+                            PARSER.parse("""
+                                             {"delta":-3,
+                                              "target":{"id":"main","type":"panel"},
+                                              "type":"scroll"}"""));
+
+    Assertions.assertEquals(JsArray.of("ctrl",
+                                       "shift"),
+                            PARSER.parse("{\"modifiers\":[\"ctrl\",\"shift\"],\"code\":\"a\",\"type\":\"key\"}")
+                                  .getArray("modifiers"));
+  }
+
+  @Test
+  public void missing_or_unknown_tags_are_rejected() {
+    Assertions.assertTrue(Assertions.assertThrows(JsParserException.class,
+                                                  () -> PARSER.parse("{\"x\":1,\"y\":2}"))
+                                    .getMessage()
+                                    .contains("'type'"));
+    Assertions.assertTrue(Assertions.assertThrows(JsParserException.class,
+                                                  () -> PARSER.parse("{\"type\":\"drag\",\"x\":1}"))
+                                    .getMessage()
+                                    .contains("'drag'"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> PARSER.parse("{\"type\":1,\"x\":1,\"y\":2}"));
+    // the spec of the tag rejects the fields of the other specs
+    Assertions.assertThrows(JsParserException.class,
+                            () -> PARSER.parse("{\"type\":\"click\",\"code\":\"a\"}"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> PARSER.parse("{\"type\":\"click\",\"x\":1}"));
+    Assertions.assertFalse(EVENT.test(JsObj.of("type",
+                                               JsStr.of("key"),
+                                               "x",
+                                               JsInt.of(1),
+                                               "y",
+                                               JsInt.of(2)))
+                                .isEmpty());
+  }
+
+  @Test
+  public void nullable_unions_accept_null() {
+    JsObjSpecParser parser = JsObjSpecParser.of(JsObjSpec.of("event",
+                                                             EVENT.nullable()));
+    Assertions.assertTrue(parser.parse("{\"event\":null}")
+                                .getObj("event") == null);
+    Assertions.assertEquals(JsStr.of("key"),
+                            parser.parse("{\"event\":{\"code\":\"b\",\"modifiers\":[],\"type\":\"key\"}}")
+                                  .getObj("event")
+                                  .get("type"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsObjSpecParser.of(JsObjSpec.of("event",
+                                                                  EVENT))
+                                                 .parse("{\"event\":null}"));
+  }
+
+  @Test
+  public void generated_values_conform_to_the_spec() {
+    SpecToGen.DEFAULT.convert(EVENT)
+                     .sample(100)
+                     .forEach(generated -> {
+                       Assertions.assertTrue(EVENT.test(generated)
+                                                  .isEmpty());
+                       Assertions.assertEquals(generated,
+                                               PARSER.parse(generated.toString()));
+                     });
+  }
+
+  @Test
+  public void the_schema_declares_the_discriminator() {
+    JsObj schema = SpecToJsonSchema.convert(EVENT);
+    Assertions.assertEquals(JsStr.of("type"),
+                            schema.getObj("discriminator")
+                                  .get("propertyName"));
+    JsArray cases = schema.getArray("oneOf");
+    Assertions.assertEquals(3,
+                            cases.size());
+    Assertions.assertEquals(JsStr.of("click"),
+                            cases.getObj(0)
+                                 .getObj("properties")
+                                 .getObj("type")
+                                 .get("const"));
+    Assertions.assertTrue(cases.getObj(2)
+                               .getArray("required")
+                               .containsValue(JsStr.of("type")));
+  }
+}
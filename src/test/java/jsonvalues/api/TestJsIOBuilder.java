@@ -0,0 +1,255 @@
+package jsonvalues.api;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import jsonvalues.JsArray;
+import jsonvalues.JsObj;
+import jsonvalues.JsPath;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsArrayElementsParser;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsCursor;
+import jsonvalues.spec.JsIO;
+import jsonvalues.spec.JsLazyObj;
+import jsonvalues.spec.JsObjProjectionParser;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsPushParser;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestJsIOBuilder {
+
+  /* big enough to be read in several chunks of a small buffer */
+  private static JsObj bigObj() {
+    JsObj.Builder builder = JsObj.builder();
+    for (int i = 0; i < 2_000; i++) {
+      builder.set("key" + i,
+                  JsStr.of("value" + (i % 10)));
+    }
+    return builder.build();
+  }
+
+  @Test
+  public void small_buffers_parse_and_serialize_the_same_json() {
+    JsIO io = JsIO.builder()
+                  .bufferSizes(256,
+                               64)
+                  .bufferPool(JsIO.PoolStrategy.BOUNDED,
+                              4)
+                  .build();
+    JsObj obj = bigObj();
+    byte[] bytes = io.serialize(obj);
+    Assertions.assertArrayEquals(obj.serialize(),
+                                 bytes);
+    Assertions.assertEquals(obj,
+                            JsObj.parse(new String(bytes,
+                                                   StandardCharsets.UTF_8),
+                                        io));
+    Assertions.assertEquals(obj,
+                            io.parseToJsObj(ByteBuffer.allocateDirect(bytes.length)
+                                                      .put(bytes)
+                                                      .flip()));
+    JsObjSpecParser parser = JsObjSpecParser.of(JsObjSpec.of("key0",
+                                                             JsSpecs.str())
+                                                         .withAllOptKeys()
+                                                         .lenient(),
+                                                io);
+    Assertions.assertEquals(obj,
+                            parser.parse(new ByteArrayInputStream(bytes)));
+  }
+
+  @Test
+  public void caches_count_the_keys_and_values_of_their_instance() {
+    JsIO io = JsIO.builder()
+                  .keyCache(4096,
+                            true,
+                            true)
+                  .valuesCache(64,
+                               true,
+                               true)
+                  .build();
+    JsObj obj = bigObj();
+    JsObj.parse(obj.serialize(),
+                io);
+    JsIO.CacheStats keys = io.keyCacheStats();
+    Assertions.assertEquals(4096,
+                            keys.capacity());
+    Assertions.assertEquals(2_000,
+                            keys.hits() + keys.misses());
+    JsIO.CacheStats values = io.valuesCacheStats();
+    Assertions.assertEquals(2_000,
+                            values.hits() + values.misses());
+    Assertions.assertTrue(values.hitRatio() > 0.9);
+
+    Assertions.assertEquals(0,
+                            JsIO.builder()
+                                .build()
+                                .valuesCacheStats()
+                                .capacity());
+  }
+
+  @Test
+  public void every_build_has_its_own_caches_and_settings() {
+    JsIO.Builder builder = JsIO.builder()
+                               .keyCache(1024,
+                                         true,
+                                         true)
+                               .valuesCache(64,
+                                            true,
+                                            true);
+    JsIO first = builder.build();
+    builder.bufferSizes(256,
+                        64);
+    JsIO second = builder.build();
+    JsObj obj = bigObj();
+    JsObj.parse(obj.serialize(),
+                first);
+    Assertions.assertEquals(2_000,
+                            first.keyCacheStats()
+                                 .misses() + first.keyCacheStats()
+                                                  .hits());
+    Assertions.assertEquals(0,
+                            second.keyCacheStats()
+                                  .misses() + second.keyCacheStats()
+                                                    .hits());
+    Assertions.assertEquals(0,
+                            second.valuesCacheStats()
+                                  .misses());
+    // the buffer size set after the first build doesn't change the readers of the first instance
+    byte[] bytes = obj.serialize();
+    Assertions.assertEquals(obj,
+                            first.parseToJsObj(ByteBuffer.allocateDirect(bytes.length)
+                                                         .put(bytes)
+                                                         .flip()));
+    Assertions.assertEquals(obj,
+                            second.parseToJsObj(ByteBuffer.allocateDirect(bytes.length)
+                                                          .put(bytes)
+                                                          .flip()));
+  }
+
+  @Test
+  public void limits_are_enforced() {
+    JsIO io = JsIO.builder()
+                  .maxStringSize(128)
+                  .maxNumberDigits(8)
+                  .build();
+    Assertions.assertEquals(JsArray.of("short"),
+                            JsArray.parse("[\"short\"]",
+                                          io));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsArray.parse("[\"" + "a".repeat(200) + "\"]",
+                                                io));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsArraySpecParser.of(JsSpecs.arrayOfDec(),
+                                                       io)
+                                                   .parse("[1.23456789012345678901234567890]"));
+  }
+
+  @Test
+  public void streaming_parsers_use_the_given_io() {
+    JsIO io = JsIO.builder()
+                  .maxStringSize(16)
+                  .build();
+    String str = "a".repeat(200);
+    byte[] obj = JsObj.of("a",
+                          JsStr.of(str))
+                      .serialize();
+    byte[] arr = JsArray.of(str)
+                        .serialize();
+
+    Assertions.assertEquals(str,
+                            JsLazyObj.of(obj)
+                                     .get("a")
+                                     .toJsStr().value);
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsLazyObj.of(obj,
+                                               io)
+                                           .get("a"));
+    Assertions.assertEquals(1,
+                            JsObjProjectionParser.of(Set.of(JsPath.path("/a")))
+                                                 .parse(obj)
+                                                 .size());
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsObjProjectionParser.of(Set.of(JsPath.path("/a")),
+                                                           io)
+                                                       .parse(obj));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsObjProjectionParser.of(JsObjSpecParser.of(JsObjSpec.of("a",
+                                                                                           JsSpecs.str()),
+                                                                              io),
+                                                           Set.of(JsPath.path("/a")))
+                                                       .parse(obj));
+    Assertions.assertEquals(1,
+                            JsArrayElementsParser.of()
+                                                 .stream(new ByteArrayInputStream(arr))
+                                                 .count());
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsArrayElementsParser.of(io)
+                                                       .stream(new ByteArrayInputStream(arr))
+                                                       .count());
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsArrayElementsParser.of(JsSpecs.str(),
+                                                           io)
+                                                       .stream(new ByteArrayInputStream(arr))
+                                                       .count());
+    Assertions.assertThrows(JsParserException.class,
+                            () -> {
+                              JsCursor cursor = JsCursor.of(arr,
+                                                            io);
+                              cursor.next();
+                              cursor.next();
+                              cursor.string();
+                            });
+    Assertions.assertThrows(JsParserException.class,
+                            () -> {
+                              JsCursor cursor = JsCursor.of(new ByteArrayInputStream(arr),
+                                                            io);
+                              cursor.next();
+                              cursor.next();
+                              cursor.string();
+                            });
+    Assertions.assertThrows(JsParserException.class,
+                            () -> {
+                              JsPushParser parser = JsPushParser.of(JsSpecs.arrayOfStr(),
+                                                                    io);
+                              parser.feed(ByteBuffer.wrap(arr));
+                              parser.endOfInput();
+                            });
+    JsPushParser parser = JsPushParser.of(JsSpecs.arrayOfStr());
+    parser.feed(ByteBuffer.wrap(arr));
+    Assertions.assertEquals(JsArray.of(str),
+                            parser.endOfInput());
+  }
+
+  @Test
+  public void invalid_settings_are_rejected() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> JsIO.builder()
+                                      .bufferSizes(16,
+                                                   512));
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> JsIO.builder()
+                                      .keyCache(1000,
+                                                false));
+    Assertions.assertThrows(NullPointerException.class,
+                            () -> JsIO.builder()
+                                      .doublePrecision(null));
+  }
+
+  @Test
+  public void exact_precision_parses_the_closest_double() {
+    JsIO io = JsIO.builder()
+                  .doublePrecision(JsIO.DoublePrecision.EXACT)
+                  .build();
+    String number = "2.2250738585072011e-308";
+    Assertions.assertEquals(Double.parseDouble(number),
+                            JsArray.parse("[" + number + "]",
+                                          io)
+                                   .getDouble(0));
+  }
+}
@@ -0,0 +1,138 @@
+package jsonvalues.api;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import jsonvalues.JsArray;
+import jsonvalues.JsBool;
+import jsonvalues.JsDouble;
+import jsonvalues.JsInt;
+import jsonvalues.JsNothing;
+import jsonvalues.JsNull;
+import jsonvalues.JsObj;
+import jsonvalues.JsPath;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsLazyObj;
+import jsonvalues.spec.JsParserException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestLazyObj {
+
+  private static final JsObj OBJ = JsObj.of("id",
+                                            JsInt.of(1),
+                                            "na\"me",
+                                            JsStr.of("Rafa \"el\" \\ é"),
+                                            "tags",
+                                            JsArray.of("a",
+                                                       "b"),
+                                            "address",
+                                            JsObj.of("city",
+                                                     JsStr.of("Madrid"),
+                                                     "location",
+                                                     JsArray.of(JsDouble.of(40.4),
+                                                                JsDouble.of(-3.7))),
+                                            "active",
+                                            JsBool.FALSE,
+                                            "manager",
+                                            JsNull.NULL,
+                                            "empty",
+                                            JsObj.empty(),
+                                            "ñ",
+                                            JsArray.empty());
+
+  @Test
+  public void values_are_decoded_on_access() {
+    JsLazyObj lazy = JsLazyObj.of(OBJ.toPrettyString());
+    Assertions.assertEquals(8,
+                            lazy.size());
+    for (String key : OBJ.keySet()) {
+      Assertions.assertTrue(lazy.containsKey(key));
+      Assertions.assertEquals(OBJ.get(key),
+                              lazy.get(key));
+      Assertions.assertSame(lazy.get(key),
+                            lazy.get(key));
+    }
+    Assertions.assertFalse(lazy.containsKey("name"));
+    Assertions.assertEquals(JsNothing.NOTHING,
+                            lazy.get("unknown"));
+    Assertions.assertEquals(JsDouble.of(-3.7),
+                            lazy.get(JsPath.path("/address/location/1")));
+    Assertions.assertEquals(JsStr.of("b"),
+                            lazy.get(JsPath.path("/tags/1")));
+    Assertions.assertEquals(JsNothing.NOTHING,
+                            lazy.get(JsPath.path("/tags/2")));
+    Assertions.assertEquals(JsNothing.NOTHING,
+                            lazy.get(JsPath.path("/id/a")));
+    Assertions.assertEquals(OBJ,
+                            lazy.get(JsPath.empty()));
+  }
+
+  @Test
+  public void untouched_objects_are_serialized_as_they_are() {
+    String pretty = "  " + OBJ.toPrettyString() + "\n";
+    JsLazyObj lazy = JsLazyObj.of(pretty);
+    Assertions.assertEquals(pretty.trim(),
+                            lazy.toString());
+    Assertions.assertArrayEquals(pretty.trim()
+                                       .getBytes(StandardCharsets.UTF_8),
+                                 lazy.serialize());
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    lazy.serialize(output);
+    Assertions.assertEquals(pretty.trim(),
+                            output.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void modifications_return_parsed_objects() {
+    JsLazyObj lazy = JsLazyObj.of(OBJ.serialize());
+    Assertions.assertEquals(OBJ,
+                            lazy.toJsObj());
+    Assertions.assertSame(lazy.toJsObj(),
+                          lazy.toJsObj());
+    Assertions.assertEquals(OBJ.set("id",
+                                    JsInt.of(2)),
+                            lazy.set("id",
+                                     JsInt.of(2)));
+    Assertions.assertEquals(OBJ.delete(JsPath.path("/address/city")),
+                            lazy.delete(JsPath.path("/address/city")));
+    Assertions.assertEquals(OBJ.toString(),
+                            lazy.toString());
+  }
+
+  @Test
+  public void the_last_repeated_key_wins() {
+    String json = "{\"a\":1, \"b\":{\"c\":1,\"c\":2}, \"\\u0061\":3, \"d\":4}";
+    JsLazyObj lazy = JsLazyObj.of(json);
+    Assertions.assertEquals(JsInt.of(3),
+                            lazy.get("a"));
+    Assertions.assertEquals(JsInt.of(2),
+                            lazy.get(JsPath.path("/b/c")));
+    Assertions.assertTrue(lazy.containsKey("a"));
+    Assertions.assertEquals(3,
+                            lazy.size());
+    Assertions.assertEquals(JsObj.parse(json),
+                            lazy.toJsObj());
+    Assertions.assertEquals(lazy.toJsObj()
+                                .size(),
+                            lazy.size());
+    Assertions.assertEquals(lazy.toJsObj()
+                                .get("a"),
+                            lazy.get("a"));
+  }
+
+  @Test
+  public void malformed_inputs() {
+    String[] malformed = {"[]", "{\"a\":1", "{\"a\" 1}", "{\"a\":[1 2]}", "{\"a\":tru}", "{} x", "{\"a\":\"b}",
+        "{\"a\":}"};
+    for (String json : malformed) {
+      Assertions.assertThrows(JsParserException.class,
+                              () -> JsLazyObj.of(json),
+                              json);
+    }
+    JsLazyObj lazy = JsLazyObj.of("{\"a\":1-2, \"b\": 1}");
+    Assertions.assertEquals(JsInt.of(1),
+                            lazy.get("b"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> lazy.get("a"));
+  }
+}
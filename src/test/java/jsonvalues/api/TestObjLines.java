@@ -0,0 +1,237 @@
+package jsonvalues.api;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsIO;
+import jsonvalues.spec.JsObjLinesParser;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestObjLines {
+
+  private static InputStream input(String str) {
+    return new ByteArrayInputStream(str.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static JsObj obj(int i) {
+    return JsObj.of("id",
+                    JsInt.of(i),
+                    "name",
+                    JsStr.of("name-" + i));
+  }
+
+  @Test
+  public void parse_many_lines_across_chunks() {
+    int n = 20_000;
+    String lines = IntStream.range(0,
+                                   n)
+                            .mapToObj(i -> obj(i).toString())
+                            .collect(Collectors.joining("\n"));
+    List<JsObj> objs = JsObjLinesParser.of()
+                                       .stream(input(lines))
+                                       .toList();
+    Assertions.assertEquals(n,
+                            objs.size());
+    for (int i = 0; i < n; i++) {
+      Assertions.assertEquals(obj(i),
+                              objs.get(i));
+    }
+  }
+
+  @Test
+  public void blank_lines_and_crlf_are_ignored() {
+    Iterator<JsObj> iterator = JsObjLinesParser.of()
+                                               .iterator(input("\n{\"a\":1}\r\n  \n\t{\"b\":2}  \r\n\n"));
+    Assertions.assertEquals(JsObj.of("a",
+                                     JsInt.of(1)),
+                            iterator.next());
+    Assertions.assertEquals(JsObj.of("b",
+                                     JsInt.of(2)),
+                            iterator.next());
+    Assertions.assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void long_lines_grow_the_buffer() {
+    JsObj.Builder builder = JsObj.builder();
+    for (int i = 0; i < 10_000; i++) {
+      builder.set("key" + i,
+                  JsStr.of("value" + i));
+    }
+    JsObj big = builder.build();
+    List<JsObj> objs = JsObjLinesParser.of()
+                                       .stream(input(big + "\n" + obj(1) + "\n" + big))
+                                       .toList();
+    Assertions.assertEquals(List.of(big,
+                                    obj(1),
+                                    big),
+                            objs);
+  }
+
+  @Test
+  public void errors_carry_the_line_number() {
+    String lines = obj(1) + "\n\n{\"id\":\"a\"}\n" + obj(3) + " {}\n{\"id\":\n" + obj(5);
+    JsObjLinesParser parser = JsObjLinesParser.of(JsObjSpecParser.of(JsObjSpec.of("id",
+                                                                                  JsSpecs.integer(),
+                                                                                  "name",
+                                                                                  JsSpecs.str())
+                                                                              .withOptKeys("name")));
+    Iterator<JsObj> iterator = parser.iterator(input(lines));
+    Assertions.assertEquals(obj(1),
+                            iterator.next());
+    JsParserException e = Assertions.assertThrows(JsParserException.class,
+                                                  iterator::next);
+    Assertions.assertEquals(3,
+                            e.line());
+    Assertions.assertTrue(e.getMessage()
+                           .startsWith("Line 3: "));
+
+    List<Long> skipped = new ArrayList<>();
+    List<JsObj> objs = parser.skipErrors(error -> skipped.add(error.line()))
+                             .stream(input(lines))
+                             .toList();
+    Assertions.assertEquals(List.of(obj(1),
+                                    obj(5)),
+                            objs);
+    Assertions.assertEquals(List.of(3L,
+                                    4L,
+                                    5L),
+                            skipped);
+  }
+
+  @Test
+  public void lines_are_parsed_with_the_given_io() {
+    JsIO io = JsIO.builder()
+                  .maxStringSize(16)
+                  .build();
+    String lines = obj(1) + "\n{\"id\":2,\"name\":\"" + "a".repeat(100) + "\"}\n";
+    List<Long> skipped = new ArrayList<>();
+    Assertions.assertEquals(List.of(obj(1)),
+                            JsObjLinesParser.of(io)
+                                            .skipErrors(error -> skipped.add(error.line()))
+                                            .stream(input(lines))
+                                            .toList());
+    Assertions.assertEquals(List.of(obj(1)),
+                            JsObjLinesParser.of(JsObjSpecParser.of(JsObjSpec.of("id",
+                                                                                JsSpecs.integer(),
+                                                                                "name",
+                                                                                JsSpecs.str()),
+                                                                   io))
+                                            .skipErrors(error -> skipped.add(error.line()))
+                                            .stream(input(lines))
+                                            .toList());
+    Assertions.assertEquals(List.of(2L,
+                                    2L),
+                            skipped);
+    Assertions.assertEquals(2,
+                            JsObjLinesParser.of()
+                                            .stream(input(lines))
+                                            .count());
+  }
+
+  @Test
+  public void parse_file() throws IOException {
+    Path file = Files.createTempFile("objs",
+                                     ".ndjson");
+    try {
+      Files.writeString(file,
+                        obj(1) + "\n" + obj(2) + "\n");
+      try (Stream<JsObj> objs = JsObjLinesParser.of()
+                                                .stream(file)) {
+        Assertions.assertEquals(List.of(obj(1),
+                                        obj(2)),
+                                objs.toList());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void parallel_streams_parse_all_the_lines() throws IOException {
+    int n = 50_000;
+    String lines = IntStream.range(0,
+                                   n)
+                            .mapToObj(i -> obj(i).toString())
+                            .collect(Collectors.joining("\n"));
+    Path file = Files.createTempFile("objs",
+                                     ".ndjson");
+    try {
+      Files.writeString(file,
+                        lines);
+      List<JsObj> expected = IntStream.range(0,
+                                             n)
+                                      .mapToObj(TestObjLines::obj)
+                                      .toList();
+      JsObjLinesParser parser = JsObjLinesParser.of(JsObjSpecParser.of(JsObjSpec.of("id",
+                                                                                    JsSpecs.integer(),
+                                                                                    "name",
+                                                                                    JsSpecs.str())));
+      Assertions.assertEquals(expected,
+                              parser.parallelStream(file,
+                                                    true)
+                                    .toList());
+      Assertions.assertEquals(new HashSet<>(expected),
+                              parser.parallelStream(file,
+                                                    false)
+                                    .collect(Collectors.toSet()));
+      ByteBuffer direct = ByteBuffer.allocateDirect(lines.length());
+      direct.put(lines.getBytes(StandardCharsets.UTF_8))
+            .flip();
+      Assertions.assertEquals(expected,
+                              parser.parallelStream(direct,
+                                                    true)
+                                    .toList());
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  public void parallel_streams_report_the_line_number() {
+    int n = 50_000;
+    String lines = IntStream.range(0,
+                                   n)
+                            .mapToObj(i -> i == 40_000 ? "{\"id\":" : obj(i).toString())
+                            .collect(Collectors.joining("\n"));
+    ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+    JsParserException e = Assertions.assertThrows(JsParserException.class,
+                                                  () -> JsObjLinesParser.of()
+                                                                        .parallelStream(buffer,
+                                                                                        false)
+                                                                        .count());
+    Assertions.assertEquals(40_001,
+                            e.line());
+
+    Set<Long> skipped = ConcurrentHashMap.newKeySet();
+    Assertions.assertEquals(n - 1,
+                            JsObjLinesParser.of()
+                                            .skipErrors(error -> skipped.add(error.line()))
+                                            .parallelStream(buffer,
+                                                            true)
+                                            .count());
+    Assertions.assertEquals(Set.of(40_001L),
+                            skipped);
+  }
+}
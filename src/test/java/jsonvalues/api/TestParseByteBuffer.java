@@ -0,0 +1,112 @@
+package jsonvalues.api;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestParseByteBuffer {
+
+  /* big enough to be read in several chunks */
+  private static JsObj bigObj() {
+    JsObj.Builder builder = JsObj.builder();
+    for (int i = 0; i < 2_000; i++) {
+      builder.set("key" + i,
+                  JsStr.of("value" + i));
+    }
+    return builder.build();
+  }
+
+  private static ByteBuffer direct(byte[] bytes) {
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes)
+          .flip();
+    return buffer;
+  }
+
+  @Test
+  public void parse_direct_and_heap_buffers() {
+    JsObj obj = bigObj();
+    byte[] bytes = obj.serialize();
+
+    ByteBuffer direct = direct(bytes);
+    Assertions.assertEquals(obj,
+                            JsObj.parse(direct));
+    Assertions.assertEquals(0,
+                            direct.position());
+
+    Assertions.assertEquals(obj,
+                            JsObj.parse(ByteBuffer.wrap(bytes)));
+    Assertions.assertEquals(obj,
+                            JsObj.parse(ByteBuffer.wrap(bytes)
+                                                  .asReadOnlyBuffer()));
+
+    byte[] padded = ("    " + obj + "xx").getBytes(StandardCharsets.UTF_8);
+    ByteBuffer slice = ByteBuffer.wrap(padded,
+                                       4,
+                                       padded.length - 6);
+    Assertions.assertEquals(obj,
+                            JsObj.parse(slice));
+
+    JsArray array = JsArray.of(1,
+                               2,
+                               3);
+    Assertions.assertEquals(array,
+                            JsArray.parse(direct(array.serialize())));
+
+    Assertions.assertThrows(JsParserException.class,
+                            () -> JsObj.parse(direct("{\"a\":".getBytes(StandardCharsets.UTF_8))));
+  }
+
+  @Test
+  public void parse_files() throws IOException {
+    JsObj obj = bigObj();
+    Path file = Files.createTempFile("obj",
+                                     ".json");
+    try {
+      Files.write(file,
+                  obj.serialize());
+      Assertions.assertEquals(obj,
+                              JsObj.parse(file));
+
+      JsObj person = JsObj.of("name",
+                              JsStr.of("Rafa"),
+                              "age",
+                              JsInt.of(40));
+      Files.write(file,
+                  person.serialize());
+      Assertions.assertEquals(person,
+                              JsObjSpecParser.of(JsObjSpec.of("name",
+                                                              JsSpecs.str(),
+                                                              "age",
+                                                              JsSpecs.integer()))
+                                             .parse(file));
+
+      Files.write(file,
+                  "[1,2,3]".getBytes(StandardCharsets.UTF_8));
+      Assertions.assertEquals(JsArray.of(1,
+                                         2,
+                                         3),
+                              JsArray.parse(file));
+      Assertions.assertEquals(JsArray.of(JsInt.of(1),
+                                         JsInt.of(2),
+                                         JsInt.of(3)),
+                              JsArraySpecParser.of(JsSpecs.arrayOfInt())
+                                               .parse(direct("[1,2,3]".getBytes(StandardCharsets.UTF_8))));
+    } finally {
+      Files.delete(file);
+    }
+  }
+}
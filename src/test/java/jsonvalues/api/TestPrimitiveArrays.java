@@ -0,0 +1,148 @@
+package jsonvalues.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import jsonvalues.JsArray;
+import jsonvalues.JsBigDec;
+import jsonvalues.JsDouble;
+import jsonvalues.JsInt;
+import jsonvalues.JsLong;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import jsonvalues.UserError;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPrimitiveArrays {
+
+  private static JsArray boxed(int n) {
+    JsArray array = JsArray.empty();
+    for (int i = 0; i < n; i++) {
+      array = array.append(JsInt.of(i));
+    }
+    return array;
+  }
+
+  @Test
+  public void int_arrays_are_equal_to_boxed_arrays() {
+    for (int n : new int[]{1, 31, 32, 33, 1024, 10_000}) {
+      JsArray.Builder builder = JsArray.builder();
+      for (int i = 0; i < n; i++) {
+        builder.append(i);
+      }
+      JsArray array = builder.build();
+      JsArray expected = boxed(n);
+      Assertions.assertEquals(expected,
+                              array);
+      Assertions.assertEquals(expected.hashCode(),
+                              array.hashCode());
+      Assertions.assertEquals(expected.toString(),
+                              array.toString());
+      Assertions.assertEquals(JsInt.of(n - 1),
+                              array.get(n - 1));
+      Assertions.assertArrayEquals(IntStream.range(0,
+                                                   n)
+                                            .toArray(),
+                                   array.intStream()
+                                        .toArray());
+    }
+  }
+
+  @Test
+  public void appending_other_types_boxes_the_elements() {
+    JsArray array = JsArray.builder()
+                           .append(1)
+                           .append(2L)
+                           .append(JsStr.of("a"))
+                           .append(3.5)
+                           .build();
+    Assertions.assertEquals(JsArray.of(JsInt.of(1),
+                                       JsLong.of(2),
+                                       JsStr.of("a"),
+                                       JsDouble.of(3.5)),
+                            array);
+
+    JsArray ints = JsArray.of(1,
+                              2,
+                              3);
+    Assertions.assertEquals(JsArray.of(JsInt.of(1),
+                                       JsStr.of("b"),
+                                       JsInt.of(3)),
+                            ints.set(1,
+                                     JsStr.of("b")));
+    Assertions.assertEquals(JsArray.of(JsInt.of(1),
+                                       JsInt.of(2),
+                                       JsInt.of(3),
+                                       JsLong.of(4)),
+                            ints.append(JsLong.of(4)));
+    Assertions.assertEquals(JsArray.of(JsStr.of("a"),
+                                       JsInt.of(1),
+                                       JsInt.of(2),
+                                       JsInt.of(3)),
+                            ints.prepend(JsStr.of("a")));
+    Assertions.assertEquals(JsArray.of(1,
+                                       3),
+                            ints.delete(1));
+    Assertions.assertTrue(ints.get(0)
+                              .isInt());
+  }
+
+  @Test
+  public void spec_parsers_build_primitive_arrays() {
+    List<Double> doubles = new ArrayList<>();
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 10_000; i++) {
+      doubles.add(i + 0.5);
+      json.append(i == 0 ? "" : ",")
+          .append(i + 0.5);
+    }
+    json.append("]");
+    JsArray array = JsArraySpecParser.of(JsSpecs.arrayOfDouble())
+                                     .parse(json.toString());
+    Assertions.assertEquals(JsArray.ofDoubles(doubles),
+                            array);
+    Assertions.assertEquals(doubles.stream()
+                                   .mapToDouble(Double::doubleValue)
+                                   .sum(),
+                            array.doubleStream()
+                                 .sum());
+
+    JsArray longs = JsArraySpecParser.of(JsSpecs.arrayOfLong())
+                                     .parse("[1,2,10000000000]");
+    Assertions.assertArrayEquals(new long[]{1, 2, 10_000_000_000L},
+                                 longs.longStream()
+                                      .toArray());
+    Assertions.assertTrue(longs.get(0)
+                               .isLong());
+
+    JsArray ints = JsArraySpecParser.of(JsSpecs.arrayOfInt(n -> n > 0))
+                                    .parse("[1,2,3]");
+    Assertions.assertArrayEquals(new int[]{1, 2, 3},
+                                 ints.intStream()
+                                     .toArray());
+  }
+
+  @Test
+  public void primitive_streams_convert_boxed_elements() {
+    JsArray array = JsArray.of(JsInt.of(1),
+                               JsLong.of(2));
+    Assertions.assertArrayEquals(new int[]{1, 2},
+                                 array.intStream()
+                                      .toArray());
+    Assertions.assertArrayEquals(new long[]{1, 2},
+                                 array.longStream()
+                                      .toArray());
+    Assertions.assertArrayEquals(new double[]{1.5},
+                                 JsArray.of(JsBigDec.of(new java.math.BigDecimal("1.5")))
+                                        .doubleStream()
+                                        .toArray());
+    JsValue str = JsStr.of("a");
+    Assertions.assertThrows(UserError.class,
+                            () -> JsArray.of(str)
+                                         .intStream()
+                                         .toArray());
+  }
+}
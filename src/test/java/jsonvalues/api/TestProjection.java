@@ -0,0 +1,186 @@
+package jsonvalues.api;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import jsonvalues.JsArray;
+import jsonvalues.JsBool;
+import jsonvalues.JsDouble;
+import jsonvalues.JsInt;
+import jsonvalues.JsNull;
+import jsonvalues.JsObj;
+import jsonvalues.JsPath;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsObjProjectionParser;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsObjSpecBuilder;
+import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestProjection {
+
+  private static final JsObj PERSON = JsObj.of("id",
+                                               JsInt.of(1),
+                                               "name",
+                                               JsStr.of("Rafa \"el\" \\ é"),
+                                               "tags",
+                                               JsArray.of("a",
+                                                          "b",
+                                                          "c"),
+                                               "address",
+                                               JsObj.of("street",
+                                                        JsStr.of("Gran Via }]"),
+                                                        "city",
+                                                        JsStr.of("Madrid"),
+                                                        "location",
+                                                        JsArray.of(JsDouble.of(40.4),
+                                                                   JsDouble.of(-3.7))),
+                                               "active",
+                                               JsBool.TRUE,
+                                               "manager",
+                                               JsNull.NULL,
+                                               "history",
+                                               JsArray.of(JsObj.of("year",
+                                                                   JsInt.of(2020),
+                                                                   "skills",
+                                                                   JsArray.of(JsObj.empty(),
+                                                                              JsArray.empty())),
+                                                          JsObj.of("year",
+                                                                   JsInt.of(2021)))
+                                              );
+
+  @Test
+  public void only_the_projected_values_are_parsed() {
+    JsObjProjectionParser parser = JsObjProjectionParser.of(Set.of(JsPath.path("/id"),
+                                                                   JsPath.path("/address/city"),
+                                                                   JsPath.path("/history/1/year"),
+                                                                   JsPath.path("/tags")));
+    JsObj expected = JsObj.of("id",
+                              JsInt.of(1),
+                              "tags",
+                              JsArray.of("a",
+                                         "b",
+                                         "c"))
+                          .set(JsPath.path("/address/city"),
+                               JsStr.of("Madrid"))
+                          .set(JsPath.path("/history/1/year"),
+                               JsInt.of(2021));
+    Assertions.assertEquals(expected,
+                            parser.parse(PERSON.toString()));
+    Assertions.assertEquals(expected,
+                            parser.parse(new ByteArrayInputStream(PERSON.toPrettyString()
+                                                                        .getBytes())));
+  }
+
+  @Test
+  public void missing_paths_and_prefixes() {
+    JsObjProjectionParser parser = JsObjProjectionParser.of(Set.of(JsPath.path("/address"),
+                                                                   JsPath.path("/address/city"),
+                                                                   JsPath.path("/manager/name"),
+                                                                   JsPath.path("/unknown"),
+                                                                   JsPath.path("/id/a")));
+    Assertions.assertEquals(JsObj.of("address",
+                                     PERSON.getObj("address")),
+                            parser.parse(PERSON.toString()));
+    Assertions.assertEquals(JsObj.empty(),
+                            parser.parse("{}"));
+  }
+
+  @Test
+  public void projected_values_are_validated() {
+    JsObjSpec spec = JsObjSpec.of("id",
+                                  JsSpecs.integer(),
+                                  "name",
+                                  JsSpecs.str(),
+                                  "address",
+                                  JsObjSpec.of("city",
+                                               JsSpecs.str(),
+                                               "zip",
+                                               JsSpecs.str())
+                                           .withOptKeys("zip"))
+                              .lenient();
+    JsObjProjectionParser parser = JsObjProjectionParser.of(JsObjSpecParser.of(spec),
+                                                            Set.of(JsPath.path("/id"),
+                                                                   JsPath.path("/address/city"),
+                                                                   JsPath.path("/address/zip")));
+    Assertions.assertEquals(JsObj.of("id",
+                                     JsInt.of(1))
+                                 .set(JsPath.path("/address/city"),
+                                      JsStr.of("Madrid")),
+                            parser.parse(PERSON.toString()));
+
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse(PERSON.set("id",
+                                                          JsStr.of("1"))
+                                                     .toString()));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse(PERSON.delete(JsPath.path("/address/city"))
+                                                     .toString()));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse(PERSON.delete("id")
+                                                     .toString()));
+    // values that are not projected are not validated
+    Assertions.assertEquals(JsObj.of("id",
+                                     JsInt.of(1)),
+                            JsObjProjectionParser.of(JsObjSpecParser.of(spec),
+                                                     Set.of(JsPath.path("/id")))
+                                                 .parse(PERSON.set("name",
+                                                                   JsInt.of(1))
+                                                              .toString()));
+
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> JsObjProjectionParser.of(JsObjSpecParser.of(JsObjSpec.of("id",
+                                                                                           JsSpecs.integer())),
+                                                           Set.of(JsPath.path("/name"))));
+  }
+
+  @Test
+  public void skipped_values_must_be_complete() {
+    JsObjProjectionParser parser = JsObjProjectionParser.of(Set.of(JsPath.path("/id")));
+    for (String json : new String[]{"{\"a\":[1,{\"b\":2}", "{\"a\":\"abc", "{\"a\":tru}", "{\"a\" 1}", "[1]"}) {
+      Assertions.assertThrows(JsParserException.class,
+                              () -> parser.parse(json),
+                              json);
+    }
+  }
+
+  @Test
+  public void skipped_values_must_close_with_the_bracket_that_opened_them() {
+    JsObjProjectionParser parser = JsObjProjectionParser.of(Set.of(JsPath.path("/id")));
+    for (String json : new String[]{"{\"a\":[1}", "{\"a\":[1}}", "{\"a\":[{]}", "{\"a\":[{]}}", "{\"a\":{\"b\":[]]}"}) {
+      Assertions.assertThrows(JsParserException.class,
+                              () -> parser.parse(json),
+                              json);
+    }
+    Assertions.assertEquals(JsObj.of("id",
+                                     JsInt.of(1)),
+                            parser.parse("{\"a\":[{\"b\":[]},[{}]],\"id\":1}"));
+  }
+
+  @Test
+  public void aliases_of_the_projected_keys_are_resolved() {
+    JsObjSpec spec = JsObjSpecBuilder.withName("aliased_person")
+                                     .withFieldAliases(Map.of("name",
+                                                              List.of("fullName")))
+                                     .build(JsObjSpec.of("id",
+                                                         JsSpecs.integer(),
+                                                         "name",
+                                                         JsSpecs.str()));
+    JsObjProjectionParser parser = JsObjProjectionParser.of(JsObjSpecParser.of(spec),
+                                                            Set.of(JsPath.path("/name")));
+    Assertions.assertEquals(JsObj.of("name",
+                                     JsStr.of("Rafa")),
+                            parser.parse("{\"id\":1,\"fullName\":\"Rafa\"}"));
+    Assertions.assertEquals(JsObj.of("name",
+                                     JsStr.of("Rafa")),
+                            parser.parse("{\"id\":1,\"name\":\"Rafa\"}"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("{\"id\":1,\"fullName\":1}"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("{\"id\":1}"));
+  }
+}
@@ -0,0 +1,210 @@
+package jsonvalues.api;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import jsonvalues.JsArray;
+import jsonvalues.JsBigDec;
+import jsonvalues.JsBool;
+import jsonvalues.JsDouble;
+import jsonvalues.JsInt;
+import jsonvalues.JsLong;
+import jsonvalues.JsNull;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.JsValue;
+import jsonvalues.spec.JsIO;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsPushParser;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestPushParser {
+
+  private static final JsObj OBJ = JsObj.of("name",
+                                            JsStr.of("Rafa \"\\u00e9\" \u00e9\u4e2d"),
+                                            "age",
+                                            JsInt.of(40),
+                                            "height",
+                                            JsDouble.of(1.78),
+                                            "big",
+                                            JsLong.of(Long.MAX_VALUE),
+                                            "dec",
+                                            JsBigDec.of(new java.math.BigDecimal("-1.5E-300")),
+                                            "flags",
+                                            JsArray.of(JsBool.TRUE,
+                                                       JsBool.FALSE,
+                                                       JsNull.NULL),
+                                            "nested",
+                                            JsObj.of("empty",
+                                                     JsObj.empty(),
+                                                     "arr",
+                                                     JsArray.of(JsArray.empty(),
+                                                                JsArray.of(1,
+                                                                           2)))
+                                           );
+
+  /* feeds the bytes in chunks of the given size and returns the value */
+  private static JsValue feed(JsPushParser parser,
+                              byte[] bytes,
+                              int chunkSize,
+                              boolean direct) {
+    for (int i = 0; i < bytes.length; i += chunkSize) {
+      int len = Math.min(chunkSize,
+                         bytes.length - i);
+      ByteBuffer chunk = direct ? ByteBuffer.allocateDirect(len) : ByteBuffer.allocate(len + 2);
+      if (direct) {
+        chunk.put(bytes,
+                  i,
+                  len)
+             .flip();
+      } else {
+        chunk.position(1);
+        chunk.put(bytes,
+                  i,
+                  len);
+        chunk.limit(chunk.position())
+             .position(1);
+        chunk = chunk.slice();
+      }
+      parser.feed(chunk);
+      Assertions.assertFalse(chunk.hasRemaining());
+    }
+    return parser.endOfInput();
+  }
+
+  @Test
+  public void any_split_of_the_input_gives_the_same_value() {
+    byte[] bytes = (" " + OBJ.toPrettyString() + " \n").getBytes(StandardCharsets.UTF_8);
+    for (int chunkSize = 1; chunkSize <= bytes.length; chunkSize++) {
+      Assertions.assertEquals(OBJ,
+                              feed(JsPushParser.of(),
+                                   bytes,
+                                   chunkSize,
+                                   chunkSize % 2 == 0));
+    }
+  }
+
+  @Test
+  public void parse_with_spec() {
+    JsObjSpec spec = JsObjSpec.of("name",
+                                  JsSpecs.str(),
+                                  "age",
+                                  JsSpecs.integer(),
+                                  "height",
+                                  JsSpecs.doubleNumber(),
+                                  "big",
+                                  JsSpecs.longInteger(),
+                                  "dec",
+                                  JsSpecs.decimal(),
+                                  "flags",
+                                  JsSpecs.array(),
+                                  "nested",
+                                  JsSpecs.any()
+                                 );
+    byte[] bytes = OBJ.serialize();
+    for (int chunkSize : new int[]{1, 7, 100, bytes.length}) {
+      Assertions.assertEquals(OBJ,
+                              feed(JsPushParser.of(spec),
+                                   bytes,
+                                   chunkSize,
+                                   false));
+    }
+
+    JsPushParser parser = JsPushParser.of(JsObjSpec.of("age",
+                                                       JsSpecs.integer()));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.feed(ByteBuffer.wrap("{\"age\":\"a\"}".getBytes(StandardCharsets.UTF_8))));
+    Assertions.assertThrows(IllegalStateException.class,
+                            () -> parser.feed(ByteBuffer.allocate(0)));
+  }
+
+  @Test
+  public void completion_and_top_level_scalars() {
+    JsPushParser parser = JsPushParser.of();
+    Assertions.assertFalse(parser.feed(ByteBuffer.wrap("[1,".getBytes(StandardCharsets.UTF_8))));
+    Assertions.assertTrue(parser.feed(ByteBuffer.wrap("2]".getBytes(StandardCharsets.UTF_8))));
+    Assertions.assertTrue(parser.isComplete());
+    Assertions.assertTrue(parser.feed(ByteBuffer.wrap("  ".getBytes(StandardCharsets.UTF_8))));
+    Assertions.assertEquals(JsArray.of(1,
+                                       2),
+                            parser.endOfInput());
+    Assertions.assertThrows(IllegalStateException.class,
+                            parser::endOfInput);
+
+    JsPushParser number = JsPushParser.of();
+    Assertions.assertFalse(number.feed(ByteBuffer.wrap("12".getBytes(StandardCharsets.UTF_8))));
+    Assertions.assertFalse(number.feed(ByteBuffer.wrap("34".getBytes(StandardCharsets.UTF_8))));
+    Assertions.assertEquals(JsInt.of(1234),
+                            number.endOfInput());
+
+    JsPushParser str = JsPushParser.of(JsSpecs.str());
+    Assertions.assertTrue(str.feed(ByteBuffer.wrap("\"a\"".getBytes(StandardCharsets.UTF_8))));
+    Assertions.assertEquals(JsStr.of("a"),
+                            str.endOfInput());
+  }
+
+  @Test
+  public void errors() {
+    String[] invalid = {"{\"a\":1", "{\"a\" 1}", "[1 2]", "{\"a\":1]", "[1,]", "{} {}", "tru", "[-]", "\"ab"};
+    for (String json : invalid) {
+      Assertions.assertThrows(JsParserException.class,
+                              () -> {
+                                JsPushParser parser = JsPushParser.of();
+                                parser.feed(ByteBuffer.wrap(json.getBytes(StandardCharsets.UTF_8)));
+                                parser.endOfInput();
+                              },
+                              json);
+    }
+    ByteBuffer unexpectedEnd = ByteBuffer.wrap("[1, 2, }".getBytes(StandardCharsets.UTF_8));
+    JsParserException e = Assertions.assertThrows(JsParserException.class,
+                                                  () -> JsPushParser.of()
+                                                                    .feed(unexpectedEnd));
+    Assertions.assertTrue(e.getMessage()
+                           .endsWith("position is 7"),
+                          e.getMessage());
+  }
+
+  @Test
+  public void values_parsed_with_a_spec_are_retained_up_to_the_limit() {
+    JsIO io = JsIO.builder()
+                  .maxRetainedBytes(1024)
+                  .build();
+    byte[] bytes = OBJ.serialize();
+    Assertions.assertEquals(OBJ,
+                            feed(JsPushParser.of(JsSpecs.any(),
+                                                 io),
+                                 bytes,
+                                 7,
+                                 false));
+
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < 200; i++) {
+      builder.append(JsStr.of("element-" + i));
+    }
+    byte[] big = builder.build()
+                        .serialize();
+    JsPushParser parser = JsPushParser.of(JsSpecs.arrayOfStr(),
+                                          io);
+    JsParserException e = Assertions.assertThrows(JsParserException.class,
+                                                  () -> feed(parser,
+                                                             big,
+                                                             100,
+                                                             true));
+    Assertions.assertEquals(1024,
+                            e.position());
+    Assertions.assertThrows(IllegalStateException.class,
+                            () -> parser.feed(ByteBuffer.wrap(big)));
+    // without a spec, the value is built as it arrives and nothing is retained
+    Assertions.assertEquals(JsArray.parse(new String(big,
+                                                     StandardCharsets.UTF_8)),
+                            feed(JsPushParser.of(io),
+                                 big,
+                                 100,
+                                 true));
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> JsIO.builder()
+                                      .maxRetainedBytes(0));
+  }
+}
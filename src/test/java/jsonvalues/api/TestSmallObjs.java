@@ -0,0 +1,96 @@
+package jsonvalues.api;
+
+import java.util.ArrayList;
+import java.util.List;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsObjPair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestSmallObjs {
+
+  private static List<String> keys(JsObj obj) {
+    List<String> keys = new ArrayList<>();
+    for (JsObjPair pair : obj) {
+      keys.add(pair.key());
+    }
+    return keys;
+  }
+
+  @Test
+  public void grow_and_shrink_across_the_threshold() {
+    JsObj obj = JsObj.empty();
+    for (int i = 0; i < 20; i++) {
+      obj = obj.set("key" + i,
+                    JsInt.of(i));
+      Assertions.assertEquals(i + 1,
+                              obj.size());
+      for (int j = 0; j <= i; j++) {
+        Assertions.assertEquals(JsInt.of(j),
+                                obj.get("key" + j));
+      }
+    }
+    for (int i = 0; i < 20; i++) {
+      obj = obj.delete("key" + i);
+      Assertions.assertEquals(19 - i,
+                              obj.size());
+      Assertions.assertFalse(obj.containsKey("key" + i));
+      for (int j = i + 1; j < 20; j++) {
+        Assertions.assertEquals(JsInt.of(j),
+                                obj.get("key" + j));
+      }
+    }
+    Assertions.assertTrue(obj.isEmpty());
+  }
+
+  @Test
+  public void the_order_of_the_keys_does_not_depend_on_the_representation() {
+    JsObj small = JsObj.empty();
+    JsObj big = JsObj.empty();
+    for (int i = 0; i < 20; i++) {
+      big = big.set("key" + i,
+                    JsInt.of(i));
+    }
+    for (int i = 0; i < 20; i++) {
+      if (i % 3 == 0) {
+        small = small.set("key" + i,
+                          JsInt.of(i));
+      } else {
+        big = big.delete("key" + i);
+      }
+    }
+    Assertions.assertEquals(7,
+                            small.size());
+    Assertions.assertEquals(small,
+                            big);
+    Assertions.assertEquals(small.hashCode(),
+                            big.hashCode());
+    Assertions.assertEquals(keys(big),
+                            keys(small));
+    Assertions.assertEquals(big.toString(),
+                            small.toString());
+    Assertions.assertEquals(keys(JsObj.parse(small.toString())),
+                            keys(small));
+  }
+
+  @Test
+  public void replace_value_of_existing_key() {
+    JsObj obj = JsObj.of("a",
+                         JsInt.of(1),
+                         "b",
+                         JsInt.of(2));
+    JsObj updated = obj.set("a",
+                            JsInt.of(3));
+    Assertions.assertEquals(JsInt.of(1),
+                            obj.get("a"));
+    Assertions.assertEquals(JsObj.of("a",
+                                     JsInt.of(3),
+                                     "b",
+                                     JsInt.of(2)),
+                            updated);
+    Assertions.assertEquals(keys(obj),
+                            keys(updated));
+  }
+
+}
@@ -0,0 +1,85 @@
+package jsonvalues.api;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import jsonvalues.JsArray;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsIO;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpec;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestStreamedOneOf {
+
+  // both alternatives start with the same key, so the first one fails only after reading the long text
+  private static final JsSpec MESSAGE = JsSpecs.oneSpecOf(JsObjSpec.of("text",
+                                                                       JsSpecs.str(),
+                                                                       "kind",
+                                                                       JsSpecs.cons(JsStr.of("a"))),
+                                                          JsObjSpec.of("text",
+                                                                       JsSpecs.str(),
+                                                                       "kind",
+                                                                       JsSpecs.cons(JsStr.of("b"))));
+
+  private static JsArray messages(int size,
+                                  int textLength) {
+    JsArray array = JsArray.empty();
+    for (int i = 0; i < size; i++) {
+      array = array.append(JsObj.of("text",
+                                    JsStr.of(String.valueOf((char) ('a' + i % 26))
+                                                   .repeat(textLength)),
+                                    "kind",
+                                    JsStr.of(i % 2 == 0 ? "a" : "b")));
+    }
+    return array;
+  }
+
+  private static ByteArrayInputStream stream(JsArray array) {
+    return new ByteArrayInputStream(array.toString()
+                                         .getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void alternatives_are_rolled_back_across_blocks_of_the_stream() {
+    JsArraySpecParser parser = JsArraySpecParser.of(JsSpecs.arrayOfSpec(MESSAGE),
+                                                    JsIO.builder()
+                                                        .bufferSizes(256,
+                                                                     64)
+                                                        .build());
+    for (int textLength : new int[]{10, 200, 5000}) {
+      JsArray messages = messages(50,
+                                  textLength);
+      Assertions.assertEquals(messages,
+                              parser.parse(stream(messages)));
+    }
+  }
+
+  @Test
+  public void marked_bytes_are_bounded() {
+    JsArraySpecParser parser = JsArraySpecParser.of(JsSpecs.arrayOfSpec(MESSAGE),
+                                                    JsIO.builder()
+                                                        .bufferSizes(256,
+                                                                     64)
+                                                        .maxMarkedBytes(1000)
+                                                        .build());
+    JsArray small = messages(20,
+                             100);
+    Assertions.assertEquals(small,
+                            parser.parse(stream(small)));
+
+    JsParserException error = Assertions.assertThrows(JsParserException.class,
+                                                      () -> parser.parse(stream(messages(2,
+                                                                                         5000))));
+    Assertions.assertTrue(error.getMessage()
+                               .contains("1000"),
+                          error.getMessage());
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> JsIO.builder()
+                                      .maxMarkedBytes(0));
+  }
+}
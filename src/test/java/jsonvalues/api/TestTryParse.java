@@ -0,0 +1,78 @@
+package jsonvalues.api;
+
+import jsonvalues.JsArray;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.spec.ERROR_CODE;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpecs;
+import jsonvalues.spec.ParseResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestTryParse {
+
+  private static final JsObjSpecParser PARSER =
+      JsObjSpecParser.of(JsObjSpec.of("age",
+                                      JsSpecs.integer(n -> n >= 0),
+                                      "tags",
+                                      JsSpecs.oneSpecOf(JsSpecs.arrayOfInt(),
+                                                        JsSpecs.arrayOfStr())));
+
+  @Test
+  public void parsed_inputs_return_the_value() {
+    ParseResult<JsObj> result = PARSER.tryParse("{\"age\":3,\"tags\":[\"a\"]}");
+    Assertions.assertTrue(result.isSuccess());
+    Assertions.assertNull(result.error());
+    Assertions.assertEquals(JsObj.of("age",
+                                     JsInt.of(3),
+                                     "tags",
+                                     JsArray.of("a")),
+                            result.orElseThrow());
+  }
+
+  @Test
+  public void rejected_inputs_return_a_stackless_error() {
+    ParseResult<JsObj> result = PARSER.tryParse("{\"age\":-1,\"tags\":[]}");
+    Assertions.assertFalse(result.isSuccess());
+    Assertions.assertTrue(result.toOptional()
+                                .isEmpty());
+    Assertions.assertEquals(JsObj.empty(),
+                            result.orElse(JsObj.empty()));
+    JsParserException error = result.error();
+    Assertions.assertEquals(ERROR_CODE.INT_CONDITION,
+                            error.code());
+    Assertions.assertEquals("Error code: INT_CONDITION. Current parser position is " + error.position(),
+                            error.getMessage());
+    Assertions.assertEquals(0,
+                            error.getStackTrace().length);
+    Assertions.assertSame(error,
+                          Assertions.assertThrows(JsParserException.class,
+                                                  result::orElseThrow));
+
+    ParseResult<JsArray> malformed = JsArraySpecParser.of(JsSpecs.arrayOfInt())
+                                                      .tryParse("[1,2".getBytes());
+    Assertions.assertNull(malformed.error()
+                                   .code());
+    Assertions.assertNotNull(malformed.error()
+                                      .getMessage());
+  }
+
+  @Test
+  public void thrown_errors_keep_their_stack_trace() {
+    JsParserException error = Assertions.assertThrows(JsParserException.class,
+                                                      () -> PARSER.parse("{\"age\":-1}"));
+    Assertions.assertTrue(error.getStackTrace().length > 0);
+
+    // the alternatives of oneSpecOf that don't match don't leak into the next parse
+    Assertions.assertEquals(JsArray.of("b"),
+                            PARSER.parse("{\"age\":1,\"tags\":[\"b\"]}")
+                                  .getArray("tags"));
+    Assertions.assertTrue(Assertions.assertThrows(JsParserException.class,
+                                                  () -> PARSER.parse("{\"age\":1,\"tags\":[true]}"))
+                                    .getStackTrace().length > 0);
+  }
+}
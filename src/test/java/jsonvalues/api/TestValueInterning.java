@@ -0,0 +1,88 @@
+package jsonvalues.api;
+
+import jsonvalues.JsArray;
+import jsonvalues.JsNull;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import jsonvalues.spec.JsArraySpecParser;
+import jsonvalues.spec.JsEnumBuilder;
+import jsonvalues.spec.JsObjSpec;
+import jsonvalues.spec.JsObjSpecParser;
+import jsonvalues.spec.JsParserException;
+import jsonvalues.spec.JsSpecs;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TestValueInterning {
+
+  @Test
+  public void enum_symbols_are_canonical_instances() {
+    JsObjSpecParser parser = JsObjSpecParser.of(JsObjSpec.of("status",
+                                                             JsSpecs.oneStringOf("ACTIVE",
+                                                                                 "BLOCKED",
+                                                                                 "DELETED"),
+                                                             "currency",
+                                                             JsEnumBuilder.withName("currency_interning")
+                                                                          .build("EUR",
+                                                                                 "USD")
+                                                                          .nullable()));
+    JsObj a = parser.parse("{\"status\":\"ACTIVE\",\"currency\":\"EUR\"}");
+    JsObj b = parser.parse("{\"currency\":\"EUR\",\"status\":\"ACTIVE\"}");
+    Assertions.assertEquals(a,
+                            b);
+    Assertions.assertSame(a.get("status"),
+                          b.get("status"));
+    Assertions.assertSame(a.get("currency"),
+                          b.get("currency"));
+    Assertions.assertEquals(JsNull.NULL,
+                            parser.parse("{\"status\":\"DELETED\",\"currency\":null}")
+                                  .get("currency"));
+
+    JsParserException error = Assertions.assertThrows(JsParserException.class,
+                                                      () -> parser.parse("{\"status\":\"ACTIVATED\"}"));
+    Assertions.assertTrue(error.getMessage()
+                               .contains("ENUM_SYMBOL_EXPECTED"),
+                          error.getMessage());
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("{\"status\":null,\"currency\":\"EUR\"}"));
+  }
+
+  @Test
+  public void low_cardinality_strings_are_canonical_instances() {
+    JsArraySpecParser parser = JsArraySpecParser.of(JsSpecs.arrayOfSpec(JsSpecs.lowCardinalityStr()
+                                                                               .nullable()));
+    JsArray countries = parser.parse("[\"ES\",\"FR\",\"ES\",null,\"caf\\u00e9\",\"café\",\"ES\"]");
+    Assertions.assertEquals(JsArray.of(JsStr.of("ES"),
+                                       JsStr.of("FR"),
+                                       JsStr.of("ES"),
+                                       JsNull.NULL,
+                                       JsStr.of("café"),
+                                       JsStr.of("café"),
+                                       JsStr.of("ES")),
+                            countries);
+    Assertions.assertSame(countries.get(0),
+                          countries.get(2));
+    Assertions.assertSame(countries.get(0),
+                          countries.get(6));
+    Assertions.assertSame(countries.get(4),
+                          countries.get(5));
+    Assertions.assertSame(countries.get(0),
+                          parser.parse("[\"ES\"]")
+                                .get(0));
+  }
+
+  @Test
+  public void low_cardinality_strings_are_bounded() {
+    JsArraySpecParser parser = JsArraySpecParser.of(JsSpecs.arrayOfSpec(JsSpecs.lowCardinalityStr(2)));
+    JsArray values = parser.parse("[\"a\",\"b\",\"c\",\"a\",\"b\",\"c\"]");
+    Assertions.assertEquals(JsArray.of("a",
+                                       "b",
+                                       "c",
+                                       "a",
+                                       "b",
+                                       "c"),
+                            values);
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> JsSpecs.lowCardinalityStr(100));
+  }
+}
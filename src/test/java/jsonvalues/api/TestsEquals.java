@@ -2,12 +2,15 @@ package jsonvalues.api;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import jsonvalues.JsArray;
+import jsonvalues.JsArray.TYPE;
 import jsonvalues.JsBigDec;
 import jsonvalues.JsBigInt;
 import jsonvalues.JsDouble;
 import jsonvalues.JsInt;
 import jsonvalues.JsLong;
 import jsonvalues.JsObj;
+import jsonvalues.JsStr;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -58,4 +61,93 @@ public class TestsEquals {
   }
 
 
+
+  @Test
+  public void testArraysAsSetsAndMultisets() {
+
+    JsArray array = JsArray.of(JsInt.of(1),
+                               JsStr.of("a"),
+                               JsInt.of(1),
+                               JsObj.of("b",
+                                        JsArray.of(1,
+                                                   2)),
+                               JsBigDec.of(new BigDecimal("1.50")));
+    JsArray shuffled = JsArray.of(JsDouble.of(1.5),
+                                  JsObj.of("b",
+                                           JsArray.of(1,
+                                                      2)),
+                                  JsLong.of(1),
+                                  JsStr.of("a"),
+                                  JsBigInt.of(BigInteger.ONE));
+
+    Assertions.assertTrue(array.equals(shuffled,
+                                       TYPE.SET));
+    Assertions.assertTrue(array.equals(shuffled,
+                                       TYPE.MULTISET));
+    Assertions.assertFalse(array.equals(shuffled,
+                                        TYPE.LIST));
+
+    JsArray withoutDuplicates = JsArray.of(JsStr.of("a"),
+                                           JsDouble.of(1.5),
+                                           JsObj.of("b",
+                                                    JsArray.of(1,
+                                                               2)),
+                                           JsInt.of(1));
+    Assertions.assertTrue(array.equals(withoutDuplicates,
+                                       TYPE.SET));
+    Assertions.assertFalse(array.equals(withoutDuplicates,
+                                        TYPE.MULTISET));
+    Assertions.assertFalse(array.append(JsStr.of("a"))
+                                .equals(shuffled.append(JsInt.of(1)),
+                                        TYPE.MULTISET));
+    Assertions.assertFalse(array.equals(withoutDuplicates.append(JsStr.of("c")),
+                                        TYPE.SET));
+    Assertions.assertFalse(array.equals(JsArray.empty(),
+                                        TYPE.SET));
+
+    // the elements of nested arrays are compared as a list
+    Assertions.assertFalse(JsArray.of(JsArray.of(1,
+                                                 2))
+                                  .equals(JsArray.of(JsArray.of(2,
+                                                                1)),
+                                          TYPE.SET));
+    // unlike the arrays of objects
+    Assertions.assertTrue(JsObj.of("a",
+                                   array)
+                               .equals(JsObj.of("a",
+                                                shuffled),
+                                       TYPE.MULTISET));
+    Assertions.assertFalse(JsObj.of("a",
+                                    array)
+                                .equals(JsObj.of("a",
+                                                 shuffled,
+                                                 "b",
+                                                 JsInt.of(1)),
+                                        TYPE.MULTISET));
+    Assertions.assertFalse(JsObj.of("a",
+                                    array)
+                                .equals(JsObj.of("b",
+                                                 array),
+                                        TYPE.SET));
+  }
+
+  @Test
+  public void testLargeMultisets() {
+
+    JsArray.Builder builder = JsArray.builder();
+    for (int i = 0; i < 20_000; i++) {
+      builder.append(JsObj.of("id",
+                              JsInt.of(i % 5_000)));
+    }
+    JsArray array = builder.build();
+    JsArray reversed = JsArray.ofIterable(array.streamOfValues()
+                                               .toList()
+                                               .reversed());
+    Assertions.assertTrue(array.equals(reversed,
+                                       TYPE.MULTISET));
+    Assertions.assertFalse(array.equals(reversed.set(0,
+                                                     JsObj.of("id",
+                                                              JsInt.of(-1))),
+                                        TYPE.MULTISET));
+  }
 }
@@ -0,0 +1,93 @@
+package jsonvalues.spec;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import jsonvalues.JsObj;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BufferPoolTest {
+
+  private static final JsObj OBJ = JsObj.parse("""
+                                                   {"a":1,"b":"hi","c":[1,2,{"d":true}],"e":{"f":null,"g":1.5}}
+                                                   """);
+
+  @Test
+  public void bounded_pool_reuses_released_instances() {
+    BufferPool<Object> pool = BufferPool.of(JsIO.PoolStrategy.BOUNDED,
+                                            2,
+                                            Object::new);
+    Object a = pool.acquire();
+    Object b = pool.acquire();
+    Assertions.assertNotSame(a,
+                             b);
+    pool.release(a);
+    pool.release(b);
+    pool.release(new Object());
+    Object c = pool.acquire();
+    Object d = pool.acquire();
+    Assertions.assertTrue((c == a && d == b) || (c == b && d == a));
+    Assertions.assertNotSame(a,
+                             pool.acquire());
+  }
+
+  @Test
+  public void striped_pool_reuses_released_instances() {
+    BufferPool<Object> pool = BufferPool.of(JsIO.PoolStrategy.STRIPED,
+                                            3,
+                                            Object::new);
+    Object a = pool.acquire();
+    pool.release(a);
+    Assertions.assertSame(a,
+                          pool.acquire());
+  }
+
+  @Test
+  public void thread_local_pool_returns_the_same_instance() {
+    BufferPool<Object> pool = BufferPool.of(JsIO.PoolStrategy.THREAD_LOCAL,
+                                            1,
+                                            Object::new);
+    Object a = pool.acquire();
+    pool.release(a);
+    Assertions.assertSame(a,
+                          pool.acquire());
+  }
+
+  @Test
+  public void capacity_must_be_positive() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> BufferPool.of(JsIO.PoolStrategy.BOUNDED,
+                                                0,
+                                                Object::new));
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> new Settings().bufferPool(JsIO.PoolStrategy.STRIPED,
+                                                            0));
+  }
+
+  @Test
+  public void parse_and_serialize_from_virtual_threads() throws ExecutionException, InterruptedException {
+    for (JsIO.PoolStrategy strategy : JsIO.PoolStrategy.values()) {
+      JsIO io = new JsIO(new Settings().bufferPool(strategy,
+                                                   4));
+      byte[] bytes = OBJ.toString()
+                        .getBytes(StandardCharsets.UTF_8);
+      try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+        List<Future<JsObj>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+          futures.add(executor.submit(() -> io.parseToJsObj(io.serialize(io.parseToJsObj(bytes)))));
+        }
+        for (Future<JsObj> future : futures) {
+          Assertions.assertEquals(OBJ,
+                                  future.get());
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+package jsonvalues.spec;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import jsonvalues.JsArray;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ByteScannerTest {
+
+  private static final byte[] ALPHABET = " \n\r\t\"\\abc{}[]:,é0".getBytes(StandardCharsets.UTF_8);
+
+  @Test
+  public void vector_and_scalar_scanners_find_the_same_indexes() {
+    ByteScanner scalar = ByteScanner.ScalarScanner.INSTANCE;
+    ByteScanner vector = ByteScanner.INSTANCE;
+    // the vector scanner is only compiled with the simd profile and loaded with the incubator module
+    if (vector == scalar) {
+      return;
+    }
+    Random random = new Random(7);
+    for (int n = 0; n < 2_000; n++) {
+      byte[] bytes = new byte[random.nextInt(300)];
+      // long runs of a single byte, so that the vectors are either full of it or end in the middle of a run
+      for (int i = 0; i < bytes.length; ) {
+        byte b = ALPHABET[random.nextInt(ALPHABET.length)];
+        int run = Math.min(bytes.length - i,
+                           random.nextInt(70) + 1);
+        for (int j = 0; j < run; j++) {
+          bytes[i++] = b;
+        }
+      }
+      int from = bytes.length == 0 ? 0 : random.nextInt(bytes.length);
+      int to = from + random.nextInt(bytes.length - from + 1);
+      Assertions.assertEquals(scalar.skipWhitespace(bytes,
+                                                    from,
+                                                    to),
+                              vector.skipWhitespace(bytes,
+                                                    from,
+                                                    to));
+      Assertions.assertEquals(scalar.asciiRun(bytes,
+                                              from,
+                                              to),
+                              vector.asciiRun(bytes,
+                                              from,
+                                              to));
+      Assertions.assertEquals(scalar.findQuoteOrBackslash(bytes,
+                                                          from,
+                                                          to),
+                              vector.findQuoteOrBackslash(bytes,
+                                                          from,
+                                                          to));
+    }
+  }
+
+  @Test
+  public void long_strings_and_whitespace_runs_are_parsed() {
+    String padding = " ".repeat(100);
+    String plain = "abcdefghij".repeat(50);
+    JsObj obj = JsObj.of("plain",
+                         JsStr.of(plain),
+                         "escaped",
+                         JsStr.of(plain + "\"\n\\" + plain),
+                         "utf8",
+                         JsStr.of(plain + "ñé€" + plain),
+                         "array",
+                         JsArray.of(plain,
+                                    "",
+                                    "\"",
+                                    plain + "é"));
+    String json = obj.toPrettyString()
+                     .replace("\n",
+                              "\n" + padding + "\t\r\n");
+    Assertions.assertEquals(obj,
+                            JsObj.parse(json));
+    Assertions.assertEquals(obj,
+                            JsLazyObj.of(json)
+                                     .toJsObj());
+  }
+}
@@ -0,0 +1,174 @@
+package jsonvalues.spec;
+
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentStringCacheTest {
+
+  private static String get(StringCache cache,
+                            String key) {
+    return cache.get(key.toCharArray(),
+                     key.length());
+  }
+
+  @Test
+  public void returns_the_cached_instance_and_counts_hits_and_misses() {
+    ConcurrentStringCache cache = new ConcurrentStringCache(64,
+                                                            true,
+                                                            true);
+    String a = get(cache,
+                   "name");
+    Assertions.assertEquals("name",
+                            a);
+    Assertions.assertSame(a,
+                          get(cache,
+                              "name"));
+    Assertions.assertEquals(new JsIO.CacheStats(64,
+                                                1,
+                                                1,
+                                                0),
+                            cache.stats());
+  }
+
+  @Test
+  public void two_way_cache_keeps_two_keys_with_the_same_slot() {
+    // a cache with a single set, so that every key has the same slots
+    ConcurrentStringCache twoWay = new ConcurrentStringCache(2,
+                                                             true,
+                                                             true);
+    String a = get(twoWay,
+                   "a");
+    String b = get(twoWay,
+                   "b");
+    for (int i = 0; i < 10; i++) {
+      Assertions.assertSame(a,
+                            get(twoWay,
+                                "a"));
+      Assertions.assertSame(b,
+                            get(twoWay,
+                                "b"));
+    }
+    Assertions.assertEquals(0,
+                            twoWay.stats()
+                                  .evictions());
+    get(twoWay,
+        "c");
+    Assertions.assertEquals(1,
+                            twoWay.stats()
+                                  .evictions());
+    // "a" was the oldest one
+    Assertions.assertNotSame(a,
+                             get(twoWay,
+                                 "a"));
+  }
+
+  @Test
+  public void direct_mapped_cache_evicts_keys_with_the_same_slot() {
+    ConcurrentStringCache cache = new ConcurrentStringCache(2,
+                                                            false,
+                                                            true);
+    // three keys and two slots
+    for (String key : List.of("a",
+                              "b",
+                              "c")) {
+      get(cache,
+          key);
+    }
+    JsIO.CacheStats stats = cache.stats();
+    Assertions.assertEquals(3,
+                            stats.misses());
+    Assertions.assertTrue(stats.evictions() >= 1);
+    Assertions.assertEquals(0,
+                            stats.hitRatio());
+  }
+
+  @Test
+  public void stats_are_not_counted_unless_recorded() {
+    ConcurrentStringCache cache = new ConcurrentStringCache(2,
+                                                            false,
+                                                            false);
+    for (String key : List.of("a",
+                              "b",
+                              "c",
+                              "a")) {
+      Assertions.assertEquals(key,
+                              get(cache,
+                                  key));
+    }
+    Assertions.assertEquals(new JsIO.CacheStats(2,
+                                                0,
+                                                0,
+                                                0),
+                            cache.stats());
+    Assertions.assertEquals(0,
+                            new JsIO(new Settings()).keyCacheStats()
+                                                    .misses());
+  }
+
+  @Test
+  public void capacity_must_be_a_power_of_two() {
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> new ConcurrentStringCache(1000,
+                                                            true,
+                                                            true));
+    Assertions.assertThrows(IllegalArgumentException.class,
+                            () -> new ConcurrentStringCache(1,
+                                                            false,
+                                                            true));
+  }
+
+  @Test
+  public void concurrent_lookups_return_equal_strings() throws ExecutionException, InterruptedException {
+    ConcurrentStringCache cache = new ConcurrentStringCache(16,
+                                                            true,
+                                                            true);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 20_000; i++) {
+            String key = "key" + (i % 100);
+            if (!key.equals(get(cache,
+                                key))) {
+              return false;
+            }
+          }
+          return true;
+        }));
+      }
+      for (Future<Boolean> future : futures) {
+        Assertions.assertTrue(future.get());
+      }
+    } finally {
+      executor.shutdown();
+    }
+    JsIO.CacheStats stats = cache.stats();
+    Assertions.assertEquals(8 * 20_000,
+                            stats.hits() + stats.misses());
+  }
+
+  @Test
+  public void parsing_uses_the_key_cache() {
+    JsIO io = new JsIO(new Settings().keyCache(256,
+                                               true,
+                                               true));
+    for (int i = 0; i < 3; i++) {
+      io.parseToJsObj("{\"a\":1,\"b\":{\"a\":2}}".getBytes());
+    }
+    JsIO.CacheStats stats = io.keyCacheStats();
+    Assertions.assertEquals(256,
+                            stats.capacity());
+    Assertions.assertEquals(2,
+                            stats.misses());
+    Assertions.assertEquals(7,
+                            stats.hits());
+  }
+}
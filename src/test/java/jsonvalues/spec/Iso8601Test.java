@@ -0,0 +1,87 @@
+package jsonvalues.spec;
+
+import static java.time.format.DateTimeFormatter.ISO_INSTANT;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+import jsonvalues.JsArray;
+import jsonvalues.JsInstant;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class Iso8601Test {
+
+  private static Instant parse(String text) {
+    return Iso8601.parse(text.toCharArray(),
+                         text.length());
+  }
+
+  private static String write(Instant instant) {
+    byte[] buf = new byte[Iso8601.MAX_LENGTH];
+    int len = Iso8601.write(buf,
+                            0,
+                            instant.getEpochSecond(),
+                            instant.getNano());
+    return new String(buf,
+                      0,
+                      len,
+                      StandardCharsets.US_ASCII);
+  }
+
+  @Test
+  public void same_text_and_instants_as_the_jdk() {
+    Random random = new Random(7);
+    int[] nanos = {0, 1, 120_000_000, 123_456_000, 123_456_789, 999_999_999};
+    long range = Iso8601.MAX_SECOND - Iso8601.MIN_SECOND;
+    for (int i = 0; i < 100_000; i++) {
+      Instant instant = Instant.ofEpochSecond(Iso8601.MIN_SECOND + (long) (random.nextDouble() * range),
+                                              i % 2 == 0 ? nanos[i % nanos.length] : random.nextInt(1_000_000_000));
+      String text = instant.toString();
+      Assertions.assertEquals(text,
+                              write(instant));
+      Assertions.assertEquals(instant,
+                              parse(text));
+    }
+    for (String text : new String[]{"0000-01-01T00:00:00Z", "9999-12-31T23:59:59.999999999Z",
+        "1970-01-01T00:00:00Z", "1969-12-31T23:59:59.5Z", "2000-02-29T12:00:00.01Z", "1900-03-01T00:00:00Z",
+        "2024-02-29T23:59:59.1234Z"}) {
+      Instant instant = Instant.from(ISO_INSTANT.parse(text));
+      Assertions.assertEquals(instant,
+                              parse(text));
+      Assertions.assertEquals(instant.toString(),
+                              write(instant));
+    }
+  }
+
+  @Test
+  public void unusual_or_invalid_text_is_left_to_the_jdk() {
+    for (String text : new String[]{"2023-02-29T00:00:00Z", "2024-04-31T00:00:00Z", "2024-01-01T24:00:00Z",
+        "2024-01-01T10:00:60Z", "2024-01-01t10:00:00z", "2024-01-01T10:00:00+01:00", "2024-01-01T10:00:00.Z",
+        "2024-01-01T10:00:00.1234567890Z", "+10000-01-01T00:00:00Z", "2024-1-01T10:00:00Z", "2024-01-01 10:00:00Z",
+        "20a4-01-01T10:00:00Z"}) {
+      Assertions.assertNull(parse(text),
+                            text);
+    }
+  }
+
+  @Test
+  public void specs_parse_and_write_every_format_of_the_jdk() {
+    JsArraySpecParser parser = JsArraySpecParser.of(JsSpecs.arrayOfSpec(JsSpecs.instant()));
+    JsArray array = parser.parse("""
+                                     ["2024-01-01T10:00:00+01:00", "2024-01-01t09:00:00z", "2024-01-01T09:00:00Z",
+                                      "+10000-01-01T00:00:00Z", "2024-01-01T09:00:00.100Z"]""");
+    Instant nine = Instant.parse("2024-01-01T09:00:00Z");
+    Assertions.assertEquals(JsArray.of(JsInstant.of(nine),
+                                       JsInstant.of(nine),
+                                       JsInstant.of(nine),
+                                       JsInstant.of(Instant.parse("+10000-01-01T00:00:00Z")),
+                                       JsInstant.of(nine.plusMillis(100))),
+                            array);
+    Assertions.assertEquals("[\"2024-01-01T09:00:00Z\",\"2024-01-01T09:00:00Z\",\"2024-01-01T09:00:00Z\","
+                            + "\"+10000-01-01T00:00:00Z\",\"2024-01-01T09:00:00.100Z\"]",
+                            array.toString());
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("[\"2023-02-29T00:00:00Z\"]"));
+  }
+}
@@ -0,0 +1,33 @@
+package jsonvalues.spec;
+
+import jsonvalues.JsArray;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class JsStrInternerTest {
+
+  @Test
+  public void strings_that_fail_the_constraints_are_not_interned() {
+    JsSpec spec = new JsStrSpec(false,
+                                new StrConstraints(0,
+                                                   3,
+                                                   "[a-z]+",
+                                                   null),
+                                JsStrInterner.bounded(2));
+    JsArraySpecParser parser = JsArraySpecParser.of(JsSpecs.arrayOfSpec(spec));
+    JsArray first = parser.parse("[\"es\"]");
+
+    // values too long or not matching the pattern would evict "es" from an interner of two slots
+    for (int i = 0; i < 1_000; i++) {
+      String tooLong = "[\"value" + i + "\"]";
+      String noMatch = "[\"" + i + "\"]";
+      Assertions.assertThrows(JsParserException.class,
+                              () -> parser.parse(tooLong));
+      Assertions.assertThrows(JsParserException.class,
+                              () -> parser.parse(noMatch));
+    }
+    Assertions.assertSame(first.get(0),
+                          parser.parse("[\"es\"]")
+                                .get(0));
+  }
+}
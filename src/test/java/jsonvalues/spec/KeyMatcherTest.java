@@ -0,0 +1,84 @@
+package jsonvalues.spec;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import jsonvalues.JsInt;
+import jsonvalues.JsObj;
+import jsonvalues.JsStr;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class KeyMatcherTest {
+
+  @Test
+  public void every_key_is_found_and_nothing_else() {
+    Random random = new Random(3);
+    Map<String, JsParser> parsers = new LinkedHashMap<>();
+    while (parsers.size() < 500) {
+      StringBuilder key = new StringBuilder();
+      for (int i = random.nextInt(12); i >= 0; i--) {
+        key.append("abcxyzAB_-0éñ€".charAt(random.nextInt(14)));
+      }
+      parsers.put(key.toString(),
+                  JsSpecs.str()
+                         .parser());
+    }
+    KeyMatcher matcher = KeyMatcher.of(parsers,
+                                       null);
+    Assertions.assertNotNull(matcher);
+    for (String key : parsers.keySet()) {
+      byte[] bytes = ("\"" + key + "\"").getBytes(StandardCharsets.UTF_8);
+      int index = matcher.indexOf(bytes,
+                                  1,
+                                  bytes.length - 1);
+      Assertions.assertSame(key,
+                            matcher.keys[index]);
+      Assertions.assertSame(parsers.get(key),
+                            matcher.parsers[index]);
+      String unknown = key + "?";
+      if (!parsers.containsKey(unknown)) {
+        byte[] unknownBytes = unknown.getBytes(StandardCharsets.UTF_8);
+        Assertions.assertEquals(-1,
+                                matcher.indexOf(unknownBytes,
+                                                0,
+                                                unknownBytes.length));
+      }
+    }
+  }
+
+  @Test
+  public void keys_that_are_not_matched_are_read_as_strings() {
+    JsObjSpec spec = JsObjSpecBuilder.withName("key_matcher")
+                                     .withFieldAliases(Map.of("name",
+                                                              List.of("fullName")))
+                                     .build(JsObjSpec.of("a",
+                                                         JsSpecs.integer(),
+                                                         "name",
+                                                         JsSpecs.str(),
+                                                         "ñ",
+                                                         JsSpecs.integer()));
+    JsObj expected = JsObj.of("a",
+                              JsInt.of(1),
+                              "name",
+                              JsStr.of("Rafa"),
+                              "ñ",
+                              JsInt.of(2));
+    JsObjSpecParser parser = JsObjSpecParser.of(spec);
+    Assertions.assertEquals(expected,
+                            parser.parse("{\"a\" : 1, \"name\":\"Rafa\",\"ñ\":2}"));
+    Assertions.assertEquals(expected,
+                            parser.parse("{\"\\u0061\":1,\"fullName\":\"Rafa\",\"\\u00f1\":2}"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("{\"a\":1,\"nam\":\"Rafa\",\"ñ\":2}"));
+    Assertions.assertThrows(JsParserException.class,
+                            () -> parser.parse("{\"a\"1}"));
+    Assertions.assertEquals(expected.set("b",
+                                         JsInt.of(3)),
+                            JsObjSpecParser.of(spec.lenient())
+                                           .parse("{\"b\":3,\"a\":1,\"name\":\"Rafa\",\"ñ\":2}"));
+  }
+}
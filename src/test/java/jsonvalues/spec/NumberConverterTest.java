@@ -5,6 +5,8 @@ import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 import jsonvalues.JsObj;
 import org.junit.jupiter.api.Assertions;
@@ -689,7 +691,7 @@ public class NumberConverterTest {
   @SuppressWarnings("FloatingPointLiteralPrecision")
   @Test
   public void doubleRoundingError() throws JsParserException {
-    final JsIO dslJson = new JsIO(new Settings().doublePrecision(DslJsReader.DoublePrecision.DEFAULT));
+    final JsIO dslJson = new JsIO(new Settings().doublePrecision(JsIO.DoublePrecision.DEFAULT));
     final JsWriter sw = new JsWriter(40);
     final DslJsReader jr = dslJson.newReader(sw.getByteBuffer());
     final DslJsReader jsr = dslJson.newReader(new ByteArrayInputStream(new byte[0]),
@@ -758,6 +760,85 @@ public class NumberConverterTest {
   }
 
 
+  @Test
+  public void doubleExactRandom() throws JsParserException {
+    final Random rnd = new Random(0);
+    List<String> numbers = new ArrayList<>(List.of("0", "0.0", "1e23", "9007199254740993", "7.3177701707893310e+15",
+                                                   "2.2250738585072011e-308", "2.2250738585072012e-308",
+                                                   "4.9e-324", "2.4703282292062327e-324", "2.4703282292062328e-324",
+                                                   "1.7976931348623157e308", "1.7976931348623159e308", "1e-400",
+                                                   "0.000000000000000000000000000000001234567890123456789",
+                                                   "12345678901234567890123456789e-10", "1E+22", "1e-22",
+                                                   "9999999999999999999", "18446744073709551616", "0.1", "3.0e0"));
+    for (int i = 0; i < 100_000; i++) {
+      numbers.add(Double.toString(rnd.nextDouble()));
+      double random = Double.longBitsToDouble(rnd.nextLong() & Long.MAX_VALUE);
+      if (Double.isFinite(random)) {
+        numbers.add(Double.toString(random));
+      }
+      StringBuilder digits = new StringBuilder().append(rnd.nextInt(9) + 1);
+      for (int n = rnd.nextInt(25); n > 0; n--) {
+        digits.append(rnd.nextInt(10));
+      }
+      if (digits.length() > 1 && rnd.nextBoolean()) {
+        digits.insert(1,
+                      '.');
+      }
+      numbers.add(digits.append('e')
+                        .append(rnd.nextInt(700) - 350)
+                        .toString());
+    }
+    for (JsIO.DoublePrecision precision : List.of(JsIO.DoublePrecision.EXACT,
+                                                  JsIO.DoublePrecision.HIGH)) {
+      final JsIO dslJson = new JsIO(new Settings().doublePrecision(precision));
+      final JsWriter sw = new JsWriter(128);
+      final DslJsReader jr = dslJson.newReader(sw.getByteBuffer());
+      for (String number : numbers) {
+        for (String signed : List.of(number, "-" + number)) {
+          sw.reset();
+          sw.writeAscii(signed + ",");
+          jr.process(sw.getByteBuffer(),
+                     sw.size());
+          jr.read();
+          Assertions.assertEquals(Double.doubleToLongBits(Double.parseDouble(signed)),
+                                  Double.doubleToLongBits(NumberConverter.deserializeDouble(jr)),
+                                  signed);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void doubleSerializationRandom() {
+    final Random rnd = new Random(0);
+    List<Double> values = new ArrayList<>(List.of(0.0, -0.0, 1.0, 100.0, 0.001, 9.999e-4, 1e7, 9999999.0, 12345678.0,
+                                                  123456789.5, 1e-5, 1.5e-5, 1e-6, 1e-7, 1e10, 1e22, 1e23, 0.1, 0.3,
+                                                  Double.MIN_VALUE, Double.MAX_VALUE, Double.MIN_NORMAL, 2e-323));
+    for (int i = 0; i < 500_000; i++) {
+      double random = Double.longBitsToDouble(rnd.nextLong());
+      if (Double.isFinite(random)) {
+        values.add(random);
+      }
+      values.add(rnd.nextDouble() * Math.pow(10,
+                                             rnd.nextInt(20) - 8));
+      values.add(rnd.nextInt(100_000) / 100.0);
+    }
+    final JsWriter sw = new JsWriter(16);
+    for (double value : values) {
+      for (double signed : new double[]{value, -value}) {
+        sw.reset();
+        NumberConverter.serialize(signed,
+                                  sw);
+        Assertions.assertEquals(BigDecimal.valueOf(signed)
+                                          .toString(),
+                                sw.toString());
+      }
+    }
+    Assertions.assertThrows(NumberFormatException.class,
+                            () -> NumberConverter.serialize(Double.NaN,
+                                                            sw));
+  }
+
   @Test
   public void bidDecimalRandom() {
     final JsWriter sw = new JsWriter(40);
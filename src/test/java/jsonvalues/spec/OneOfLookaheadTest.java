@@ -0,0 +1,82 @@
+package jsonvalues.spec;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import jsonvalues.JsInt;
+import jsonvalues.JsStr;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class OneOfLookaheadTest {
+
+  private static final JsIO IO = new JsIO();
+
+  private static final OneOfLookahead LOOKAHEAD =
+      new OneOfLookahead(List.of(JsSpecs.str(),
+                                 JsSpecs.integer(),
+                                 JsSpecs.arrayOfInt(),
+                                 JsObjSpec.of("a",
+                                              JsSpecs.integer()),
+                                 JsObjSpec.of("b",
+                                              JsSpecs.str()),
+                                 JsObjSpecBuilder.withName("lookahead_aliases")
+                                                 .withFieldAliases(Map.of("c",
+                                                                          List.of("see")))
+                                                 .build(JsObjSpec.of("c",
+                                                                     JsSpecs.bool())),
+                                 JsObjSpec.of("d",
+                                              JsSpecs.str())
+                                          .lenient(),
+                                 JsSpecs.any(),
+                                 JsSpecs.cons(JsInt.of(1))));
+
+  private static int candidates(String json) {
+    DslJsReader reader = IO.newReader(json.getBytes(StandardCharsets.UTF_8));
+    reader.readNextToken();
+    byte first = reader.last();
+    int candidates = LOOKAHEAD.candidates(reader).length;
+    Assertions.assertEquals(first,
+                            reader.last());
+    Assertions.assertEquals(json.charAt(1) == ' ' ? json.charAt(2) : json.charAt(1),
+                            (char) reader.readNextToken());
+    return candidates;
+  }
+
+  @Test
+  public void alternatives_are_selected_by_first_token() {
+    Assertions.assertEquals(2,
+                            candidates("\"a\""));
+    Assertions.assertEquals(3,
+                            candidates("-1 "));
+    Assertions.assertEquals(2,
+                            candidates("[1]"));
+    Assertions.assertEquals(1,
+                            candidates("true"));
+  }
+
+  @Test
+  public void objects_are_selected_by_first_key() {
+    // the spec of the key, the lenient one and any value
+    Assertions.assertEquals(3,
+                            candidates("{\"a\":1}"));
+    Assertions.assertEquals(3,
+                            candidates("{ \"see\":true}"));
+    Assertions.assertEquals(2,
+                            candidates("{\"z\":1}"));
+    // the spec of "d" is lenient but "d" is required
+    Assertions.assertEquals(1,
+                            candidates("{}"));
+  }
+
+  @Test
+  public void first_tokens_of_specs() {
+    Assertions.assertEquals(OneOfLookahead.STR,
+                            OneOfLookahead.firstTokens(JsSpecs.cons(JsStr.of("a"))));
+    Assertions.assertEquals(OneOfLookahead.OBJ | OneOfLookahead.NUM,
+                            OneOfLookahead.firstTokens(JsSpecs.oneSpecOf(JsSpecs.mapOfInteger(),
+                                                                         JsSpecs.decimal())));
+    Assertions.assertEquals(OneOfLookahead.ANY,
+                            OneOfLookahead.firstTokens(JsSpecs.ofNamedSpec("lookahead_named")));
+  }
+}